@@ -0,0 +1,73 @@
+package com.example.parking.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.InMemoryParkingRepository;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.topology.TopologyFile;
+
+/**
+ * Builds empty repositories of a requested size for the benchmarks.
+ * 640 slots reproduces the sample site (4 buildings, 2 floors, 50 TW + 30 FW per floor);
+ * larger sizes use floors of 1,000 slots (600 TW + 400 FW), 20 floors per building.
+ */
+final class BenchmarkTopology {
+    static final int SAMPLE_SLOTS = 640;
+
+    private BenchmarkTopology() {
+    }
+
+    /**
+     * Creates an empty repository
+     * @param store "memory" or "bitset"
+     * @param slots Total slot count, rounded down to whole floors
+     */
+    static ParkingRepository repository(String store, int slots) {
+        ParkingRepository repository = switch (store) {
+            case "memory" -> new InMemoryParkingRepository();
+            case "bitset" -> new BitsetParkingRepository();
+            default -> throw new IllegalArgumentException("Unknown store: " + store);
+        };
+        repository.importFloors(floors(slots));
+        return repository;
+    }
+
+    /**
+     * Lists the floor IDs of a topology as {buildingId, floorId} pairs
+     */
+    static String[][] floorIds(int slots) {
+        List<FloorSnapshot> floors = floors(slots);
+        String[][] ids = new String[floors.size()][];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new String[] {"B" + floors.get(i).getBuildingNumber(), "F" + floors.get(i).getFloorNumber()};
+        }
+        return ids;
+    }
+
+    static List<FloorSnapshot> floors(int slots) {
+        try {
+            return TopologyFile.read(new StringReader(rules(slots)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String rules(int slots) {
+        if (slots <= SAMPLE_SLOTS) {
+            return "B1-B4 F1-F2 TW x 50 FW x 30";
+        }
+        int floorCount = Math.max(1, slots / 1_000);
+        StringBuilder rules = new StringBuilder();
+        for (int building = 1; floorCount > 0; building++) {
+            int floors = Math.min(20, floorCount);
+            rules.append('B').append(building).append(" F1-F").append(floors).append(" TW x 600 FW x 400\n");
+            floorCount -= floors;
+        }
+        return rules.toString();
+    }
+}
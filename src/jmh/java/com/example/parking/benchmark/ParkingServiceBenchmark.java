@@ -0,0 +1,96 @@
+package com.example.parking.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.dto.ParkingRequestDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.service.ParkingService;
+import com.example.parking.service.ParkingServiceImpl;
+
+/**
+ * Service-level operations as the REST endpoints call them, including DTO construction.
+ * Thread count comes from the JMH command line, e.g. -t 1, -t 4, -t max.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParkingServiceBenchmark {
+
+    @Param({"memory", "bitset"})
+    public String store;
+
+    @Param({"640", "100000"})
+    public int slots;
+
+    ParkingService parkingService;
+    String[][] floorIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ParkingRepository repository = BenchmarkTopology.repository(store, slots);
+        parkingService = new ParkingServiceImpl(repository, new ParkingMetrics(), new AvailabilityReadModel(repository, 10));
+        floorIds = BenchmarkTopology.floorIds(slots);
+    }
+
+    /**
+     * Per-thread park and exit requests, so threads never collide on plates
+     */
+    @State(Scope.Thread)
+    public static class Driver {
+        ParkingRequestDTO parkRequest;
+        VehicleExitRequestDTO exitRequest;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            String registrationNumber = "BENCH-" + threads.getThreadIndex();
+            parkRequest = new ParkingRequestDTO();
+            parkRequest.setRegistrationNumber(registrationNumber);
+            parkRequest.setVehicleType(threads.getThreadIndex() % 2 == 0 ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER);
+            exitRequest = new VehicleExitRequestDTO();
+            exitRequest.setRegistrationNumber(registrationNumber);
+        }
+    }
+
+    @Benchmark
+    public void parkVehicle(Driver driver, Blackhole blackhole) {
+        blackhole.consume(parkingService.parkVehicle(driver.parkRequest));
+        blackhole.consume(parkingService.exitVehicle(driver.exitRequest));
+    }
+
+    @Benchmark
+    public List<BuildingCapacityDTO> checkCapacity() {
+        return parkingService.checkCapacity();
+    }
+
+    @Benchmark
+    public FloorAvailabilityDTO getFloorAvailability() {
+        String[] floor = floorIds[ThreadLocalRandom.current().nextInt(floorIds.length)];
+        return parkingService.getFloorAvailability(floor[0], floor[1]);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.parking.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Repository hot paths: slot lookup, floor availability, capacity counts and park/exit cycles.
+ * Thread count comes from the JMH command line, e.g. -t 1, -t 4, -t max.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"memory", "bitset"})
+    public String store;
+
+    @Param({"640", "100000", "1000000"})
+    public int slots;
+
+    ParkingRepository repository;
+    String[][] floorIds;
+    String[] slotIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkTopology.repository(store, slots);
+        floorIds = BenchmarkTopology.floorIds(slots);
+        slotIds = new String[Math.min(slots, 65_536)];
+        for (int i = 0; i < slotIds.length; i++) {
+            String[] floor = floorIds[i % floorIds.length];
+            long key = SlotKeyCodec.encode(SlotKeyCodec.parseLevel(floor[0], 'B'), SlotKeyCodec.parseLevel(floor[1], 'F'),
+                VehicleType.FOUR_WHEELER, 1 + (i / floorIds.length) % 30);
+            slotIds[i] = SlotKeyCodec.format(key);
+        }
+    }
+
+    /**
+     * Per-thread vehicle used by the park/exit cycle, so threads never collide on plates
+     */
+    @State(Scope.Thread)
+    public static class Driver {
+        Vehicle vehicle;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            vehicle = new Vehicle();
+            vehicle.setRegistrationNumber("BENCH-" + threads.getThreadIndex());
+            vehicle.setType(threads.getThreadIndex() % 2 == 0 ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER);
+        }
+    }
+
+    @Benchmark
+    public ParkingSlot findById() {
+        return repository.findById(slotIds[ThreadLocalRandom.current().nextInt(slotIds.length)]).orElse(null);
+    }
+
+    @Benchmark
+    public FloorAvailabilityDTO getFloorAvailability() {
+        String[] floor = floorIds[ThreadLocalRandom.current().nextInt(floorIds.length)];
+        return repository.getFloorAvailability(floor[0], floor[1]);
+    }
+
+    @Benchmark
+    public long countAvailableSlots() {
+        return repository.countAvailableSlots(VehicleType.FOUR_WHEELER);
+    }
+
+    @Benchmark
+    public void parkAndExit(Driver driver, Blackhole blackhole) {
+        blackhole.consume(repository.claimAvailableSlot(driver.vehicle));
+        blackhole.consume(repository.releaseSlot(driver.vehicle.getRegistrationNumber()));
+    }
+}
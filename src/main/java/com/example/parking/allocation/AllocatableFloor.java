@@ -0,0 +1,33 @@
+package com.example.parking.allocation;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Floor as seen by allocation policies: its position, slot counts and live free-slot counts
+ */
+public interface AllocatableFloor {
+
+    /**
+     * Gets the building number (the 7 in "B7")
+     */
+    int getBuildingNumber();
+
+    /**
+     * Gets the floor number (the 2 in "F2")
+     */
+    int getFloorNumber();
+
+    /**
+     * Gets the current number of free slots for a vehicle type
+     * @param vehicleType Type of vehicle
+     * @return Free slot count
+     */
+    int getAvailable(VehicleType vehicleType);
+
+    /**
+     * Gets the number of slots for a vehicle type, free or not
+     * @param vehicleType Type of vehicle
+     * @return Slot count
+     */
+    int getCapacity(VehicleType vehicleType);
+}
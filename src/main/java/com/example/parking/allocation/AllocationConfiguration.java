@@ -0,0 +1,72 @@
+package com.example.parking.allocation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves the configured allocation policies by name and hands them to the repository
+ */
+@Component
+@Slf4j
+public class AllocationConfiguration {
+    private final ParkingRepository parkingRepository;
+    private final AllocationSettings settings;
+
+    /**
+     * Constructor injection for the repository, the available policies and their selection
+     * @param parkingRepository Repository that allocates slots
+     * @param policies Every policy bean, built-in or custom
+     * @param defaultPolicy Name of the policy for buildings without an override
+     * @param buildingPolicies Comma-separated building:policy overrides, e.g. "B2:fill-floor"
+     * @param balanceBuildings true to prefer the building with the most free slots
+     * @throws IllegalArgumentException if a policy name is unknown or an override is malformed
+     */
+    public AllocationConfiguration(ParkingRepository parkingRepository, List<AllocationPolicy> policies,
+                                   @Value("${parking.allocation.policy:lowest-floor}") String defaultPolicy,
+                                   @Value("${parking.allocation.building-policies:}") String buildingPolicies,
+                                   @Value("${parking.allocation.balance-buildings:false}") boolean balanceBuildings) {
+        this.parkingRepository = parkingRepository;
+        Map<String, AllocationPolicy> byName = new HashMap<>();
+        policies.forEach(policy -> byName.put(policy.getName(), policy));
+
+        Map<Integer, AllocationPolicy> overrides = new HashMap<>();
+        for (String entry : AllocationSettings.split(buildingPolicies)) {
+            String[] parts = entry.split(":");
+            int building = parts.length == 2 ? SlotKeyCodec.parseLevel(parts[0].trim(), 'B') : -1;
+            if (building < 0) {
+                throw new IllegalArgumentException("Invalid building policy: " + entry);
+            }
+            overrides.put(building, lookup(byName, parts[1].trim()));
+        }
+        this.settings = new AllocationSettings(lookup(byName, defaultPolicy.trim()), overrides, balanceBuildings);
+    }
+
+    @PostConstruct
+    public void applySettings() {
+        parkingRepository.setAllocationSettings(settings);
+        log.info("Allocating with policy {} ({} building overrides, balanced: {})",
+            settings.getDefaultPolicy().getName(), settings.getBuildingPolicyCount(), settings.isBalanceBuildings());
+    }
+
+    public AllocationSettings getSettings() {
+        return settings;
+    }
+
+    private static AllocationPolicy lookup(Map<String, AllocationPolicy> byName, String name) {
+        AllocationPolicy policy = byName.get(name);
+        if (policy == null) {
+            throw new IllegalArgumentException("Unknown allocation policy: " + name);
+        }
+        return policy;
+    }
+}
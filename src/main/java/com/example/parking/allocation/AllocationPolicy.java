@@ -0,0 +1,37 @@
+package com.example.parking.allocation;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Service provider interface for choosing the floor a vehicle is parked on.
+ * A policy ranks the floors of a building; the repository keeps each building's floors in a
+ * priority structure ordered by rank, so picking a floor costs O(log n) however the ranks are
+ * defined. Within the chosen floor the lowest free slot number is taken.
+ * Register an implementation as a Spring bean and name it in {@code parking.allocation.*}.
+ */
+public interface AllocationPolicy {
+
+    /**
+     * Gets the name used to select the policy in configuration
+     * @return Policy name, e.g. "lowest-floor"
+     */
+    String getName();
+
+    /**
+     * Ranks a floor within its building; floors with lower ranks are filled first and
+     * equal ranks fall back to the lower floor number
+     * @param floor Floor to rank
+     * @param vehicleType Type of vehicle being parked
+     * @return Rank of the floor
+     */
+    long rank(AllocatableFloor floor, VehicleType vehicleType);
+
+    /**
+     * Tells whether ranks change as slots are claimed and released.
+     * Ranks of occupancy-independent policies are only recomputed when a floor fills up or frees up.
+     * @return true if {@link #rank} reads free-slot counts
+     */
+    default boolean isOccupancyDependent() {
+        return false;
+    }
+}
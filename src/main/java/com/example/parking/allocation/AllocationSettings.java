@@ -0,0 +1,69 @@
+package com.example.parking.allocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocation configuration handed to the repository: the floor policy of each building and
+ * whether vehicles are spread across buildings
+ */
+public final class AllocationSettings {
+    /** Lowest building, then lowest floor, with a free slot */
+    public static final AllocationSettings DEFAULT = new AllocationSettings(new LowestFloorPolicy(), Map.of(), false);
+
+    private final AllocationPolicy defaultPolicy;
+    private final Map<Integer, AllocationPolicy> buildingPolicies;
+    private final boolean balanceBuildings;
+
+    /**
+     * Creates allocation settings
+     * @param defaultPolicy Policy for buildings without an override
+     * @param buildingPolicies Policy overrides by building number
+     * @param balanceBuildings true to prefer the building with the most free slots of the vehicle's
+     *                         type, false to fill buildings in number order
+     */
+    public AllocationSettings(AllocationPolicy defaultPolicy, Map<Integer, AllocationPolicy> buildingPolicies,
+                              boolean balanceBuildings) {
+        this.defaultPolicy = defaultPolicy;
+        this.buildingPolicies = Map.copyOf(buildingPolicies);
+        this.balanceBuildings = balanceBuildings;
+    }
+
+    /**
+     * Gets the floor policy of a building
+     * @param buildingNumber Building number
+     * @return Override for the building, or the default policy
+     */
+    public AllocationPolicy policyFor(int buildingNumber) {
+        return buildingPolicies.getOrDefault(buildingNumber, defaultPolicy);
+    }
+
+    public AllocationPolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    public int getBuildingPolicyCount() {
+        return buildingPolicies.size();
+    }
+
+    public boolean isBalanceBuildings() {
+        return balanceBuildings;
+    }
+
+    /**
+     * Splits a comma-separated property value, skipping blank entries
+     */
+    static List<String> split(String spec) {
+        List<String> entries = new ArrayList<>();
+        if (spec == null) {
+            return entries;
+        }
+        for (String entry : spec.split(",")) {
+            if (!entry.isBlank()) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+}
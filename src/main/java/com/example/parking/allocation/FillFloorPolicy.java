@@ -0,0 +1,34 @@
+package com.example.parking.allocation;
+
+import org.springframework.stereotype.Component;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Fills one floor before opening another by preferring the floor with the smallest share of
+ * free slots. An empty floor has every slot free and so ranks behind any floor already in use,
+ * however large that floor is; floors in use fill up and empty floors stay closed.
+ */
+@Component
+public class FillFloorPolicy implements AllocationPolicy {
+    public static final String NAME = "fill-floor";
+
+    /** Resolution of the free share; fine enough to order floors of up to a million slots */
+    private static final long SCALE = 1L << 20;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(AllocatableFloor floor, VehicleType vehicleType) {
+        int capacity = floor.getCapacity(vehicleType);
+        return capacity <= 0 ? SCALE : floor.getAvailable(vehicleType) * SCALE / capacity;
+    }
+
+    @Override
+    public boolean isOccupancyDependent() {
+        return true;
+    }
+}
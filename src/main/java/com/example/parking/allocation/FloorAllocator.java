@@ -0,0 +1,186 @@
+package com.example.parking.allocation;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Priority structures that pick the floor for the next vehicle of each type.
+ * Every building keeps its floors with free slots in a skip list ordered by the building's
+ * policy rank, and the site keeps its buildings with free slots in a skip list ordered by
+ * building number or by free slots. Choosing a floor reads the head of both lists, and a
+ * change on a floor repositions its entries, so both cost O(log n).
+ * Repositories call {@link #refresh} after every change to a floor's free-slot counts;
+ * the counts are re-read under the building's lock, so the last refresh always wins.
+ * @param <F> Repository's floor type
+ */
+public class FloorAllocator<F extends AllocatableFloor> {
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private static final Comparator<Entry<?>> ENTRY_ORDER = Comparator
+        .comparingLong((Entry<?> entry) -> entry.rank)
+        .thenComparingInt(entry -> entry.number);
+
+    private final AllocationSettings settings;
+    private final Map<Long, FloorNode<F>> floors = new ConcurrentHashMap<>();
+    private final Map<Integer, BuildingNode<F>> buildings = new ConcurrentHashMap<>();
+
+    /** Buildings with at least one free slot, per vehicle type ordinal */
+    private final ConcurrentSkipListSet<Entry<BuildingNode<F>>>[] buildingQueues;
+
+    /** Immutable queue entry; replaced rather than mutated when its rank changes */
+    private record Entry<T>(long rank, int number, T node) {
+    }
+
+    private static final class BuildingNode<F extends AllocatableFloor> {
+        final int number;
+        final AllocationPolicy policy;
+        final ReentrantLock lock = new ReentrantLock();
+        final int[] available = new int[TYPES.length];
+        final Entry<BuildingNode<F>>[] queued = perType(Entry.class);
+        final ConcurrentSkipListSet<Entry<FloorNode<F>>>[] floorQueues = perType(ConcurrentSkipListSet.class);
+
+        BuildingNode(int number, AllocationPolicy policy) {
+            this.number = number;
+            this.policy = policy;
+            for (int t = 0; t < TYPES.length; t++) {
+                floorQueues[t] = new ConcurrentSkipListSet<>(ENTRY_ORDER);
+            }
+        }
+    }
+
+    private static final class FloorNode<F extends AllocatableFloor> {
+        /** Latest object for the floor's position; replaced when the repository swaps the floor */
+        volatile F floor;
+        final BuildingNode<F> building;
+        final int[] available = new int[TYPES.length];
+        final Entry<FloorNode<F>>[] queued = perType(Entry.class);
+
+        FloorNode(F floor, BuildingNode<F> building) {
+            this.floor = floor;
+            this.building = building;
+        }
+    }
+
+    /**
+     * Creates an empty allocator
+     * @param settings Policies per building and building selection
+     */
+    public FloorAllocator(AllocationSettings settings) {
+        this.settings = settings;
+        this.buildingQueues = perType(ConcurrentSkipListSet.class);
+        for (int t = 0; t < TYPES.length; t++) {
+            buildingQueues[t] = new ConcurrentSkipListSet<>(ENTRY_ORDER);
+        }
+    }
+
+    /**
+     * Creates an array indexed by vehicle type ordinal; the one place generic arrays are made
+     * @param elementType Erased class of the elements
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] perType(Class<?> elementType) {
+        return (T[]) Array.newInstance(elementType, TYPES.length);
+    }
+
+    public AllocationSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets the floor the next vehicle of a type should be parked on
+     * @param vehicleType Type of vehicle
+     * @return Floor ranked first in the building ranked first, or null if no floor has a free slot
+     */
+    public F choose(VehicleType vehicleType) {
+        int t = vehicleType.ordinal();
+        for (Entry<BuildingNode<F>> building : buildingQueues[t]) {
+            Entry<FloorNode<F>> floor = first(building.node().floorQueues[t]);
+            if (floor != null) {
+                return floor.node().floor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a floor, or repositions it after its free-slot counts changed
+     * @param floor Floor whose counts are re-read
+     */
+    public void refresh(F floor) {
+        long key = ((long) floor.getBuildingNumber() << 32) | floor.getFloorNumber();
+        FloorNode<F> node = floors.computeIfAbsent(key, k -> new FloorNode<>(floor,
+            buildings.computeIfAbsent(floor.getBuildingNumber(),
+                number -> new BuildingNode<>(number, settings.policyFor(number)))));
+        BuildingNode<F> building = node.building;
+        building.lock.lock();
+        try {
+            node.floor = floor;
+            for (int t = 0; t < TYPES.length; t++) {
+                int available = floor.getAvailable(TYPES[t]);
+                int previous = node.available[t];
+                if (available == previous && (node.queued[t] != null) == (available > 0)
+                        && !building.policy.isOccupancyDependent()) {
+                    continue;
+                }
+                node.available[t] = available;
+                requeueFloor(node, t, available);
+                building.available[t] += available - previous;
+                requeueBuilding(building, t);
+            }
+        } finally {
+            building.lock.unlock();
+        }
+    }
+
+    private void requeueFloor(FloorNode<F> node, int t, int available) {
+        ConcurrentSkipListSet<Entry<FloorNode<F>>> queue = node.building.floorQueues[t];
+        Entry<FloorNode<F>> previous = node.queued[t];
+        Entry<FloorNode<F>> next = available > 0
+            ? new Entry<>(node.building.policy.rank(node.floor, TYPES[t]), node.floor.getFloorNumber(), node)
+            : null;
+        if (previous != null && next != null && previous.rank() == next.rank()) {
+            return;
+        }
+        // Add before removing, so a concurrent choose never sees the building without the floor
+        if (next != null) {
+            queue.add(next);
+        }
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        node.queued[t] = next;
+    }
+
+    private void requeueBuilding(BuildingNode<F> building, int t) {
+        Entry<BuildingNode<F>> previous = building.queued[t];
+        Entry<BuildingNode<F>> next = null;
+        if (building.available[t] > 0) {
+            // Balanced: most free slots first; otherwise building number order
+            long rank = settings.isBalanceBuildings() ? -building.available[t] : building.number;
+            next = new Entry<>(rank, building.number, building);
+        }
+        if (previous != null && next != null && previous.rank() == next.rank()) {
+            return;
+        }
+        if (next != null) {
+            buildingQueues[t].add(next);
+        }
+        if (previous != null) {
+            buildingQueues[t].remove(previous);
+        }
+        building.queued[t] = next;
+    }
+
+    private static <T> Entry<T> first(ConcurrentSkipListSet<Entry<T>> queue) {
+        for (Entry<T> entry : queue) {
+            return entry;
+        }
+        return null;
+    }
+}
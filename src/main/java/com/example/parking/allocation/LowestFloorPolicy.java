@@ -0,0 +1,23 @@
+package com.example.parking.allocation;
+
+import org.springframework.stereotype.Component;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Fills the lowest floor with a free slot first
+ */
+@Component
+public class LowestFloorPolicy implements AllocationPolicy {
+    public static final String NAME = "lowest-floor";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(AllocatableFloor floor, VehicleType vehicleType) {
+        return floor.getFloorNumber();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.parking.allocation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Fills the floors closest to each building's entrance floor first.
+ * Entrances are configured as {@code parking.allocation.entrance-floors=B1:F3,B2:F1};
+ * buildings without an entry have their entrance on F1.
+ */
+@Component
+public class NearestEntrancePolicy implements AllocationPolicy {
+    public static final String NAME = "nearest-entrance";
+
+    private static final int DEFAULT_ENTRANCE_FLOOR = 1;
+
+    /** Entrance floor number by building number */
+    private final Map<Integer, Integer> entranceFloors;
+
+    /**
+     * Constructor injection for the entrance configuration
+     * @param entranceFloors Comma-separated building:floor pairs, e.g. "B1:F3,B2:F1"
+     * @throws IllegalArgumentException if an entry is not in building:floor form
+     */
+    public NearestEntrancePolicy(@Value("${parking.allocation.entrance-floors:}") String entranceFloors) {
+        this.entranceFloors = parse(entranceFloors);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(AllocatableFloor floor, VehicleType vehicleType) {
+        int entrance = entranceFloors.getOrDefault(floor.getBuildingNumber(), DEFAULT_ENTRANCE_FLOOR);
+        return Math.abs(floor.getFloorNumber() - entrance);
+    }
+
+    private static Map<Integer, Integer> parse(String spec) {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (String entry : AllocationSettings.split(spec)) {
+            String[] parts = entry.split(":");
+            int building = parts.length == 2 ? SlotKeyCodec.parseLevel(parts[0].trim(), 'B') : -1;
+            int floor = parts.length == 2 ? SlotKeyCodec.parseLevel(parts[1].trim(), 'F') : -1;
+            if (building < 0 || floor < 0) {
+                throw new IllegalArgumentException("Invalid entrance floor: " + entry);
+            }
+            result.put(building, floor);
+        }
+        return result;
+    }
+}
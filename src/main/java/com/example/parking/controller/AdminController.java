@@ -0,0 +1,67 @@
+package com.example.parking.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.parking.dto.MetricsResponseDTO;
+import com.example.parking.dto.SnapshotResponseDTO;
+import com.example.parking.service.MetricsService;
+import com.example.parking.service.SnapshotService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for administrative operations on the parking state.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Parking Administration", description = "APIs for operating the parking service")
+public class AdminController {
+    /**
+     * Service layer dependency for snapshot operations
+     */
+    private final SnapshotService snapshotService;
+
+    /**
+     * Service layer dependency for operational metrics
+     */
+    private final MetricsService metricsService;
+
+    /**
+     * Constructor injection for SnapshotService and MetricsService
+     * @param snapshotService Service for snapshot operations
+     * @param metricsService Service for operational metrics
+     */
+    public AdminController(SnapshotService snapshotService, MetricsService metricsService) {
+        this.snapshotService = snapshotService;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Writes a snapshot of all buildings, floors, slots and parked vehicles
+     * @return Details of the written snapshot, or 500 if it could not be written
+     */
+    @PostMapping("/snapshot")
+    @Operation(summary = "Write a snapshot", description = "Write the full parking state to the snapshot file")
+    public ResponseEntity<SnapshotResponseDTO> createSnapshot() {
+        SnapshotResponseDTO response = snapshotService.createSnapshot();
+        if (!response.isSuccess()) {
+            return ResponseEntity.internalServerError().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reports park latency, allocation failures, slot scans, floor lock waits and occupancy
+     * @return Current metric values
+     */
+    @GetMapping("/metrics")
+    @Operation(summary = "Get service metrics", description = "Hot-path counters and occupancy per building and floor")
+    public ResponseEntity<MetricsResponseDTO> getMetrics() {
+        return ResponseEntity.ok(metricsService.getMetrics());
+    }
+}
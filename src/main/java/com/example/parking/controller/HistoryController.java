@@ -0,0 +1,56 @@
+package com.example.parking.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.parking.dto.HistoryRequestDTO;
+import com.example.parking.dto.OccupancyHistoryDTO;
+import com.example.parking.service.HistoryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for recorded occupancy over time.
+ */
+@RestController
+@RequestMapping("/api/parking/history")
+@Tag(name = "Parking History", description = "APIs for querying parking sessions and occupancy over time")
+public class HistoryController {
+    /**
+     * Service layer dependency for occupancy history
+     */
+    private final HistoryService historyService;
+
+    /**
+     * Constructor injection for HistoryService
+     * @param historyService Service for occupancy history reads
+     */
+    public HistoryController(HistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    /**
+     * Gets a floor's occupancy per vehicle type over time
+     * @param request Building, floor, resolution and time range
+     * @return Occupancy samples, 400 if the range is inverted, or 404 if the floor has not been recorded
+     */
+    @PostMapping
+    @Operation(summary = "Get occupancy history",
+              description = "Per-floor occupancy per vehicle type at 1-second, 1-minute or 15-minute resolution")
+    public ResponseEntity<OccupancyHistoryDTO> getOccupancyHistory(@RequestBody HistoryRequestDTO request) {
+        OccupancyHistoryDTO history;
+        try {
+            history = historyService.getOccupancyHistory(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (history == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(history);
+    }
+}
@@ -1,23 +1,38 @@
 package com.example.parking.controller;
 
-import java.util.List;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.parking.dto.BatchParkingRequestDTO;
+import com.example.parking.dto.BatchParkingResponseDTO;
 import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.CompactAvailabilityRequestDTO;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityRequestDTO;
 import com.example.parking.dto.ParkingRequestDTO;
 import com.example.parking.dto.ParkingResponseDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
+import com.example.parking.service.AvailabilityResponseService;
+import com.example.parking.service.AvailabilityStreamService;
+import com.example.parking.service.EncodedResponse;
 import com.example.parking.service.ParkingService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 /**
@@ -35,23 +50,51 @@ public class ParkingController {
     private final ParkingService parkingService;
 
     /**
-     * Constructor injection for ParkingService
+     * Service layer dependency for availability streams
+     */
+    private final AvailabilityStreamService availabilityStreamService;
+
+    /**
+     * Service layer dependency for pre-encoded capacity and availability bodies
+     */
+    private final AvailabilityResponseService availabilityResponseService;
+
+    /**
+     * Constructor injection for ParkingService, AvailabilityStreamService and AvailabilityResponseService
      * @param parkingService Service for handling parking operations
+     * @param availabilityStreamService Service for pushing availability changes
+     * @param availabilityResponseService Service for encoded read responses
      */
-    public ParkingController(ParkingService parkingService) {
+    public ParkingController(ParkingService parkingService, AvailabilityStreamService availabilityStreamService,
+                             AvailabilityResponseService availabilityResponseService) {
         this.parkingService = parkingService;
+        this.availabilityStreamService = availabilityStreamService;
+        this.availabilityResponseService = availabilityResponseService;
     }
 
     /**
      * Retrieves current parking capacity across all buildings
-     * @return List of buildings with their floor-wise parking availability
+     * The body is pre-encoded JSON, gzip-compressed when the client accepts it
+     * @param ifNoneMatch ETag from a previous response, if the client has one
+     * @param acceptEncoding Encodings the client accepts
+     * @return List of buildings with their floor-wise parking availability, or 304 if unchanged
      * @throws ResourceNotFoundException if no buildings are found
      */
-    @GetMapping("/capacity")
+    @GetMapping(value = "/capacity", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Check parking capacity", 
-              description = "Returns available slots for each building and floor")
-    public ResponseEntity<List<BuildingCapacityDTO>> checkCapacity() {
-        return ResponseEntity.ok(parkingService.checkCapacity());
+              description = "Returns available slots for each building and floor; answers If-None-Match with 304")
+    @ApiResponse(responseCode = "200", content = @Content(
+        array = @ArraySchema(schema = @Schema(implementation = BuildingCapacityDTO.class))))
+    public ResponseEntity<byte[]> checkCapacity(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Read the published view's version before its data; a view published meanwhile can only
+        // make the ETag older than the body, never newer
+        String eTag = eTag(parkingService.getCapacityVersion());
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return encoded(availabilityResponseService.getCapacity(), eTag, acceptEncoding);
     }
 
     /**
@@ -78,23 +121,145 @@ public class ParkingController {
         return ResponseEntity.ok(parkingService.parkVehicle(request));
     }
 
+    /**
+     * Parks a group of vehicles in one request
+     * @param request Vehicles to park and whether the batch is all-or-nothing
+     * @return Per-vehicle results in request order
+     */
+    @PostMapping("/park/batch")
+    @Operation(summary = "Park a batch of vehicles",
+              description = "Park several vehicles at once, either all-or-nothing or best-effort")
+    public ResponseEntity<BatchParkingResponseDTO> parkVehicles(@RequestBody BatchParkingRequestDTO request) {
+        return ResponseEntity.ok(parkingService.parkVehicles(request));
+    }
+
+    /**
+     * Releases the slot held by a departing vehicle
+     * @param request Contains the registration number of the vehicle
+     * @return Details of the released slot or error if the vehicle is not parked
+     */
+    @PostMapping("/exit")
+    @Operation(summary = "Exit a vehicle", description = "Release the slot held by a parked vehicle")
+    public ResponseEntity<ParkingResponseDTO> exitVehicle(@RequestBody VehicleExitRequestDTO request) {
+        return ResponseEntity.ok(parkingService.exitVehicle(request));
+    }
+
     /**
      * Endpoint to get availability details for a specific building floor
      * @param request Contains buildingId and floorId
-     * @return ResponseEntity containing floor availability details
+     * @param ifNoneMatch ETag from a previous response for the same floor, if the client has one
+     * @param acceptEncoding Encodings the client accepts
+     * @return ResponseEntity containing floor availability details, or 304 if unchanged
      */
-    @PostMapping("/availability")
+    @PostMapping(value = "/availability", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get floor availability", 
-              description = "Get available parking slots for a specific building floor")
-    public ResponseEntity<FloorAvailabilityDTO> getFloorAvailability(
-            @RequestBody FloorAvailabilityRequestDTO request) {
-        FloorAvailabilityDTO availability = parkingService.getFloorAvailability(
+              description = "Get available parking slots for a specific building floor; answers If-None-Match with 304")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = FloorAvailabilityDTO.class)))
+    public ResponseEntity<byte[]> getFloorAvailability(
+            @RequestBody FloorAvailabilityRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Floor bodies are read through to the repository, so its floor version read first is never newer
+        long version = parkingService.getFloorVersion(request.getBuildingId(), request.getFloorId());
+        String eTag = version < 0 ? null : eTag(version);
+        if (eTag != null && matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        EncodedResponse availability = availabilityResponseService.getFloorAvailability(
             request.getBuildingId(), 
             request.getFloorId()
         );
         if (availability == null) {
             return ResponseEntity.notFound().build();
         }
+        return encoded(availability, eTag, acceptEncoding);
+    }
+
+    /**
+     * Endpoint to get a floor's free slots as runs, a bitmap or a page of IDs
+     * @param request Contains buildingId, floorId, format, cursor and limit
+     * @return One page of compact availability, 404 for an unknown floor or 400 for a foreign cursor
+     */
+    @PostMapping("/availability/compact")
+    @Operation(summary = "Get compact floor availability",
+              description = "Free slots as ranges (default), bitmaps or IDs, with cursor pagination for ranges and IDs")
+    public ResponseEntity<CompactFloorAvailabilityDTO> getCompactFloorAvailability(
+            @RequestBody CompactAvailabilityRequestDTO request) {
+        CompactFloorAvailabilityDTO availability;
+        try {
+            availability = parkingService.getCompactFloorAvailability(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (availability == null) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok(availability);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Streams per-floor availability as Server-Sent Events
+     * Sends every floor on connect, then each floor again when its availability changes
+     * @return Event stream of availability updates
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream availability changes",
+              description = "Server-Sent Events with per-floor availability, coalesced per update interval")
+    public SseEmitter streamAvailability() {
+        return availabilityStreamService.subscribe();
+    }
+
+    /**
+     * Builds a 200 response around a pre-encoded body; the bytes are copied to the output stream as they are
+     */
+    private ResponseEntity<byte[]> encoded(EncodedResponse response, String eTag, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        byte[] json = response.getJson();
+        if (json.length >= availabilityResponseService.getGzipMinBytes() && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(json);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against the current ETag.
+     * Done here rather than through WebRequest.checkNotModified, which answers POST with 412.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.parking.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.parking.dto.ReservationRequestDTO;
+import com.example.parking.dto.ReservationResponseDTO;
+import com.example.parking.service.ReservationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for holding slots ahead of a vehicle's arrival.
+ */
+@RestController
+@RequestMapping("/api/parking/reservations")
+@Tag(name = "Parking Reservations", description = "APIs for reserving slots before arrival")
+public class ReservationController {
+    /**
+     * Service layer dependency for reservations
+     */
+    private final ReservationService reservationService;
+
+    /**
+     * Constructor injection for ReservationService
+     * @param reservationService Service for reservation operations
+     */
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Holds a free slot for an arriving vehicle
+     * @param request Vehicle the slot is held for
+     * @return Reservation ID, held slot and expiry time
+     */
+    @PostMapping
+    @Operation(summary = "Reserve a slot", description = "Hold a free slot until the vehicle arrives or the hold expires")
+    public ResponseEntity<ReservationResponseDTO> reserve(@RequestBody ReservationRequestDTO request) {
+        return ResponseEntity.ok(reservationService.reserve(request));
+    }
+
+    /**
+     * Parks the vehicle in its held slot
+     * @param reservationId ID returned when reserving
+     * @return Slot the vehicle is parked in, or the failure reason
+     */
+    @PostMapping("/{reservationId}/confirm")
+    @Operation(summary = "Confirm a reservation", description = "Convert a held slot into a parked vehicle on arrival")
+    public ResponseEntity<ReservationResponseDTO> confirm(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.confirm(reservationId));
+    }
+
+    /**
+     * Releases a held slot
+     * @param reservationId ID returned when reserving
+     * @return Released slot, or the failure reason
+     */
+    @PostMapping("/{reservationId}/cancel")
+    @Operation(summary = "Cancel a reservation", description = "Return a held slot to the free pool")
+    public ResponseEntity<ReservationResponseDTO> cancel(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.cancel(reservationId));
+    }
+}
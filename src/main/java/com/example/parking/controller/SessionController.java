@@ -0,0 +1,69 @@
+package com.example.parking.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.parking.dto.DwellStatsRequestDTO;
+import com.example.parking.dto.DwellStatsResponseDTO;
+import com.example.parking.dto.SessionQueryRequestDTO;
+import com.example.parking.dto.SessionQueryResponseDTO;
+import com.example.parking.service.SessionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST Controller for the history of completed parking sessions.
+ */
+@RestController
+@RequestMapping("/api/parking/sessions")
+@Tag(name = "Parking History", description = "APIs for querying parking sessions and occupancy over time")
+public class SessionController {
+    /**
+     * Service layer dependency for session queries
+     */
+    private final SessionService sessionService;
+
+    /**
+     * Constructor injection for SessionService
+     * @param sessionService Service for session queries
+     */
+    public SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Finds completed sessions by time range and, optionally, floor
+     * @param request Time range, floor and limit
+     * @return Matching sessions, or 400 if the range or floor is invalid
+     */
+    @PostMapping
+    @Operation(summary = "Query parking sessions",
+              description = "Completed park-to-exit sessions overlapping a time range, optionally on one floor")
+    public ResponseEntity<SessionQueryResponseDTO> findSessions(@RequestBody SessionQueryRequestDTO request) {
+        try {
+            return ResponseEntity.ok(sessionService.findSessions(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Gets parking duration percentiles of a floor per vehicle type
+     * @param request Floor and rolling window
+     * @return Percentiles per vehicle type, or 400 if the floor is invalid
+     */
+    @PostMapping("/dwell")
+    @Operation(summary = "Get dwell-time percentiles",
+              description = "p50, p95 and p99 parking duration of a floor per vehicle type over the last hour, day or since start")
+    public ResponseEntity<DwellStatsResponseDTO> getDwellStats(@RequestBody DwellStatsRequestDTO request) {
+        try {
+            return ResponseEntity.ok(sessionService.getDwellStats(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.parking.dto;
+
+/**
+ * Encodings of a floor's free slots in compact availability responses
+ */
+public enum AvailabilityFormat {
+    /** One slot ID per free slot, e.g. "B1-F1-TW-03" */
+    IDS,
+    /** Runs of consecutive free slots, e.g. "B1-F1-TW-03..17"; a single free slot is sent as its ID */
+    RANGES,
+    /** Base64 bitmap per vehicle type in which bit n (little-endian) is set when slot number n is free */
+    BITMAP
+}
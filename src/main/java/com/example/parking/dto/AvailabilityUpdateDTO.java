@@ -0,0 +1,23 @@
+package com.example.parking.dto;
+
+import java.util.Map;
+
+import com.example.parking.entity.VehicleType;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for availability updates pushed to stream subscribers.
+ * Carries the current free-slot counts of one floor.
+ */
+@Data
+public class AvailabilityUpdateDTO {
+    /** Unique identifier for the building */
+    private String buildingId;
+
+    /** Unique identifier for the floor */
+    private String floorId;
+
+    /** Map containing number of available slots for each vehicle type */
+    private Map<VehicleType, Integer> availableSlots;
+}
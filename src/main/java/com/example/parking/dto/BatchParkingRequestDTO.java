@@ -0,0 +1,24 @@
+package com.example.parking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for batch parking requests.
+ * Carries a group of vehicles that arrive together, e.g. a shuttle or fleet.
+ */
+@Data
+public class BatchParkingRequestDTO {
+    /**
+     * Vehicles to park, in allocation order
+     */
+    private List<ParkingRequestDTO> requests = new ArrayList<>();
+
+    /**
+     * When true, either every vehicle is parked or none is;
+     * when false, each vehicle is parked independently
+     */
+    private boolean allOrNothing;
+}
@@ -0,0 +1,33 @@
+package com.example.parking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for batch parking responses.
+ * Contains one result per requested vehicle, in request order.
+ */
+@Data
+public class BatchParkingResponseDTO {
+    /**
+     * Per-vehicle results, aligned with the request list
+     */
+    private List<ParkingResponseDTO> results = new ArrayList<>();
+
+    /**
+     * Number of vehicles that hold a slot after the batch
+     */
+    private int parkedCount;
+
+    /**
+     * True when every vehicle in the batch was parked
+     */
+    private boolean success;
+
+    /**
+     * Descriptive message about the batch result
+     */
+    private String message;
+}
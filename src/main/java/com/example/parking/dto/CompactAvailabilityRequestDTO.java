@@ -0,0 +1,34 @@
+package com.example.parking.dto;
+
+import lombok.Data;
+
+/**
+ * DTO for requesting compact or paginated floor availability
+ */
+@Data
+public class CompactAvailabilityRequestDTO {
+    /**
+     * Identifier for the building
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Encoding of the free slots; RANGES when omitted
+     */
+    private AvailabilityFormat format;
+
+    /**
+     * nextCursor of the previous page, or null for the first page; ignored for BITMAP
+     */
+    private String cursor;
+
+    /**
+     * Maximum slot IDs (IDS) or runs (RANGES) per page; ignored for BITMAP
+     */
+    private Integer limit;
+}
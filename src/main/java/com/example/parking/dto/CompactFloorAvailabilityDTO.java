@@ -0,0 +1,29 @@
+package com.example.parking.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * DTO for one page of compact floor availability.
+ * Slot lists hold IDs or runs depending on the format; bitmaps are set only for BITMAP.
+ * Totals always count every free slot on the floor, not just the page.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactFloorAvailabilityDTO {
+    private String buildingId;
+    private String floorId;
+    private AvailabilityFormat format;
+    private List<String> availableTwoWheelerSlots;
+    private List<String> availableFourWheelerSlots;
+    private String twoWheelerBitmap;
+    private String fourWheelerBitmap;
+    private int totalAvailableTwoWheelerSlots;
+    private int totalAvailableFourWheelerSlots;
+
+    /** Cursor for the next page, or null when this page is the last */
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.example.parking.dto;
+
+import lombok.Data;
+
+/**
+ * DTO for the dwell-time distribution of one vehicle type.
+ * Values are upper bounds of histogram buckets, within about 6% of the recorded durations.
+ */
+@Data
+public class DwellPercentilesDTO {
+    /**
+     * Completed sessions in the window
+     */
+    private long sessions;
+
+    /**
+     * Median parking duration in seconds
+     */
+    private long p50Seconds;
+
+    /**
+     * 95th percentile parking duration in seconds
+     */
+    private long p95Seconds;
+
+    /**
+     * 99th percentile parking duration in seconds
+     */
+    private long p99Seconds;
+
+    /**
+     * Longest parking duration in seconds
+     */
+    private long maxSeconds;
+}
@@ -0,0 +1,24 @@
+package com.example.parking.dto;
+
+import lombok.Data;
+
+/**
+ * DTO for requesting dwell-time percentiles of a floor
+ */
+@Data
+public class DwellStatsRequestDTO {
+    /**
+     * Identifier for the building
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Rolling window; DAY when omitted
+     */
+    private DwellWindow window;
+}
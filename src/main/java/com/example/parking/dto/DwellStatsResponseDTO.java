@@ -0,0 +1,34 @@
+package com.example.parking.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.parking.entity.VehicleType;
+
+import lombok.Data;
+
+/**
+ * DTO for dwell-time percentiles of a floor per vehicle type
+ */
+@Data
+public class DwellStatsResponseDTO {
+    /**
+     * Identifier for the building
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Rolling window the percentiles cover
+     */
+    private DwellWindow window;
+
+    /**
+     * Dwell-time distribution per vehicle type
+     */
+    private Map<VehicleType, DwellPercentilesDTO> vehicleTypes = new EnumMap<>(VehicleType.class);
+}
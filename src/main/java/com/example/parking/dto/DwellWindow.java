@@ -0,0 +1,31 @@
+package com.example.parking.dto;
+
+/**
+ * Rolling windows over which dwell-time percentiles are reported.
+ * A window is the cumulative histogram minus the oldest of its snapshots, so it covers its
+ * length to within one snapshot interval.
+ */
+public enum DwellWindow {
+    /** Exits in the last hour, snapshotted every 5 minutes */
+    HOUR(300, 12),
+    /** Exits in the last day, snapshotted every hour */
+    DAY(3_600, 24),
+    /** Every exit since the service started */
+    ALL(0, 0);
+
+    private final int snapshotSeconds;
+    private final int snapshots;
+
+    DwellWindow(int snapshotSeconds, int snapshots) {
+        this.snapshotSeconds = snapshotSeconds;
+        this.snapshots = snapshots;
+    }
+
+    public int getSnapshotSeconds() {
+        return snapshotSeconds;
+    }
+
+    public int getSnapshots() {
+        return snapshots;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.parking.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * DTO for requesting a floor's occupancy history
+ */
+@Data
+public class HistoryRequestDTO {
+    /**
+     * Identifier for the building
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Sample resolution; MINUTE when omitted
+     */
+    private HistoryResolution resolution;
+
+    /**
+     * Start of the range; the start of the resolution's retention when omitted
+     */
+    private Instant from;
+
+    /**
+     * End of the range, inclusive; now when omitted
+     */
+    private Instant to;
+}
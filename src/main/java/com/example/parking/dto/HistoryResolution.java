@@ -0,0 +1,29 @@
+package com.example.parking.dto;
+
+/**
+ * Resolutions kept by the occupancy history, each in a fixed-size ring buffer per floor
+ */
+public enum HistoryResolution {
+    /** One sample per second for the last hour */
+    SECOND(1, 3_600),
+    /** Per-minute averages for the last day */
+    MINUTE(60, 1_440),
+    /** Per-15-minute averages for the last 31 days */
+    FIFTEEN_MINUTES(900, 2_976);
+
+    private final int intervalSeconds;
+    private final int retainedSamples;
+
+    HistoryResolution(int intervalSeconds, int retainedSamples) {
+        this.intervalSeconds = intervalSeconds;
+        this.retainedSamples = retainedSamples;
+    }
+
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public int getRetainedSamples() {
+        return retainedSamples;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.parking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.parking.entity.VehicleType;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for service metrics.
+ * Counters are cumulative since startup; occupancy is read at request time.
+ */
+@Data
+public class MetricsResponseDTO {
+    /** Number of park requests handled */
+    private long parkRequests;
+
+    /** Mean park request latency in microseconds */
+    private double parkMeanMicros;
+
+    /** Slowest park request in microseconds */
+    private long parkMaxMicros;
+
+    /** Median park request latency in microseconds, as the upper bound of its power-of-two bucket */
+    private long parkP50Micros;
+
+    /** 90th percentile park request latency in microseconds, as a bucket upper bound */
+    private long parkP90Micros;
+
+    /** 99th percentile park request latency in microseconds, as a bucket upper bound */
+    private long parkP99Micros;
+
+    /** 99.9th percentile park request latency in microseconds, as a bucket upper bound */
+    private long parkP999Micros;
+
+    /** Park requests per latency bucket, keyed by the bucket's upper bound in microseconds; empty buckets are left out */
+    private Map<Long, Long> parkLatencyBuckets;
+
+    /** Park requests that found no free slot, per vehicle type */
+    private Map<VehicleType, Long> allocationFailures;
+
+    /** Number of slot claims made by the repository */
+    private long claims;
+
+    /** Mean number of slots examined per claim */
+    private double slotsScannedPerClaim;
+
+    /** Floor lock acquisitions in updateSlot */
+    private long lockAcquisitions;
+
+    /** Floor lock acquisitions in updateSlot that had to wait */
+    private long contendedLockAcquisitions;
+
+    /** Total floor lock wait time in updateSlot in microseconds */
+    private long lockWaitMicros;
+
+    /** Longest floor lock wait in updateSlot in microseconds */
+    private long lockWaitMaxMicros;
+
+    /** Occupancy of each building */
+    private List<BuildingOccupancyDTO> buildings;
+
+    /** Occupancy of each floor */
+    private List<FloorOccupancyDTO> floors;
+
+    /**
+     * Inner class representing building-level occupancy
+     */
+    @Data
+    public static class BuildingOccupancyDTO {
+        /** Unique identifier for the building */
+        private String buildingId;
+
+        /** Number of slots in the building */
+        private int totalSlots;
+
+        /** Number of occupied slots in the building */
+        private int occupiedSlots;
+
+        /** Share of slots occupied, between 0 and 1 */
+        private double occupancy;
+    }
+
+    /**
+     * Inner class representing floor-level occupancy
+     */
+    @Data
+    public static class FloorOccupancyDTO {
+        /** Unique identifier for the building */
+        private String buildingId;
+
+        /** Unique identifier for the floor */
+        private String floorId;
+
+        /** Number of slots on the floor */
+        private int totalSlots;
+
+        /** Number of occupied slots on the floor */
+        private int occupiedSlots;
+
+        /** Share of slots occupied, between 0 and 1 */
+        private double occupancy;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.parking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.parking.entity.VehicleType;
+
+import lombok.Data;
+
+/**
+ * DTO for a floor's occupancy over time, one column per vehicle type
+ */
+@Data
+public class OccupancyHistoryDTO {
+    /**
+     * Identifier for the building
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Resolution of the samples
+     */
+    private HistoryResolution resolution;
+
+    /**
+     * Length of each sample period in seconds
+     */
+    private int intervalSeconds;
+
+    /**
+     * Start of each sample period in epoch seconds, oldest first; periods without samples are omitted
+     */
+    private List<Long> timestamps;
+
+    /**
+     * Average occupied slots per vehicle type, aligned with timestamps
+     */
+    private Map<VehicleType, List<Integer>> occupiedSlots;
+
+    /**
+     * Slot count per vehicle type
+     */
+    private Map<VehicleType, Integer> totalSlots;
+}
@@ -0,0 +1,36 @@
+package com.example.parking.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * DTO for one completed park-to-exit session
+ */
+@Data
+public class ParkingSessionDTO {
+    /**
+     * Slot the vehicle was parked in
+     */
+    private String slotId;
+
+    /**
+     * Registration/license plate number of the vehicle, if known
+     */
+    private String registrationNumber;
+
+    /**
+     * Time the vehicle parked, to the second
+     */
+    private Instant entryTime;
+
+    /**
+     * Time the vehicle left, to the second
+     */
+    private Instant exitTime;
+
+    /**
+     * Time parked in seconds
+     */
+    private long durationSeconds;
+}
@@ -0,0 +1,22 @@
+package com.example.parking.dto;
+
+import com.example.parking.entity.VehicleType;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for slot reservation requests.
+ * Identifies the vehicle a slot is held for until it arrives.
+ */
+@Data
+public class ReservationRequestDTO {
+    /**
+     * Registration/license plate number of the arriving vehicle
+     */
+    private String registrationNumber;
+
+    /**
+     * Type of vehicle the slot is held for
+     */
+    private VehicleType vehicleType;
+}
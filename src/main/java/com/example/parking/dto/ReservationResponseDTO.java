@@ -0,0 +1,37 @@
+package com.example.parking.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for reservation responses.
+ * Contains the held slot and when the hold lapses.
+ */
+@Data
+public class ReservationResponseDTO {
+    /**
+     * ID used to confirm or cancel the reservation
+     */
+    private String reservationId;
+
+    /**
+     * Held parking slot ID
+     */
+    private String slotId;
+
+    /**
+     * Time the slot returns to the free pool unless the reservation is confirmed
+     */
+    private Instant expiresAt;
+
+    /**
+     * Descriptive message about the operation result
+     */
+    private String message;
+
+    /**
+     * Operation success indicator
+     */
+    private boolean success;
+}
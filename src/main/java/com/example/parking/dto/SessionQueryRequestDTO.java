@@ -0,0 +1,36 @@
+package com.example.parking.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * DTO for querying completed parking sessions by time range and floor
+ */
+@Data
+public class SessionQueryRequestDTO {
+    /**
+     * Identifier for the building; set together with floorId to restrict the query to one floor
+     */
+    private String buildingId;
+
+    /**
+     * Identifier for the floor within the building
+     */
+    private String floorId;
+
+    /**
+     * Start of the range; sessions that ended before it are excluded. Unbounded when omitted
+     */
+    private Instant from;
+
+    /**
+     * End of the range, exclusive; sessions that started at or after it are excluded. Now when omitted
+     */
+    private Instant to;
+
+    /**
+     * Maximum sessions returned
+     */
+    private Integer limit;
+}
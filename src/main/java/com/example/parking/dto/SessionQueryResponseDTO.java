@@ -0,0 +1,22 @@
+package com.example.parking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * DTO for session query results
+ */
+@Data
+public class SessionQueryResponseDTO {
+    /**
+     * Matching sessions, oldest first, up to the requested limit
+     */
+    private List<ParkingSessionDTO> sessions = new ArrayList<>();
+
+    /**
+     * Number of matching sessions, including those beyond the limit
+     */
+    private long matchedSessions;
+}
@@ -0,0 +1,50 @@
+package com.example.parking.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for snapshot operation responses.
+ * Describes the snapshot that was written or loaded.
+ */
+@Data
+public class SnapshotResponseDTO {
+    /**
+     * Location of the snapshot file
+     */
+    private String path;
+
+    /**
+     * Number of floors in the snapshot
+     */
+    private int floorCount;
+
+    /**
+     * Number of slots in the snapshot
+     */
+    private long slotCount;
+
+    /**
+     * Number of occupied slots in the snapshot
+     */
+    private long occupiedCount;
+
+    /**
+     * Size of the snapshot file in bytes
+     */
+    private long sizeBytes;
+
+    /**
+     * Time taken by the operation in milliseconds
+     */
+    private long durationMillis;
+
+    /**
+     * Descriptive message about the operation result
+     */
+    private String message;
+
+    /**
+     * Operation success indicator
+     */
+    private boolean success;
+}
@@ -0,0 +1,15 @@
+package com.example.parking.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for vehicle exit requests.
+ * Identifies the departing vehicle by its registration number.
+ */
+@Data
+public class VehicleExitRequestDTO {
+    /**
+     * Registration/license plate number of the departing vehicle
+     */
+    private String registrationNumber;
+}
@@ -53,4 +53,19 @@ public class Building extends BaseEntity implements ParkingStructure {
                 .mapToInt(Floor::getAvailableCapacity)
                 .sum();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Calculates currently available parking spaces for a vehicle type
+     * Reads each floor's incremental counters, so the cost is O(floors)
+     * @param vehicleType Type of vehicle
+     * @return Number of unoccupied parking slots of that type
+     */
+    @Override
+    public int getAvailableCapacity(VehicleType vehicleType) {
+        int available = 0;
+        for (Floor floor : floors) {
+            available += floor.getAvailableCapacity(vehicleType);
+        }
+        return available;
+    }
+}
\ No newline at end of file
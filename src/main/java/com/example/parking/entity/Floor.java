@@ -2,9 +2,16 @@ package com.example.parking.entity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Represents a floor within a parking building.
@@ -28,6 +35,75 @@ public class Floor extends BaseEntity implements ParkingStructure {
      */
     private List<ParkingSlot> parkingSlots = new ArrayList<>();
 
+    /**
+     * Available slot counts per vehicle type, indexed by ordinal.
+     * The repository seeds them when it registers the floor, before any of its slots can be
+     * claimed, and then keeps them up to date as slots are occupied and released, so capacity
+     * reads never rescan the floor. A floor used outside a repository seeds them on first read.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicIntegerArray availableSlotCounts = new AtomicIntegerArray(VehicleType.values().length);
+
+    /**
+     * Whether availableSlotCounts reflects the current slot list
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile boolean availableSlotCountsSeeded;
+
+    /**
+     * Serialises recounts; a ReentrantLock so virtual threads waiting on it do not pin their carrier
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ReentrantLock recountLock = new ReentrantLock();
+
+    /**
+     * Occupancy version, advanced by the repository after every change on this floor
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicLong occupancyVersion = new AtomicLong();
+
+    /**
+     * Slot counts per vehicle type ordinal, recounted when the slot list changes size
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile TypeTotals typeTotals;
+
+    /** Slot counts per vehicle type and the slot list they were counted from */
+    private record TypeTotals(List<ParkingSlot> slots, int size, int[] counts) {
+    }
+
+    /**
+     * Slot count for floor views whose slots are not held as objects, or -1 to count the slot list
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int slotCountOverride = -1;
+
+    /**
+     * Replaces the slot list and invalidates the availability counters
+     * @param parkingSlots New collection of parking slots
+     */
+    public void setParkingSlots(List<ParkingSlot> parkingSlots) {
+        this.parkingSlots = parkingSlots;
+        resetAvailableCapacity();
+    }
+
     /**
      * Gets floor's unique identifier
      * @return Floor ID (e.g., "F1", "F2")
@@ -43,7 +119,37 @@ public class Floor extends BaseEntity implements ParkingStructure {
      */
     @Override
     public int getTotalCapacity() {
-        return parkingSlots.size();
+        return slotCountOverride >= 0 ? slotCountOverride : parkingSlots.size();
+    }
+
+    /**
+     * Counts the parking slots of a vehicle type on this floor
+     * @param vehicleType Type of vehicle
+     * @return Slot count of that type, recounted only after slots are added or removed
+     */
+    public int getTotalCapacity(VehicleType vehicleType) {
+        List<ParkingSlot> slots = parkingSlots;
+        TypeTotals totals = typeTotals;
+        if (totals == null || totals.slots() != slots || totals.size() != slots.size()) {
+            int[] counts = new int[VehicleType.values().length];
+            for (ParkingSlot slot : slots) {
+                if (slot.getVehicleType() != null) {
+                    counts[slot.getVehicleType().ordinal()]++;
+                }
+            }
+            totals = new TypeTotals(slots, slots.size(), counts);
+            typeTotals = totals;
+        }
+        return totals.counts()[vehicleType.ordinal()];
+    }
+
+    /**
+     * Sets the total slot count directly.
+     * Used for floor views whose slots are not held as objects.
+     * @param totalCapacity Number of slots on the floor
+     */
+    public void setTotalCapacity(int totalCapacity) {
+        this.slotCountOverride = totalCapacity;
     }
 
     /**
@@ -52,8 +158,104 @@ public class Floor extends BaseEntity implements ParkingStructure {
      */
     @Override
     public int getAvailableCapacity() {
-        return (int) parkingSlots.stream()
-                .filter(slot -> !slot.isOccupied())
-                .count();
+        ensureAvailableCapacitySeeded();
+        int available = 0;
+        for (int i = 0; i < availableSlotCounts.length(); i++) {
+            available += availableSlotCounts.get(i);
+        }
+        return available;
+    }
+
+    /**
+     * Counts number of available parking slots for a vehicle type
+     * @param vehicleType Type of vehicle
+     * @return Number of unoccupied slots of that type
+     */
+    @Override
+    public int getAvailableCapacity(VehicleType vehicleType) {
+        ensureAvailableCapacitySeeded();
+        return availableSlotCounts.get(vehicleType.ordinal());
+    }
+
+    /**
+     * Records that a slot of this floor went from free to occupied
+     * @param vehicleType Type of the slot
+     */
+    public void recordSlotOccupied(VehicleType vehicleType) {
+        if (availableSlotCountsSeeded && vehicleType != null) {
+            availableSlotCounts.decrementAndGet(vehicleType.ordinal());
+        }
+    }
+
+    /**
+     * Records that a slot of this floor went from occupied to free
+     * @param vehicleType Type of the slot
+     */
+    public void recordSlotReleased(VehicleType vehicleType) {
+        if (availableSlotCountsSeeded && vehicleType != null) {
+            availableSlotCounts.incrementAndGet(vehicleType.ordinal());
+        }
+    }
+
+    /**
+     * Sets the availability counter for a vehicle type directly.
+     * Used for floor views whose slots are not held as objects.
+     * @param vehicleType Type of vehicle
+     * @param available Number of unoccupied slots of that type
+     */
+    public void setAvailableCapacity(VehicleType vehicleType, int available) {
+        availableSlotCounts.set(vehicleType.ordinal(), available);
+        availableSlotCountsSeeded = true;
+    }
+
+    /**
+     * Gets the occupancy version of this floor
+     * @return Version that changes whenever a slot on the floor changes state
+     */
+    public long getVersion() {
+        return occupancyVersion.get();
+    }
+
+    /**
+     * Moves the occupancy version forward; older versions are ignored
+     * @param version Repository-wide version of the change
+     */
+    public void advanceVersion(long version) {
+        occupancyVersion.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Discards the availability counters so the next read recounts the slot list.
+     * Used when slots are added to or removed from the floor.
+     */
+    public void resetAvailableCapacity() {
+        availableSlotCountsSeeded = false;
+    }
+
+    /**
+     * Rebuilds the availability counters from the slot list
+     */
+    public void recountAvailableCapacity() {
+        recountLock.lock();
+        try {
+            int[] counts = new int[availableSlotCounts.length()];
+            for (ParkingSlot slot : parkingSlots) {
+                if (slot.getVehicleType() != null && !slot.isOccupied()) {
+                    counts[slot.getVehicleType().ordinal()]++;
+                }
+            }
+            for (int i = 0; i < counts.length; i++) {
+                availableSlotCounts.set(i, counts[i]);
+            }
+            availableSlotCountsSeeded = true;
+        } finally {
+            recountLock.unlock();
+        }
+    }
+
+    private void ensureAvailableCapacitySeeded() {
+        if (!availableSlotCountsSeeded) {
+            recountAvailableCapacity();
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -22,9 +22,10 @@ public class ParkingSlot extends BaseEntity implements ParkingSpace {
     private String floorId;
 
     /**
-     * Current occupancy status of the slot
+     * Current occupancy status of the slot.
+     * Volatile so a claim made on one request thread is visible to readers on others.
      */
-    private boolean occupied;
+    private volatile boolean occupied;
 
     /**
      * Type of vehicle this slot can accommodate
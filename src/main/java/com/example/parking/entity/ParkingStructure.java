@@ -7,4 +7,5 @@ public interface ParkingStructure {
     String getIdentifier();
     int getTotalCapacity();
     int getAvailableCapacity();
+    int getAvailableCapacity(VehicleType vehicleType);
 } 
\ No newline at end of file
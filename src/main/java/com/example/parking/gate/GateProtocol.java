@@ -0,0 +1,134 @@
+package com.example.parking.gate;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-length binary frames spoken by barrier gates and ANPR cameras over TCP.
+ * Requests and responses are both 32 bytes, big-endian:
+ * <pre>
+ * Request                                   Response
+ *  0  byte  opcode                          0  byte  opcode, echoed
+ *  1  byte  vehicle type ordinal (PARK)     1  byte  status
+ *  2  short reserved, zero                  2  byte  1 if the slot is occupied, else 0
+ *  4  int   request ID, echoed              3  byte  reserved, zero
+ *  8  24 bytes text, ASCII, zero padded     4  int   request ID, echoed
+ *                                           8  24 bytes text, ASCII, zero padded
+ * </pre>
+ * Request text is the registration number for PARK and EXIT and the slot ID for SLOT_STATUS.
+ * Response text is the assigned slot for PARK, the released slot for EXIT and the slot ID for
+ * SLOT_STATUS. A connection may pipeline any number of requests; responses come back in
+ * request order.
+ */
+public final class GateProtocol {
+    public static final int FRAME_SIZE = 32;
+
+    /** Longest text that fits a frame */
+    public static final int MAX_TEXT_BYTES = 24;
+
+    public static final byte OP_PARK = 1;
+    public static final byte OP_EXIT = 2;
+    public static final byte OP_SLOT_STATUS = 3;
+
+    /** Request served */
+    public static final byte STATUS_OK = 0;
+    /** Request understood but refused, e.g. no free slot or vehicle not parked */
+    public static final byte STATUS_REJECTED = 1;
+    /** Unknown opcode, vehicle type, or empty or non-ASCII text */
+    public static final byte STATUS_MALFORMED = 2;
+    /** Request failed inside the service */
+    public static final byte STATUS_ERROR = 3;
+
+    private static final int TEXT_OFFSET = 8;
+
+    private GateProtocol() {
+    }
+
+    /**
+     * Writes a frame at the buffer's position and advances it by one frame
+     * @param buffer Target with at least {@link #FRAME_SIZE} bytes remaining
+     * @param opcode Opcode
+     * @param flags Vehicle type ordinal for requests, status for responses
+     * @param occupied Occupied flag; zero in requests
+     * @param requestId Request ID
+     * @param text Text field, or null for none
+     * @throws IllegalArgumentException if the text cannot be encoded; nothing is written then
+     */
+    public static void writeFrame(ByteBuffer buffer, byte opcode, byte flags, byte occupied, int requestId, String text) {
+        if (!isEncodable(text)) {
+            throw new IllegalArgumentException("Text is not ASCII of at most " + MAX_TEXT_BYTES + " bytes: " + text);
+        }
+        int start = buffer.position();
+        buffer.put(opcode).put(flags).put(occupied).put((byte) 0).putInt(requestId);
+        int length = text == null ? 0 : text.length();
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+        for (int i = length; i < MAX_TEXT_BYTES; i++) {
+            buffer.put((byte) 0);
+        }
+        buffer.position(start + FRAME_SIZE);
+    }
+
+    /**
+     * Checks whether a text fits the text field
+     * @param text Text, or null for none
+     * @return True if the text is null or non-zero ASCII of at most {@link #MAX_TEXT_BYTES} characters
+     */
+    public static boolean isEncodable(String text) {
+        if (text == null) {
+            return true;
+        }
+        if (text.length() > MAX_TEXT_BYTES) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == 0 || c > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the text field of the frame starting at an absolute offset
+     * @param buffer Buffer holding the frame
+     * @param frameStart Offset of the frame's first byte
+     * @return Text up to the first zero byte; empty if the field is blank, null if it holds a non-ASCII byte
+     */
+    public static String readText(ByteBuffer buffer, int frameStart) {
+        int offset = frameStart + TEXT_OFFSET;
+        int length = 0;
+        while (length < MAX_TEXT_BYTES && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(offset + i);
+            if (b < 0) {
+                return null;
+            }
+            text[i] = (char) b;
+        }
+        return new String(text);
+    }
+
+    public static byte opcode(ByteBuffer buffer, int frameStart) {
+        return buffer.get(frameStart);
+    }
+
+    /**
+     * Gets byte 1: the vehicle type ordinal of a request or the status of a response
+     */
+    public static byte flags(ByteBuffer buffer, int frameStart) {
+        return buffer.get(frameStart + 1);
+    }
+
+    public static boolean occupied(ByteBuffer buffer, int frameStart) {
+        return buffer.get(frameStart + 2) != 0;
+    }
+
+    public static int requestId(ByteBuffer buffer, int frameStart) {
+        return buffer.getInt(frameStart + 4);
+    }
+}
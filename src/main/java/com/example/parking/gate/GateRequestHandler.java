@@ -0,0 +1,106 @@
+package com.example.parking.gate;
+
+import java.nio.ByteBuffer;
+
+import com.example.parking.dto.ParkingRequestDTO;
+import com.example.parking.dto.ParkingResponseDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.service.ParkingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes gate request frames, serves them through the same ParkingService as the HTTP API
+ * and encodes the response frames. Stateless, so event loops share one instance.
+ */
+@Slf4j
+class GateRequestHandler {
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    /** Message ParkingService uses for an occupied slot in a status response */
+    private static final String OCCUPIED_MESSAGE = "Occupied";
+
+    private final ParkingService parkingService;
+
+    GateRequestHandler(ParkingService parkingService) {
+        this.parkingService = parkingService;
+    }
+
+    /**
+     * Serves the request frame at the input's position and writes its response frame
+     * @param in Buffer positioned at a complete request frame; advanced past it
+     * @param out Buffer with room for a response frame; advanced past it
+     */
+    void handle(ByteBuffer in, ByteBuffer out) {
+        int frame = in.position();
+        in.position(frame + GateProtocol.FRAME_SIZE);
+        byte opcode = GateProtocol.opcode(in, frame);
+        int requestId = GateProtocol.requestId(in, frame);
+        String text = GateProtocol.readText(in, frame);
+        if (text == null || text.isEmpty()) {
+            reply(out, opcode, GateProtocol.STATUS_MALFORMED, false, requestId, null);
+            return;
+        }
+        // Only the service call is guarded; the reply is written once, outside, so a frame is never half written
+        ParkingResponseDTO response;
+        try {
+            response = switch (opcode) {
+                case GateProtocol.OP_PARK -> park(GateProtocol.flags(in, frame), text);
+                case GateProtocol.OP_EXIT -> exit(text);
+                case GateProtocol.OP_SLOT_STATUS -> parkingService.checkSlotStatus(text);
+                default -> null;
+            };
+        } catch (RuntimeException e) {
+            log.warn("Gate request {} with opcode {} failed", requestId, opcode, e);
+            reply(out, opcode, GateProtocol.STATUS_ERROR, false, requestId, null);
+            return;
+        }
+        if (response == null) {
+            reply(out, opcode, GateProtocol.STATUS_MALFORMED, false, requestId, null);
+            return;
+        }
+        reply(out, opcode, status(response), occupied(opcode, response), requestId, response.getSlotId());
+    }
+
+    /**
+     * Parks a vehicle
+     * @return Service response, or null if the vehicle type is unknown
+     */
+    private ParkingResponseDTO park(byte typeOrdinal, String registrationNumber) {
+        if (typeOrdinal < 0 || typeOrdinal >= TYPES.length) {
+            return null;
+        }
+        ParkingRequestDTO request = new ParkingRequestDTO();
+        request.setRegistrationNumber(registrationNumber);
+        request.setVehicleType(TYPES[typeOrdinal]);
+        return parkingService.parkVehicle(request);
+    }
+
+    private ParkingResponseDTO exit(String registrationNumber) {
+        VehicleExitRequestDTO request = new VehicleExitRequestDTO();
+        request.setRegistrationNumber(registrationNumber);
+        return parkingService.exitVehicle(request);
+    }
+
+    /**
+     * Derives the occupied flag: set for a successful park and for a status of an occupied slot
+     */
+    private static boolean occupied(byte opcode, ParkingResponseDTO response) {
+        return switch (opcode) {
+            case GateProtocol.OP_PARK -> response.isSuccess();
+            case GateProtocol.OP_SLOT_STATUS -> response.isSuccess() && OCCUPIED_MESSAGE.equals(response.getMessage());
+            default -> false;
+        };
+    }
+
+    private static byte status(ParkingResponseDTO response) {
+        return response.isSuccess() ? GateProtocol.STATUS_OK : GateProtocol.STATUS_REJECTED;
+    }
+
+    private static void reply(ByteBuffer out, byte opcode, byte status, boolean occupied, int requestId, String text) {
+        // Slot IDs always fit; anything else is dropped rather than failing the connection
+        String field = GateProtocol.isEncodable(text) ? text : null;
+        GateProtocol.writeFrame(out, opcode, status, (byte) (occupied ? 1 : 0), requestId, field);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.parking.gate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.service.ParkingService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Non-blocking TCP listener for the {@link GateProtocol}, enabled with parking.gate.enabled=true.
+ * A fixed set of event loops each own a selector; the first also accepts connections and hands
+ * them out round-robin. A loop reads whatever a connection has sent, serves every complete
+ * frame inline through ParkingService, and writes all responses back in one write, so
+ * pipelined requests cost one read and one write per batch. Service calls run on the loop
+ * rather than being handed to a pool, which is only sound while they stay in memory: with the
+ * occupancy journal enabled, parking.journal.flush-interval-ms=0 forces the journal to disk on
+ * the calling thread, so the listener refuses to start with that combination.
+ * A connection that stops reading its responses is not read from until they drain.
+ */
+@Component
+@ConditionalOnProperty(name = "parking.gate.enabled", havingValue = "true")
+@Slf4j
+public class GateServer {
+    /** Frames buffered per connection in each direction */
+    private static final int BUFFERED_FRAMES = 2_048;
+
+    private final GateRequestHandler handler;
+    private final int port;
+    private final EventLoop[] loops;
+
+    private ServerSocketChannel serverChannel;
+    private int nextLoop;
+    private volatile boolean running;
+
+    /**
+     * Constructor injection for ParkingService and listener settings
+     * @param parkingService Service serving gate requests, shared with the HTTP API
+     * @param port TCP port to listen on; 0 picks a free port
+     * @param ioThreads Number of event loops
+     * @param journalEnabled Whether the occupancy journal records parks and exits
+     * @param journalFlushMillis Journal flush interval; 0 forces every record on the calling thread
+     */
+    public GateServer(ParkingService parkingService,
+                      @Value("${parking.gate.port:9600}") int port,
+                      @Value("${parking.gate.io-threads:2}") int ioThreads,
+                      @Value("${parking.journal.enabled:false}") boolean journalEnabled,
+                      @Value("${parking.journal.flush-interval-ms:5}") long journalFlushMillis) {
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("Gate listener needs at least one I/O thread");
+        }
+        if (journalEnabled && journalFlushMillis <= 0) {
+            throw new IllegalArgumentException("Gate listener serves requests on its event loops and cannot"
+                + " wait for a journal flush per record; set parking.journal.flush-interval-ms above 0");
+        }
+        this.handler = new GateRequestHandler(parkingService);
+        this.port = port;
+        this.loops = new EventLoop[ioThreads];
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        serverChannel.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        log.info("Gate protocol listening on port {} with {} event loops", getPort(), loops.length);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        serverChannel.close();
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        for (EventLoop loop : loops) {
+            loop.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Gets the port the listener is bound to
+     * @return Bound port, which differs from the configured one when that was 0
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            EventLoop loop = loops[nextLoop];
+            nextLoop = (nextLoop + 1) % loops.length;
+            loop.assign(channel);
+        }
+    }
+
+    /** Per-connection buffers; touched only by the connection's loop */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFERED_FRAMES * GateProtocol.FRAME_SIZE);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFERED_FRAMES * GateProtocol.FRAME_SIZE);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final Queue<SocketChannel> assigned = new ConcurrentLinkedQueue<>();
+
+        EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "gate-io-" + index);
+            thread.setDaemon(true);
+        }
+
+        void assign(SocketChannel channel) {
+            assigned.add(channel);
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    // Before selecting, so channels this loop accepted for itself are watched
+                    register();
+                    selector.select();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        dispatch(key);
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                log.error("Gate event loop {} failed", thread.getName(), e);
+            } finally {
+                closeConnections();
+            }
+        }
+
+        private void register() {
+            SocketChannel channel;
+            while ((channel = assigned.poll()) != null) {
+                try {
+                    channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+                } catch (IOException e) {
+                    close(channel);
+                }
+            }
+        }
+
+        private void dispatch(SelectionKey key) {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                try {
+                    accept();
+                } catch (IOException e) {
+                    log.warn("Gate accept failed", e);
+                }
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isReadable() && connection.channel.read(connection.in) < 0) {
+                    key.cancel();
+                    close(connection.channel);
+                    return;
+                }
+                serve(key, connection);
+            } catch (IOException e) {
+                log.debug("Gate connection closed: {}", e.getMessage());
+                key.cancel();
+                close(connection.channel);
+            }
+        }
+
+        /**
+         * Serves buffered frames while there is room for their responses and flushes, until no
+         * complete frame is left or the socket stops taking responses.
+         * Reads resume only once every response has been written, so no complete frame waits for more input.
+         */
+        private void serve(SelectionKey key, Connection connection) throws IOException {
+            ByteBuffer in = connection.in;
+            ByteBuffer out = connection.out;
+            do {
+                in.flip();
+                while (in.remaining() >= GateProtocol.FRAME_SIZE && out.remaining() >= GateProtocol.FRAME_SIZE) {
+                    handler.handle(in, out);
+                }
+                in.compact();
+                out.flip();
+                connection.channel.write(out);
+                out.compact();
+            } while (out.position() == 0 && in.position() >= GateProtocol.FRAME_SIZE);
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private void closeConnections() {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    close(connection.channel);
+                }
+            }
+            SocketChannel channel;
+            while ((channel = assigned.poll()) != null) {
+                close(channel);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.debug("Closing gate selector failed", e);
+            }
+        }
+    }
+
+    private static void close(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Closing gate connection failed", e);
+        }
+    }
+}
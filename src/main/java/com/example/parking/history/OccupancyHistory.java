@@ -0,0 +1,159 @@
+package com.example.parking.history;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.HistoryResolution;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.readmodel.AvailabilityView;
+import com.example.parking.repository.ParkingRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-floor occupancy history at every {@link HistoryResolution}.
+ * Once a second the sampler reads the published availability view and adds the occupied
+ * slots of each floor and vehicle type to that floor's rings. Rings are preallocated, so
+ * memory is fixed per floor (8,016 buckets of 16 bytes with two vehicle types, about 128 KB;
+ * each further type adds 4 bytes per bucket) and a sample is a few array stores per ring.
+ * Slot counts per type change only with the topology and are refreshed once a minute.
+ */
+@Component
+@Slf4j
+public class OccupancyHistory {
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final long CAPACITY_REFRESH_SECONDS = 60;
+
+    private final ParkingRepository parkingRepository;
+    private final AvailabilityReadModel availabilityReadModel;
+
+    /** History of each floor seen so far, by building and floor ID */
+    private final Map<String, FloorHistory> floors = new ConcurrentHashMap<>();
+
+    /** Sample buffer reused by the sampler thread */
+    private final int[] occupied = new int[TYPES.length];
+    private long capacityRefreshedAt = Long.MIN_VALUE;
+
+    private ScheduledExecutorService sampler;
+
+    private static final class FloorHistory {
+        final Map<HistoryResolution, OccupancyRing> rings = new EnumMap<>(HistoryResolution.class);
+        volatile int[] capacity;
+
+        FloorHistory(int[] capacity) {
+            this.capacity = capacity;
+            for (HistoryResolution resolution : HistoryResolution.values()) {
+                rings.put(resolution, new OccupancyRing(resolution));
+            }
+        }
+    }
+
+    /**
+     * Constructor injection for the repository and read model
+     * @param parkingRepository Repository the slot counts per type come from
+     * @param availabilityReadModel Read model the free-slot counts are sampled from
+     */
+    public OccupancyHistory(ParkingRepository parkingRepository, AvailabilityReadModel availabilityReadModel) {
+        this.parkingRepository = parkingRepository;
+        this.availabilityReadModel = availabilityReadModel;
+    }
+
+    @PostConstruct
+    public void start() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-history-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sampleNow, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sampler.shutdownNow();
+    }
+
+    private void sampleNow() {
+        try {
+            sample(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; a failed sample only leaves a gap
+            log.warn("Occupancy sample failed", e);
+        }
+    }
+
+    /**
+     * Records the current occupancy of every floor. Called by the sampler thread only.
+     * @param epochSecond Time of the sample
+     */
+    void sample(long epochSecond) {
+        AvailabilityView view = availabilityReadModel.getView();
+        boolean refreshCapacity = epochSecond - capacityRefreshedAt >= CAPACITY_REFRESH_SECONDS;
+        for (BuildingCapacityDTO building : view.getBuildings()) {
+            for (BuildingCapacityDTO.FloorCapacityDTO floor : building.getFloors()) {
+                String buildingId = building.getBuildingId();
+                String floorId = floor.getFloorId();
+                FloorHistory history = floors.get(floorKey(buildingId, floorId));
+                if (history == null) {
+                    history = new FloorHistory(capacityOf(buildingId, floorId));
+                    floors.put(floorKey(buildingId, floorId), history);
+                } else if (refreshCapacity) {
+                    history.capacity = capacityOf(buildingId, floorId);
+                }
+                int[] capacity = history.capacity;
+                for (VehicleType type : TYPES) {
+                    Integer available = floor.getAvailableSlots().get(type);
+                    occupied[type.ordinal()] = Math.max(0, capacity[type.ordinal()] - (available == null ? 0 : available));
+                }
+                for (OccupancyRing ring : history.rings.values()) {
+                    ring.add(epochSecond, occupied);
+                }
+            }
+        }
+        if (refreshCapacity) {
+            capacityRefreshedAt = epochSecond;
+        }
+    }
+
+    /**
+     * Reads a floor's occupancy in a time range
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @param resolution Resolution to read
+     * @param fromEpochSecond Start of the range
+     * @param toEpochSecond End of the range, inclusive
+     * @return Samples oldest first, or null if the floor has not been sampled
+     */
+    public OccupancySeries read(String buildingId, String floorId, HistoryResolution resolution,
+                                long fromEpochSecond, long toEpochSecond) {
+        FloorHistory history = floors.get(floorKey(buildingId, floorId));
+        if (history == null) {
+            return null;
+        }
+        OccupancySeries series = new OccupancySeries(history.capacity);
+        history.rings.get(resolution).read(fromEpochSecond, toEpochSecond, series::add);
+        return series;
+    }
+
+    private static String floorKey(String buildingId, String floorId) {
+        return buildingId + "-" + floorId;
+    }
+
+    private int[] capacityOf(String buildingId, String floorId) {
+        int[] capacity = new int[TYPES.length];
+        for (VehicleType type : TYPES) {
+            capacity[type.ordinal()] = Math.max(0, parkingRepository.getFloorCapacity(buildingId, floorId, type));
+        }
+        return capacity;
+    }
+}
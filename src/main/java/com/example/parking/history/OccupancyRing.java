@@ -0,0 +1,110 @@
+package com.example.parking.history;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.example.parking.dto.HistoryResolution;
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Fixed-size ring of occupancy samples at one resolution, one column per vehicle type.
+ * Each bucket holds the running average of the per-second samples of its period, so the
+ * newest bucket is readable while its period is still open. A sample costs one store per
+ * vehicle type. Written by the sampler thread only; each bucket's period works as a seqlock:
+ * the writer invalidates it before the values and republishes it with release semantics, and
+ * readers take no lock and discard a bucket whose period changed while they read it.
+ * A bucket costs 4 bytes per vehicle type plus 8 bytes for its period.
+ */
+final class OccupancyRing {
+    private static final int TYPES = VehicleType.values().length;
+
+    private final int intervalSeconds;
+    private final int size;
+
+    /** Average occupied slots per vehicle type ordinal and bucket */
+    private final int[][] values;
+
+    /** Period stored in each bucket, or -1 while the bucket is empty or being rewritten */
+    private final AtomicLongArray periods;
+
+    private final long[] sums = new long[TYPES];
+    private int count;
+    private long openPeriod = -1;
+
+    /** Newest period written; its volatile write publishes the bucket */
+    private volatile long latestPeriod = -1;
+
+    OccupancyRing(HistoryResolution resolution) {
+        this.intervalSeconds = resolution.getIntervalSeconds();
+        this.size = resolution.getRetainedSamples();
+        this.values = new int[TYPES][size];
+        this.periods = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            periods.setPlain(i, -1);
+        }
+    }
+
+    /**
+     * Adds a per-second sample to the bucket of its period
+     * @param epochSecond Time of the sample
+     * @param occupied Occupied slots per vehicle type ordinal
+     */
+    void add(long epochSecond, int[] occupied) {
+        long period = epochSecond / intervalSeconds;
+        int index = (int) (period % size);
+        if (period != openPeriod) {
+            openPeriod = period;
+            count = 0;
+            Arrays.fill(sums, 0);
+            // Invalidate before overwriting, so a reader never takes new values for the old period
+            periods.setOpaque(index, -1);
+            VarHandle.storeStoreFence();
+        }
+        count++;
+        for (int t = 0; t < TYPES; t++) {
+            sums[t] += occupied[t];
+            values[t][index] = (int) (sums[t] / count);
+        }
+        periods.setRelease(index, period);
+        latestPeriod = period;
+    }
+
+    /**
+     * Copies the buckets in a time range, oldest first; periods without samples are skipped
+     * @param fromEpochSecond Start of the range
+     * @param toEpochSecond End of the range, inclusive
+     * @param visitor Receives each bucket's start time and averages
+     */
+    void read(long fromEpochSecond, long toEpochSecond, BucketVisitor visitor) {
+        long latest = latestPeriod;
+        if (latest < 0) {
+            return;
+        }
+        long first = Math.max(latest - size + 1, Math.floorDiv(fromEpochSecond, intervalSeconds));
+        long last = Math.min(latest, Math.floorDiv(toEpochSecond, intervalSeconds));
+        int[] bucket = new int[TYPES];
+        for (long period = Math.max(first, 0); period <= last; period++) {
+            int index = (int) (period % size);
+            if (periods.getAcquire(index) != period) {
+                continue;
+            }
+            for (int t = 0; t < TYPES; t++) {
+                bucket[t] = values[t][index];
+            }
+            // Keep the value loads ahead of the re-check
+            VarHandle.loadLoadFence();
+            if (periods.getOpaque(index) == period) {
+                visitor.onBucket(period * intervalSeconds, bucket);
+            }
+        }
+    }
+
+    /**
+     * Receives the buckets of a read
+     */
+    @FunctionalInterface
+    interface BucketVisitor {
+        void onBucket(long epochSecond, int[] occupied);
+    }
+}
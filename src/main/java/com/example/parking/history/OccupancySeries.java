@@ -0,0 +1,52 @@
+package com.example.parking.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Occupancy samples of one floor at one resolution, stored column-wise
+ */
+public final class OccupancySeries {
+    private final int[] capacity;
+    private final List<Long> epochSeconds = new ArrayList<>();
+    private final List<List<Integer>> occupied = new ArrayList<>();
+
+    OccupancySeries(int[] capacity) {
+        this.capacity = capacity.clone();
+        for (int t = 0; t < VehicleType.values().length; t++) {
+            occupied.add(new ArrayList<>());
+        }
+    }
+
+    void add(long epochSecond, int[] sample) {
+        epochSeconds.add(epochSecond);
+        for (int t = 0; t < sample.length; t++) {
+            occupied.get(t).add(sample[t]);
+        }
+    }
+
+    /**
+     * Gets the start time of each sample, oldest first
+     */
+    public List<Long> getEpochSeconds() {
+        return epochSeconds;
+    }
+
+    /**
+     * Gets the occupied slots of a vehicle type, aligned with {@link #getEpochSeconds()}
+     * @param vehicleType Type of vehicle
+     * @return Average occupied slots per sample
+     */
+    public List<Integer> getOccupied(VehicleType vehicleType) {
+        return occupied.get(vehicleType.ordinal());
+    }
+
+    /**
+     * Gets the floor's slot count for a vehicle type as of the latest sample
+     */
+    public int getCapacity(VehicleType vehicleType) {
+        return capacity[vehicleType.ordinal()];
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.parking.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file of fixed-width occupancy records, written through memory-mapped segments.
+ * Each record is 64 bytes:
+ * <pre>
+ *  0  int   CRC32C of bytes 4..63
+ *  4  byte  record type (OCCUPIED or RELEASED)
+ *  5  byte  registration number length in bytes, or 255 for none
+ *  6  short reserved
+ *  8  long  timestamp, epoch milliseconds
+ * 16  long  slot key (SlotKeyCodec)
+ * 24  40 bytes registration number, UTF-8, zero padded
+ * </pre>
+ * Reading stops at the first all-zero or checksum-failing record, so a record torn by a
+ * crash ends the journal instead of corrupting it. Appends copy one record into the mapped
+ * segment under a short lock; making them durable is left to {@link #force()}.
+ */
+@Slf4j
+public class JournalFile implements Closeable {
+    public static final int RECORD_SIZE = 64;
+    public static final byte OCCUPIED = 1;
+    public static final byte RELEASED = 2;
+
+    /** Longest registration number that fits a record */
+    public static final int MAX_PLATE_BYTES = 40;
+
+    private static final int PLATE_OFFSET = 24;
+    private static final int NO_PLATE = 0xFF;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long segmentBytes;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ThreadLocal<Encoder> encoders = ThreadLocal.withInitial(Encoder::new);
+
+    /** End of the last complete record; written under appendLock, read by force() */
+    private volatile long position;
+    private long forcedPosition;
+
+    /**
+     * Receives the records of a journal in file order
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(byte type, long slotKey, String registrationNumber, long timestamp);
+    }
+
+    /** Per-thread record buffer, plate bytes and checksum, so appends do not allocate */
+    private static final class Encoder {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        final byte[] plate = new byte[MAX_PLATE_BYTES];
+        final CRC32C crc = new CRC32C();
+
+        /**
+         * Encodes a registration number as UTF-8 into the plate buffer; unpaired surrogates
+         * become '?' as in String.getBytes
+         * @return Number of bytes, or -1 if it does not fit in MAX_PLATE_BYTES
+         */
+        int encodePlate(String registrationNumber) {
+            int length = 0;
+            for (int i = 0; i < registrationNumber.length(); i++) {
+                char c = registrationNumber.charAt(i);
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && i + 1 < registrationNumber.length()
+                        && Character.isLowSurrogate(registrationNumber.charAt(i + 1))) {
+                    codePoint = Character.toCodePoint(c, registrationNumber.charAt(++i));
+                } else if (Character.isSurrogate(c)) {
+                    codePoint = '?';
+                }
+                int bytes = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                if (length + bytes > MAX_PLATE_BYTES) {
+                    return -1;
+                }
+                if (bytes == 1) {
+                    plate[length++] = (byte) codePoint;
+                    continue;
+                }
+                int shift = 6 * (bytes - 1);
+                plate[length++] = (byte) ((0xF0 << (4 - bytes)) | (codePoint >>> shift));
+                for (shift -= 6; shift >= 0; shift -= 6) {
+                    plate[length++] = (byte) (0x80 | ((codePoint >>> shift) & 0x3F));
+                }
+            }
+            return length;
+        }
+    }
+
+    private JournalFile(Path path, FileChannel channel, long segmentBytes, long position) {
+        this.path = path;
+        this.channel = channel;
+        this.segmentBytes = segmentBytes;
+        this.position = position;
+        this.forcedPosition = position;
+    }
+
+    /**
+     * Opens a journal for appending, creating it if needed
+     * @param path Journal file
+     * @param segmentRecords Records per mapped segment; the file grows one segment at a time
+     * @return Journal positioned after its last valid record
+     */
+    public static JournalFile open(Path path, int segmentRecords) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long end = Files.exists(path) ? replay(path, (type, key, plate, timestamp) -> { }) * RECORD_SIZE : 0;
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        JournalFile journal = new JournalFile(path, channel, (long) segmentRecords * RECORD_SIZE, end);
+        journal.clearTail(end);
+        return journal;
+    }
+
+    /**
+     * Reads every valid record of a journal
+     * @param path Journal file; a missing file has no records
+     * @param handler Receives each record in file order
+     * @return Number of valid records read
+     */
+    public static long replay(Path path, RecordHandler handler) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] plate = new byte[MAX_PLATE_BYTES];
+            CRC32C crc = new CRC32C();
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < RECORD_SIZE) {
+                    break;
+                }
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int start = buffer.position();
+                    int checksum = buffer.getInt(start);
+                    byte type = buffer.get(start + 4);
+                    if (checksum == 0 && type == 0) {
+                        return count;
+                    }
+                    crc.reset();
+                    crc.update(buffer.slice(start + 4, RECORD_SIZE - 4));
+                    if ((int) crc.getValue() != checksum) {
+                        log.warn("Journal {} ends with a torn record after {} records", path, count);
+                        return count;
+                    }
+                    int plateLength = buffer.get(start + 5) & 0xFF;
+                    String registrationNumber = null;
+                    if (plateLength != NO_PLATE) {
+                        buffer.get(start + PLATE_OFFSET, plate, 0, plateLength);
+                        registrationNumber = new String(plate, 0, plateLength, StandardCharsets.UTF_8);
+                    }
+                    handler.onRecord(type, buffer.getLong(start + 16), registrationNumber, buffer.getLong(start + 8));
+                    buffer.position(start + RECORD_SIZE);
+                    count++;
+                }
+                buffer.compact();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Appends one record. The record reaches the page cache immediately and the disk
+     * on the next {@link #force()}.
+     * @param type OCCUPIED or RELEASED
+     * @param slotKey Packed slot key
+     * @param registrationNumber Registration number, or null; longer than MAX_PLATE_BYTES is stored as null
+     * @param timestamp Epoch milliseconds
+     */
+    public void append(byte type, long slotKey, String registrationNumber, long timestamp) {
+        ByteBuffer record = encode(type, slotKey, registrationNumber, timestamp);
+        appendLock.lock();
+        try {
+            long offset = position;
+            MappedByteBuffer segment = segmentFor(offset);
+            segment.put((int) (offset % segmentBytes), record, 0, RECORD_SIZE);
+            position = offset + RECORD_SIZE;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes appended records to disk
+     */
+    public void force() {
+        long end = position;
+        long start;
+        List<MappedByteBuffer> mapped;
+        appendLock.lock();
+        try {
+            start = forcedPosition;
+            mapped = new ArrayList<>(segments);
+        } finally {
+            appendLock.unlock();
+        }
+        if (end <= start) {
+            return;
+        }
+        for (long offset = start; offset < end; ) {
+            int segmentIndex = (int) (offset / segmentBytes);
+            int from = (int) (offset % segmentBytes);
+            int to = (int) Math.min(segmentBytes, end - (long) segmentIndex * segmentBytes);
+            mapped.get(segmentIndex).force(from, to - from);
+            offset = (long) segmentIndex * segmentBytes + to;
+        }
+        appendLock.lock();
+        try {
+            forcedPosition = Math.max(forcedPosition, end);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records in the journal
+     */
+    public long recordCount() {
+        return position / RECORD_SIZE;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private ByteBuffer encode(byte type, long slotKey, String registrationNumber, long timestamp) {
+        Encoder encoder = encoders.get();
+        ByteBuffer record = encoder.record;
+        record.clear();
+        int plateLength = registrationNumber == null ? -1 : encoder.encodePlate(registrationNumber);
+        if (registrationNumber != null && plateLength < 0) {
+            log.warn("Registration number longer than {} bytes journaled without plate: {}",
+                MAX_PLATE_BYTES, registrationNumber);
+        }
+        record.putInt(0, 0);
+        record.put(4, type);
+        record.put(5, (byte) (plateLength < 0 ? NO_PLATE : plateLength));
+        record.putShort(6, (short) 0);
+        record.putLong(8, timestamp);
+        record.putLong(16, slotKey);
+        for (int i = 0; i < MAX_PLATE_BYTES; i++) {
+            record.put(PLATE_OFFSET + i, i < plateLength ? encoder.plate[i] : 0);
+        }
+        encoder.crc.reset();
+        encoder.crc.update(record.array(), 4, RECORD_SIZE - 4);
+        record.putInt(0, (int) encoder.crc.getValue());
+        return record;
+    }
+
+    private MappedByteBuffer segmentFor(long offset) {
+        int index = (int) (offset / segmentBytes);
+        while (segments.size() <= index) {
+            try {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE,
+                    segments.size() * segmentBytes, segmentBytes);
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                segments.add(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot extend journal " + path, e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * Zeroes everything after the last valid record, so a torn record cannot resurface
+     * behind records appended later
+     */
+    private void clearTail(long end) throws IOException {
+        long size = channel.size();
+        if (end >= size) {
+            return;
+        }
+        ByteBuffer zeros = ByteBuffer.allocate((int) Math.min(size - end, RECORD_SIZE * 1024));
+        for (long offset = end; offset < size; ) {
+            zeros.clear();
+            zeros.limit((int) Math.min(zeros.capacity(), size - offset));
+            offset += channel.write(zeros, offset);
+        }
+        channel.force(false);
+    }
+}
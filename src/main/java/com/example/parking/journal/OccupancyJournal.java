@@ -0,0 +1,197 @@
+package com.example.parking.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.repository.OccupancyListener;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-ahead journal of slot occupancy, enabled with parking.journal.enabled=true.
+ * On startup the journal is replayed into the repository, replacing the sample occupancy
+ * or any snapshot loaded before it, without notifying occupancy listeners that registered
+ * first: the replayed parks and exits already happened before the restart. It is then
+ * compacted to one record per occupied slot. Afterwards every park and exit is appended
+ * as a fixed-width record through a memory-mapped file, and a background thread
+ * forces the file to disk every flush interval (group commit). A flush interval of 0 forces
+ * after every append, trading park latency for zero loss.
+ */
+@Component
+@ConditionalOnProperty(name = "parking.journal.enabled", havingValue = "true")
+@DependsOn("snapshotServiceImpl")
+@Slf4j
+public class OccupancyJournal implements OccupancyListener {
+    private final ParkingRepository parkingRepository;
+    private final Path path;
+    private final long flushIntervalMillis;
+    private final int segmentRecords;
+
+    private JournalFile journal;
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Constructor injection for the repository and journal settings
+     * @param parkingRepository Repository whose occupancy is journaled
+     * @param path Journal file location
+     * @param flushIntervalMillis Group commit interval; 0 forces every append
+     * @param segmentRecords Records per memory-mapped segment
+     */
+    public OccupancyJournal(ParkingRepository parkingRepository,
+                            @Value("${parking.journal.path:data/occupancy.journal}") String path,
+                            @Value("${parking.journal.flush-interval-ms:5}") long flushIntervalMillis,
+                            @Value("${parking.journal.segment-records:65536}") int segmentRecords) {
+        this.parkingRepository = parkingRepository;
+        this.path = Paths.get(path);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.segmentRecords = segmentRecords;
+    }
+
+    /**
+     * Replays and compacts the journal, then starts recording occupancy changes
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        long started = System.nanoTime();
+        Map<Long, String> occupied = new HashMap<>();
+        long records = JournalFile.replay(path, (type, slotKey, registrationNumber, timestamp) -> {
+            if (type == JournalFile.OCCUPIED) {
+                occupied.put(slotKey, registrationNumber);
+            } else {
+                occupied.remove(slotKey);
+            }
+        });
+        parkingRepository.restoreQuietly(() -> restore(occupied));
+        compact(occupied);
+        journal = JournalFile.open(path, segmentRecords);
+        parkingRepository.addOccupancyListener(this);
+
+        if (flushIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "occupancy-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("Replayed {} journal records into {} occupied slots in {} ms", records, occupied.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void slotOccupied(long slotKey, String registrationNumber) {
+        append(JournalFile.OCCUPIED, slotKey, registrationNumber);
+    }
+
+    @Override
+    public void slotReleased(long slotKey, String registrationNumber) {
+        append(JournalFile.RELEASED, slotKey, registrationNumber);
+    }
+
+    /**
+     * Forces appended records to disk
+     */
+    public void flush() {
+        try {
+            journal.force();
+        } catch (RuntimeException e) {
+            log.error("Journal flush failed for {}", path, e);
+        }
+    }
+
+    private void append(byte type, long slotKey, String registrationNumber) {
+        journal.append(type, slotKey, registrationNumber, System.currentTimeMillis());
+        if (flushIntervalMillis <= 0) {
+            journal.force();
+        }
+    }
+
+    /**
+     * Makes the repository's occupancy match the replayed state: slots absent from
+     * the journal are released and journaled slots are occupied by their vehicle
+     */
+    private void restore(Map<Long, String> occupied) {
+        for (ParkingSlot slot : parkingRepository.getAllSlots()) {
+            long key = SlotKeyCodec.parse(slot.getId());
+            if (key == SlotKeyCodec.INVALID_KEY) {
+                continue;
+            }
+            boolean journaled = occupied.containsKey(key);
+            String plate = occupied.get(key);
+            String currentPlate = slot.getParkedVehicle() == null ? null : slot.getParkedVehicle().getRegistrationNumber();
+            if (slot.isOccupied() == journaled && (!journaled || Objects.equals(plate, currentPlate))) {
+                continue;
+            }
+            if (slot.isOccupied()) {
+                release(slot, currentPlate);
+            }
+            if (journaled) {
+                Vehicle vehicle = new Vehicle();
+                vehicle.setRegistrationNumber(plate);
+                vehicle.setType(slot.getVehicleType());
+                slot.setParkedVehicle(vehicle);
+                slot.setOccupied(true);
+                parkingRepository.updateSlot(slot);
+            }
+        }
+    }
+
+    private void release(ParkingSlot slot, String currentPlate) {
+        if (currentPlate != null && parkingRepository.releaseSlot(currentPlate).isPresent()) {
+            slot.setParkedVehicle(null);
+            slot.setOccupied(false);
+            return;
+        }
+        slot.setParkedVehicle(null);
+        slot.setOccupied(false);
+        parkingRepository.updateSlot(slot);
+    }
+
+    /**
+     * Rewrites the journal as one OCCUPIED record per occupied slot, so its size
+     * follows the live state rather than the full history
+     */
+    private void compact(Map<Long, String> occupied) throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+        long now = System.currentTimeMillis();
+        try (JournalFile target = JournalFile.open(compacted, segmentRecords)) {
+            occupied.forEach((slotKey, registrationNumber) ->
+                target.append(JournalFile.OCCUPIED, slotKey, registrationNumber, now));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
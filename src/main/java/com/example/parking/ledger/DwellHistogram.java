@@ -0,0 +1,104 @@
+package com.example.parking.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.example.parking.dto.DwellWindow;
+
+/**
+ * Log-linear histogram of parking durations in seconds, in the style of HdrHistogram.
+ * Durations below 32 seconds are exact; above that each power of two is split into 16
+ * buckets, so a reported percentile is within about 6% of the recorded value. Recording
+ * is one atomic increment of a cumulative count. Rolling windows subtract a snapshot of the
+ * counts taken one window length ago; snapshots are copied by a single background thread
+ * into a fresh array and swapped into a fixed ring per window, so a reader never sees a
+ * half-copied baseline and memory stays at about 45 KB per histogram.
+ */
+final class DwellHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    /** Covers durations up to 2^22 seconds (about 48 days) */
+    static final int BUCKET_COUNT = LINEAR_LIMIT + 17 * SUB_BUCKETS;
+
+    private static final DwellWindow[] WINDOWS = DwellWindow.values();
+
+    /** Exits per bucket since the histogram was created; int arithmetic wraps consistently */
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKET_COUNT);
+
+    /** Snapshot ring per window ordinal; empty for windows without snapshots */
+    private final List<AtomicReferenceArray<int[]>> snapshots = new ArrayList<>(WINDOWS.length);
+
+    /** Snapshots taken per window ordinal; written after the snapshot is copied */
+    private final AtomicIntegerArray taken = new AtomicIntegerArray(WINDOWS.length);
+
+    DwellHistogram() {
+        for (DwellWindow window : WINDOWS) {
+            snapshots.add(new AtomicReferenceArray<>(window.getSnapshots()));
+        }
+    }
+
+    /**
+     * Records one completed session
+     * @param seconds Parking duration; negative values count as zero
+     */
+    void record(long seconds) {
+        counts.incrementAndGet(indexOf(Math.max(0, seconds)));
+    }
+
+    /**
+     * Copies the current counts into the window's ring, replacing its oldest snapshot.
+     * Called by the snapshot thread only.
+     * @param window Window with at least one snapshot
+     */
+    void snapshot(DwellWindow window) {
+        int w = window.ordinal();
+        AtomicReferenceArray<int[]> ring = snapshots.get(w);
+        int[] copy = new int[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        ring.set(taken.get(w) % ring.length(), copy);
+        taken.incrementAndGet(w);
+    }
+
+    /**
+     * Gets the distribution of exits within a window
+     * @param window Rolling window
+     * @return Exits since the window's oldest snapshot
+     */
+    DwellSummary summarize(DwellWindow window) {
+        int w = window.ordinal();
+        AtomicReferenceArray<int[]> ring = snapshots.get(w);
+        int count = taken.get(w);
+        // Until the ring is full the window starts when the histogram was created; a snapshot
+        // swapped in meanwhile only makes the baseline one interval younger, never torn
+        int[] baseline = ring.length() == 0 || count < ring.length() ? null : ring.get(count % ring.length());
+        long[] windowCounts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            int current = counts.get(i);
+            windowCounts[i] = Math.max(0, baseline == null ? current : current - baseline[i]);
+        }
+        return new DwellSummary(windowCounts);
+    }
+
+    static int indexOf(long seconds) {
+        if (seconds < LINEAR_LIMIT) {
+            return (int) seconds;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(seconds) - SUB_BUCKET_BITS;
+        int index = LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (seconds >>> shift) - SUB_BUCKETS;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
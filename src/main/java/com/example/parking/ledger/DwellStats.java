@@ -0,0 +1,127 @@
+package com.example.parking.ledger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.parking.dto.DwellWindow;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.SlotKeyCodec;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dwell-time histograms per floor and vehicle type, fed by the session ledger.
+ * Each completed session costs one map lookup and one atomic increment; percentiles are
+ * computed from the histogram buckets at read time and never scan sessions. A background
+ * thread snapshots every histogram at each window's snapshot interval to roll the windows.
+ */
+@Component
+@Slf4j
+public class DwellStats implements SessionLedger.SessionListener {
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final DwellWindow[] WINDOWS = DwellWindow.values();
+    private static final long TICK_SECONDS = 10;
+
+    private final SessionLedger sessionLedger;
+
+    /** Histograms per vehicle type ordinal, by the floor part of slot keys */
+    private final Map<Long, DwellHistogram[]> floors = new ConcurrentHashMap<>();
+
+    /** Snapshot period last taken per window ordinal; used by the snapshot thread only */
+    private final long[] snapshotPeriods = new long[WINDOWS.length];
+
+    private ScheduledExecutorService snapshotter;
+
+    /**
+     * Constructor injection for SessionLedger
+     * @param sessionLedger Ledger whose completed sessions are recorded
+     */
+    public DwellStats(SessionLedger sessionLedger) {
+        this.sessionLedger = sessionLedger;
+        Arrays.fill(snapshotPeriods, -1);
+    }
+
+    @PostConstruct
+    public void start() {
+        sessionLedger.addSessionListener(this);
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dwell-stats-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleAtFixedRate(this::rotateNow, 0, TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        snapshotter.shutdownNow();
+    }
+
+    @Override
+    public void sessionCompleted(long slotKey, long entryMillis, long exitMillis) {
+        DwellHistogram[] histograms = floors.computeIfAbsent(SlotKeyCodec.floorOf(slotKey), floor -> newHistograms());
+        histograms[SlotKeyCodec.vehicleType(slotKey).ordinal()]
+            .record(TimeUnit.MILLISECONDS.toSeconds(exitMillis - entryMillis));
+    }
+
+    private void rotateNow() {
+        try {
+            rotate(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; a missed snapshot only stretches a window
+            log.warn("Dwell snapshot failed", e);
+        }
+    }
+
+    /**
+     * Snapshots every histogram for each window whose snapshot interval has passed.
+     * Called by the snapshot thread only.
+     * @param epochSecond Current time
+     */
+    void rotate(long epochSecond) {
+        for (DwellWindow window : WINDOWS) {
+            if (window.getSnapshots() == 0) {
+                continue;
+            }
+            long period = epochSecond / window.getSnapshotSeconds();
+            if (period == snapshotPeriods[window.ordinal()]) {
+                continue;
+            }
+            snapshotPeriods[window.ordinal()] = period;
+            for (DwellHistogram[] histograms : floors.values()) {
+                for (DwellHistogram histogram : histograms) {
+                    histogram.snapshot(window);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the dwell-time distribution of a floor and vehicle type
+     * @param building Building number
+     * @param floor Floor number
+     * @param vehicleType Type of vehicle
+     * @param window Rolling window
+     * @return Distribution, or null if no session has completed on the floor
+     */
+    public DwellSummary summarize(int building, int floor, VehicleType vehicleType, DwellWindow window) {
+        DwellHistogram[] histograms = floors.get(SlotKeyCodec.floorOf(building, floor));
+        return histograms == null ? null : histograms[vehicleType.ordinal()].summarize(window);
+    }
+
+    private static DwellHistogram[] newHistograms() {
+        DwellHistogram[] histograms = new DwellHistogram[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            histograms[t] = new DwellHistogram();
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.parking.ledger;
+
+/**
+ * Immutable dwell-time distribution of one floor and vehicle type within a window
+ */
+public final class DwellSummary {
+    private final long[] counts;
+    private final long total;
+
+    DwellSummary(long[] counts) {
+        this.counts = counts;
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+
+    /**
+     * Gets the number of completed sessions in the window
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Gets the duration at or below which the given share of sessions fall
+     * @param percentile Percentile between 0 and 100
+     * @return Highest duration in seconds of the matching bucket, or 0 if the window is empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return DwellHistogram.highestValueOf(i);
+            }
+        }
+        return DwellHistogram.highestValueOf(counts.length - 1);
+    }
+
+    /**
+     * Gets the longest duration in the window
+     * @return Highest duration in seconds of the last non-empty bucket, or 0 if the window is empty
+     */
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return DwellHistogram.highestValueOf(i);
+            }
+        }
+        return 0;
+    }
+}
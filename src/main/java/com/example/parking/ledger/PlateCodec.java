@@ -0,0 +1,71 @@
+package com.example.parking.ledger;
+
+/**
+ * Packs registration numbers of up to 10 characters from [0-9A-Za-z-] into one long,
+ * six bits per character, so a ledger row stores a plate without a String.
+ * Plates that do not fit are reported as {@link #NOT_PACKED} and stored separately.
+ */
+public final class PlateCodec {
+    /** Packed form of a null or empty registration number */
+    public static final long NO_PLATE = 0L;
+
+    /** Returned by {@link #pack} for plates that are too long or contain other characters */
+    public static final long NOT_PACKED = -1L;
+
+    private static final int BITS = 6;
+    private static final int MAX_LENGTH = 10;
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz-";
+
+    /** Code of each ASCII character, 0 for characters outside the alphabet */
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            // Code 0 ends the plate, so characters start at 1
+            CODES[ALPHABET.charAt(i)] = (byte) (i + 1);
+        }
+    }
+
+    private PlateCodec() {
+    }
+
+    /**
+     * Packs a registration number
+     * @param plate Registration number, or null
+     * @return Packed plate, {@link #NO_PLATE} for null or empty, or {@link #NOT_PACKED}
+     */
+    public static long pack(String plate) {
+        if (plate == null) {
+            return NO_PLATE;
+        }
+        if (plate.length() > MAX_LENGTH) {
+            return NOT_PACKED;
+        }
+        long packed = 0;
+        for (int i = 0; i < plate.length(); i++) {
+            char c = plate.charAt(i);
+            int code = c < CODES.length ? CODES[c] : 0;
+            if (code == 0) {
+                return NOT_PACKED;
+            }
+            packed |= (long) code << (BITS * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Restores a registration number packed by {@link #pack}
+     * @param packed Packed plate
+     * @return Registration number, or null for {@link #NO_PLATE}
+     */
+    public static String unpack(long packed) {
+        if (packed == NO_PLATE) {
+            return null;
+        }
+        StringBuilder plate = new StringBuilder(MAX_LENGTH);
+        for (long rest = packed; rest != 0; rest >>>= BITS) {
+            plate.append(ALPHABET.charAt((int) (rest & ((1 << BITS) - 1)) - 1));
+        }
+        return plate.toString();
+    }
+}
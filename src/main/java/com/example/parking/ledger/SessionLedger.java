@@ -0,0 +1,252 @@
+package com.example.parking.ledger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.repository.OccupancyListener;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Append-only, in-memory ledger of completed parking sessions.
+ * A session opens when a slot is occupied and is appended when the slot is released. Rows are
+ * stored column-wise in fixed-size segments of primitive arrays: slot key and packed plate as
+ * longs, entry and exit as int seconds since the ledger's base time, 24 bytes per session.
+ * Segments record their earliest entry and latest exit, so time-range scans skip segments
+ * outside the range. Appends are serialised; scans take no lock and see every row published
+ * before they read the segment's row count. When the segment limit is reached the oldest
+ * segment is dropped.
+ */
+@Component
+public class SessionLedger implements OccupancyListener {
+    private final ParkingRepository parkingRepository;
+    private final int segmentSessions;
+    private final int maxSegments;
+    private final long baseSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /** Sessions still in progress, by slot key */
+    private final Map<Long, OpenSession> openSessions = new ConcurrentHashMap<>();
+
+    /** Notified of each session completed by a slot release; replaced wholesale on registration */
+    private volatile SessionListener[] sessionListeners = new SessionListener[0];
+
+    /** Segments in append order; replaced wholesale when a segment is added or dropped */
+    private volatile Segment[] segments = new Segment[0];
+
+    private record OpenSession(String registrationNumber, long entryMillis) {
+    }
+
+    /**
+     * Receives the sessions matched by a scan
+     */
+    @FunctionalInterface
+    public interface SessionVisitor {
+        void onSession(long slotKey, String registrationNumber, long entryMillis, long exitMillis);
+    }
+
+    /**
+     * Receives sessions as they complete. Called synchronously on the releasing thread, so
+     * implementations must be thread-safe and cheap.
+     */
+    @FunctionalInterface
+    public interface SessionListener {
+        void sessionCompleted(long slotKey, long entryMillis, long exitMillis);
+    }
+
+    private static final class Segment {
+        final long[] slotKeys;
+        final long[] plates;
+        final int[] entries;
+        final int[] exits;
+
+        /** Plates that do not pack into a long, by row */
+        final Map<Integer, String> unpackedPlates = new ConcurrentHashMap<>();
+
+        /** Earliest entry and latest exit of published rows; written before count */
+        int minEntry = Integer.MAX_VALUE;
+        int maxExit = Integer.MIN_VALUE;
+
+        /** Rows published to readers */
+        volatile int count;
+
+        Segment(int capacity) {
+            slotKeys = new long[capacity];
+            plates = new long[capacity];
+            entries = new int[capacity];
+            exits = new int[capacity];
+        }
+    }
+
+    /**
+     * Constructor injection for the repository and ledger sizing
+     * @param parkingRepository Repository whose sessions are recorded
+     * @param segmentSessions Sessions per segment
+     * @param maxSegments Segments kept before the oldest is dropped
+     */
+    public SessionLedger(ParkingRepository parkingRepository,
+                         @Value("${parking.ledger.segment-sessions:65536}") int segmentSessions,
+                         @Value("${parking.ledger.max-segments:256}") int maxSegments) {
+        if (segmentSessions <= 0 || maxSegments <= 0) {
+            throw new IllegalArgumentException("Ledger segments must hold at least one session");
+        }
+        this.parkingRepository = parkingRepository;
+        this.segmentSessions = segmentSessions;
+        this.maxSegments = maxSegments;
+    }
+
+    @PostConstruct
+    public void start() {
+        parkingRepository.addOccupancyListener(this);
+    }
+
+    @Override
+    public void slotOccupied(long slotKey, String registrationNumber) {
+        openSessions.put(slotKey, new OpenSession(registrationNumber, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void slotReleased(long slotKey, String registrationNumber) {
+        OpenSession session = openSessions.remove(slotKey);
+        // Slots occupied before the ledger started have no known entry time
+        if (session != null) {
+            String plate = registrationNumber != null ? registrationNumber : session.registrationNumber();
+            long exitMillis = System.currentTimeMillis();
+            append(slotKey, plate, session.entryMillis(), exitMillis);
+            for (SessionListener listener : sessionListeners) {
+                listener.sessionCompleted(slotKey, session.entryMillis(), exitMillis);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener for sessions completed from now on
+     * @param listener Listener to notify
+     */
+    public void addSessionListener(SessionListener listener) {
+        appendLock.lock();
+        try {
+            SessionListener[] updated = Arrays.copyOf(sessionListeners, sessionListeners.length + 1);
+            updated[updated.length - 1] = listener;
+            sessionListeners = updated;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a completed session
+     * @param slotKey Packed key of the slot
+     * @param registrationNumber Registration number of the vehicle, or null if unknown
+     * @param entryMillis Time the slot was occupied
+     * @param exitMillis Time the slot was released
+     */
+    public void append(long slotKey, String registrationNumber, long entryMillis, long exitMillis) {
+        long plate = PlateCodec.pack(registrationNumber);
+        int entry = toLedgerSeconds(entryMillis);
+        int exit = toLedgerSeconds(exitMillis);
+        appendLock.lock();
+        try {
+            Segment[] current = segments;
+            Segment segment = current.length == 0 ? null : current[current.length - 1];
+            if (segment == null || segment.count == segmentSessions) {
+                segment = new Segment(segmentSessions);
+                Segment[] grown = current.length == maxSegments
+                    ? Arrays.copyOfRange(current, 1, current.length + 1)
+                    : Arrays.copyOf(current, current.length + 1);
+                grown[grown.length - 1] = segment;
+                segments = grown;
+            }
+            int row = segment.count;
+            segment.slotKeys[row] = slotKey;
+            segment.plates[row] = plate;
+            segment.entries[row] = entry;
+            segment.exits[row] = exit;
+            if (plate == PlateCodec.NOT_PACKED) {
+                segment.unpackedPlates.put(row, registrationNumber);
+            }
+            segment.minEntry = Math.min(segment.minEntry, entry);
+            segment.maxExit = Math.max(segment.maxExit, exit);
+            segment.count = row + 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Scans for sessions that overlap a time range, optionally on one floor
+     * @param fromMillis Start of the range; sessions that ended before it are skipped
+     * @param toMillis End of the range, exclusive; sessions that started at or after it are skipped
+     * @param floor Floor part of the slot keys to match (see {@link SlotKeyCodec#floorOf(int, int)}),
+     *              or -1 for every floor
+     * @param limit Maximum number of sessions passed to the visitor
+     * @param visitor Receives matching sessions, oldest first
+     * @return Number of matching sessions, including those beyond the limit
+     */
+    public long scan(long fromMillis, long toMillis, long floor, int limit, SessionVisitor visitor) {
+        int from = toLedgerSeconds(fromMillis);
+        // Sessions are stored at second resolution; round the exclusive end up so none are lost
+        int to = toLedgerSeconds(toMillis + TimeUnit.SECONDS.toMillis(1) - 1);
+        long matched = 0;
+        for (Segment segment : segments) {
+            int count = segment.count;
+            if (count == 0 || segment.maxExit < from || segment.minEntry >= to) {
+                continue;
+            }
+            long[] slotKeys = segment.slotKeys;
+            int[] entries = segment.entries;
+            int[] exits = segment.exits;
+            for (int row = 0; row < count; row++) {
+                if (exits[row] < from || entries[row] >= to
+                        || (floor >= 0 && SlotKeyCodec.floorOf(slotKeys[row]) != floor)) {
+                    continue;
+                }
+                if (matched++ < limit) {
+                    visitor.onSession(slotKeys[row], plateAt(segment, row),
+                        toMillis(entries[row]), toMillis(exits[row]));
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Gets the number of completed sessions held
+     */
+    public long getSessionCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.count;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of sessions still in progress
+     */
+    public int getOpenSessionCount() {
+        return openSessions.size();
+    }
+
+    private static String plateAt(Segment segment, int row) {
+        long plate = segment.plates[row];
+        return plate == PlateCodec.NOT_PACKED ? segment.unpackedPlates.get(row) : PlateCodec.unpack(plate);
+    }
+
+    private int toLedgerSeconds(long millis) {
+        long seconds = Math.floorDiv(millis, 1000L) - baseSeconds;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, seconds));
+    }
+
+    private long toMillis(int ledgerSeconds) {
+        return TimeUnit.SECONDS.toMillis(baseSeconds + ledgerSeconds);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.parking.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Service-level counters for park requests.
+ * Every park call updates a few LongAdder cells and nothing else, so recording stays
+ * cheap and uncontended however many request threads park at once. Latencies are also
+ * counted in power-of-two microsecond buckets, from which percentiles are read.
+ */
+@Component
+public class ParkingMetrics {
+    /** Bucket i counts park requests of at most 2^i microseconds; the last also takes every slower one */
+    public static final int LATENCY_BUCKETS = 24;
+
+    private final LongAdder parkRequests = new LongAdder();
+    private final LongAdder parkNanos = new LongAdder();
+    private final LongAccumulator maxParkNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] allocationFailures = new LongAdder[VehicleType.values().length];
+    private final LongAdder[] parkLatencyBuckets = new LongAdder[LATENCY_BUCKETS];
+
+    public ParkingMetrics() {
+        for (int i = 0; i < allocationFailures.length; i++) {
+            allocationFailures[i] = new LongAdder();
+        }
+        for (int i = 0; i < parkLatencyBuckets.length; i++) {
+            parkLatencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a completed park request
+     * @param elapsedNanos Time taken by the request
+     */
+    public void recordPark(long elapsedNanos) {
+        parkRequests.increment();
+        parkNanos.add(elapsedNanos);
+        maxParkNanos.accumulate(elapsedNanos);
+        parkLatencyBuckets[latencyBucketOf(elapsedNanos)].increment();
+    }
+
+    /**
+     * Records a park request that found no free slot
+     * @param vehicleType Vehicle type that could not be allocated, ignored if null
+     */
+    public void recordAllocationFailure(VehicleType vehicleType) {
+        if (vehicleType != null) {
+            allocationFailures[vehicleType.ordinal()].increment();
+        }
+    }
+
+    public long getParkRequests() {
+        return parkRequests.sum();
+    }
+
+    public long getParkNanos() {
+        return parkNanos.sum();
+    }
+
+    public long getMaxParkNanos() {
+        return maxParkNanos.get();
+    }
+
+    public long getAllocationFailures(VehicleType vehicleType) {
+        return allocationFailures[vehicleType.ordinal()].sum();
+    }
+
+    /**
+     * Gets the park requests counted in each latency bucket
+     * @return Counts indexed by bucket; see {@link #latencyBucketUpperMicros}
+     */
+    public long[] getParkLatencyCounts() {
+        long[] counts = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = parkLatencyBuckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the largest latency a bucket counts, in microseconds
+     * @param bucket Bucket index
+     */
+    public static long latencyBucketUpperMicros(int bucket) {
+        return 1L << bucket;
+    }
+
+    static int latencyBucketOf(long elapsedNanos) {
+        long micros = Math.max(1, (elapsedNanos + 999) / 1_000);
+        return Math.min(64 - Long.numberOfLeadingZeros(micros - 1), LATENCY_BUCKETS - 1);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.parking.readmodel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.ParkingRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copy-on-write read model for availability queries.
+ * The capacity of all floors is held in one immutable {@link AvailabilityView} behind an
+ * AtomicReference, and a read is a plain load of that reference. A single publisher thread
+ * compares the view's version with the repository version every interval and, after writes,
+ * rebuilds the view once for all changes made since the last publish, so readers never lock
+ * or rebuild and a burst of writes costs one rebuild. Views lag writes by up to one interval.
+ * A rebuild is retried while writes keep landing, like a seqlock read, so a published view is
+ * consistent across floors unless the repository never goes quiet for the length of a rebuild.
+ * Per-floor slot lists are cached under each floor's own version and read through on a miss.
+ */
+@Component
+@Slf4j
+public class AvailabilityReadModel {
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final ParkingRepository parkingRepository;
+    private final long publishIntervalMillis;
+    private final AtomicReference<AvailabilityView> current = new AtomicReference<>(AvailabilityView.EMPTY);
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Map<String, FloorEntry> floors = new ConcurrentHashMap<>();
+
+    /** Published availability of one floor and the floor version it was read at */
+    private record FloorEntry(long version, FloorAvailabilityDTO availability) {
+    }
+
+    private ScheduledExecutorService publisher;
+
+    /**
+     * Constructor injection for ParkingRepository and the publish interval
+     * @param parkingRepository Repository the view is built from
+     * @param publishIntervalMillis Time between checks for changes to publish
+     */
+    public AvailabilityReadModel(ParkingRepository parkingRepository,
+                                 @Value("${parking.readmodel.publish-interval-ms:10}") long publishIntervalMillis) {
+        this.parkingRepository = parkingRepository;
+        this.publishIntervalMillis = publishIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        publish();
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::publishQuietly, publishIntervalMillis, publishIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the most recently published view
+     * @return Published view; changes made within the last publish interval may be missing
+     */
+    public AvailabilityView getView() {
+        return current.get();
+    }
+
+    /**
+     * Rebuilds and publishes the view if the repository has changed since it was built.
+     * Runs on the publisher thread; callers that need their own writes in the view may call it directly.
+     * @return View that includes every change made before the call
+     */
+    public AvailabilityView publish() {
+        publishLock.lock();
+        try {
+            AvailabilityView view = current.get();
+            if (view.getVersion() == parkingRepository.getVersion()) {
+                return view;
+            }
+            view = buildView();
+            current.set(view);
+            return view;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish availability view", e);
+        }
+    }
+
+    /**
+     * Gets availability details of one floor that include every change made before the call
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @return Floor availability with unmodifiable slot lists, or null if the floor does not exist
+     */
+    public FloorAvailabilityDTO getFloorAvailability(String buildingId, String floorId) {
+        long version = parkingRepository.getFloorVersion(buildingId, floorId);
+        if (version < 0) {
+            return null;
+        }
+        String key = AvailabilityView.floorKey(buildingId, floorId);
+        FloorEntry entry = floors.get(key);
+        if (entry != null && entry.version() >= version) {
+            return entry.availability();
+        }
+        FloorAvailabilityDTO availability = parkingRepository.getFloorAvailability(buildingId, floorId);
+        if (availability == null) {
+            return null;
+        }
+        freeze(availability);
+        // Tagged with the version read before the lists, so a change made meanwhile forces a re-read
+        FloorEntry built = new FloorEntry(version, availability);
+        floors.merge(key, built, (existing, candidate) -> existing.version() >= candidate.version() ? existing : candidate);
+        return availability;
+    }
+
+    private AvailabilityView buildView() {
+        long before = parkingRepository.getVersion();
+        Map<String, Long> floorVersions = new HashMap<>();
+        List<BuildingCapacityDTO> buildings = readBuildings(floorVersions);
+        for (int attempt = 1; attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+            long after = parkingRepository.getVersion();
+            if (after == before) {
+                break;
+            }
+            before = after;
+            floorVersions.clear();
+            buildings = readBuildings(floorVersions);
+        }
+        // A view that still overlapped writes keeps the older version and is rebuilt on the next read
+        return new AvailabilityView(before, buildings, floorVersions);
+    }
+
+    /**
+     * Reads every floor's counters, recording the floor version read just before them
+     */
+    private List<BuildingCapacityDTO> readBuildings(Map<String, Long> floorVersions) {
+        List<BuildingCapacityDTO> buildings = new ArrayList<>();
+        for (Building building : parkingRepository.getAllBuildings().values()) {
+            buildings.add(mapBuildingToCapacityDTO(building, floorVersions));
+        }
+        return buildings;
+    }
+
+    private BuildingCapacityDTO mapBuildingToCapacityDTO(Building building, Map<String, Long> floorVersions) {
+        BuildingCapacityDTO dto = new BuildingCapacityDTO();
+        dto.setBuildingId(building.getBuildingId());
+        List<BuildingCapacityDTO.FloorCapacityDTO> floorDtos = new ArrayList<>(building.getFloors().size());
+        for (Floor floor : building.getFloors()) {
+            floorVersions.put(AvailabilityView.floorKey(building.getBuildingId(), floor.getFloorId()),
+                parkingRepository.getFloorVersion(building.getBuildingId(), floor.getFloorId()));
+            floorDtos.add(mapFloorToCapacityDTO(floor));
+        }
+        dto.setFloors(Collections.unmodifiableList(floorDtos));
+        return dto;
+    }
+
+    private BuildingCapacityDTO.FloorCapacityDTO mapFloorToCapacityDTO(Floor floor) {
+        BuildingCapacityDTO.FloorCapacityDTO dto = new BuildingCapacityDTO.FloorCapacityDTO();
+        dto.setFloorId(floor.getFloorId());
+        Map<VehicleType, Integer> availableSlots = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            availableSlots.put(type, floor.getAvailableCapacity(type));
+        }
+        dto.setAvailableSlots(Collections.unmodifiableMap(availableSlots));
+        return dto;
+    }
+
+    private static void freeze(FloorAvailabilityDTO availability) {
+        if (availability.getAvailableTwoWheelerSlots() != null) {
+            availability.setAvailableTwoWheelerSlots(Collections.unmodifiableList(availability.getAvailableTwoWheelerSlots()));
+        }
+        if (availability.getAvailableFourWheelerSlots() != null) {
+            availability.setAvailableFourWheelerSlots(Collections.unmodifiableList(availability.getAvailableFourWheelerSlots()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.parking.readmodel;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+
+/**
+ * Immutable capacity view of every building and floor, as of one repository version.
+ * Published whole by {@link AvailabilityReadModel}, so readers never see some floors
+ * before a change and others after it.
+ */
+public final class AvailabilityView {
+    /** View published before the first read; never equal to a repository version */
+    static final AvailabilityView EMPTY = new AvailabilityView(-1, List.of(), Map.of());
+
+    private final long version;
+    private final List<BuildingCapacityDTO> buildings;
+    private final Map<String, BuildingCapacityDTO.FloorCapacityDTO> floors;
+    private final Map<String, Long> floorVersions;
+
+    AvailabilityView(long version, List<BuildingCapacityDTO> buildings, Map<String, Long> floorVersions) {
+        this.version = version;
+        this.buildings = Collections.unmodifiableList(buildings);
+        this.floorVersions = floorVersions;
+        Map<String, BuildingCapacityDTO.FloorCapacityDTO> byKey = new LinkedHashMap<>();
+        for (BuildingCapacityDTO building : buildings) {
+            for (BuildingCapacityDTO.FloorCapacityDTO floor : building.getFloors()) {
+                byKey.put(floorKey(building.getBuildingId(), floor.getFloorId()), floor);
+            }
+        }
+        this.floors = Collections.unmodifiableMap(byKey);
+    }
+
+    /**
+     * Gets the repository version the view was built from
+     * @return Version whose changes are all included in the view
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the capacity of every building, in repository order
+     * @return Unmodifiable list of building capacities
+     */
+    public List<BuildingCapacityDTO> getBuildings() {
+        return buildings;
+    }
+
+    /**
+     * Gets the capacity of one floor
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @return Floor capacity, or null if the floor is not in the view
+     */
+    public BuildingCapacityDTO.FloorCapacityDTO getFloor(String buildingId, String floorId) {
+        return floors.get(floorKey(buildingId, floorId));
+    }
+
+    /**
+     * Gets the floor version the floor's capacity was read at
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @return Floor version, or -1 if the floor is not in the view
+     */
+    public long getFloorVersion(String buildingId, String floorId) {
+        Long floorVersion = floorVersions.get(floorKey(buildingId, floorId));
+        return floorVersion == null ? -1 : floorVersion;
+    }
+
+    static String floorKey(String buildingId, String floorId) {
+        return buildingId + "-" + floorId;
+    }
+}
@@ -0,0 +1,1004 @@
+package com.example.parking.repository;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.example.parking.allocation.AllocatableFloor;
+import com.example.parking.allocation.AllocationSettings;
+import com.example.parking.allocation.FloorAllocator;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.BaseEntity;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.ParkingSpace;
+import com.example.parking.entity.ParkingStructure;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compact implementation of parking repository, active with the "bitset" profile.
+ * Occupancy is kept as bitsets per floor and vehicle type, plus the registration number
+ * of each parked vehicle, instead of one ParkingSlot object per slot. Slots are claimed with
+ * a lock-free compare-and-set on the bitset word, and ParkingSlot, Floor and Building objects
+ * are only built when a caller asks for them.
+ * Slot IDs must follow the SlotKeyCodec format, and slots are numbered densely from 1
+ * per floor and vehicle type. Building and floor views carry availability counters but no
+ * slot list.
+ */
+@Repository
+@Profile("bitset")
+@Slf4j
+public class BitsetParkingRepository implements ParkingRepository {
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    /** Number of 64-bit words per bitset page, i.e. 4096 slots per page */
+    private static final int WORDS_PER_PAGE = 64;
+    private static final int BITS_PER_PAGE = WORDS_PER_PAGE * Long.SIZE;
+
+    private final Map<Integer, String> buildingIds = new ConcurrentSkipListMap<>();
+    private final Map<Integer, FloorBits> floorsByNumber = new ConcurrentHashMap<>();
+    private final Map<String, FloorBits> floorsById = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray availableCounts = new AtomicIntegerArray(TYPES.length);
+    private final OccupancyListeners listeners = new OccupancyListeners();
+    private final HeldPlates heldPlates = new HeldPlates();
+    private final RepositoryStats stats = new RepositoryStats();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Registration-number index of parked vehicles, mapping each plate to its slot key.
+     * A vehicle maps to PENDING_KEY while its claim is in flight.
+     */
+    private final Map<String, Long> registrations = new ConcurrentHashMap<>();
+    private static final long PENDING_KEY = -2L;
+
+    /** Allocator choices tried before a claim falls back to scanning every floor */
+    private static final int MAX_CHOICE_ATTEMPTS = 8;
+
+    private final ReentrantLock topologyLock = new ReentrantLock();
+
+    /** Floors in building number, then floor number order */
+    private volatile FloorBits[] floorOrder = new FloorBits[0];
+
+    /** Picks the floor for each claim; replaced when the topology or the settings change */
+    private volatile FloorAllocator<FloorBits> allocator = new FloorAllocator<>(AllocationSettings.DEFAULT);
+
+    /**
+     * Initializes the same sample topology as the object-based repository:
+     * 4 buildings, 2 floors each, 50 two-wheeler and 30 four-wheeler slots per floor,
+     * with a random share of slots occupied
+     */
+    @PostConstruct
+    public void init() {
+        Random random = new Random();
+        int occupiedTwoWheeler = 5 + random.nextInt(30);
+        int occupiedFourWheeler = 5 + random.nextInt(15);
+        for (int buildingNum = 1; buildingNum <= 4; buildingNum++) {
+            for (int floorNum = 1; floorNum <= 2; floorNum++) {
+                FloorBits floor = registerFloor(buildingNum, floorNum);
+                extend(floor, VehicleType.TWO_WHEELER, 50);
+                extend(floor, VehicleType.FOUR_WHEELER, 30);
+                occupyRandomly(floor, VehicleType.TWO_WHEELER, occupiedTwoWheeler, "TW-", random);
+                occupyRandomly(floor, VehicleType.FOUR_WHEELER, occupiedFourWheeler, "FW-", random);
+            }
+        }
+    }
+
+    private void occupyRandomly(FloorBits floor, VehicleType type, int count, String platePrefix, Random random) {
+        TypeBits bits = floor.bits(type);
+        int[] indexes = new int[bits.capacity()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            int pick = i + random.nextInt(indexes.length - i);
+            int index = indexes[pick];
+            indexes[pick] = indexes[i];
+            String plate = platePrefix + UUID.randomUUID().toString().substring(0, 8);
+            if (bits.occupy(index, plate)) {
+                availableCounts.decrementAndGet(type.ordinal());
+                registrations.put(plate, slotKey(floor, type, index));
+                recordChange(floor);
+            }
+        }
+    }
+
+    @Override
+    public <T extends BaseEntity> T save(T entity) {
+        if (entity instanceof Building building) {
+            registerBuilding(building.getBuildingId());
+            building.getFloors().forEach(this::saveFloor);
+        } else if (entity instanceof Floor floor) {
+            saveFloor(floor);
+        } else if (entity instanceof ParkingSlot slot) {
+            saveSlot(slot);
+        } else {
+            throw new IllegalArgumentException("Unsupported entity: " + entity.getClass().getSimpleName());
+        }
+        return entity;
+    }
+
+    private void saveFloor(Floor floor) {
+        int buildingNum = SlotKeyCodec.parseLevel(floor.getBuildingId(), 'B');
+        int floorNum = SlotKeyCodec.parseLevel(floor.getFloorId(), 'F');
+        if (buildingNum < 0 || floorNum < 0) {
+            throw new IllegalArgumentException("Invalid floor: " + floor.getBuildingId() + "-" + floor.getFloorId());
+        }
+        registerFloor(buildingNum, floorNum);
+        floor.getParkingSlots().forEach(this::saveSlot);
+    }
+
+    private void saveSlot(ParkingSlot slot) {
+        long key = SlotKeyCodec.parse(slot.getId());
+        if (key == SlotKeyCodec.INVALID_KEY) {
+            throw new IllegalArgumentException("Invalid slot ID: " + slot.getId());
+        }
+        FloorBits floor = registerFloor(SlotKeyCodec.buildingNumber(key), SlotKeyCodec.floorNumber(key));
+        VehicleType type = SlotKeyCodec.vehicleType(key);
+        int index = SlotKeyCodec.slotNumber(key) - 1;
+        extend(floor, type, index + 1);
+        applyOccupancy(floor, floor.bits(type), index, slot);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends BaseEntity> Optional<T> findById(String id, Class<T> entityClass) {
+        if (entityClass == ParkingSlot.class) {
+            return (Optional<T>) findById(id);
+        }
+        if (entityClass == Floor.class) {
+            FloorBits floor = floorsById.get(id);
+            return floor == null ? Optional.empty() : Optional.of((T) toFloor(floor));
+        }
+        if (entityClass == Building.class) {
+            int buildingNum = SlotKeyCodec.parseLevel(id, 'B');
+            return buildingIds.containsKey(buildingNum)
+                ? Optional.of((T) toBuilding(buildingNum, id))
+                : Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<ParkingSpace> findAvailableSpaces(VehicleType vehicleType) {
+        return new ArrayList<>(findAvailableSlots(vehicleType));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ParkingStructure> List<T> findAllStructures(Class<T> structureClass) {
+        List<T> structures = new ArrayList<>();
+        if (structureClass.isAssignableFrom(Building.class)) {
+            buildingIds.forEach((number, id) -> structures.add((T) toBuilding(number, id)));
+        }
+        if (structureClass.isAssignableFrom(Floor.class)) {
+            for (FloorBits floor : floorOrder) {
+                structures.add((T) toFloor(floor));
+            }
+        }
+        return structures;
+    }
+
+    @Override
+    public Map<String, Building> getAllBuildings() {
+        Map<String, Building> result = new HashMap<>();
+        buildingIds.forEach((number, id) -> result.put(id, toBuilding(number, id)));
+        return result;
+    }
+
+    @Override
+    public List<ParkingSpace> findSpacesByStructure(String buildingId, String floorId) {
+        FloorBits floor = floorsById.get(floorKey(buildingId, floorId));
+        if (floor == null) {
+            return new ArrayList<>();
+        }
+        List<ParkingSpace> spaces = new ArrayList<>();
+        for (VehicleType type : TYPES) {
+            TypeBits bits = floor.bits(type);
+            for (int i = 0; i < bits.capacity(); i++) {
+                spaces.add(toSlot(floor, bits, i));
+            }
+        }
+        return spaces;
+    }
+
+    @Override
+    public FloorAvailabilityDTO getFloorAvailability(String buildingId, String floorId) {
+        FloorBits floor = floorsById.get(floorKey(buildingId, floorId));
+        if (floor == null) {
+            return null;
+        }
+
+        FloorAvailabilityDTO dto = new FloorAvailabilityDTO();
+        dto.setBuildingId(buildingId);
+        dto.setFloorId(floorId);
+        dto.setAvailableTwoWheelerSlots(freeSlotIds(floor, VehicleType.TWO_WHEELER));
+        dto.setAvailableFourWheelerSlots(freeSlotIds(floor, VehicleType.FOUR_WHEELER));
+        dto.setTotalAvailableTwoWheelerSlots(dto.getAvailableTwoWheelerSlots().size());
+        dto.setTotalAvailableFourWheelerSlots(dto.getAvailableFourWheelerSlots().size());
+        return dto;
+    }
+
+    private List<String> freeSlotIds(FloorBits floor, VehicleType type) {
+        TypeBits bits = floor.bits(type);
+        List<String> ids = new ArrayList<>(bits.available());
+        for (int i = bits.nextClearBit(0); i >= 0; i = bits.nextClearBit(i + 1)) {
+            ids.add(slotId(floor, type, i));
+        }
+        return ids;
+    }
+
+    @Override
+    public List<ParkingSlot> getAllSlots() {
+        List<ParkingSlot> slots = new ArrayList<>();
+        for (FloorBits floor : floorOrder) {
+            for (VehicleType type : TYPES) {
+                TypeBits bits = floor.bits(type);
+                for (int i = 0; i < bits.capacity(); i++) {
+                    slots.add(toSlot(floor, bits, i));
+                }
+            }
+        }
+        return slots;
+    }
+
+    @Override
+    public List<ParkingSlot> findAvailableSlots(VehicleType vehicleType) {
+        List<ParkingSlot> slots = new ArrayList<>();
+        for (FloorBits floor : floorOrder) {
+            TypeBits bits = floor.bits(vehicleType);
+            for (int i = bits.nextClearBit(0); i >= 0; i = bits.nextClearBit(i + 1)) {
+                slots.add(toSlot(floor, bits, i));
+            }
+        }
+        return slots;
+    }
+
+    @Override
+    public Optional<ParkingSlot> claimAvailableSlot(Vehicle vehicle) {
+        return claim(vehicle, false);
+    }
+
+    @Override
+    public Optional<ParkingSlot> holdAvailableSlot(Vehicle vehicle) {
+        return vehicle.getRegistrationNumber() == null ? Optional.empty() : claim(vehicle, true);
+    }
+
+    private Optional<ParkingSlot> claim(Vehicle vehicle, boolean held) {
+        String registrationNumber = vehicle.getRegistrationNumber();
+        if (vehicle.getType() == null
+                || registrationNumber != null && registrations.putIfAbsent(registrationNumber, PENDING_KEY) != null) {
+            return Optional.empty();
+        }
+        if (held) {
+            heldPlates.add(registrationNumber);
+        }
+        long scanned = 0;
+        FloorAllocator<FloorBits> current = allocator;
+        FloorBits floor = null;
+        for (int attempt = 0; attempt < MAX_CHOICE_ATTEMPTS; attempt++) {
+            floor = current.choose(vehicle.getType());
+            if (floor == null) {
+                break;
+            }
+            TypeBits bits = floor.bits(vehicle.getType());
+            int index = bits.claim(registrationNumber);
+            if (index >= 0) {
+                return Optional.of(occupy(floor, bits, index, registrationNumber, held, scanned));
+            }
+            // A concurrent claim filled the chosen floor first; requeue it and choose again
+            scanned += bits.capacity();
+            current.refresh(floor);
+        }
+        if (floor != null) {
+            // Every choice lost a race: scan all floors so a free slot is never missed
+            for (FloorBits candidate : floorOrder) {
+                TypeBits bits = candidate.bits(vehicle.getType());
+                int index = bits.claim(registrationNumber);
+                if (index >= 0) {
+                    return Optional.of(occupy(candidate, bits, index, registrationNumber, held, scanned));
+                }
+                scanned += bits.capacity();
+            }
+        }
+        stats.recordClaim(scanned);
+        if (registrationNumber != null) {
+            if (held) {
+                heldPlates.discard(registrationNumber);
+            }
+            registrations.remove(registrationNumber, PENDING_KEY);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Publishes a bit just claimed for a vehicle
+     * @param held Whether the bit is held for a reservation rather than parked
+     * @param scanned Bits examined on floors that turned out to be full
+     */
+    private ParkingSlot occupy(FloorBits floor, TypeBits bits, int index, String registrationNumber,
+                               boolean held, long scanned) {
+        // Words before the claimed one were full; count every bit of the words examined
+        stats.recordClaim(scanned + Math.min(bits.capacity(), ((index >>> 6) + 1) << 6));
+        availableCounts.decrementAndGet(bits.type.ordinal());
+        recordChange(floor);
+        long key = slotKey(floor, bits.type, index);
+        // Notify before the vehicle becomes visible to releaseSlot, so listeners see occupy before release
+        if (held) {
+            listeners.fireHeld(key, registrationNumber);
+        } else {
+            listeners.fireOccupied(key, registrationNumber);
+        }
+        if (registrationNumber != null) {
+            registrations.put(registrationNumber, key);
+        }
+        return toSlot(floor, bits, index);
+    }
+
+    @Override
+    public Optional<ParkingSlot> findByRegistrationNumber(String registrationNumber) {
+        Long key = registrationNumber == null ? null : registrations.get(registrationNumber);
+        if (key == null || key == PENDING_KEY) {
+            return Optional.empty();
+        }
+        return findById(key);
+    }
+
+    @Override
+    public Optional<ParkingSlot> releaseSlot(String registrationNumber) {
+        return heldPlates.release(registrationNumber, held -> release(registrationNumber, held));
+    }
+
+    @Override
+    public boolean confirmHold(String registrationNumber, String slotId) {
+        return heldPlates.confirm(registrationNumber, () -> {
+            Long key = registrations.get(registrationNumber);
+            if (key == null || key == PENDING_KEY || key != SlotKeyCodec.parse(slotId)) {
+                return false;
+            }
+            listeners.fireOccupied(key, registrationNumber);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<ParkingSlot> releaseHold(String registrationNumber, String slotId) {
+        Optional<ParkingSlot> released = heldPlates.releaseHeld(registrationNumber, () -> {
+            Long key = registrations.get(registrationNumber);
+            return key != null && key == SlotKeyCodec.parse(slotId);
+        }, held -> release(registrationNumber, held));
+        return released == null ? Optional.empty() : released;
+    }
+
+    private Optional<ParkingSlot> release(String registrationNumber, boolean held) {
+        Long key = registrationNumber == null ? null : registrations.get(registrationNumber);
+        if (key == null || key == PENDING_KEY || !registrations.remove(registrationNumber, key)) {
+            return Optional.empty();
+        }
+        FloorBits floor = floorOf(key);
+        TypeBits bits = floor.bits(SlotKeyCodec.vehicleType(key));
+        int index = SlotKeyCodec.slotNumber(key) - 1;
+        // Notify before the bit is cleared, so listeners see release before the next occupy
+        if (held) {
+            listeners.fireHoldReleased(key, registrationNumber);
+        } else {
+            listeners.fireReleased(key, registrationNumber);
+        }
+        if (bits.release(index)) {
+            availableCounts.incrementAndGet(bits.type.ordinal());
+            recordChange(floor);
+        }
+        return Optional.of(toSlot(floor, bits, index));
+    }
+
+    @Override
+    public int countAvailableSlots(VehicleType vehicleType) {
+        return availableCounts.get(vehicleType.ordinal());
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public long getFloorVersion(String buildingId, String floorId) {
+        FloorBits floor = floorsById.get(floorKey(buildingId, floorId));
+        return floor == null ? -1 : floor.version.get();
+    }
+
+    @Override
+    public int getFloorCapacity(String buildingId, String floorId, VehicleType vehicleType) {
+        FloorBits floor = floorsById.get(floorKey(buildingId, floorId));
+        return floor == null ? -1 : floor.bits(vehicleType).capacity();
+    }
+
+    @Override
+    public RepositoryStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void addOccupancyListener(OccupancyListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void restoreQuietly(Runnable restore) {
+        listeners.runMuted(restore);
+    }
+
+    @Override
+    public List<FloorSnapshot> exportFloors() {
+        List<FloorSnapshot> result = new ArrayList<>();
+        for (FloorBits floor : floorOrder) {
+            int[] capacities = new int[TYPES.length];
+            long[][] occupied = new long[TYPES.length][];
+            String[][] plates = new String[TYPES.length][];
+            for (VehicleType type : TYPES) {
+                TypeBits bits = floor.bits(type);
+                int capacity = bits.capacity();
+                capacities[type.ordinal()] = capacity;
+                occupied[type.ordinal()] = bits.copyWords(capacity);
+                plates[type.ordinal()] = bits.copyPlates(capacity);
+                if (!heldPlates.isEmpty()) {
+                    dropHeld(occupied[type.ordinal()], plates[type.ordinal()]);
+                }
+            }
+            result.add(new FloorSnapshot(floor.buildingNumber, floor.floorNumber, capacities, occupied, plates));
+        }
+        return result;
+    }
+
+    /**
+     * Exports held slots as free, so a restored snapshot never brings back a hold without its expiry
+     */
+    private void dropHeld(long[] occupied, String[] plates) {
+        for (int i = 0; i < plates.length; i++) {
+            if (heldPlates.contains(plates[i])) {
+                occupied[i >>> 6] &= ~(1L << i);
+                plates[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the bitsets directly from the snapshot words, without creating slot objects.
+     * Floors are loaded in parallel and published in one step, so the floor order is sorted once.
+     */
+    @Override
+    public void importFloors(List<FloorSnapshot> snapshot) {
+        topologyLock.lock();
+        try {
+            buildingIds.clear();
+            floorsByNumber.clear();
+            floorsById.clear();
+            registrations.clear();
+            heldPlates.clear();
+            floorOrder = new FloorBits[0];
+            for (VehicleType type : TYPES) {
+                availableCounts.set(type.ordinal(), 0);
+            }
+
+            FloorBits[] order = snapshot.parallelStream()
+                .map(this::loadFloor)
+                .sorted(Comparator.comparingInt((FloorBits f) -> f.buildingNumber).thenComparingInt(f -> f.floorNumber))
+                .toArray(FloorBits[]::new);
+            for (FloorBits floor : order) {
+                buildingIds.putIfAbsent(floor.buildingNumber, floor.buildingId);
+                floorsById.put(floorKey(floor.buildingId, floor.floorId), floor);
+                floorsByNumber.put(floorNumberKey(floor.buildingNumber, floor.floorNumber), floor);
+            }
+            floorOrder = order;
+            allocator = buildAllocator(allocator.getSettings(), order);
+            long next = version.incrementAndGet();
+            for (FloorBits floor : order) {
+                floor.version.accumulateAndGet(next, Math::max);
+            }
+        } finally {
+            topologyLock.unlock();
+        }
+    }
+
+    private FloorBits loadFloor(FloorSnapshot floorSnapshot) {
+        FloorBits floor = new FloorBits(floorSnapshot.getBuildingNumber(), floorSnapshot.getFloorNumber());
+        for (VehicleType type : TYPES) {
+            TypeBits bits = floor.bits(type);
+            String[] plates = floorSnapshot.getRegistrationNumbers()[type.ordinal()];
+            bits.load(floorSnapshot.getCapacities()[type.ordinal()], floorSnapshot.getOccupied()[type.ordinal()], plates);
+            availableCounts.addAndGet(type.ordinal(), bits.available());
+            for (int i = 0; i < Math.min(plates.length, bits.capacity()); i++) {
+                if (plates[i] != null && bits.isOccupied(i)) {
+                    registrations.put(plates[i], slotKey(floor, type, i));
+                }
+            }
+        }
+        return floor;
+    }
+
+    @Override
+    public void updateSlot(ParkingSlot slot) {
+        long key = SlotKeyCodec.parse(slot.getId());
+        FloorBits floor = key == SlotKeyCodec.INVALID_KEY ? null : floorOf(key);
+        int index = SlotKeyCodec.slotNumber(key) - 1;
+        if (floor == null || index < 0 || index >= floor.bits(SlotKeyCodec.vehicleType(key)).capacity()) {
+            throw new IllegalArgumentException("Slot not found: " + slot.getId());
+        }
+        applyOccupancy(floor, floor.bits(SlotKeyCodec.vehicleType(key)), index, slot);
+    }
+
+    @Override
+    public Optional<ParkingSlot> findById(String id) {
+        long key = SlotKeyCodec.parse(id);
+        return key == SlotKeyCodec.INVALID_KEY ? Optional.empty() : findById(key);
+    }
+
+    private Optional<ParkingSlot> findById(long key) {
+        FloorBits floor = floorOf(key);
+        if (floor == null) {
+            return Optional.empty();
+        }
+        TypeBits bits = floor.bits(SlotKeyCodec.vehicleType(key));
+        int index = SlotKeyCodec.slotNumber(key) - 1;
+        if (index < 0 || index >= bits.capacity()) {
+            return Optional.empty();
+        }
+        return Optional.of(toSlot(floor, bits, index));
+    }
+
+    /**
+     * Sets or clears a slot's occupancy bit from a slot object and keeps the global counters in step
+     */
+    private void applyOccupancy(FloorBits floor, TypeBits bits, int index, ParkingSlot slot) {
+        long key = slotKey(floor, bits.type, index);
+        String previousPlate = bits.plateAt(index);
+        if (slot.isOccupied()) {
+            String plate = slot.getParkedVehicle() == null ? null : slot.getParkedVehicle().getRegistrationNumber();
+            if (previousPlate != null && !previousPlate.equals(plate)) {
+                registrations.remove(previousPlate, key);
+                heldPlates.discard(previousPlate);
+            }
+            if (bits.occupy(index, plate)) {
+                availableCounts.decrementAndGet(bits.type.ordinal());
+                recordChange(floor);
+                listeners.fireOccupied(key, plate);
+            }
+            if (plate != null) {
+                registrations.put(plate, key);
+            }
+        } else {
+            boolean held = heldPlates.contains(previousPlate);
+            if (previousPlate != null) {
+                registrations.remove(previousPlate, key);
+                heldPlates.discard(previousPlate);
+            }
+            if (bits.release(index)) {
+                availableCounts.incrementAndGet(bits.type.ordinal());
+                recordChange(floor);
+                if (held) {
+                    listeners.fireHoldReleased(key, previousPlate);
+                } else {
+                    listeners.fireReleased(key, previousPlate);
+                }
+            }
+        }
+    }
+
+    private FloorBits floorOf(long key) {
+        return floorsByNumber.get(floorNumberKey(SlotKeyCodec.buildingNumber(key), SlotKeyCodec.floorNumber(key)));
+    }
+
+    private void registerBuilding(String buildingId) {
+        int buildingNum = SlotKeyCodec.parseLevel(buildingId, 'B');
+        if (buildingNum < 0) {
+            throw new IllegalArgumentException("Invalid building ID: " + buildingId);
+        }
+        buildingIds.putIfAbsent(buildingNum, buildingId);
+    }
+
+    private FloorBits registerFloor(int buildingNum, int floorNum) {
+        FloorBits existing = floorsByNumber.get(floorNumberKey(buildingNum, floorNum));
+        if (existing != null) {
+            return existing;
+        }
+        topologyLock.lock();
+        try {
+            existing = floorsByNumber.get(floorNumberKey(buildingNum, floorNum));
+            if (existing != null) {
+                return existing;
+            }
+            FloorBits floor = new FloorBits(buildingNum, floorNum);
+            buildingIds.putIfAbsent(buildingNum, floor.buildingId);
+            floorsById.put(floorKey(floor.buildingId, floor.floorId), floor);
+            floorsByNumber.put(floorNumberKey(buildingNum, floorNum), floor);
+            FloorBits[] order = Arrays.copyOf(floorOrder, floorOrder.length + 1);
+            order[order.length - 1] = floor;
+            Arrays.sort(order, Comparator.comparingInt((FloorBits f) -> f.buildingNumber)
+                .thenComparingInt(f -> f.floorNumber));
+            floorOrder = order;
+            recordChange(floor);
+            return floor;
+        } finally {
+            topologyLock.unlock();
+        }
+    }
+
+    private void extend(FloorBits floor, VehicleType type, int capacity) {
+        int added = floor.bits(type).extendTo(capacity);
+        if (added > 0) {
+            availableCounts.addAndGet(type.ordinal(), added);
+            recordChange(floor);
+        }
+    }
+
+    /**
+     * Advances the repository version, stamps the changed floor with it and requeues the floor
+     * for allocation. Called after the bits and counters were updated, so a reader that sees
+     * the new version also sees the change.
+     */
+    private void recordChange(FloorBits floor) {
+        long next = version.incrementAndGet();
+        floor.version.accumulateAndGet(next, Math::max);
+        allocator.refresh(floor);
+    }
+
+    @Override
+    public void setAllocationSettings(AllocationSettings settings) {
+        topologyLock.lock();
+        try {
+            FloorAllocator<FloorBits> replacement = buildAllocator(settings, floorOrder);
+            allocator = replacement;
+            // Pick up claims and releases that reached the old allocator while this one was built
+            for (FloorBits floor : floorOrder) {
+                replacement.refresh(floor);
+            }
+        } finally {
+            topologyLock.unlock();
+        }
+    }
+
+    private static FloorAllocator<FloorBits> buildAllocator(AllocationSettings settings, FloorBits[] floors) {
+        FloorAllocator<FloorBits> built = new FloorAllocator<>(settings);
+        for (FloorBits floor : floors) {
+            built.refresh(floor);
+        }
+        return built;
+    }
+
+    private ParkingSlot toSlot(FloorBits floor, TypeBits bits, int index) {
+        ParkingSlot slot = new ParkingSlot();
+        slot.setId(slotId(floor, bits.type, index));
+        slot.setBuildingId(floor.buildingId);
+        slot.setFloorId(floor.floorId);
+        slot.setVehicleType(bits.type);
+        boolean occupied = bits.isOccupied(index);
+        slot.setOccupied(occupied);
+        String plate = bits.plateAt(index);
+        if (occupied && plate != null) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setRegistrationNumber(plate);
+            vehicle.setType(bits.type);
+            slot.setParkedVehicle(vehicle);
+        }
+        return slot;
+    }
+
+    private Floor toFloor(FloorBits bits) {
+        Floor floor = new Floor();
+        floor.setId(floorKey(bits.buildingId, bits.floorId));
+        floor.setBuildingId(bits.buildingId);
+        floor.setFloorId(bits.floorId);
+        int totalCapacity = 0;
+        for (VehicleType type : TYPES) {
+            floor.setAvailableCapacity(type, bits.bits(type).available());
+            totalCapacity += bits.bits(type).capacity();
+        }
+        floor.setTotalCapacity(totalCapacity);
+        floor.advanceVersion(bits.version.get());
+        return floor;
+    }
+
+    private Building toBuilding(int buildingNum, String buildingId) {
+        Building building = new Building();
+        building.setId(buildingId);
+        building.setBuildingId(buildingId);
+        for (FloorBits floor : floorOrder) {
+            if (floor.buildingNumber == buildingNum) {
+                building.getFloors().add(toFloor(floor));
+            }
+        }
+        return building;
+    }
+
+    private static String slotId(FloorBits floor, VehicleType type, int index) {
+        return SlotKeyCodec.format(slotKey(floor, type, index));
+    }
+
+    private static long slotKey(FloorBits floor, VehicleType type, int index) {
+        return SlotKeyCodec.encode(floor.buildingNumber, floor.floorNumber, type, index + 1);
+    }
+
+    private static String floorKey(String buildingId, String floorId) {
+        return buildingId + "-" + floorId;
+    }
+
+    private static int floorNumberKey(int buildingNum, int floorNum) {
+        return buildingNum * (SlotKeyCodec.MAX_FLOOR + 1) + floorNum;
+    }
+
+    /**
+     * Occupancy of one floor, split by vehicle type
+     */
+    private static final class FloorBits implements AllocatableFloor {
+        private final int buildingNumber;
+        private final int floorNumber;
+        private final String buildingId;
+        private final String floorId;
+        private final TypeBits[] byType = new TypeBits[TYPES.length];
+        /** Occupancy version, advanced after every change on this floor */
+        private final AtomicLong version = new AtomicLong();
+
+        FloorBits(int buildingNumber, int floorNumber) {
+            this.buildingNumber = buildingNumber;
+            this.floorNumber = floorNumber;
+            this.buildingId = "B" + buildingNumber;
+            this.floorId = "F" + floorNumber;
+            for (VehicleType type : TYPES) {
+                byType[type.ordinal()] = new TypeBits(type);
+            }
+        }
+
+        TypeBits bits(VehicleType type) {
+            return byType[type.ordinal()];
+        }
+
+        @Override
+        public int getBuildingNumber() {
+            return buildingNumber;
+        }
+
+        @Override
+        public int getFloorNumber() {
+            return floorNumber;
+        }
+
+        @Override
+        public int getAvailable(VehicleType vehicleType) {
+            return bits(vehicleType).available();
+        }
+
+        @Override
+        public int getCapacity(VehicleType vehicleType) {
+            return bits(vehicleType).capacity();
+        }
+    }
+
+    /**
+     * Occupancy bitset for the slots of one vehicle type on one floor.
+     * Bits live in fixed-size pages that are never copied, so growing the bitset
+     * cannot lose a concurrent compare-and-set.
+     */
+    private static final class TypeBits {
+        private final VehicleType type;
+        private volatile AtomicLongArray[] occupiedPages = new AtomicLongArray[0];
+        private volatile AtomicReferenceArray<String>[] platePages = newPlatePages(0);
+        private volatile int capacity;
+        private final ReentrantLock resizeLock = new ReentrantLock();
+
+        TypeBits(VehicleType type) {
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static AtomicReferenceArray<String>[] newPlatePages(int length) {
+            return (AtomicReferenceArray<String>[]) Array.newInstance(AtomicReferenceArray.class, length);
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        /**
+         * Counts free slots with Long.bitCount over the occupancy words
+         */
+        int available() {
+            int limit = capacity;
+            int words = (limit + Long.SIZE - 1) >>> 6;
+            int occupied = 0;
+            for (int w = 0; w < words; w++) {
+                occupied += Long.bitCount(word(w << 6) & validMask(w, limit));
+            }
+            return limit - occupied;
+        }
+
+        /**
+         * Grows the bitset to at least the given number of slots
+         * @return Number of slots added
+         */
+        int extendTo(int newCapacity) {
+            resizeLock.lock();
+            try {
+                int current = capacity;
+                if (newCapacity <= current) {
+                    return 0;
+                }
+                int pagesNeeded = (newCapacity + BITS_PER_PAGE - 1) / BITS_PER_PAGE;
+                if (pagesNeeded > occupiedPages.length) {
+                    AtomicLongArray[] occupied = Arrays.copyOf(occupiedPages, pagesNeeded);
+                    AtomicReferenceArray<String>[] plates = Arrays.copyOf(platePages, pagesNeeded);
+                    for (int i = occupiedPages.length; i < pagesNeeded; i++) {
+                        occupied[i] = new AtomicLongArray(WORDS_PER_PAGE);
+                        plates[i] = new AtomicReferenceArray<>(BITS_PER_PAGE);
+                    }
+                    platePages = plates;
+                    occupiedPages = occupied;
+                }
+                capacity = newCapacity;
+                return newCapacity - current;
+            } finally {
+                resizeLock.unlock();
+            }
+        }
+
+        boolean isOccupied(int index) {
+            return (word(index) & (1L << index)) != 0;
+        }
+
+        /**
+         * Copies the occupancy words covering the first slots
+         */
+        long[] copyWords(int limit) {
+            long[] words = new long[(limit + Long.SIZE - 1) >>> 6];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = word(w << 6) & validMask(w, limit);
+            }
+            return words;
+        }
+
+        /**
+         * Copies the registration numbers of the first slots
+         */
+        String[] copyPlates(int limit) {
+            String[] plates = new String[limit];
+            for (int i = 0; i < limit; i++) {
+                plates[i] = plateAt(i);
+            }
+            return plates;
+        }
+
+        /**
+         * Fills an empty bitset from snapshot words and registration numbers
+         */
+        void load(int newCapacity, long[] words, String[] plates) {
+            extendTo(newCapacity);
+            int wordCount = Math.min(words.length, (newCapacity + Long.SIZE - 1) >>> 6);
+            for (int w = 0; w < wordCount; w++) {
+                occupiedPages[w / WORDS_PER_PAGE].set(w % WORDS_PER_PAGE, words[w] & validMask(w, newCapacity));
+            }
+            for (int i = 0; i < Math.min(plates.length, newCapacity); i++) {
+                if (plates[i] != null) {
+                    platePages[i / BITS_PER_PAGE].set(i % BITS_PER_PAGE, plates[i]);
+                }
+            }
+        }
+
+        String plateAt(int index) {
+            return platePages[index / BITS_PER_PAGE].get(index % BITS_PER_PAGE);
+        }
+
+        /**
+         * Atomically claims the lowest free slot
+         * @param plate Registration number of the vehicle
+         * @return Index of the claimed slot, or -1 if none is free
+         */
+        int claim(String plate) {
+            int limit = capacity;
+            AtomicLongArray[] pages = occupiedPages;
+            int words = (limit + Long.SIZE - 1) >>> 6;
+            for (int w = 0; w < words; w++) {
+                AtomicLongArray page = pages[w / WORDS_PER_PAGE];
+                int offset = w % WORDS_PER_PAGE;
+                long mask = validMask(w, limit);
+                long word = page.get(offset);
+                while ((~word & mask) != 0) {
+                    long bit = Long.lowestOneBit(~word & mask);
+                    if (page.compareAndSet(offset, word, word | bit)) {
+                        int index = (w << 6) + Long.numberOfTrailingZeros(bit);
+                        platePages[index / BITS_PER_PAGE].set(index % BITS_PER_PAGE, plate);
+                        return index;
+                    }
+                    word = page.get(offset);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Marks a slot occupied
+         * @return true if the slot was free before
+         */
+        boolean occupy(int index, String plate) {
+            platePages[index / BITS_PER_PAGE].set(index % BITS_PER_PAGE, plate);
+            return setBit(index, true);
+        }
+
+        /**
+         * Marks a slot free and forgets its vehicle
+         * @return true if the slot was occupied before
+         */
+        boolean release(int index) {
+            platePages[index / BITS_PER_PAGE].set(index % BITS_PER_PAGE, null);
+            return setBit(index, false);
+        }
+
+        /**
+         * Finds the next free slot at or after an index, like BitSet#nextClearBit
+         * @return Index of the free slot, or -1 if there is none
+         */
+        int nextClearBit(int from) {
+            int limit = capacity;
+            if (from >= limit) {
+                return -1;
+            }
+            int w = from >>> 6;
+            long free = ~word(from) & (-1L << from) & validMask(w, limit);
+            int words = (limit + Long.SIZE - 1) >>> 6;
+            while (free == 0) {
+                if (++w >= words) {
+                    return -1;
+                }
+                free = ~word(w << 6) & validMask(w, limit);
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(free);
+        }
+
+        private long word(int index) {
+            int w = index >>> 6;
+            return occupiedPages[w / WORDS_PER_PAGE].get(w % WORDS_PER_PAGE);
+        }
+
+        private boolean setBit(int index, boolean value) {
+            int w = index >>> 6;
+            AtomicLongArray page = occupiedPages[w / WORDS_PER_PAGE];
+            int offset = w % WORDS_PER_PAGE;
+            long bit = 1L << index;
+            while (true) {
+                long word = page.get(offset);
+                boolean isSet = (word & bit) != 0;
+                if (isSet == value) {
+                    return false;
+                }
+                long updated = value ? word | bit : word & ~bit;
+                if (page.compareAndSet(offset, word, updated)) {
+                    return true;
+                }
+            }
+        }
+
+        private static long validMask(int word, int limit) {
+            int remaining = limit - (word << 6);
+            return remaining >= Long.SIZE ? -1L : (1L << remaining) - 1;
+        }
+    }
+}
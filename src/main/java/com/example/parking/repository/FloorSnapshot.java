@@ -0,0 +1,50 @@
+package com.example.parking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Point-in-time copy of one floor's slots and occupancy, used to snapshot and restore
+ * a repository. Arrays are indexed by VehicleType ordinal; within a type, index i
+ * describes slot number i + 1.
+ */
+@Data
+@AllArgsConstructor
+public class FloorSnapshot {
+    /**
+     * Building number (the 7 in "B7")
+     */
+    private int buildingNumber;
+
+    /**
+     * Floor number (the 2 in "F2")
+     */
+    private int floorNumber;
+
+    /**
+     * Number of slots per vehicle type
+     */
+    private int[] capacities;
+
+    /**
+     * Occupancy bits per vehicle type; bit i of word i / 64 is set when slot i + 1 is occupied.
+     * Words past the end of the array are free, so a floor with no parked vehicles may use empty arrays.
+     */
+    private long[][] occupied;
+
+    /**
+     * Registration number parked in each slot per vehicle type, or null; may be shorter than the capacity
+     */
+    private String[][] registrationNumbers;
+
+    /**
+     * Checks whether a slot is occupied
+     * @param typeOrdinal VehicleType ordinal
+     * @param index Slot number minus one
+     */
+    public boolean isOccupied(int typeOrdinal, int index) {
+        long[] words = occupied[typeOrdinal];
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.parking.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Lock-free pool of free parking slots, kept separately for each vehicle type.
+ * Slots are ordered by building, floor and slot number, so allocation is deterministic and
+ * B1-F1-FW-11 comes before B1-F1-FW-100. A claim removes the
+ * slot with a single atomic pollFirst, so a slot is never handed out twice.
+ * Slots with IDs in slot ID format are also listed under their floor, so a claim can
+ * target the floor chosen by the allocation policy. The type-wide set decides ownership:
+ * whoever removes a slot from it owns the slot and then drops the floor entry.
+ */
+class FreeSlotPool {
+    /**
+     * Orders slots by their numeric slot key; IDs outside the slot ID format follow, by ID.
+     * Ties on the key, such as "TW-1" and "TW-01", fall back to the ID so distinct slots never compare equal.
+     */
+    private static final Comparator<ParkingSlot> SLOT_ORDER = (first, second) -> {
+        long firstKey = SlotKeyCodec.parse(first.getId());
+        long secondKey = SlotKeyCodec.parse(second.getId());
+        if (firstKey != secondKey) {
+            if (firstKey == SlotKeyCodec.INVALID_KEY || secondKey == SlotKeyCodec.INVALID_KEY) {
+                return firstKey == SlotKeyCodec.INVALID_KEY ? 1 : -1;
+            }
+            return Long.compare(firstKey, secondKey);
+        }
+        return first.getId().compareTo(second.getId());
+    };
+
+    private final Map<VehicleType, ConcurrentSkipListSet<ParkingSlot>> freeSlots = new EnumMap<>(VehicleType.class);
+
+    /** Free slots by slot key with the slot number cleared, i.e. by building, floor and type */
+    private final Map<Long, ConcurrentSkipListSet<ParkingSlot>> floorSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Number of free slots per vehicle type, indexed by ordinal.
+     * Tracked separately because ConcurrentSkipListSet#size is O(n).
+     */
+    private final AtomicIntegerArray freeCounts = new AtomicIntegerArray(VehicleType.values().length);
+
+    FreeSlotPool() {
+        for (VehicleType type : VehicleType.values()) {
+            freeSlots.put(type, new ConcurrentSkipListSet<>(SLOT_ORDER));
+        }
+    }
+
+    /**
+     * Atomically removes the first free slot for a vehicle type
+     * @param vehicleType Type of vehicle to allocate for
+     * @return Claimed slot, or empty if none is free
+     */
+    Optional<ParkingSlot> claim(VehicleType vehicleType) {
+        if (vehicleType == null) {
+            return Optional.empty();
+        }
+        ParkingSlot slot = freeSlots.get(vehicleType).pollFirst();
+        if (slot == null) {
+            return Optional.empty();
+        }
+        freeCounts.decrementAndGet(vehicleType.ordinal());
+        removeFromFloor(slot);
+        return Optional.of(slot);
+    }
+
+    /**
+     * Atomically removes the first free slot of a vehicle type on one floor
+     * @param buildingNumber Building number of the floor
+     * @param floorNumber Floor number
+     * @param vehicleType Type of vehicle to allocate for
+     * @return Claimed slot, or empty if none is free on the floor
+     */
+    Optional<ParkingSlot> claim(int buildingNumber, int floorNumber, VehicleType vehicleType) {
+        ConcurrentSkipListSet<ParkingSlot> candidates = floorSlots.get(SlotKeyCodec.encode(buildingNumber, floorNumber, vehicleType, 0));
+        if (candidates == null) {
+            return Optional.empty();
+        }
+        ConcurrentSkipListSet<ParkingSlot> free = freeSlots.get(vehicleType);
+        for (ParkingSlot slot : candidates) {
+            // Entries owned by a concurrent claim are still listed until their owner drops them
+            if (free.remove(slot)) {
+                freeCounts.decrementAndGet(vehicleType.ordinal());
+                candidates.remove(slot);
+                return Optional.of(slot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a slot to the pool
+     * @param slot Slot that became free
+     * @return true if the slot was not already in the pool
+     */
+    boolean add(ParkingSlot slot) {
+        if (slot.getVehicleType() == null || slot.getId() == null) {
+            return false;
+        }
+        // List under the floor first, so the slot is never owned before its floor entry exists
+        ConcurrentSkipListSet<ParkingSlot> floor = floorSet(slot);
+        if (floor != null) {
+            floor.add(slot);
+        }
+        boolean added = freeSlots.get(slot.getVehicleType()).add(slot);
+        if (added) {
+            freeCounts.incrementAndGet(slot.getVehicleType().ordinal());
+        }
+        return added;
+    }
+
+    /**
+     * Removes a slot from the pool without claiming it through {@link #claim}
+     * @param slot Slot that became occupied
+     * @return true if the slot was in the pool
+     */
+    boolean remove(ParkingSlot slot) {
+        if (slot.getVehicleType() == null || slot.getId() == null) {
+            return false;
+        }
+        boolean removed = freeSlots.get(slot.getVehicleType()).remove(slot);
+        if (removed) {
+            freeCounts.decrementAndGet(slot.getVehicleType().ordinal());
+            removeFromFloor(slot);
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of free slots for a vehicle type in O(1)
+     */
+    int size(VehicleType vehicleType) {
+        return freeCounts.get(vehicleType.ordinal());
+    }
+
+    /**
+     * Empties the pool
+     */
+    void clear() {
+        for (VehicleType type : VehicleType.values()) {
+            freeSlots.get(type).clear();
+            freeCounts.set(type.ordinal(), 0);
+        }
+        floorSlots.clear();
+    }
+
+    /**
+     * Copies the free slots of a vehicle type in allocation order
+     */
+    List<ParkingSlot> snapshot(VehicleType vehicleType) {
+        return new ArrayList<>(freeSlots.get(vehicleType));
+    }
+
+    private void removeFromFloor(ParkingSlot slot) {
+        ConcurrentSkipListSet<ParkingSlot> floor = floorSet(slot);
+        if (floor != null) {
+            floor.remove(slot);
+        }
+    }
+
+    /**
+     * Gets the floor set a slot is listed in
+     * @return Floor set, or null if the slot ID is not in slot ID format
+     */
+    private ConcurrentSkipListSet<ParkingSlot> floorSet(ParkingSlot slot) {
+        long key = SlotKeyCodec.parse(slot.getId());
+        if (key == SlotKeyCodec.INVALID_KEY) {
+            return null;
+        }
+        return floorSlots.computeIfAbsent(key & ~(long) SlotKeyCodec.MAX_SLOT_NUMBER,
+            floor -> new ConcurrentSkipListSet<>(SLOT_ORDER));
+    }
+}
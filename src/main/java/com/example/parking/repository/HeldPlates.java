@@ -0,0 +1,109 @@
+package com.example.parking.repository;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Registration numbers whose slot is held for a reservation rather than parked.
+ * A held slot is unavailable like an occupied one, but its transitions are reported as holds,
+ * so the journal and the session ledger only see a vehicle once its hold is confirmed.
+ * A plate is added before its claim becomes visible and only leaves the set under the lock,
+ * once the confirm or release acting on it has notified listeners. A release that finds
+ * the plate missing therefore never races a confirm or an expiry on the same hold.
+ */
+class HeldPlates {
+    private final Set<String> plates = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Releases a slot, given whether it was held
+     */
+    interface Release<T> {
+        T release(boolean held);
+    }
+
+    /**
+     * Marks a plate held; called while its claim is still pending
+     */
+    void add(String registrationNumber) {
+        plates.add(registrationNumber);
+    }
+
+    /**
+     * Forgets a plate whose claim failed before anything was published
+     */
+    void discard(String registrationNumber) {
+        plates.remove(registrationNumber);
+    }
+
+    boolean contains(String registrationNumber) {
+        return registrationNumber != null && plates.contains(registrationNumber);
+    }
+
+    boolean isEmpty() {
+        return plates.isEmpty();
+    }
+
+    void clear() {
+        plates.clear();
+    }
+
+    /**
+     * Turns a hold into a parked vehicle
+     * @param onConfirm Notifies listeners that the vehicle parked; false if its claim is still pending
+     * @return False if the plate is not held
+     */
+    boolean confirm(String registrationNumber, BooleanSupplier onConfirm) {
+        lock.lock();
+        try {
+            if (!contains(registrationNumber) || !onConfirm.getAsBoolean()) {
+                return false;
+            }
+            plates.remove(registrationNumber);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a release of a registered plate; parked vehicles skip the lock
+     */
+    <T> T release(String registrationNumber, Release<T> release) {
+        if (!contains(registrationNumber)) {
+            return release.release(false);
+        }
+        lock.lock();
+        try {
+            boolean held = plates.contains(registrationNumber);
+            T released = release.release(held);
+            if (held) {
+                plates.remove(registrationNumber);
+            }
+            return released;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a release only while the plate is still held
+     * @param sameHold Checks, under the lock, that the plate still holds the slot the caller means
+     * @return Result of the release, or null if the plate is not held or holds another slot
+     */
+    <T> T releaseHeld(String registrationNumber, BooleanSupplier sameHold, Release<T> release) {
+        lock.lock();
+        try {
+            if (!contains(registrationNumber) || !sameHold.getAsBoolean()) {
+                return null;
+            }
+            T released = release.release(true);
+            plates.remove(registrationNumber);
+            return released;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
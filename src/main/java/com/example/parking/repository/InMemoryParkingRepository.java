@@ -1,16 +1,27 @@
 package com.example.parking.repository;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import com.example.parking.allocation.AllocatableFloor;
+import com.example.parking.allocation.AllocationSettings;
+import com.example.parking.allocation.FloorAllocator;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.entity.BaseEntity;
 import com.example.parking.entity.Building;
@@ -28,12 +39,65 @@ import lombok.extern.slf4j.Slf4j;
  * In-memory implementation of parking repository.
  * Manages parking data structures and provides CRUD operations.
  * Initializes with sample data and supports dynamic updates.
+ * Slot writes are serialised per floor by a StampedLock, and floor reads use optimistic
+ * stamps, so traffic on one building or floor never waits on another.
  */
 @Repository
+@Profile("!bitset")
 @Slf4j
 public class InMemoryParkingRepository implements ParkingRepository {
-    private final Map<String, Building> buildings = Collections.synchronizedMap(new HashMap<>());
-    private final Map<String, BaseEntity> entities = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, Building> buildings = new ConcurrentHashMap<>();
+    private final Map<String, BaseEntity> entities = new ConcurrentHashMap<>();
+    private final Map<String, Floor> floors = new ConcurrentHashMap<>();
+
+    /** One lock per floor key; slots without a building or floor share unplacedLock */
+    private final Map<String, StampedLock> floorLocks = new ConcurrentHashMap<>();
+    private final StampedLock unplacedLock = new StampedLock();
+    private final FreeSlotPool freeSlotPool = new FreeSlotPool();
+    private final OccupancyListeners listeners = new OccupancyListeners();
+    private final HeldPlates heldPlates = new HeldPlates();
+    private final RepositoryStats stats = new RepositoryStats();
+    private final AtomicLong version = new AtomicLong();
+    private final SlotIndex slotIndex = new SlotIndex();
+
+    /** Picks the floor for each claim; rebuilt under allocatorLock when the topology or the settings change */
+    private volatile FloorAllocator<PlacedFloor> allocator = new FloorAllocator<>(AllocationSettings.DEFAULT);
+    private final ReentrantLock allocatorLock = new ReentrantLock();
+
+    /** Allocator choices tried before a claim falls back to the first free slot by ID */
+    private static final int MAX_CHOICE_ATTEMPTS = 8;
+
+    /**
+     * Floor whose building and floor IDs are in B{n}/F{n} form, as seen by the allocator
+     */
+    private record PlacedFloor(Floor floor, int buildingNumber, int floorNumber) implements AllocatableFloor {
+        @Override
+        public int getBuildingNumber() {
+            return buildingNumber;
+        }
+
+        @Override
+        public int getFloorNumber() {
+            return floorNumber;
+        }
+
+        @Override
+        public int getAvailable(VehicleType vehicleType) {
+            return floor.getAvailableCapacity(vehicleType);
+        }
+
+        @Override
+        public int getCapacity(VehicleType vehicleType) {
+            return floor.getTotalCapacity(vehicleType);
+        }
+    }
+
+    /**
+     * Registration-number index of parked vehicles.
+     * A vehicle maps to PENDING_SLOT while its claim is in flight.
+     */
+    private final Map<String, ParkingSlot> registrations = new ConcurrentHashMap<>();
+    private static final ParkingSlot PENDING_SLOT = new ParkingSlot();
 
     /**
      * Initializes parking infrastructure with sample data
@@ -57,10 +121,11 @@ public class InMemoryParkingRepository implements ParkingRepository {
                 floor.setId(buildingId + "-" + floorId);
                 
                 // Initialize parking slots
-                initializeParkingSlots(floor, buildingId, floorId);
+                initializeParkingSlots(floor, buildingNum, floorNum);
                 
                 building.getFloors().add(floor);
                 entities.put(floor.getId(), floor);
+                floors.put(floorKey(buildingId, floorId), floor);
             }
             
             buildings.put(buildingId, building);
@@ -68,63 +133,118 @@ public class InMemoryParkingRepository implements ParkingRepository {
         }
         
         populateRandomSlots();
+        indexOccupancy();
+        recordTopologyChange();
+    }
+
+    /**
+     * Builds the free pool, registration index and floor counters from the slots' occupancy flags.
+     * Each floor is counted before its slots enter the pool, so no claim can race the count.
+     */
+    private void indexOccupancy() {
+        floors.values().parallelStream().forEach(floor -> {
+            floor.recountAvailableCapacity();
+            for (ParkingSlot slot : floor.getParkingSlots()) {
+                if (slot.isOccupied()) {
+                    indexRegistration(slot);
+                } else {
+                    freeSlotPool.add(slot);
+                }
+            }
+        });
     }
 
     /**
      * Creates parking slots for a floor
      * Generates unique IDs and initializes slot properties
      * @param floor Floor to add slots to
-     * @param buildingId Parent building identifier
-     * @param floorId Floor identifier
+     * @param buildingNum Parent building number
+     * @param floorNum Floor number
      */
-    private void initializeParkingSlots(Floor floor, String buildingId, String floorId) {
+    private void initializeParkingSlots(Floor floor, int buildingNum, int floorNum) {
         // Create TWO_WHEELER slots
         for (int i = 1; i <= 50; i++) {
-            ParkingSlot slot = createParkingSlot(buildingId, floorId, "TW", i, VehicleType.TWO_WHEELER);
-            floor.getParkingSlots().add(slot);
-            entities.put(slot.getId(), slot);
+            addParkingSlot(floor, createParkingSlot(floor, buildingNum, floorNum, VehicleType.TWO_WHEELER, i));
         }
         
         // Create FOUR_WHEELER slots
         for (int i = 1; i <= 30; i++) {
-            ParkingSlot slot = createParkingSlot(buildingId, floorId, "FW", i, VehicleType.FOUR_WHEELER);
-            floor.getParkingSlots().add(slot);
-            entities.put(slot.getId(), slot);
+            addParkingSlot(floor, createParkingSlot(floor, buildingNum, floorNum, VehicleType.FOUR_WHEELER, i));
         }
     }
 
-    private ParkingSlot createParkingSlot(String buildingId, String floorId, String prefix, int number, VehicleType type) {
+    /**
+     * Creates a free slot, building its ID through SlotKeyCodec rather than String.format
+     */
+    private ParkingSlot createParkingSlot(Floor floor, int buildingNum, int floorNum, VehicleType type, int number) {
         ParkingSlot slot = new ParkingSlot();
-        slot.setId(String.format("%s-%s-%s-%02d", buildingId, floorId, prefix, number));
-        slot.setBuildingId(buildingId);
-        slot.setFloorId(floorId);
+        slot.setId(SlotKeyCodec.format(SlotKeyCodec.encode(buildingNum, floorNum, type, number)));
+        slot.setBuildingId(floor.getBuildingId());
+        slot.setFloorId(floor.getFloorId());
         slot.setVehicleType(type);
         slot.setOccupied(false);
         return slot;
     }
 
+    private void addParkingSlot(Floor floor, ParkingSlot slot) {
+        floor.getParkingSlots().add(slot);
+        entities.put(slot.getId(), slot);
+        slotIndex.put(slot, floor.getParkingSlots().size() - 1);
+    }
+
     @Override
     public <T extends BaseEntity> T save(T entity) {
-        entities.put(entity.getId(), entity);
-        if (entity instanceof Building building) {
+        String key = entityKey(entity);
+        BaseEntity previous = key == null ? null : entities.put(key, entity);
+        if (entity instanceof Building building && building.getBuildingId() != null) {
             buildings.put(building.getBuildingId(), building);
         }
+        if (entity instanceof Floor floor && floor.getBuildingId() != null && floor.getFloorId() != null) {
+            if (previous != floor) {
+                seedAvailableCapacity(floor);
+            }
+            floors.put(floorKey(floor.getBuildingId(), floor.getFloorId()), floor);
+        }
+        if (entity instanceof Building || entity instanceof Floor) {
+            recordTopologyChange();
+        }
+        if (entity instanceof ParkingSlot slot) {
+            if (SlotKeyCodec.parse(slot.getId()) != SlotKeyCodec.INVALID_KEY) {
+                slotIndex.put(slot, -1);
+            }
+            if (previous == null) {
+                registerSlot(slot);
+            } else if (previous != slot && previous instanceof ParkingSlot previousSlot) {
+                replaceSlotState(previousSlot, slot);
+            } else {
+                syncFreeSlotPool(slot);
+            }
+        }
         return entity;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends BaseEntity> Optional<T> findById(String id, Class<T> entityClass) {
-        return Optional.ofNullable((T) entities.get(id));
+        if (entityClass == ParkingSlot.class) {
+            ParkingSlot slot = slotIndex.get(id);
+            if (slot != null) {
+                return Optional.of((T) slot);
+            }
+        }
+        return id == null ? Optional.empty() : Optional.ofNullable((T) entities.get(id));
+    }
+
+    /**
+     * Gets the key an entity is stored under: its ID, or its identifier when no ID was set
+     */
+    private static String entityKey(BaseEntity entity) {
+        return entity.getId() != null ? entity.getId() : entity.getIdentifier();
     }
 
     @Override
     public List<ParkingSpace> findAvailableSpaces(VehicleType vehicleType) {
-        return entities.values().stream()
-            .filter(e -> e instanceof ParkingSlot)
-            .map(e -> (ParkingSlot) e)
-            .filter(slot -> slot.getVehicleType() == vehicleType && !slot.isOccupied())
-            .collect(Collectors.toList());
+        return new ArrayList<>(freeSlotPool.snapshot(vehicleType));
     }
 
     @Override
@@ -198,36 +318,585 @@ public class InMemoryParkingRepository implements ParkingRepository {
 
     @Override
     public Optional<ParkingSlot> findById(String id) {
-        return getAllSlots().stream()
-            .filter(slot -> slot.getId().equals(id))
-            .findFirst();
+        ParkingSlot slot = slotIndex.get(id);
+        if (slot != null) {
+            return Optional.of(slot);
+        }
+        return id != null && entities.get(id) instanceof ParkingSlot found ? Optional.of(found) : Optional.empty();
     }
 
     @Override
-    public synchronized List<ParkingSlot> findAvailableSlots(VehicleType vehicleType) {
-        return getAllSlots().stream()
-            .filter(slot -> slot.getVehicleType() == vehicleType && !slot.isOccupied())
-            .collect(Collectors.toList());
+    public List<ParkingSlot> findAvailableSlots(VehicleType vehicleType) {
+        return freeSlotPool.snapshot(vehicleType);
+    }
+
+    @Override
+    public Optional<ParkingSlot> claimAvailableSlot(Vehicle vehicle) {
+        return claim(vehicle, false);
+    }
+
+    @Override
+    public Optional<ParkingSlot> holdAvailableSlot(Vehicle vehicle) {
+        return vehicle.getRegistrationNumber() == null ? Optional.empty() : claim(vehicle, true);
+    }
+
+    private Optional<ParkingSlot> claim(Vehicle vehicle, boolean held) {
+        String registrationNumber = vehicle.getRegistrationNumber();
+        if (registrationNumber != null && registrations.putIfAbsent(registrationNumber, PENDING_SLOT) != null) {
+            return Optional.empty();
+        }
+        if (held) {
+            heldPlates.add(registrationNumber);
+        }
+        Optional<ParkingSlot> claimed = claimOnChosenFloor(vehicle.getType());
+        // The pool hands out its first free slot, so a claim examines at most one slot
+        stats.recordClaim(claimed.isPresent() ? 1 : 0);
+        if (claimed.isEmpty()) {
+            if (registrationNumber != null) {
+                if (held) {
+                    heldPlates.discard(registrationNumber);
+                }
+                registrations.remove(registrationNumber, PENDING_SLOT);
+            }
+            return claimed;
+        }
+
+        ParkingSlot slot = claimed.get();
+        slot.setParkedVehicle(vehicle);
+        slot.setOccupied(true);
+        // Notify before the vehicle becomes visible to releaseSlot, so listeners see occupy before release
+        if (held) {
+            listeners.fireHeld(SlotKeyCodec.parse(slot.getId()), registrationNumber);
+        } else {
+            listeners.fireOccupied(SlotKeyCodec.parse(slot.getId()), registrationNumber);
+        }
+        if (registrationNumber != null) {
+            registrations.put(registrationNumber, slot);
+        }
+        Floor floor = findFloor(slot);
+        if (floor != null) {
+            floor.recordSlotOccupied(slot.getVehicleType());
+        }
+        recordChange(floor);
+        return claimed;
+    }
+
+    /**
+     * Claims the first free slot on the floor the allocator ranks first
+     * @param vehicleType Type of vehicle to allocate for
+     * @return Claimed slot, or empty if none is free
+     */
+    private Optional<ParkingSlot> claimOnChosenFloor(VehicleType vehicleType) {
+        if (vehicleType == null) {
+            return Optional.empty();
+        }
+        FloorAllocator<PlacedFloor> current = allocator;
+        for (int attempt = 0; attempt < MAX_CHOICE_ATTEMPTS; attempt++) {
+            PlacedFloor chosen = current.choose(vehicleType);
+            if (chosen == null) {
+                break;
+            }
+            Optional<ParkingSlot> claimed = freeSlotPool.claim(chosen.buildingNumber(), chosen.floorNumber(), vehicleType);
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+            // A concurrent claim emptied the chosen floor first; requeue it and choose again
+            current.refresh(chosen);
+        }
+        // Slots on floors the allocator does not track, or a claim that kept losing races
+        return freeSlotPool.claim(vehicleType);
+    }
+
+    @Override
+    public Optional<ParkingSlot> findByRegistrationNumber(String registrationNumber) {
+        if (registrationNumber == null) {
+            return Optional.empty();
+        }
+        ParkingSlot slot = registrations.get(registrationNumber);
+        return slot == null || slot == PENDING_SLOT ? Optional.empty() : Optional.of(slot);
+    }
+
+    @Override
+    public Optional<ParkingSlot> releaseSlot(String registrationNumber) {
+        return heldPlates.release(registrationNumber, held -> release(registrationNumber, held));
+    }
+
+    @Override
+    public boolean confirmHold(String registrationNumber, String slotId) {
+        return heldPlates.confirm(registrationNumber, () -> {
+            Optional<ParkingSlot> held = findByRegistrationNumber(registrationNumber)
+                .filter(slot -> slot.getId().equals(slotId));
+            held.ifPresent(slot -> listeners.fireOccupied(SlotKeyCodec.parse(slot.getId()), registrationNumber));
+            return held.isPresent();
+        });
+    }
+
+    @Override
+    public Optional<ParkingSlot> releaseHold(String registrationNumber, String slotId) {
+        Optional<ParkingSlot> released = heldPlates.releaseHeld(registrationNumber,
+            () -> findByRegistrationNumber(registrationNumber).filter(slot -> slot.getId().equals(slotId)).isPresent(),
+            held -> release(registrationNumber, held));
+        return released == null ? Optional.empty() : released;
+    }
+
+    private Optional<ParkingSlot> release(String registrationNumber, boolean held) {
+        Optional<ParkingSlot> parked = findByRegistrationNumber(registrationNumber);
+        if (parked.isEmpty() || !registrations.remove(registrationNumber, parked.get())) {
+            return Optional.empty();
+        }
+
+        ParkingSlot slot = parked.get();
+        slot.setParkedVehicle(null);
+        slot.setOccupied(false);
+        // Notify before the slot can be claimed again, so listeners see release before the next occupy
+        if (held) {
+            listeners.fireHoldReleased(SlotKeyCodec.parse(slot.getId()), registrationNumber);
+        } else {
+            listeners.fireReleased(SlotKeyCodec.parse(slot.getId()), registrationNumber);
+        }
+        if (freeSlotPool.add(slot)) {
+            Floor floor = findFloor(slot);
+            if (floor != null) {
+                floor.recordSlotReleased(slot.getVehicleType());
+            }
+            recordChange(floor);
+        }
+        return parked;
+    }
+
+    @Override
+    public int countAvailableSlots(VehicleType vehicleType) {
+        return freeSlotPool.size(vehicleType);
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public long getFloorVersion(String buildingId, String floorId) {
+        Floor floor = buildingId == null || floorId == null ? null : floors.get(floorKey(buildingId, floorId));
+        return floor == null ? -1 : floor.getVersion();
+    }
+
+    /**
+     * Counts the floor's slots of a type; O(slots on the floor), so callers should cache the result
+     */
+    @Override
+    public int getFloorCapacity(String buildingId, String floorId, VehicleType vehicleType) {
+        Floor floor = buildingId == null || floorId == null ? null : floors.get(floorKey(buildingId, floorId));
+        if (floor == null) {
+            return -1;
+        }
+        int capacity = 0;
+        for (ParkingSlot slot : floor.getParkingSlots()) {
+            if (slot.getVehicleType() == vehicleType) {
+                capacity++;
+            }
+        }
+        return capacity;
+    }
+
+    @Override
+    public RepositoryStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void addOccupancyListener(OccupancyListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void restoreQuietly(Runnable restore) {
+        listeners.runMuted(restore);
+    }
+
+    @Override
+    public List<FloorSnapshot> exportFloors() {
+        List<FloorSnapshot> result = new ArrayList<>();
+        for (Floor floor : floors.values()) {
+            int buildingNum = SlotKeyCodec.parseLevel(floor.getBuildingId(), 'B');
+            int floorNum = SlotKeyCodec.parseLevel(floor.getFloorId(), 'F');
+            if (buildingNum < 0 || floorNum < 0) {
+                continue;
+            }
+            // Blocks only slot replacement on this floor; claims and releases carry on
+            StampedLock lock = floorLock(floor.getBuildingId(), floor.getFloorId());
+            long stamp = lock.readLock();
+            try {
+                result.add(exportFloor(floor, buildingNum, floorNum));
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        result.sort(Comparator.comparingInt(FloorSnapshot::getBuildingNumber)
+            .thenComparingInt(FloorSnapshot::getFloorNumber));
+        return result;
+    }
+
+    private FloorSnapshot exportFloor(Floor floor, int buildingNum, int floorNum) {
+        VehicleType[] types = VehicleType.values();
+        List<ParkingSlot> slots = new ArrayList<>(floor.getParkingSlots());
+        int[] capacities = new int[types.length];
+        for (ParkingSlot slot : slots) {
+            long key = SlotKeyCodec.parse(slot.getId());
+            if (key != SlotKeyCodec.INVALID_KEY && SlotKeyCodec.buildingNumber(key) == buildingNum
+                    && SlotKeyCodec.floorNumber(key) == floorNum) {
+                int type = SlotKeyCodec.vehicleType(key).ordinal();
+                capacities[type] = Math.max(capacities[type], SlotKeyCodec.slotNumber(key));
+            }
+        }
+        long[][] occupied = new long[types.length][];
+        String[][] plates = new String[types.length][];
+        for (int type = 0; type < types.length; type++) {
+            occupied[type] = new long[(capacities[type] + Long.SIZE - 1) / Long.SIZE];
+            plates[type] = new String[capacities[type]];
+        }
+        for (ParkingSlot slot : slots) {
+            long key = SlotKeyCodec.parse(slot.getId());
+            if (key == SlotKeyCodec.INVALID_KEY || SlotKeyCodec.buildingNumber(key) != buildingNum
+                    || SlotKeyCodec.floorNumber(key) != floorNum || !slot.isOccupied()
+                    || heldPlates.contains(registrationOf(slot))) {
+                // Held slots export as free, so a restored snapshot never brings back a hold without its expiry
+                continue;
+            }
+            int type = SlotKeyCodec.vehicleType(key).ordinal();
+            int index = SlotKeyCodec.slotNumber(key) - 1;
+            if (index < 0) {
+                continue;
+            }
+            occupied[type][index >>> 6] |= 1L << index;
+            plates[type][index] = registrationOf(slot);
+        }
+        return new FloorSnapshot(buildingNum, floorNum, capacities, occupied, plates);
+    }
+
+    /**
+     * Replaces the whole topology, building each building's floors and slots in parallel
+     */
+    @Override
+    public void importFloors(List<FloorSnapshot> snapshot) {
+        buildings.clear();
+        entities.clear();
+        floors.clear();
+        registrations.clear();
+        heldPlates.clear();
+        freeSlotPool.clear();
+        slotIndex.clear();
+
+        Map<Integer, List<FloorSnapshot>> floorsByBuilding = snapshot.stream()
+            .collect(Collectors.groupingBy(FloorSnapshot::getBuildingNumber, TreeMap::new, Collectors.toList()));
+        floorsByBuilding.entrySet().parallelStream()
+            .forEach(entry -> importBuilding(entry.getKey(), entry.getValue()));
+        indexOccupancy();
+        recordTopologyChange();
+    }
+
+    private void importBuilding(int buildingNum, List<FloorSnapshot> buildingFloors) {
+        Building building = new Building();
+        String buildingId = "B" + buildingNum;
+        building.setBuildingId(buildingId);
+        building.setId(buildingId);
+        for (FloorSnapshot floorSnapshot : buildingFloors) {
+            String floorId = "F" + floorSnapshot.getFloorNumber();
+            Floor floor = new Floor();
+            floor.setFloorId(floorId);
+            floor.setBuildingId(buildingId);
+            floor.setId(floorKey(buildingId, floorId));
+            for (VehicleType type : VehicleType.values()) {
+                importSlots(floorSnapshot, floor, type);
+            }
+            building.getFloors().add(floor);
+            entities.put(floor.getId(), floor);
+            floors.put(floorKey(buildingId, floorId), floor);
+        }
+        entities.put(buildingId, building);
+        buildings.put(buildingId, building);
+    }
+
+    private void importSlots(FloorSnapshot floorSnapshot, Floor floor, VehicleType type) {
+        int capacity = floorSnapshot.getCapacities()[type.ordinal()];
+        String[] plates = floorSnapshot.getRegistrationNumbers()[type.ordinal()];
+        for (int i = 0; i < capacity; i++) {
+            ParkingSlot slot = createParkingSlot(floor, floorSnapshot.getBuildingNumber(),
+                floorSnapshot.getFloorNumber(), type, i + 1);
+            if (floorSnapshot.isOccupied(type.ordinal(), i)) {
+                slot.setOccupied(true);
+                if (i < plates.length && plates[i] != null) {
+                    Vehicle vehicle = new Vehicle();
+                    vehicle.setRegistrationNumber(plates[i]);
+                    vehicle.setType(type);
+                    slot.setParkedVehicle(vehicle);
+                }
+            }
+            addParkingSlot(floor, slot);
+        }
+    }
+
+    /**
+     * Adds a newly saved slot to the free pool and to its floor's counters
+     * @param slot Slot seen by the repository for the first time
+     */
+    private void registerSlot(ParkingSlot slot) {
+        if (slot.isOccupied()) {
+            indexRegistration(slot);
+        } else {
+            freeSlotPool.add(slot);
+        }
+        Floor floor = findFloor(slot);
+        if (floor != null && !slot.isOccupied()) {
+            floor.recordSlotReleased(slot.getVehicleType());
+        }
+        recordChange(floor);
+    }
+
+    /**
+     * Counts a newly saved floor's free slots before the floor becomes reachable.
+     * Only slots the repository already knows are counted; slots saved later are added
+     * by registerSlot, so the counters follow deltas alone and never recount under traffic.
+     * @param floor Floor about to be registered
+     */
+    private void seedAvailableCapacity(Floor floor) {
+        int[] available = new int[VehicleType.values().length];
+        for (ParkingSlot slot : floor.getParkingSlots()) {
+            if (slot.getVehicleType() != null && !slot.isOccupied() && entities.get(slot.getId()) == slot) {
+                available[slot.getVehicleType().ordinal()]++;
+            }
+        }
+        for (VehicleType type : VehicleType.values()) {
+            floor.setAvailableCapacity(type, available[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Keeps the free slot pool and floor counters in line with a slot's occupancy flag.
+     * Pool membership decides whether the state really changed, so each transition
+     * is counted exactly once even when callers race.
+     * @param slot Slot whose state was saved or updated
+     */
+    private void syncFreeSlotPool(ParkingSlot slot) {
+        Floor floor = findFloor(slot);
+        if (slot.isOccupied()) {
+            indexRegistration(slot);
+            if (freeSlotPool.remove(slot)) {
+                listeners.fireOccupied(SlotKeyCodec.parse(slot.getId()), registrationOf(slot));
+                if (floor != null) {
+                    floor.recordSlotOccupied(slot.getVehicleType());
+                }
+                recordChange(floor);
+            }
+        } else if (freeSlotPool.add(slot)) {
+            unindexRegistration(slot, slot);
+            listeners.fireReleased(SlotKeyCodec.parse(slot.getId()), null);
+            if (floor != null) {
+                floor.recordSlotReleased(slot.getVehicleType());
+            }
+            recordChange(floor);
+        }
+    }
+
+    private static String registrationOf(ParkingSlot slot) {
+        Vehicle vehicle = slot.getParkedVehicle();
+        return vehicle == null ? null : vehicle.getRegistrationNumber();
+    }
+
+    /**
+     * Adds the vehicle parked in a slot to the registration-number index
+     */
+    private void indexRegistration(ParkingSlot slot) {
+        Vehicle vehicle = slot.getParkedVehicle();
+        if (vehicle != null && vehicle.getRegistrationNumber() != null) {
+            registrations.put(vehicle.getRegistrationNumber(), slot);
+        }
+    }
+
+    /**
+     * Drops index entries pointing at a slot that was freed through save or updateSlot.
+     * Uses the vehicle still attached to the old instance when there is one; callers that
+     * clear the vehicle on the same instance cost a scan of the index, which is why
+     * exits should go through releaseSlot.
+     * @param previous Slot state before the change
+     * @param slot Slot instance that is now free
+     */
+    private void unindexRegistration(ParkingSlot previous, ParkingSlot slot) {
+        Vehicle vehicle = previous.getParkedVehicle();
+        if (vehicle != null && vehicle.getRegistrationNumber() != null) {
+            registrations.remove(vehicle.getRegistrationNumber(), previous);
+            registrations.remove(vehicle.getRegistrationNumber(), slot);
+            return;
+        }
+        registrations.values().removeIf(indexed -> indexed == previous || indexed == slot);
+    }
+
+    /**
+     * Moves pool membership and floor counters from a replaced slot instance to its successor
+     * @param existing Slot instance previously stored under the ID
+     * @param replacement New slot instance for the same ID
+     */
+    private void replaceSlotState(ParkingSlot existing, ParkingSlot replacement) {
+        boolean wasFree = freeSlotPool.remove(existing);
+        boolean isFree = !replacement.isOccupied() && freeSlotPool.add(replacement);
+        if (isFree) {
+            if (!wasFree) {
+                unindexRegistration(existing, replacement);
+            }
+        } else {
+            if (existing.getParkedVehicle() != null) {
+                registrations.remove(existing.getParkedVehicle().getRegistrationNumber(), existing);
+            }
+            indexRegistration(replacement);
+        }
+        if (wasFree == isFree) {
+            return;
+        }
+        long key = SlotKeyCodec.parse(replacement.getId());
+        if (isFree) {
+            listeners.fireReleased(key, registrationOf(existing));
+        } else {
+            listeners.fireOccupied(key, registrationOf(replacement));
+        }
+        Floor floor = findFloor(replacement);
+        if (floor != null) {
+            if (isFree) {
+                floor.recordSlotReleased(replacement.getVehicleType());
+            } else {
+                floor.recordSlotOccupied(replacement.getVehicleType());
+            }
+        }
+        recordChange(floor);
+    }
+
+    /**
+     * Advances the repository version and stamps the changed floor with it.
+     * Called after the floor counters were updated, so a reader that sees the new
+     * version also sees the change.
+     * @param floor Floor that changed, or null if the slot has no known floor
+     */
+    private void recordChange(Floor floor) {
+        long next = version.incrementAndGet();
+        if (floor != null) {
+            floor.advanceVersion(next);
+            PlacedFloor placed = placed(floor);
+            if (placed != null) {
+                allocator.refresh(placed);
+            }
+        }
+    }
+
+    /**
+     * Advances the repository version, stamps every floor with it and rebuilds the allocator
+     * after topology changes
+     */
+    private void recordTopologyChange() {
+        long next = version.incrementAndGet();
+        floors.values().forEach(floor -> floor.advanceVersion(next));
+        setAllocationSettings(allocator.getSettings());
+    }
+
+    @Override
+    public void setAllocationSettings(AllocationSettings settings) {
+        allocatorLock.lock();
+        try {
+            FloorAllocator<PlacedFloor> replacement = new FloorAllocator<>(settings);
+            refreshAll(replacement);
+            allocator = replacement;
+            // Pick up claims and releases that reached the old allocator while this one was built
+            refreshAll(replacement);
+        } finally {
+            allocatorLock.unlock();
+        }
+    }
+
+    private void refreshAll(FloorAllocator<PlacedFloor> target) {
+        for (Floor floor : floors.values()) {
+            PlacedFloor placed = placed(floor);
+            if (placed != null) {
+                target.refresh(placed);
+            }
+        }
+    }
+
+    /**
+     * Gets the allocator's view of a floor
+     * @return Placed floor, or null if the building or floor ID is not in B{n}/F{n} form
+     */
+    private static PlacedFloor placed(Floor floor) {
+        int buildingNumber = SlotKeyCodec.parseLevel(floor.getBuildingId(), 'B');
+        int floorNumber = SlotKeyCodec.parseLevel(floor.getFloorId(), 'F');
+        if (buildingNumber < 0 || floorNumber < 0
+                || buildingNumber > SlotKeyCodec.MAX_BUILDING || floorNumber > SlotKeyCodec.MAX_FLOOR) {
+            return null;
+        }
+        return new PlacedFloor(floor, buildingNumber, floorNumber);
+    }
+
+    private Floor findFloor(ParkingSlot slot) {
+        if (slot.getBuildingId() != null && slot.getFloorId() != null) {
+            return floors.get(floorKey(slot.getBuildingId(), slot.getFloorId()));
+        }
+        // Slots saved without location fields still carry it in their ID
+        long key = SlotKeyCodec.parse(slot.getId());
+        if (key == SlotKeyCodec.INVALID_KEY) {
+            return null;
+        }
+        return floors.get(floorKey("B" + SlotKeyCodec.buildingNumber(key), "F" + SlotKeyCodec.floorNumber(key)));
+    }
+
+    private static String floorKey(String buildingId, String floorId) {
+        return buildingId + "-" + floorId;
+    }
+
+    /**
+     * Gets the lock guarding a floor's slot list
+     * @return Lock of the floor, created on first use
+     */
+    StampedLock floorLock(String buildingId, String floorId) {
+        return floorLocks.computeIfAbsent(floorKey(buildingId, floorId), key -> new StampedLock());
+    }
+
+    private StampedLock floorLock(ParkingSlot slot) {
+        if (slot.getBuildingId() == null || slot.getFloorId() == null) {
+            return unplacedLock;
+        }
+        return floorLock(slot.getBuildingId(), slot.getFloorId());
     }
 
     @Override
     public FloorAvailabilityDTO getFloorAvailability(String buildingId, String floorId) {
-        Optional<Floor> floor = findAllStructures(Floor.class).stream()
-            .filter(f -> f.getBuildingId().equals(buildingId) && f.getFloorId().equals(floorId))
-            .findFirst();
+        Optional<Floor> floor = Optional.ofNullable(floors.get(floorKey(buildingId, floorId)));
 
         if (floor.isEmpty()) {
             return null;
         }
 
+        // Occupancy flags are volatile; the stamp only detects a slot instance being swapped mid-read
+        StampedLock lock = floorLock(buildingId, floorId);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            FloorAvailabilityDTO dto = toAvailabilityDTO(floor.get(), buildingId, floorId);
+            if (lock.validate(stamp)) {
+                return dto;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return toAvailabilityDTO(floor.get(), buildingId, floorId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private FloorAvailabilityDTO toAvailabilityDTO(Floor floor, String buildingId, String floorId) {
         FloorAvailabilityDTO dto = new FloorAvailabilityDTO();
         dto.setBuildingId(buildingId);
         dto.setFloorId(floorId);
-        dto.setAvailableTwoWheelerSlots(floor.get().getParkingSlots().stream()
+        dto.setAvailableTwoWheelerSlots(floor.getParkingSlots().stream()
             .filter(slot -> slot.getVehicleType() == VehicleType.TWO_WHEELER && !slot.isOccupied())
             .map(ParkingSlot::getId)
             .collect(Collectors.toList()));
-        dto.setAvailableFourWheelerSlots(floor.get().getParkingSlots().stream()
+        dto.setAvailableFourWheelerSlots(floor.getParkingSlots().stream()
             .filter(slot -> slot.getVehicleType() == VehicleType.FOUR_WHEELER && !slot.isOccupied())
             .map(ParkingSlot::getId)
             .collect(Collectors.toList()));
@@ -238,26 +907,54 @@ public class InMemoryParkingRepository implements ParkingRepository {
     }
 
     @Override
-    public synchronized void updateSlot(ParkingSlot slot) {
-        Building building = buildings.get(slot.getBuildingId());
-        if (building == null) {
-            throw new IllegalArgumentException("Building not found: " + slot.getBuildingId());
+    public void updateSlot(ParkingSlot slot) {
+        ParkingSlot existing = slotIndex.get(slot.getId());
+        if (existing == null) {
+            throw new IllegalArgumentException("Slot not found: " + slot.getId());
         }
-
-        Optional<Floor> floor = building.getFloors().stream()
-            .filter(f -> f.getFloorId().equals(slot.getFloorId()))
-            .findFirst();
-            
-        if (floor.isEmpty()) {
-            throw new IllegalArgumentException("Floor not found: " + slot.getFloorId());
+        StampedLock lock = floorLock(existing);
+        long stamp = lock.tryWriteLock();
+        if (stamp == 0L) {
+            long waitStarted = System.nanoTime();
+            stamp = lock.writeLock();
+            stats.recordContendedLock(System.nanoTime() - waitStarted);
+        } else {
+            stats.recordUncontendedLock();
         }
+        try {
+            // Re-read under the floor lock: another writer may have replaced the instance
+            existing = slotIndex.get(slot.getId());
+            if (existing == slot) {
+                syncFreeSlotPool(slot);
+                return;
+            }
 
-        int index = floor.get().getParkingSlots().indexOf(slot);
-        if (index == -1) {
-            throw new IllegalArgumentException("Slot not found: " + slot.getId());
+            Floor floor = findFloor(existing);
+            if (floor != null) {
+                replaceInFloor(floor, existing, slot, slotIndex.floorPositionOf(SlotKeyCodec.parse(slot.getId())));
+            }
+            slotIndex.put(slot, -1);
+            entities.put(slot.getId(), slot);
+            replaceSlotState(existing, slot);
+        } finally {
+            lock.unlockWrite(stamp);
         }
+    }
 
-        floor.get().getParkingSlots().set(index, slot);
-        entities.put(slot.getId(), slot);
+    /**
+     * Swaps a slot instance in its floor's list, using the indexed position when it is still valid
+     */
+    private void replaceInFloor(Floor floor, ParkingSlot existing, ParkingSlot replacement, int position) {
+        List<ParkingSlot> slots = floor.getParkingSlots();
+        if (position >= 0 && position < slots.size() && slots.get(position) == existing) {
+            slots.set(position, replacement);
+            return;
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            if (slots.get(i) == existing) {
+                slots.set(i, replacement);
+                return;
+            }
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
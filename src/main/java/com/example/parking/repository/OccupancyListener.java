@@ -0,0 +1,40 @@
+package com.example.parking.repository;
+
+/**
+ * Receives slot occupancy transitions from a ParkingRepository.
+ * Callbacks run synchronously on the thread that changed the slot, so implementations
+ * must be thread-safe and cheap; anything slow belongs on another thread.
+ * Slots are identified by their {@link SlotKeyCodec} key; slots whose IDs cannot be
+ * encoded produce no events.
+ */
+public interface OccupancyListener {
+    /**
+     * Called when a free slot becomes occupied
+     * @param slotKey Packed key of the slot
+     * @param registrationNumber Registration number of the parked vehicle, or null if unknown
+     */
+    void slotOccupied(long slotKey, String registrationNumber);
+
+    /**
+     * Called when an occupied slot is released
+     * @param slotKey Packed key of the slot
+     * @param registrationNumber Registration number of the departing vehicle, or null if unknown
+     */
+    void slotReleased(long slotKey, String registrationNumber);
+
+    /**
+     * Called when a free slot is held for a reservation; confirming the hold reports slotOccupied
+     * @param slotKey Packed key of the slot
+     * @param registrationNumber Registration number of the vehicle the slot is held for
+     */
+    default void slotHeld(long slotKey, String registrationNumber) {
+    }
+
+    /**
+     * Called when a held slot returns to the free pool without the vehicle having parked
+     * @param slotKey Packed key of the slot
+     * @param registrationNumber Registration number of the vehicle the slot was held for
+     */
+    default void holdReleased(long slotKey, String registrationNumber) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.parking.repository;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Listener list shared by the repository implementations.
+ * Registration copies the array, so dispatch is a plain array walk with no locking.
+ * One thread at a time may be muted while it restores state, so its changes are not reported.
+ */
+class OccupancyListeners {
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile OccupancyListener[] listeners = new OccupancyListener[0];
+    private volatile Thread muted;
+
+    void add(OccupancyListener listener) {
+        lock.lock();
+        try {
+            OccupancyListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+            updated[updated.length - 1] = listener;
+            listeners = updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action on the calling thread without reporting the changes it makes
+     */
+    void runMuted(Runnable action) {
+        lock.lock();
+        try {
+            muted = Thread.currentThread();
+            action.run();
+        } finally {
+            muted = null;
+            lock.unlock();
+        }
+    }
+
+    private boolean skip(long slotKey) {
+        return slotKey == SlotKeyCodec.INVALID_KEY || muted == Thread.currentThread();
+    }
+
+    void fireOccupied(long slotKey, String registrationNumber) {
+        if (skip(slotKey)) {
+            return;
+        }
+        for (OccupancyListener listener : listeners) {
+            listener.slotOccupied(slotKey, registrationNumber);
+        }
+    }
+
+    void fireReleased(long slotKey, String registrationNumber) {
+        if (skip(slotKey)) {
+            return;
+        }
+        for (OccupancyListener listener : listeners) {
+            listener.slotReleased(slotKey, registrationNumber);
+        }
+    }
+
+    void fireHeld(long slotKey, String registrationNumber) {
+        if (skip(slotKey)) {
+            return;
+        }
+        for (OccupancyListener listener : listeners) {
+            listener.slotHeld(slotKey, registrationNumber);
+        }
+    }
+
+    void fireHoldReleased(long slotKey, String registrationNumber) {
+        if (skip(slotKey)) {
+            return;
+        }
+        for (OccupancyListener listener : listeners) {
+            listener.holdReleased(slotKey, registrationNumber);
+        }
+    }
+}
@@ -4,12 +4,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.example.parking.allocation.AllocationSettings;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.entity.BaseEntity;
 import com.example.parking.entity.Building;
 import com.example.parking.entity.ParkingSlot;
 import com.example.parking.entity.ParkingSpace;
 import com.example.parking.entity.ParkingStructure;
+import com.example.parking.entity.Vehicle;
 import com.example.parking.entity.VehicleType;
 
 /**
@@ -63,7 +65,130 @@ public interface ParkingRepository {
      * @return List of available parking slots
      */
     List<ParkingSlot> findAvailableSlots(VehicleType vehicleType);
+
+    /**
+     * Atomically claims a free slot for the vehicle and marks it occupied.
+     * Concurrent callers never receive the same slot, and a vehicle that is
+     * already parked is not given a second one.
+     * @param vehicle Vehicle to park, its type selects the slot pool
+     * @return Claimed slot, or empty if no slot is free for the vehicle type
+     */
+    Optional<ParkingSlot> claimAvailableSlot(Vehicle vehicle);
+
+    /**
+     * Count free slots across all buildings in O(1)
+     * @param vehicleType Type of vehicle
+     * @return Number of free slots for the vehicle type
+     */
+    int countAvailableSlots(VehicleType vehicleType);
+
+    /**
+     * Find the slot a vehicle is parked in through the registration-number index
+     * @param registrationNumber Registration number of the vehicle
+     * @return Slot holding the vehicle, or empty if it is not parked
+     */
+    Optional<ParkingSlot> findByRegistrationNumber(String registrationNumber);
+
+    /**
+     * Atomically releases the slot held by a vehicle and returns it to the free pool.
+     * Concurrent exits for the same vehicle release the slot only once.
+     * @param registrationNumber Registration number of the departing vehicle
+     * @return Released slot, or empty if the vehicle is not parked
+     */
+    Optional<ParkingSlot> releaseSlot(String registrationNumber);
+
+    /**
+     * Claims a free slot like claimAvailableSlot, but marks it held rather than parked.
+     * Listeners see a hold instead of an occupancy, and snapshots export the slot as free,
+     * until confirmHold turns it into a parked vehicle. Releasing a held vehicle ends the hold.
+     * @param vehicle Vehicle to hold a slot for; it must have a registration number
+     * @return Held slot, or empty if no slot is free or the vehicle is already parked or holding one
+     */
+    Optional<ParkingSlot> holdAvailableSlot(Vehicle vehicle);
+
+    /**
+     * Turns a vehicle's hold into a parked vehicle, notifying listeners that it occupied the slot
+     * @param registrationNumber Registration number of the holding vehicle
+     * @param slotId Slot the hold was granted; a later hold of the same vehicle on another slot is left alone
+     * @return False if the vehicle holds no slot or holds another one, for example because it exited and reserved again
+     */
+    boolean confirmHold(String registrationNumber, String slotId);
+
+    /**
+     * Returns a held slot to the free pool; a vehicle that already parked is left alone
+     * @param registrationNumber Registration number of the holding vehicle
+     * @param slotId Slot the hold was granted; a later hold of the same vehicle on another slot is left alone
+     * @return Released slot, or empty if the vehicle holds no slot or holds another one
+     */
+    Optional<ParkingSlot> releaseHold(String registrationNumber, String slotId);
     
+    /**
+     * Registers a listener for slot occupancy transitions.
+     * Listeners are called synchronously on the thread that changed the slot.
+     * @param listener Listener to add
+     */
+    void addOccupancyListener(OccupancyListener listener);
+
+    /**
+     * Applies changes without notifying occupancy listeners, for restoring state that was
+     * already reported before a restart. Only the calling thread is muted; changes made by
+     * other threads meanwhile are reported as usual.
+     * @param restore Changes to apply
+     */
+    void restoreQuietly(Runnable restore);
+
+    /**
+     * Gets a version that advances after every occupancy or topology change.
+     * Read it before reading the state it describes, so a stale read always has an older version.
+     * @return Repository-wide version
+     */
+    long getVersion();
+
+    /**
+     * Gets a version that advances after every occupancy change on one floor
+     * @param buildingId Building identifier
+     * @param floorId Floor identifier
+     * @return Floor version, or -1 if the floor does not exist
+     */
+    long getFloorVersion(String buildingId, String floorId);
+
+    /**
+     * Gets the number of slots of a vehicle type on one floor, free or occupied
+     * @param buildingId Building identifier
+     * @param floorId Floor identifier
+     * @param vehicleType Type of vehicle
+     * @return Slot count, or -1 if the floor does not exist
+     */
+    int getFloorCapacity(String buildingId, String floorId, VehicleType vehicleType);
+
+    /**
+     * Replaces the policies that choose the floor for each claim
+     * @param settings Floor policy per building and building selection
+     */
+    void setAllocationSettings(AllocationSettings settings);
+
+    /**
+     * Gets the hot-path counters for claims and slot locks
+     * @return Live counters, updated as the repository is used
+     */
+    RepositoryStats getStats();
+
+    /**
+     * Copies topology and occupancy floor by floor, in building and floor order.
+     * Writers are not stopped, so each slot is consistent but changes made during
+     * the copy may or may not be included. Slots whose IDs are not in slot ID format
+     * are left out.
+     * @return One snapshot per floor
+     */
+    List<FloorSnapshot> exportFloors();
+
+    /**
+     * Replaces all buildings, floors, slots and parked vehicles with a snapshot.
+     * Meant for startup: callers must make sure no other thread uses the repository meanwhile.
+     * @param floors Snapshot produced by {@link #exportFloors()}
+     */
+    void importFloors(List<FloorSnapshot> floors);
+
     /**
      * Update parking slot information
      * @param slot The parking slot to update
@@ -0,0 +1,69 @@
+package com.example.parking.repository;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path counters kept by a repository.
+ * Built on LongAdder so concurrent writers update separate cells instead of contending
+ * on one counter; reads sum the cells and are only approximate while writers are active.
+ */
+public class RepositoryStats {
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder slotsScanned = new LongAdder();
+    private final LongAdder lockAcquisitions = new LongAdder();
+    private final LongAdder contendedLockAcquisitions = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final LongAccumulator maxLockWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one claim attempt
+     * @param scanned Number of slots examined to find a free one
+     */
+    void recordClaim(long scanned) {
+        claims.increment();
+        slotsScanned.add(scanned);
+    }
+
+    /**
+     * Records a lock acquisition that had to wait
+     * @param waitNanos Time spent waiting for the lock
+     */
+    void recordContendedLock(long waitNanos) {
+        lockAcquisitions.increment();
+        contendedLockAcquisitions.increment();
+        lockWaitNanos.add(waitNanos);
+        maxLockWaitNanos.accumulate(waitNanos);
+    }
+
+    /**
+     * Records a lock acquisition that succeeded without waiting
+     */
+    void recordUncontendedLock() {
+        lockAcquisitions.increment();
+    }
+
+    public long getClaims() {
+        return claims.sum();
+    }
+
+    public long getSlotsScanned() {
+        return slotsScanned.sum();
+    }
+
+    public long getLockAcquisitions() {
+        return lockAcquisitions.sum();
+    }
+
+    public long getContendedLockAcquisitions() {
+        return contendedLockAcquisitions.sum();
+    }
+
+    public long getLockWaitNanos() {
+        return lockWaitNanos.sum();
+    }
+
+    public long getMaxLockWaitNanos() {
+        return maxLockWaitNanos.get();
+    }
+}
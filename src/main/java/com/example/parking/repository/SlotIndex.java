@@ -0,0 +1,228 @@
+package com.example.parking.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.parking.entity.ParkingSlot;
+
+/**
+ * Direct-addressed index of parking slots.
+ * Slot IDs are packed into long keys by {@link SlotKeyCodec} and mapped through a
+ * primitive open-addressing table to a dense ordinal, which addresses the slot array.
+ * Lookups are O(1) and allocation-free. Writes are serialised; reads take no lock and
+ * fall back to the lock only if they observe a half-published insert. The lock is a
+ * ReentrantLock rather than a monitor so waiting virtual threads do not pin their carrier.
+ */
+class SlotIndex {
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** Open-addressing table from slot key to ordinal; replaced wholesale on resize */
+    private volatile Table table = new Table(INITIAL_CAPACITY * 2);
+
+    /** Key of each ordinal, used to validate lock-free reads */
+    private volatile long[] ordinalKeys = new long[INITIAL_CAPACITY];
+
+    /** Slot of each ordinal */
+    private volatile ParkingSlot[] slots = new ParkingSlot[INITIAL_CAPACITY];
+
+    /** Position of each slot within its floor's slot list, or -1 if unknown */
+    private volatile int[] floorPositions = new int[INITIAL_CAPACITY];
+
+    private volatile int size;
+
+    private static final class Table {
+        final long[] keys;
+        final int[] ordinals;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            ordinals = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+
+    /**
+     * Finds a slot by its packed key
+     * @return Slot, or null if no slot with that key is indexed
+     */
+    ParkingSlot get(long key) {
+        int ordinal = ordinalOf(key);
+        return ordinal < 0 ? null : slots[ordinal];
+    }
+
+    /**
+     * Finds a slot by its ID
+     * @return Slot, or null if the ID is malformed or not indexed
+     */
+    ParkingSlot get(String id) {
+        long key = SlotKeyCodec.parse(id);
+        return key == SlotKeyCodec.INVALID_KEY ? null : get(key);
+    }
+
+    /**
+     * Resolves a packed key to its dense ordinal
+     * @return Ordinal, or -1 if the key is not indexed
+     */
+    int ordinalOf(long key) {
+        Table current = table;
+        int i = mix(key) & current.mask;
+        while (true) {
+            long candidate = current.keys[i];
+            if (candidate == key) {
+                int ordinal = current.ordinals[i];
+                long[] keys = ordinalKeys;
+                if (ordinal < keys.length && keys[ordinal] == key && slots[ordinal] != null) {
+                    return ordinal;
+                }
+                return lockedOrdinalOf(key);
+            }
+            if (candidate == EMPTY) {
+                return -1;
+            }
+            i = (i + 1) & current.mask;
+        }
+    }
+
+    /**
+     * Adds a slot or replaces the slot indexed under the same ID
+     * @param slot Slot with an ID in slot ID format
+     * @param floorPosition Position of the slot in its floor's slot list, or -1
+     * @return Slot previously indexed under that ID, or null
+     * @throws IllegalArgumentException if the slot ID cannot be encoded
+     */
+    ParkingSlot put(ParkingSlot slot, int floorPosition) {
+        long key = SlotKeyCodec.parse(slot.getId());
+        if (key == SlotKeyCodec.INVALID_KEY) {
+            throw new IllegalArgumentException("Invalid slot ID: " + slot.getId());
+        }
+        writeLock.lock();
+        try {
+            int ordinal = lockedOrdinalOf(key);
+            if (ordinal >= 0) {
+                ParkingSlot previous = slots[ordinal];
+                slots[ordinal] = slot;
+                if (floorPosition >= 0) {
+                    floorPositions[ordinal] = floorPosition;
+                }
+                return previous;
+            }
+
+            ordinal = size;
+            ensureOrdinalCapacity(ordinal + 1);
+            ordinalKeys[ordinal] = key;
+            slots[ordinal] = slot;
+            floorPositions[ordinal] = floorPosition;
+
+            Table current = table;
+            if ((ordinal + 1) * 2 > current.keys.length) {
+                current = rehash(current.keys.length * 2);
+            }
+            insert(current, key, ordinal);
+            table = current;
+            size = ordinal + 1;
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the position of an indexed slot within its floor's slot list
+     * @return Position, or -1 if unknown
+     */
+    int floorPositionOf(long key) {
+        int ordinal = ordinalOf(key);
+        return ordinal < 0 ? -1 : floorPositions[ordinal];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every slot from the index
+     */
+    void clear() {
+        writeLock.lock();
+        try {
+            size = 0;
+            table = new Table(INITIAL_CAPACITY * 2);
+            ordinalKeys = new long[INITIAL_CAPACITY];
+            floorPositions = new int[INITIAL_CAPACITY];
+            slots = new ParkingSlot[INITIAL_CAPACITY];
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copies all indexed slots in registration order
+     */
+    List<ParkingSlot> snapshot() {
+        int count = size;
+        ParkingSlot[] current = slots;
+        List<ParkingSlot> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(current[i]);
+        }
+        return result;
+    }
+
+    private int lockedOrdinalOf(long key) {
+        writeLock.lock();
+        try {
+            Table current = table;
+            int i = mix(key) & current.mask;
+            while (current.keys[i] != EMPTY) {
+                if (current.keys[i] == key) {
+                    return current.ordinals[i];
+                }
+                i = (i + 1) & current.mask;
+            }
+            return -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void ensureOrdinalCapacity(int required) {
+        if (required <= slots.length) {
+            return;
+        }
+        int capacity = Math.max(required, slots.length * 2);
+        ordinalKeys = Arrays.copyOf(ordinalKeys, capacity);
+        floorPositions = Arrays.copyOf(floorPositions, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+    }
+
+    private Table rehash(int capacity) {
+        Table resized = new Table(capacity);
+        int count = size;
+        long[] keys = ordinalKeys;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            insert(resized, keys[ordinal], ordinal);
+        }
+        return resized;
+    }
+
+    private static void insert(Table target, long key, int ordinal) {
+        int i = mix(key) & target.mask;
+        while (target.keys[i] != EMPTY) {
+            i = (i + 1) & target.mask;
+        }
+        target.ordinals[i] = ordinal;
+        target.keys[i] = key;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.parking.repository;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Encodes slot IDs such as "B1-F1-TW-01" into a compact long key and back.
+ * Parsing walks the characters directly and never allocates, so it can sit on
+ * the lookup hot path.
+ * Key layout (high to low bits): building (20) | floor (12) | vehicle type (4) | slot number (24)
+ */
+public final class SlotKeyCodec {
+    /** Returned by {@link #parse} when the ID does not follow the slot ID format */
+    public static final long INVALID_KEY = -1L;
+
+    private static final int NUMBER_BITS = 24;
+    private static final int TYPE_BITS = 4;
+    private static final int FLOOR_BITS = 12;
+    private static final int BUILDING_BITS = 20;
+
+    private static final int TYPE_SHIFT = NUMBER_BITS;
+    private static final int FLOOR_SHIFT = TYPE_SHIFT + TYPE_BITS;
+    private static final int BUILDING_SHIFT = FLOOR_SHIFT + FLOOR_BITS;
+
+    public static final int MAX_BUILDING = (1 << BUILDING_BITS) - 1;
+    public static final int MAX_FLOOR = (1 << FLOOR_BITS) - 1;
+    public static final int MAX_SLOT_NUMBER = (1 << NUMBER_BITS) - 1;
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private SlotKeyCodec() {
+    }
+
+    /**
+     * Packs slot coordinates into a key
+     * @param building Building number (the 7 in "B7")
+     * @param floor Floor number (the 2 in "F2")
+     * @param type Vehicle type of the slot
+     * @param number Slot number within the floor and type
+     * @return Packed slot key
+     */
+    public static long encode(int building, int floor, VehicleType type, int number) {
+        if (building < 0 || building > MAX_BUILDING || floor < 0 || floor > MAX_FLOOR
+                || number < 0 || number > MAX_SLOT_NUMBER) {
+            throw new IllegalArgumentException("Slot coordinates out of range: B" + building
+                + "-F" + floor + "-" + number);
+        }
+        return ((long) building << BUILDING_SHIFT)
+            | ((long) floor << FLOOR_SHIFT)
+            | ((long) type.ordinal() << TYPE_SHIFT)
+            | number;
+    }
+
+    /**
+     * Parses a slot ID without allocating
+     * @param id Slot ID in format B{n}-F{n}-{TW|FW}-{n}
+     * @return Packed slot key, or {@link #INVALID_KEY} if the ID is malformed
+     */
+    public static long parse(CharSequence id) {
+        if (id == null) {
+            return INVALID_KEY;
+        }
+        int length = id.length();
+        int pos = 0;
+
+        if (pos >= length || id.charAt(pos++) != 'B') {
+            return INVALID_KEY;
+        }
+        long building = 0;
+        int start = pos;
+        while (pos < length && isDigit(id.charAt(pos))) {
+            building = building * 10 + (id.charAt(pos++) - '0');
+            if (building > MAX_BUILDING) {
+                return INVALID_KEY;
+            }
+        }
+        if (pos == start || pos >= length || id.charAt(pos++) != '-') {
+            return INVALID_KEY;
+        }
+
+        if (pos >= length || id.charAt(pos++) != 'F') {
+            return INVALID_KEY;
+        }
+        long floor = 0;
+        start = pos;
+        while (pos < length && isDigit(id.charAt(pos))) {
+            floor = floor * 10 + (id.charAt(pos++) - '0');
+            if (floor > MAX_FLOOR) {
+                return INVALID_KEY;
+            }
+        }
+        if (pos == start || pos >= length || id.charAt(pos++) != '-') {
+            return INVALID_KEY;
+        }
+
+        if (pos + 3 > length || id.charAt(pos + 1) != 'W' || id.charAt(pos + 2) != '-') {
+            return INVALID_KEY;
+        }
+        VehicleType type;
+        switch (id.charAt(pos)) {
+            case 'T' -> type = VehicleType.TWO_WHEELER;
+            case 'F' -> type = VehicleType.FOUR_WHEELER;
+            default -> {
+                return INVALID_KEY;
+            }
+        }
+        pos += 3;
+
+        long number = 0;
+        start = pos;
+        while (pos < length && isDigit(id.charAt(pos))) {
+            number = number * 10 + (id.charAt(pos++) - '0');
+            if (number > MAX_SLOT_NUMBER) {
+                return INVALID_KEY;
+            }
+        }
+        if (pos == start || pos != length) {
+            return INVALID_KEY;
+        }
+        return (building << BUILDING_SHIFT)
+            | (floor << FLOOR_SHIFT)
+            | ((long) type.ordinal() << TYPE_SHIFT)
+            | number;
+    }
+
+    /**
+     * Builds the slot ID for a key, padding the slot number to two digits
+     * @param key Packed slot key
+     * @return Slot ID, e.g. "B1-F1-TW-01"
+     */
+    public static String format(long key) {
+        StringBuilder id = new StringBuilder(16);
+        id.append('B').append(buildingNumber(key))
+            .append("-F").append(floorNumber(key))
+            .append('-').append(typeCode(vehicleType(key)))
+            .append('-');
+        int number = slotNumber(key);
+        if (number < 10) {
+            id.append('0');
+        }
+        return id.append(number).toString();
+    }
+
+    /**
+     * Gets the building and floor part of a key, equal for all slots of a floor
+     * @param key Packed slot key
+     * @return Floor part, comparable with {@link #floorOf(int, int)}
+     */
+    public static long floorOf(long key) {
+        return key >>> FLOOR_SHIFT;
+    }
+
+    /**
+     * Gets the building and floor part shared by the keys of a floor's slots
+     * @param building Building number
+     * @param floor Floor number
+     * @return Floor part, comparable with {@link #floorOf(long)}
+     */
+    public static long floorOf(int building, int floor) {
+        return ((long) building << FLOOR_BITS) | floor;
+    }
+
+    public static int buildingNumber(long key) {
+        return (int) (key >>> BUILDING_SHIFT) & MAX_BUILDING;
+    }
+
+    public static int floorNumber(long key) {
+        return (int) (key >>> FLOOR_SHIFT) & MAX_FLOOR;
+    }
+
+    public static VehicleType vehicleType(long key) {
+        return TYPES[(int) (key >>> TYPE_SHIFT) & ((1 << TYPE_BITS) - 1)];
+    }
+
+    public static int slotNumber(long key) {
+        return (int) key & MAX_SLOT_NUMBER;
+    }
+
+    /**
+     * Gets the two-letter code used for a vehicle type in slot IDs
+     * @param type Vehicle type
+     * @return "TW" or "FW"
+     */
+    public static String typeCode(VehicleType type) {
+        return type == VehicleType.TWO_WHEELER ? "TW" : "FW";
+    }
+
+    /**
+     * Parses building and floor identifiers such as "B7" or "F12"
+     * @param id Identifier to parse
+     * @param prefix Expected prefix, 'B' or 'F'
+     * @return Level number, or -1 if the identifier has another form
+     */
+    public static int parseLevel(String id, char prefix) {
+        if (id == null || id.length() < 2 || id.charAt(0) != prefix) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 1; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!isDigit(c) || value > MAX_BUILDING) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
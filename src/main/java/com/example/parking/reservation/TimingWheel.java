@@ -0,0 +1,245 @@
+package com.example.parking.reservation;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel for deadlines such as reservation expiries.
+ * Four wheels of 64 buckets cover 64, 64², 64³ and 64⁴ ticks. A timeout is linked into the
+ * bucket of the smallest wheel that reaches its deadline and cascades one wheel down each
+ * time the wheel above turns to its bucket, so scheduling and cancelling are O(1) and each
+ * timeout is moved at most three times before it expires. Deadlines beyond the largest wheel
+ * are parked in its last bucket and re-placed when that bucket cascades.
+ * Timeouts never fire early; they fire within one tick after their deadline. Advancing skips
+ * straight to the next tick at which the smallest non-empty wheel turns, so idle time is cheap.
+ * @param <T> Item carried by each timeout
+ */
+public class TimingWheel<T> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Sentinel head of each bucket's circular list, by level and bucket index */
+    private final Timeout<T>[][] buckets;
+
+    /** Timeouts linked into each level, used to skip ticks that cannot expire or cascade anything */
+    private final int[] levelSizes = new int[LEVELS];
+
+    /** Last tick whose bucket was processed */
+    private long currentTick;
+    private int size;
+
+    /**
+     * Handle of a scheduled item, used to cancel it
+     * @param <T> Item type
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private int level;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    /**
+     * Creates an empty wheel
+     * @param tickMillis Resolution of the wheel
+     * @param startMillis Time of tick 0, usually the current time
+     * @throws IllegalArgumentException if the tick is not positive
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = newBuckets();
+        for (Timeout<T>[] wheel : buckets) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                Timeout<T> head = new Timeout<>(null, -1);
+                head.prev = head;
+                head.next = head;
+                wheel[i] = head;
+            }
+        }
+    }
+
+    /**
+     * Creates the bucket heads of every wheel; the one place the generic array is made
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Timeout<T>[][] newBuckets() {
+        return (Timeout<T>[][]) Array.newInstance(Timeout.class, LEVELS, WHEEL_SIZE);
+    }
+
+    /**
+     * Schedules an item in O(1)
+     * @param item Item returned by {@link #advance} once the deadline has passed
+     * @param deadlineMillis Time the item expires at
+     * @return Handle for {@link #cancel}
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        // Round up, so the item never fires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        lock.lock();
+        try {
+            Timeout<T> timeout = new Timeout<>(item, Math.max(deadlineTick, currentTick + 1));
+            place(timeout);
+            size++;
+            return timeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a scheduled item in O(1)
+     * @param timeout Handle returned by {@link #schedule}
+     * @return true if the item was still scheduled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.next == null) {
+                return false;
+            }
+            unlink(timeout);
+            levelSizes[timeout.level]--;
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Processes every tick up to a point in time and collects the items that expired
+     * @param nowMillis Current time
+     * @return Expired items in deadline order
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                // Nothing happens before the smallest non-empty wheel turns to its next bucket
+                long next = nextActiveTick();
+                if (next > targetTick) {
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick = next;
+                // Cascade the larger wheels first, so their timeouts can land in smaller buckets due now
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                        cascade(level, (int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                    }
+                }
+                expire((int) currentTick & WHEEL_MASK, expired);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of scheduled items
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the next tick at which a timeout can expire or cascade
+     */
+    private long nextActiveTick() {
+        if (levelSizes[0] > 0) {
+            return currentTick + 1;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            if (levelSizes[level] > 0) {
+                int shift = WHEEL_BITS * level;
+                return ((currentTick >>> shift) + 1) << shift;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = Math.min(timeout.deadlineTick - currentTick, MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        timeout.level = level;
+        levelSizes[level]++;
+        link(buckets[level][(int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK], timeout);
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<T> head = buckets[level][index];
+        Timeout<T> timeout = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timeout != head) {
+            Timeout<T> next = timeout.next;
+            levelSizes[level]--;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void expire(int index, List<T> expired) {
+        Timeout<T> head = buckets[0][index];
+        Timeout<T> timeout = head.next;
+        while (timeout != head) {
+            Timeout<T> next = timeout.next;
+            if (timeout.deadlineTick <= currentTick) {
+                unlink(timeout);
+                levelSizes[0]--;
+                size--;
+                expired.add(timeout.item);
+            }
+            timeout = next;
+        }
+    }
+
+    private static <T> void link(Timeout<T> head, Timeout<T> timeout) {
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
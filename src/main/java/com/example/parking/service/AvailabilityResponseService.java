@@ -0,0 +1,28 @@
+package com.example.parking.service;
+
+/**
+ * Service interface for pre-encoded capacity and availability responses.
+ * Lets the busiest read endpoints skip JSON serialisation while their data is unchanged.
+ */
+public interface AvailabilityResponseService {
+
+    /**
+     * Gets the encoded body of the capacity endpoint
+     * @return JSON of every building's floor capacities
+     */
+    EncodedResponse getCapacity();
+
+    /**
+     * Gets the encoded body of the floor availability endpoint
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @return JSON of the floor's availability, or null if the floor does not exist
+     */
+    EncodedResponse getFloorAvailability(String buildingId, String floorId);
+
+    /**
+     * Gets the smallest body worth compressing
+     * @return Size in bytes below which responses are sent uncompressed
+     */
+    int getGzipMinBytes();
+}
@@ -0,0 +1,149 @@
+package com.example.parking.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Implementation of the pre-encoded response cache.
+ * The read model hands out the same immutable objects until the data changes, so a response
+ * is re-encoded only when its source object is replaced. The capacity body is assembled from
+ * per-floor JSON fragments; a fragment is re-encoded only when that floor's counts change, so
+ * one park re-serialises one floor rather than the whole site. The enclosing objects are
+ * written through a Jackson generator, so building IDs are escaped exactly as Jackson would.
+ */
+@Service
+public class AvailabilityResponseServiceImpl implements AvailabilityResponseService {
+    private final ParkingService parkingService;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    private final AtomicReference<Cached<List<BuildingCapacityDTO>>> capacity = new AtomicReference<>();
+    private final Map<FloorKey, FloorFragment> capacityFragments = new ConcurrentHashMap<>();
+    private final Map<FloorKey, Cached<FloorAvailabilityDTO>> floorAvailability = new ConcurrentHashMap<>();
+
+    /** Encoded body and the read-model object it was encoded from */
+    private record Cached<T>(T source, EncodedResponse response) {
+    }
+
+    /** Encoded capacity of one floor and the counts it was encoded from */
+    private record FloorFragment(Map<?, Integer> availableSlots, String json) {
+    }
+
+    /** Cache key of a floor; IDs are kept apart so no separator can make two floors collide */
+    private record FloorKey(String buildingId, String floorId) {
+    }
+
+    /**
+     * Constructor injection for ParkingService, ObjectMapper and compression settings
+     * @param parkingService Service whose read-model objects are encoded
+     * @param objectMapper Mapper used to encode bodies and fragments
+     * @param gzipMinBytes Smallest body worth compressing
+     */
+    public AvailabilityResponseServiceImpl(ParkingService parkingService,
+                                           ObjectMapper objectMapper,
+                                           @Value("${parking.response.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.parkingService = parkingService;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    @Override
+    public EncodedResponse getCapacity() {
+        List<BuildingCapacityDTO> buildings = parkingService.checkCapacity();
+        Cached<List<BuildingCapacityDTO>> cached = capacity.get();
+        if (cached != null && cached.source() == buildings) {
+            return cached.response();
+        }
+        EncodedResponse response = new EncodedResponse(encodeCapacity(buildings));
+        capacity.set(new Cached<>(buildings, response));
+        return response;
+    }
+
+    @Override
+    public EncodedResponse getFloorAvailability(String buildingId, String floorId) {
+        FloorAvailabilityDTO availability = parkingService.getFloorAvailability(buildingId, floorId);
+        if (availability == null) {
+            return null;
+        }
+        FloorKey key = new FloorKey(buildingId, floorId);
+        Cached<FloorAvailabilityDTO> cached = floorAvailability.get(key);
+        if (cached != null && cached.source() == availability) {
+            return cached.response();
+        }
+        EncodedResponse response = new EncodedResponse(encode(availability));
+        floorAvailability.put(key, new Cached<>(availability, response));
+        return response;
+    }
+
+    @Override
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    /**
+     * Writes the same bytes Jackson would produce for the list, reusing unchanged floor fragments
+     */
+    private byte[] encodeCapacity(List<BuildingCapacityDTO> buildings) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(256, buildings.size() * 512));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (BuildingCapacityDTO building : buildings) {
+                generator.writeStartObject();
+                generator.writeStringField("buildingId", building.getBuildingId());
+                generator.writeFieldName("floors");
+                if (building.getFloors() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeStartArray();
+                    for (BuildingCapacityDTO.FloorCapacityDTO floor : building.getFloors()) {
+                        generator.writeRawValue(fragment(building.getBuildingId(), floor));
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode response", e);
+        }
+        return out.toByteArray();
+    }
+
+    private String fragment(String buildingId, BuildingCapacityDTO.FloorCapacityDTO floor) {
+        FloorKey key = new FloorKey(buildingId, floor.getFloorId());
+        FloorFragment cached = capacityFragments.get(key);
+        if (cached != null && Objects.equals(cached.availableSlots(), floor.getAvailableSlots())) {
+            return cached.json();
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(floor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode response", e);
+        }
+        capacityFragments.put(key, new FloorFragment(floor.getAvailableSlots(), json));
+        return json;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode response", e);
+        }
+    }
+}
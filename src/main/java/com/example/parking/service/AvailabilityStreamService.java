@@ -0,0 +1,21 @@
+package com.example.parking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for streaming floor availability changes to display boards.
+ */
+public interface AvailabilityStreamService {
+    /**
+     * Opens a stream that first sends every floor's availability, then each floor again
+     * whenever its availability changes
+     * @return Emitter for the new subscriber
+     */
+    SseEmitter subscribe();
+
+    /**
+     * Gets the number of open streams
+     * @return Number of subscribers
+     */
+    int getSubscriberCount();
+}
@@ -0,0 +1,402 @@
+package com.example.parking.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.parking.dto.AvailabilityUpdateDTO;
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.readmodel.AvailabilityView;
+import com.example.parking.repository.OccupancyListener;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the availability stream.
+ * Slot changes only mark their floor dirty. Every interval the dirty floors are read once,
+ * serialised once and offered to all subscribers, so the cost of a change does not grow with
+ * the number of boards and bursts collapse into one update per floor and interval.
+ * Each subscriber keeps at most one pending update per floor and is written by a shared
+ * sender pool; a slow board skips intermediate states instead of buffering them.
+ * SseEmitter writes block, so a board that stops reading would hold a sender thread until
+ * the server's write timeout. A send still running after the send timeout drops and completes
+ * its subscriber, and the pool gets a thread in place of the stuck one until that send returns,
+ * so stalled boards never delay the others.
+ */
+@Service
+@Slf4j
+public class AvailabilityStreamServiceImpl implements AvailabilityStreamService, OccupancyListener {
+    private static final String EVENT_NAME = "availability";
+
+    private final ParkingRepository parkingRepository;
+    private final AvailabilityReadModel availabilityReadModel;
+    private final ObjectMapper objectMapper;
+    private final long intervalMillis;
+    private final long timeoutMillis;
+    private final int senderThreads;
+    private final long sendTimeoutNanos;
+
+    /** Floors changed since the last flush, as building number << 32 | floor number */
+    private final Set<Long> dirtyFloors = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Floors sent by the last flush with the floor version the update was read at; flusher thread only.
+     * Listeners fire before the repository moves the floor's counters and version, so a flush
+     * can read a floor just before the change it was told about. Each sent floor is therefore
+     * checked again on the next flush and resent until its version stops moving.
+     */
+    private Map<Long, Long> sentVersions = new HashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService flusher;
+    private ThreadPoolExecutor senders;
+
+    /** Sender threads blocked in a send whose subscriber was dropped; guarded by sendersLock */
+    private int stuckSenders;
+    private final ReentrantLock sendersLock = new ReentrantLock();
+
+    /**
+     * Constructor injection for the repository and stream settings
+     * @param parkingRepository Repository whose changes are streamed
+     * @param availabilityReadModel Read model the streamed counts are taken from
+     * @param objectMapper Mapper used to serialise each update once
+     * @param intervalMillis Minimum time between updates for the same floor
+     * @param timeoutMillis Time after which a stream is closed and the board reconnects
+     * @param senderThreads Threads writing updates to subscribers
+     * @param sendTimeoutMillis Time a single send may block before its subscriber is dropped
+     */
+    public AvailabilityStreamServiceImpl(ParkingRepository parkingRepository,
+                                         AvailabilityReadModel availabilityReadModel,
+                                         ObjectMapper objectMapper,
+                                         @Value("${parking.stream.interval-ms:250}") long intervalMillis,
+                                         @Value("${parking.stream.timeout-ms:1800000}") long timeoutMillis,
+                                         @Value("${parking.stream.sender-threads:4}") int senderThreads,
+                                         @Value("${parking.stream.send-timeout-ms:2000}") long sendTimeoutMillis) {
+        this.parkingRepository = parkingRepository;
+        this.availabilityReadModel = availabilityReadModel;
+        this.objectMapper = objectMapper;
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger senderCount = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "availability-stream-sender-" + senderCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-stream-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        parkingRepository.addOccupancyListener(this);
+    }
+
+    /**
+     * Closes all streams when the context starts closing, before the web server's graceful
+     * shutdown would otherwise wait for them
+     */
+    @EventListener(ContextClosedEvent.class)
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    /**
+     * Registers an emitter and queues every floor for it
+     */
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(serialize(readFloors()));
+        return subscriber.emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void slotOccupied(long slotKey, String registrationNumber) {
+        dirtyFloors.add(floorKey(slotKey));
+    }
+
+    @Override
+    public void slotReleased(long slotKey, String registrationNumber) {
+        dirtyFloors.add(floorKey(slotKey));
+    }
+
+    @Override
+    public void slotHeld(long slotKey, String registrationNumber) {
+        dirtyFloors.add(floorKey(slotKey));
+    }
+
+    @Override
+    public void holdReleased(long slotKey, String registrationNumber) {
+        dirtyFloors.add(floorKey(slotKey));
+    }
+
+    /**
+     * Reads and publishes every floor changed since the last run
+     */
+    void flush() {
+        try {
+            dropStalled();
+            if (dirtyFloors.isEmpty() && sentVersions.isEmpty()) {
+                return;
+            }
+            Set<Long> changed = new HashSet<>();
+            for (Iterator<Long> it = dirtyFloors.iterator(); it.hasNext(); ) {
+                changed.add(it.next());
+                it.remove();
+            }
+            if (subscribers.isEmpty()) {
+                sentVersions.clear();
+                return;
+            }
+            Map<Long, Long> sent = new HashMap<>();
+            List<AvailabilityUpdateDTO> updates = new ArrayList<>();
+            AvailabilityView view = availabilityReadModel.getView();
+            for (BuildingCapacityDTO building : view.getBuildings()) {
+                int buildingNumber = SlotKeyCodec.parseLevel(building.getBuildingId(), 'B');
+                for (BuildingCapacityDTO.FloorCapacityDTO floor : building.getFloors()) {
+                    long key = ((long) buildingNumber << 32) | SlotKeyCodec.parseLevel(floor.getFloorId(), 'F');
+                    Long previous = sentVersions.get(key);
+                    if (!changed.contains(key) && previous == null) {
+                        continue;
+                    }
+                    long version = view.getFloorVersion(building.getBuildingId(), floor.getFloorId());
+                    if (changed.contains(key) || previous != version) {
+                        updates.add(mapFloorToUpdateDTO(building, floor));
+                        sent.put(key, version);
+                    } else if (parkingRepository.getFloorVersion(building.getBuildingId(), floor.getFloorId()) != version) {
+                        // The floor moved on after the view was read; wait for a view that includes it
+                        sent.put(key, version);
+                    }
+                }
+            }
+            sentVersions = sent;
+            if (updates.isEmpty()) {
+                return;
+            }
+            Map<String, String> serialized = serialize(updates);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(serialized);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish availability updates", e);
+        }
+    }
+
+    /**
+     * Drops subscribers whose current send has blocked past the send timeout
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos.get();
+            if (started != Subscriber.IDLE && started != Subscriber.STALLED && now - started > sendTimeoutNanos
+                    && subscriber.sendStartedNanos.compareAndSet(started, Subscriber.STALLED)) {
+                log.debug("Dropping availability stream whose send blocked for {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(now - started));
+                subscribers.remove(subscriber);
+                subscriber.pending.clear();
+                resizeSenders(1);
+                try {
+                    subscriber.emitter.complete();
+                } catch (RuntimeException e) {
+                    log.debug("Completing a stalled availability stream failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or removes a sender thread for each send that blocks in, or returns from, a dropped subscriber
+     */
+    private void resizeSenders(int delta) {
+        sendersLock.lock();
+        try {
+            stuckSenders += delta;
+            int size = senderThreads + stuckSenders;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        } finally {
+            sendersLock.unlock();
+        }
+    }
+
+    /**
+     * Builds availability updates of every floor from one published view, so a batch never mixes versions
+     */
+    private List<AvailabilityUpdateDTO> readFloors() {
+        List<AvailabilityUpdateDTO> updates = new ArrayList<>();
+        for (BuildingCapacityDTO building : availabilityReadModel.getView().getBuildings()) {
+            for (BuildingCapacityDTO.FloorCapacityDTO floor : building.getFloors()) {
+                updates.add(mapFloorToUpdateDTO(building, floor));
+            }
+        }
+        return updates;
+    }
+
+    private AvailabilityUpdateDTO mapFloorToUpdateDTO(BuildingCapacityDTO building, BuildingCapacityDTO.FloorCapacityDTO floor) {
+        AvailabilityUpdateDTO dto = new AvailabilityUpdateDTO();
+        dto.setBuildingId(building.getBuildingId());
+        dto.setFloorId(floor.getFloorId());
+        dto.setAvailableSlots(floor.getAvailableSlots());
+        return dto;
+    }
+
+    /**
+     * Serialises each update once for all subscribers, keyed by floor
+     */
+    private Map<String, String> serialize(List<AvailabilityUpdateDTO> updates) {
+        Map<String, String> serialized = new LinkedHashMap<>();
+        for (AvailabilityUpdateDTO update : updates) {
+            try {
+                serialized.put(update.getBuildingId() + "-" + update.getFloorId(), objectMapper.writeValueAsString(update));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialise availability update", e);
+            }
+        }
+        return serialized;
+    }
+
+    private static long floorKey(long slotKey) {
+        return ((long) SlotKeyCodec.buildingNumber(slotKey) << 32) | SlotKeyCodec.floorNumber(slotKey);
+    }
+
+    /**
+     * One open stream with its latest unsent update per floor
+     */
+    private final class Subscriber {
+        static final long IDLE = 0;
+        static final long STALLED = Long.MIN_VALUE;
+
+        private final SseEmitter emitter;
+        private final Map<String, String> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /** Start of the send in progress, IDLE between sends, or STALLED for good once the subscriber was dropped */
+        private final AtomicLong sendStartedNanos = new AtomicLong(IDLE);
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues updates, replacing any unsent update for the same floor
+         */
+        void offer(Map<String, String> updates) {
+            // A flush may still hold a subscriber it has just dropped
+            if (sendStartedNanos.get() == STALLED) {
+                return;
+            }
+            pending.putAll(updates);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Map.Entry<String, String> entry : pending.entrySet()) {
+                    String json = entry.getValue();
+                    if (pending.remove(entry.getKey(), json) && !send(entry.getKey(), json)) {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                pending.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Sends one update while the flusher watches how long it blocks
+         * @return False if the subscriber was dropped while the send blocked
+         */
+        private boolean send(String id, String json) throws IOException {
+            long started = System.nanoTime();
+            sendStartedNanos.set(started);
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).id(id).data(json, MediaType.APPLICATION_JSON));
+            } finally {
+                if (!sendStartedNanos.compareAndSet(started, IDLE)) {
+                    // Dropped while blocked: hand back the thread the pool gained in place of this one
+                    resizeSenders(-1);
+                }
+            }
+            return sendStartedNanos.get() != STALLED;
+        }
+    }
+}
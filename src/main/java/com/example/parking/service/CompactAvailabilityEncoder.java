@@ -0,0 +1,177 @@
+package com.example.parking.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.parking.dto.AvailabilityFormat;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Builds compact pages of a floor's free slots.
+ * Free slots are ordered two-wheelers first, then four-wheelers, each by slot number; a cursor
+ * is the last slot ID of the previous page, so pages stay stable while earlier slots change.
+ * The sorted slot numbers are cached per floor against the read model's availability object,
+ * which is replaced exactly when the floor's version moves, so paging through an unchanged
+ * floor parses and sorts its slot IDs once.
+ */
+final class CompactAvailabilityEncoder {
+    static final int DEFAULT_LIMIT = 1_000;
+    static final int MAX_LIMIT = 10_000;
+
+    private static final VehicleType[] ORDER = {VehicleType.TWO_WHEELER, VehicleType.FOUR_WHEELER};
+
+    private final Map<String, SortedSlots> sortedSlots = new ConcurrentHashMap<>();
+
+    /** Sorted free slot numbers per vehicle type and the availability they were read from */
+    private record SortedSlots(FloorAvailabilityDTO source, int[][] numbers) {
+    }
+
+    /**
+     * Encodes one page of a floor's availability
+     * @param availability Full availability of the floor, as published by the read model
+     * @param format Encoding of the free slots
+     * @param cursor Last slot ID of the previous page, or null
+     * @param limit Maximum IDs or runs in the page, or null for the default
+     * @return Compact page
+     * @throws IllegalArgumentException if the cursor is not a slot ID of this floor, or the floor's
+     *         building and floor IDs are not in B{n}/F{n} form, so its slots have no compact IDs
+     */
+    CompactFloorAvailabilityDTO encode(FloorAvailabilityDTO availability, AvailabilityFormat format,
+                                       String cursor, Integer limit) {
+        int building = SlotKeyCodec.parseLevel(availability.getBuildingId(), 'B');
+        int floor = SlotKeyCodec.parseLevel(availability.getFloorId(), 'F');
+        if (building < 0 || floor < 0 || building > SlotKeyCodec.MAX_BUILDING || floor > SlotKeyCodec.MAX_FLOOR) {
+            throw new IllegalArgumentException("Compact availability needs B{n}/F{n} IDs, not "
+                + availability.getBuildingId() + "/" + availability.getFloorId());
+        }
+        int[][] numbers = sortedNumbers(availability, building, floor);
+
+        CompactFloorAvailabilityDTO dto = new CompactFloorAvailabilityDTO();
+        dto.setBuildingId(availability.getBuildingId());
+        dto.setFloorId(availability.getFloorId());
+        dto.setFormat(format);
+        dto.setTotalAvailableTwoWheelerSlots(numbers[0].length);
+        dto.setTotalAvailableFourWheelerSlots(numbers[1].length);
+
+        if (format == AvailabilityFormat.BITMAP) {
+            dto.setTwoWheelerBitmap(bitmap(numbers[0]));
+            dto.setFourWheelerBitmap(bitmap(numbers[1]));
+            return dto;
+        }
+
+        int[] start = startPositions(cursor, building, floor, numbers);
+        int remaining = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<List<String>> pages = new ArrayList<>();
+        long lastKey = SlotKeyCodec.INVALID_KEY;
+        boolean more = false;
+        for (int t = 0; t < ORDER.length; t++) {
+            List<String> page = new ArrayList<>();
+            int[] free = numbers[t];
+            int i = start[t];
+            while (i < free.length && remaining > 0) {
+                int end = i;
+                if (format == AvailabilityFormat.RANGES) {
+                    while (end + 1 < free.length && free[end + 1] == free[end] + 1) {
+                        end++;
+                    }
+                }
+                page.add(entry(building, floor, ORDER[t], free[i], free[end]));
+                lastKey = SlotKeyCodec.encode(building, floor, ORDER[t], free[end]);
+                remaining--;
+                i = end + 1;
+            }
+            more |= i < free.length;
+            pages.add(page);
+        }
+        dto.setAvailableTwoWheelerSlots(pages.get(0));
+        dto.setAvailableFourWheelerSlots(pages.get(1));
+        dto.setNextCursor(more ? SlotKeyCodec.format(lastKey) : null);
+        return dto;
+    }
+
+    /**
+     * Finds where each vehicle type's page starts after the cursor
+     */
+    private static int[] startPositions(String cursor, int building, int floor, int[][] numbers) {
+        int[] start = new int[ORDER.length];
+        if (cursor == null || cursor.isEmpty()) {
+            return start;
+        }
+        long key = SlotKeyCodec.parse(cursor);
+        if (key == SlotKeyCodec.INVALID_KEY || SlotKeyCodec.buildingNumber(key) != building
+                || SlotKeyCodec.floorNumber(key) != floor) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int typeIndex = SlotKeyCodec.vehicleType(key) == VehicleType.TWO_WHEELER ? 0 : 1;
+        for (int t = 0; t < typeIndex; t++) {
+            start[t] = numbers[t].length;
+        }
+        start[typeIndex] = firstAfter(numbers[typeIndex], SlotKeyCodec.slotNumber(key));
+        return start;
+    }
+
+    private static int firstAfter(int[] sorted, int number) {
+        int position = Arrays.binarySearch(sorted, number);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static String entry(int building, int floor, VehicleType type, int first, int last) {
+        String id = SlotKeyCodec.format(SlotKeyCodec.encode(building, floor, type, first));
+        if (first == last) {
+            return id;
+        }
+        return id + ".." + (last < 10 ? "0" + last : String.valueOf(last));
+    }
+
+    private static String bitmap(int[] numbers) {
+        BitSet bits = new BitSet(numbers.length == 0 ? 0 : numbers[numbers.length - 1] + 1);
+        for (int number : numbers) {
+            bits.set(number);
+        }
+        return Base64.getEncoder().encodeToString(bits.toByteArray());
+    }
+
+    private int[][] sortedNumbers(FloorAvailabilityDTO availability, int building, int floor) {
+        String key = availability.getBuildingId() + "-" + availability.getFloorId();
+        SortedSlots cached = sortedSlots.get(key);
+        if (cached != null && cached.source() == availability) {
+            return cached.numbers();
+        }
+        int[][] numbers = {
+            slotNumbers(availability.getAvailableTwoWheelerSlots(), building, floor, VehicleType.TWO_WHEELER),
+            slotNumbers(availability.getAvailableFourWheelerSlots(), building, floor, VehicleType.FOUR_WHEELER)
+        };
+        sortedSlots.put(key, new SortedSlots(availability, numbers));
+        return numbers;
+    }
+
+    /**
+     * Parses and sorts a floor's free slot numbers of one type; IDs that are malformed or
+     * name another floor or type cannot be written back compactly and are skipped
+     */
+    private static int[] slotNumbers(List<String> ids, int building, int floor, VehicleType type) {
+        if (ids == null) {
+            return new int[0];
+        }
+        int[] numbers = new int[ids.size()];
+        int count = 0;
+        for (String id : ids) {
+            long key = SlotKeyCodec.parse(id);
+            if (key != SlotKeyCodec.INVALID_KEY && SlotKeyCodec.buildingNumber(key) == building
+                    && SlotKeyCodec.floorNumber(key) == floor && SlotKeyCodec.vehicleType(key) == type) {
+                numbers[count++] = SlotKeyCodec.slotNumber(key);
+            }
+        }
+        numbers = Arrays.copyOf(numbers, count);
+        Arrays.sort(numbers);
+        return numbers;
+    }
+}
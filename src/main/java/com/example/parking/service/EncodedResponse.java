@@ -0,0 +1,52 @@
+package com.example.parking.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON response body encoded once and shared by every request for the same data.
+ * The gzip form is compressed on first use and kept alongside the plain bytes.
+ * Callers must not modify the returned arrays.
+ */
+public final class EncodedResponse {
+    private final byte[] json;
+    private volatile byte[] gzip;
+
+    public EncodedResponse(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Gets the UTF-8 JSON body
+     * @return Shared byte array
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Gets the gzip-compressed JSON body, compressing it on first use
+     * @return Shared byte array
+     */
+    public byte[] getGzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            // Racing callers may both compress; either result is identical
+            compressed = compress(json);
+            gzip = compressed;
+        }
+        return compressed;
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compress response", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.parking.service;
+
+import com.example.parking.dto.HistoryRequestDTO;
+import com.example.parking.dto.OccupancyHistoryDTO;
+
+/**
+ * Service interface for reading recorded occupancy over time
+ */
+public interface HistoryService {
+
+    /**
+     * Gets a floor's occupancy per vehicle type at one resolution
+     * @param request Building, floor, resolution and time range
+     * @return Occupancy samples, or null if the floor has not been recorded
+     * @throws IllegalArgumentException if the range starts after it ends
+     */
+    OccupancyHistoryDTO getOccupancyHistory(HistoryRequestDTO request);
+}
@@ -0,0 +1,66 @@
+package com.example.parking.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.HistoryRequestDTO;
+import com.example.parking.dto.HistoryResolution;
+import com.example.parking.dto.OccupancyHistoryDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.history.OccupancyHistory;
+import com.example.parking.history.OccupancySeries;
+
+/**
+ * Implementation of occupancy history reads over the per-floor ring buffers
+ */
+@Service
+public class HistoryServiceImpl implements HistoryService {
+    private final OccupancyHistory occupancyHistory;
+
+    /**
+     * Constructor injection for OccupancyHistory
+     * @param occupancyHistory Recorded per-floor occupancy
+     */
+    public HistoryServiceImpl(OccupancyHistory occupancyHistory) {
+        this.occupancyHistory = occupancyHistory;
+    }
+
+    @Override
+    public OccupancyHistoryDTO getOccupancyHistory(HistoryRequestDTO request) {
+        HistoryResolution resolution = request.getResolution() == null ? HistoryResolution.MINUTE : request.getResolution();
+        long to = request.getTo() == null
+            ? TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+            : request.getTo().getEpochSecond();
+        long from = request.getFrom() == null
+            ? to - (long) resolution.getIntervalSeconds() * resolution.getRetainedSamples()
+            : request.getFrom().getEpochSecond();
+        if (from > to) {
+            throw new IllegalArgumentException("Range starts after it ends");
+        }
+
+        OccupancySeries series = occupancyHistory.read(request.getBuildingId(), request.getFloorId(), resolution, from, to);
+        if (series == null) {
+            return null;
+        }
+        Map<VehicleType, List<Integer>> occupiedSlots = new EnumMap<>(VehicleType.class);
+        Map<VehicleType, Integer> totalSlots = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            occupiedSlots.put(type, series.getOccupied(type));
+            totalSlots.put(type, series.getCapacity(type));
+        }
+
+        OccupancyHistoryDTO dto = new OccupancyHistoryDTO();
+        dto.setBuildingId(request.getBuildingId());
+        dto.setFloorId(request.getFloorId());
+        dto.setResolution(resolution);
+        dto.setIntervalSeconds(resolution.getIntervalSeconds());
+        dto.setTimestamps(series.getEpochSeconds());
+        dto.setOccupiedSlots(occupiedSlots);
+        dto.setTotalSlots(totalSlots);
+        return dto;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.parking.service;
+
+import com.example.parking.dto.MetricsResponseDTO;
+
+/**
+ * Service interface for reading operational metrics.
+ */
+public interface MetricsService {
+    /**
+     * Collects park, allocation, claim, lock and occupancy metrics
+     * @return Current metric values
+     */
+    MetricsResponseDTO getMetrics();
+}
@@ -0,0 +1,136 @@
+package com.example.parking.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.MetricsResponseDTO;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.repository.RepositoryStats;
+
+/**
+ * Implementation of metrics collection.
+ * Reads the service and repository counters and derives occupancy from the per-floor
+ * availability counters, so a scrape costs O(floors) and takes no locks.
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService {
+    private final ParkingMetrics parkingMetrics;
+    private final ParkingRepository parkingRepository;
+
+    /**
+     * Constructor injection for the metric sources
+     * @param parkingMetrics Service-level park counters
+     * @param parkingRepository Repository providing claim and lock counters and occupancy
+     */
+    public MetricsServiceImpl(ParkingMetrics parkingMetrics, ParkingRepository parkingRepository) {
+        this.parkingMetrics = parkingMetrics;
+        this.parkingRepository = parkingRepository;
+    }
+
+    @Override
+    public MetricsResponseDTO getMetrics() {
+        MetricsResponseDTO dto = new MetricsResponseDTO();
+        long parkRequests = parkingMetrics.getParkRequests();
+        dto.setParkRequests(parkRequests);
+        dto.setParkMeanMicros(parkRequests == 0 ? 0 : parkingMetrics.getParkNanos() / 1_000.0 / parkRequests);
+        dto.setParkMaxMicros(TimeUnit.NANOSECONDS.toMicros(parkingMetrics.getMaxParkNanos()));
+        long[] latencyCounts = parkingMetrics.getParkLatencyCounts();
+        dto.setParkP50Micros(latencyPercentile(latencyCounts, 50, dto.getParkMaxMicros()));
+        dto.setParkP90Micros(latencyPercentile(latencyCounts, 90, dto.getParkMaxMicros()));
+        dto.setParkP99Micros(latencyPercentile(latencyCounts, 99, dto.getParkMaxMicros()));
+        dto.setParkP999Micros(latencyPercentile(latencyCounts, 99.9, dto.getParkMaxMicros()));
+        Map<Long, Long> latencyBuckets = new LinkedHashMap<>();
+        for (int i = 0; i < latencyCounts.length; i++) {
+            if (latencyCounts[i] > 0) {
+                latencyBuckets.put(ParkingMetrics.latencyBucketUpperMicros(i), latencyCounts[i]);
+            }
+        }
+        dto.setParkLatencyBuckets(latencyBuckets);
+
+        Map<VehicleType, Long> allocationFailures = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            allocationFailures.put(type, parkingMetrics.getAllocationFailures(type));
+        }
+        dto.setAllocationFailures(allocationFailures);
+
+        RepositoryStats stats = parkingRepository.getStats();
+        long claims = stats.getClaims();
+        dto.setClaims(claims);
+        dto.setSlotsScannedPerClaim(claims == 0 ? 0 : (double) stats.getSlotsScanned() / claims);
+        dto.setLockAcquisitions(stats.getLockAcquisitions());
+        dto.setContendedLockAcquisitions(stats.getContendedLockAcquisitions());
+        dto.setLockWaitMicros(TimeUnit.NANOSECONDS.toMicros(stats.getLockWaitNanos()));
+        dto.setLockWaitMaxMicros(TimeUnit.NANOSECONDS.toMicros(stats.getMaxLockWaitNanos()));
+
+        List<MetricsResponseDTO.BuildingOccupancyDTO> buildings = new ArrayList<>();
+        List<MetricsResponseDTO.FloorOccupancyDTO> floors = new ArrayList<>();
+        for (Building building : parkingRepository.getAllBuildings().values()) {
+            int total = 0;
+            int occupied = 0;
+            for (Floor floor : building.getFloors()) {
+                MetricsResponseDTO.FloorOccupancyDTO floorDto = mapFloorToOccupancyDTO(building, floor);
+                total += floorDto.getTotalSlots();
+                occupied += floorDto.getOccupiedSlots();
+                floors.add(floorDto);
+            }
+            buildings.add(mapBuildingToOccupancyDTO(building, total, occupied));
+        }
+        dto.setBuildings(buildings);
+        dto.setFloors(floors);
+        return dto;
+    }
+
+    /**
+     * Reads a percentile from the latency buckets
+     * @return Upper bound of the bucket holding the percentile, capped at the slowest request
+     */
+    private static long latencyPercentile(long[] counts, double percentile, long maxMicros) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(ParkingMetrics.latencyBucketUpperMicros(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private MetricsResponseDTO.BuildingOccupancyDTO mapBuildingToOccupancyDTO(Building building, int total, int occupied) {
+        MetricsResponseDTO.BuildingOccupancyDTO dto = new MetricsResponseDTO.BuildingOccupancyDTO();
+        dto.setBuildingId(building.getBuildingId());
+        dto.setTotalSlots(total);
+        dto.setOccupiedSlots(occupied);
+        dto.setOccupancy(total == 0 ? 0 : (double) occupied / total);
+        return dto;
+    }
+
+    private MetricsResponseDTO.FloorOccupancyDTO mapFloorToOccupancyDTO(Building building, Floor floor) {
+        MetricsResponseDTO.FloorOccupancyDTO dto = new MetricsResponseDTO.FloorOccupancyDTO();
+        dto.setBuildingId(building.getBuildingId());
+        dto.setFloorId(floor.getFloorId());
+        int total = floor.getTotalCapacity();
+        int occupied = total - floor.getAvailableCapacity();
+        dto.setTotalSlots(total);
+        dto.setOccupiedSlots(occupied);
+        dto.setOccupancy(total == 0 ? 0 : (double) occupied / total);
+        return dto;
+    }
+}
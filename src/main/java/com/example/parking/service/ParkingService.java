@@ -2,10 +2,15 @@ package com.example.parking.service;
 
 import java.util.List;
 
+import com.example.parking.dto.BatchParkingRequestDTO;
+import com.example.parking.dto.BatchParkingResponseDTO;
 import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.CompactAvailabilityRequestDTO;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.dto.ParkingRequestDTO;
 import com.example.parking.dto.ParkingResponseDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
 
 /**
  * Service interface defining the business operations for parking management.
@@ -27,6 +32,20 @@ public interface ParkingService {
      */
     ParkingResponseDTO parkVehicle(ParkingRequestDTO request);
 
+    /**
+     * Parks a group of vehicles in one call
+     * @param request Vehicles to park and whether the batch is all-or-nothing
+     * @return Per-vehicle results in request order
+     */
+    BatchParkingResponseDTO parkVehicles(BatchParkingRequestDTO request);
+
+    /**
+     * Releases the slot held by a departing vehicle
+     * @param request Contains the registration number of the vehicle
+     * @return Response containing the released slot or the failure reason
+     */
+    ParkingResponseDTO exitVehicle(VehicleExitRequestDTO request);
+
     /**
      * Gets availability details for a specific building floor
      * @param buildingId ID of the building
@@ -35,9 +54,33 @@ public interface ParkingService {
      */
     FloorAvailabilityDTO getFloorAvailability(String buildingId, String floorId);
 
+    /**
+     * Gets one page of a floor's free slots as IDs, runs or bitmaps
+     * @param request Building, floor, format and paging parameters
+     * @return Compact availability page, or null if the floor does not exist
+     * @throws IllegalArgumentException if the cursor does not belong to the floor
+     */
+    CompactFloorAvailabilityDTO getCompactFloorAvailability(CompactAvailabilityRequestDTO request);
+
     /**
      * Gets parking capacity details by building and floor
      * @return List of building capacity details
      */
     List<BuildingCapacityDTO> checkCapacity();
+
+    /**
+     * Gets the version of the capacity data served by {@link #checkCapacity()}, which advances
+     * once a published view includes an occupancy change
+     * @return Version of the currently published capacity view
+     */
+    long getCapacityVersion();
+
+    /**
+     * Gets the version of a floor's availability, which advances on every occupancy change on the floor.
+     * Floor availability is read through to the repository, so it is never older than this version.
+     * @param buildingId ID of the building
+     * @param floorId ID of the floor
+     * @return Floor version, or -1 if the floor does not exist
+     */
+    long getFloorVersion(String buildingId, String floorId);
 } 
\ No newline at end of file
@@ -1,22 +1,28 @@
 package com.example.parking.service;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.example.parking.dto.AvailabilityFormat;
+import com.example.parking.dto.BatchParkingRequestDTO;
+import com.example.parking.dto.BatchParkingResponseDTO;
 import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.CompactAvailabilityRequestDTO;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.dto.ParkingRequestDTO;
 import com.example.parking.dto.ParkingResponseDTO;
-import com.example.parking.entity.Building;
-import com.example.parking.entity.Floor;
+import com.example.parking.dto.VehicleExitRequestDTO;
 import com.example.parking.entity.ParkingSlot;
-import com.example.parking.entity.ParkingSpace;
 import com.example.parking.entity.Vehicle;
 import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.readmodel.AvailabilityReadModel;
 import com.example.parking.repository.ParkingRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -36,51 +42,37 @@ public class ParkingServiceImpl implements ParkingService {
     private final ParkingRepository parkingRepository;
 
     /**
-     * Constructor injection for ParkingRepository
+     * Park latency and allocation-failure counters
+     */
+    private final ParkingMetrics parkingMetrics;
+
+    /**
+     * Copy-on-write view that serves capacity and availability reads
+     */
+    private final AvailabilityReadModel availabilityReadModel;
+    private final CompactAvailabilityEncoder compactEncoder = new CompactAvailabilityEncoder();
+
+    /**
+     * Constructor injection for ParkingRepository, ParkingMetrics and AvailabilityReadModel
      * @param parkingRepository Repository for parking data operations
+     * @param parkingMetrics Counters updated by park requests
+     * @param availabilityReadModel Read model for capacity and availability queries
      */
-    public ParkingServiceImpl(ParkingRepository parkingRepository) {
+    public ParkingServiceImpl(ParkingRepository parkingRepository, ParkingMetrics parkingMetrics,
+                              AvailabilityReadModel availabilityReadModel) {
         this.parkingRepository = parkingRepository;
+        this.parkingMetrics = parkingMetrics;
+        this.availabilityReadModel = availabilityReadModel;
     }
 
     /**
      * Checks and returns the available capacity for each vehicle type
-     * @return Map of vehicle types and their available slot counts
+     * Served from the published read model, so unchanged capacity is returned without copying
+     * @return Capacity of every building and floor, as one consistent view
      */
     @Override
     public List<BuildingCapacityDTO> checkCapacity() {
-        return parkingRepository.findAllStructures(Building.class).stream()
-            .map(this::mapBuildingToCapacityDTO)
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Maps building entity to DTO with capacity information
-     * Calculates available slots for each vehicle type
-     * @param building Building entity to be mapped
-     * @return DTO containing building capacity information
-     */
-    private BuildingCapacityDTO mapBuildingToCapacityDTO(Building building) {
-        BuildingCapacityDTO dto = new BuildingCapacityDTO();
-        dto.setBuildingId(building.getBuildingId());
-        dto.setFloors(building.getFloors().stream()
-            .map(this::mapFloorToCapacityDTO)
-            .collect(Collectors.toList()));
-        return dto;
-    }
-
-    private BuildingCapacityDTO.FloorCapacityDTO mapFloorToCapacityDTO(Floor floor) {
-        BuildingCapacityDTO.FloorCapacityDTO dto = new BuildingCapacityDTO.FloorCapacityDTO();
-        dto.setFloorId(floor.getFloorId());
-        
-        Map<VehicleType, Integer> availableSlots = new EnumMap<>(VehicleType.class);
-        for (VehicleType type : VehicleType.values()) {
-            availableSlots.put(type, (int) floor.getParkingSlots().stream()
-                .filter(slot -> slot.getVehicleType() == type && !slot.isOccupied())
-                .count());
-        }
-        dto.setAvailableSlots(availableSlots);
-        return dto;
+        return availabilityReadModel.getView().getBuildings();
     }
 
     /**
@@ -109,42 +101,253 @@ public class ParkingServiceImpl implements ParkingService {
     /**
      * Attempts to park a vehicle in an available slot
      * Implements the core parking logic:
-     * 1. Finds available slot
+     * 1. Rejects vehicles that are already parked
      * 2. Creates vehicle record
-     * 3. Updates slot status
-     * 4. Persists changes
+     * 3. Atomically claims a free slot from the repository pool
+     * 4. Reports the allocated slot
      * @param request Vehicle parking request with type and registration
      * @return Response with parking status and allocated slot
      */
     @Override
     public ParkingResponseDTO parkVehicle(ParkingRequestDTO request) {
-        List<ParkingSpace> availableSpaces = parkingRepository.findAvailableSpaces(request.getVehicleType());
-        
-        if (availableSpaces.isEmpty()) {
+        return timedAllocate(request, false);
+    }
+
+    private ParkingResponseDTO timedAllocate(ParkingRequestDTO request, boolean hold) {
+        long started = System.nanoTime();
+        try {
+            return allocateSlot(request, hold);
+        } finally {
+            parkingMetrics.recordPark(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Runs the park steps described on {@link #parkVehicle} without timing them
+     * @param hold Whether to hold the slot until the caller confirms it, rather than park right away
+     */
+    private ParkingResponseDTO allocateSlot(ParkingRequestDTO request, boolean hold) {
+        Optional<ParkingSlot> currentSlot = parkingRepository.findByRegistrationNumber(request.getRegistrationNumber());
+        if (currentSlot.isPresent()) {
             ParkingResponseDTO response = new ParkingResponseDTO();
             response.setSuccess(false);
-            response.setMessage("No available slots for " + request.getVehicleType());
+            response.setSlotId(currentSlot.get().getId());
+            response.setMessage("Vehicle " + request.getRegistrationNumber() + " is already parked");
             return response;
         }
 
-        ParkingSlot slot = (ParkingSlot) availableSpaces.get(0);
         Vehicle vehicle = new Vehicle();
         vehicle.setRegistrationNumber(request.getRegistrationNumber());
         vehicle.setType(request.getVehicleType());
-        
-        slot.setOccupied(true);
-        slot.setParkedVehicle(vehicle);
-        parkingRepository.save(slot);
+
+        Optional<ParkingSlot> claimedSlot = hold
+            ? parkingRepository.holdAvailableSlot(vehicle)
+            : parkingRepository.claimAvailableSlot(vehicle);
+
+        if (claimedSlot.isEmpty()) {
+            parkingMetrics.recordAllocationFailure(request.getVehicleType());
+            ParkingResponseDTO response = new ParkingResponseDTO();
+            response.setSuccess(false);
+            response.setMessage("No available slots for " + request.getVehicleType());
+            return response;
+        }
 
         ParkingResponseDTO response = new ParkingResponseDTO();
         response.setSuccess(true);
-        response.setSlotId(slot.getId());
+        response.setSlotId(claimedSlot.get().getId());
         response.setMessage("Vehicle parked successfully");
         return response;
     }
 
+    /**
+     * Parks a group of vehicles in one call
+     * Each vehicle goes through the same lock-free claim as {@link #parkVehicle}, so
+     * the batch saves the per-request HTTP and JSON cost without serialising other callers.
+     * In all-or-nothing mode the batch is rejected up front when a vehicle lacks a registration
+     * number or type, or the free counters cannot cover it. Slots are then only held, and the
+     * holds are confirmed once every vehicle has one, or released if a later claim still fails,
+     * so a rolled-back batch never reaches the journal or the session ledger
+     * @param request Vehicles to park and the batch semantics
+     * @return Per-vehicle results in request order
+     */
+    @Override
+    public BatchParkingResponseDTO parkVehicles(BatchParkingRequestDTO request) {
+        List<ParkingRequestDTO> requests = request.getRequests() == null ? List.of() : request.getRequests();
+        BatchParkingResponseDTO response = new BatchParkingResponseDTO();
+        if (request.isAllOrNothing()) {
+            return parkAllOrNothing(requests, response);
+        }
+
+        List<ParkingResponseDTO> results = response.getResults();
+        int parked = 0;
+        for (ParkingRequestDTO item : requests) {
+            ParkingResponseDTO result = parkVehicle(item);
+            results.add(result);
+            if (result.isSuccess()) {
+                parked++;
+            }
+        }
+
+        response.setParkedCount(parked);
+        response.setSuccess(parked == requests.size());
+        response.setMessage(parked + " of " + requests.size() + " vehicles parked");
+        return response;
+    }
+
+    private BatchParkingResponseDTO parkAllOrNothing(List<ParkingRequestDTO> requests, BatchParkingResponseDTO response) {
+        if (!isComplete(requests)) {
+            return reject(requests, response, "Registration number and vehicle type are required",
+                "Batch rejected: every vehicle needs a registration number and type");
+        }
+        if (!hasCapacityFor(requests)) {
+            return reject(requests, response, "Insufficient capacity for batch", "Batch rejected: insufficient capacity");
+        }
+
+        List<ParkingResponseDTO> results = response.getResults();
+        for (ParkingRequestDTO item : requests) {
+            ParkingResponseDTO result = timedAllocate(item, true);
+            results.add(result);
+            if (!result.isSuccess()) {
+                rollback(requests, results);
+                response.setMessage("Batch rolled back: " + result.getMessage());
+                return response;
+            }
+        }
+
+        int parked = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (parkingRepository.confirmHold(requests.get(i).getRegistrationNumber(), results.get(i).getSlotId())) {
+                parked++;
+            } else {
+                // The vehicle exited through another call between its claim and the confirmation
+                results.set(i, failure("Vehicle exited before the batch completed"));
+            }
+        }
+        response.setParkedCount(parked);
+        response.setSuccess(parked == requests.size());
+        response.setMessage(parked + " of " + requests.size() + " vehicles parked");
+        return response;
+    }
+
+    /**
+     * Checks that every vehicle of a batch can be held, which needs a registration number
+     */
+    private static boolean isComplete(List<ParkingRequestDTO> requests) {
+        for (ParkingRequestDTO item : requests) {
+            if (item.getVehicleType() == null || item.getRegistrationNumber() == null
+                    || item.getRegistrationNumber().isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BatchParkingResponseDTO reject(List<ParkingRequestDTO> requests, BatchParkingResponseDTO response,
+                                           String itemMessage, String batchMessage) {
+        for (ParkingRequestDTO item : requests) {
+            response.getResults().add(failure(itemMessage));
+        }
+        response.setMessage(batchMessage);
+        return response;
+    }
+
+    /**
+     * Checks the free-slot counters against the demand of a batch
+     * Only a pre-check: concurrent callers may still take the slots before they are claimed
+     */
+    private boolean hasCapacityFor(List<ParkingRequestDTO> requests) {
+        Map<VehicleType, Integer> demand = new EnumMap<>(VehicleType.class);
+        for (ParkingRequestDTO item : requests) {
+            if (item.getVehicleType() != null) {
+                demand.merge(item.getVehicleType(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<VehicleType, Integer> entry : demand.entrySet()) {
+            if (parkingRepository.countAvailableSlots(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases the slots held so far by an all-or-nothing batch and marks
+     * the remaining vehicles as not attempted
+     */
+    private void rollback(List<ParkingRequestDTO> requests, List<ParkingResponseDTO> results) {
+        for (int i = 0; i < results.size(); i++) {
+            ParkingResponseDTO result = results.get(i);
+            if (result.isSuccess()) {
+                parkingRepository.releaseHold(requests.get(i).getRegistrationNumber(), result.getSlotId());
+                results.set(i, failure("Rolled back: batch could not be fully allocated"));
+            }
+        }
+        List<ParkingResponseDTO> skipped = new ArrayList<>();
+        for (int i = results.size(); i < requests.size(); i++) {
+            skipped.add(failure("Not attempted: batch rolled back"));
+        }
+        results.addAll(skipped);
+    }
+
+    private ParkingResponseDTO failure(String message) {
+        ParkingResponseDTO response = new ParkingResponseDTO();
+        response.setSuccess(false);
+        response.setMessage(message);
+        return response;
+    }
+
+    /**
+     * Releases the slot held by a departing vehicle
+     * The slot is found through the repository's registration-number index
+     * and returned to the free pool atomically, so concurrent exits release it once
+     * @param request Exit request with the vehicle's registration number
+     * @return Response with the released slot, or failure if the vehicle is not parked
+     */
+    @Override
+    public ParkingResponseDTO exitVehicle(VehicleExitRequestDTO request) {
+        Optional<ParkingSlot> releasedSlot = parkingRepository.releaseSlot(request.getRegistrationNumber());
+
+        ParkingResponseDTO response = new ParkingResponseDTO();
+        if (releasedSlot.isEmpty()) {
+            response.setSuccess(false);
+            response.setMessage("Vehicle " + request.getRegistrationNumber() + " is not parked");
+            return response;
+        }
+        response.setSuccess(true);
+        response.setSlotId(releasedSlot.get().getId());
+        response.setMessage("Vehicle exited successfully");
+        return response;
+    }
+
     @Override
     public FloorAvailabilityDTO getFloorAvailability(String buildingId, String floorId) {
-        return parkingRepository.getFloorAvailability(buildingId, floorId);
+        return availabilityReadModel.getFloorAvailability(buildingId, floorId);
+    }
+
+    /**
+     * Encodes a page of the floor's free slots from the read model's cached availability
+     * @param request Building, floor, format and paging parameters
+     * @return Compact availability page, or null if the floor does not exist
+     */
+    @Override
+    public CompactFloorAvailabilityDTO getCompactFloorAvailability(CompactAvailabilityRequestDTO request) {
+        FloorAvailabilityDTO availability = availabilityReadModel.getFloorAvailability(
+            request.getBuildingId(), request.getFloorId());
+        if (availability == null) {
+            return null;
+        }
+        AvailabilityFormat format = request.getFormat() == null ? AvailabilityFormat.RANGES : request.getFormat();
+        return compactEncoder.encode(availability, format, request.getCursor(), request.getLimit());
+    }
+
+    @Override
+    public long getCapacityVersion() {
+        // The version of the view checkCapacity serves, not the live repository version it may lag
+        return availabilityReadModel.getView().getVersion();
+    }
+
+    @Override
+    public long getFloorVersion(String buildingId, String floorId) {
+        return parkingRepository.getFloorVersion(buildingId, floorId);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.parking.service;
+
+import com.example.parking.dto.ReservationRequestDTO;
+import com.example.parking.dto.ReservationResponseDTO;
+
+/**
+ * Service interface for holding slots for vehicles that have not arrived yet
+ */
+public interface ReservationService {
+
+    /**
+     * Holds a free slot for a vehicle until the hold expires
+     * @param request Vehicle the slot is held for
+     * @return Response containing the reservation ID, held slot and expiry time
+     */
+    ReservationResponseDTO reserve(ReservationRequestDTO request);
+
+    /**
+     * Converts a hold into a parked vehicle when the vehicle arrives
+     * @param reservationId ID returned by {@link #reserve}
+     * @return Response containing the slot, or the failure reason if the hold has lapsed
+     */
+    ReservationResponseDTO confirm(String reservationId);
+
+    /**
+     * Releases a held slot before it expires
+     * @param reservationId ID returned by {@link #reserve}
+     * @return Response containing the released slot, or the failure reason
+     */
+    ReservationResponseDTO cancel(String reservationId);
+
+    /**
+     * Gets the number of holds that are neither confirmed, cancelled nor expired
+     */
+    int getActiveReservationCount();
+}
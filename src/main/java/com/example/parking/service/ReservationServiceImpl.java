@@ -0,0 +1,231 @@
+package com.example.parking.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.ReservationRequestDTO;
+import com.example.parking.dto.ReservationResponseDTO;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.repository.OccupancyListener;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.reservation.TimingWheel;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of slot reservations.
+ * A reservation holds a slot for the vehicle right away, so the slot leaves the free pool
+ * and availability as if the vehicle had parked, but the journal and the session ledger only
+ * see the vehicle once the hold is confirmed. Expiries are kept in a timing wheel that a single
+ * thread advances every tick; expired holds are released through the repository by plate and
+ * slot, so it never releases a vehicle that has since parked or a later hold of the same vehicle. Confirm, cancel, expiry and an exit of the holding
+ * vehicle race by removing the reservation from the active map, so exactly one of them acts on a hold.
+ */
+@Service
+@Slf4j
+public class ReservationServiceImpl implements ReservationService, OccupancyListener {
+    private final ParkingRepository parkingRepository;
+    private final long holdMillis;
+    private final long tickMillis;
+    private final TimingWheel<Hold> expiries;
+
+    /** Active holds by reservation ID */
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    /** Active holds by registration number, so an exit of the holding vehicle cancels its hold */
+    private final Map<String, Hold> holdsByPlate = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService expirer;
+
+    /**
+     * Held slot and the wheel entry that expires it
+     */
+    private static final class Hold {
+        final String reservationId;
+        final String registrationNumber;
+        final String slotId;
+        final long expiresAtMillis;
+        volatile TimingWheel.Timeout<Hold> timeout;
+
+        Hold(String reservationId, String registrationNumber, String slotId, long expiresAtMillis) {
+            this.reservationId = reservationId;
+            this.registrationNumber = registrationNumber;
+            this.slotId = slotId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /**
+     * Constructor injection for the repository and reservation settings
+     * @param parkingRepository Repository slots are claimed from and released to
+     * @param holdMillis Time a slot is held before the reservation lapses
+     * @param tickMillis Resolution of the expiry wheel
+     */
+    public ReservationServiceImpl(ParkingRepository parkingRepository,
+                                  @Value("${parking.reservation.hold-ms:600000}") long holdMillis,
+                                  @Value("${parking.reservation.tick-ms:1000}") long tickMillis) {
+        this.parkingRepository = parkingRepository;
+        this.holdMillis = holdMillis;
+        this.tickMillis = tickMillis;
+        this.expiries = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        parkingRepository.addOccupancyListener(this);
+        expirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expirer.scheduleWithFixedDelay(() -> expireDue(System.currentTimeMillis()),
+            tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        expirer.shutdownNow();
+    }
+
+    @Override
+    public ReservationResponseDTO reserve(ReservationRequestDTO request) {
+        if (request.getRegistrationNumber() == null || request.getRegistrationNumber().isBlank()) {
+            return failure("Registration number is required to reserve a slot");
+        }
+        Optional<ParkingSlot> currentSlot = parkingRepository.findByRegistrationNumber(request.getRegistrationNumber());
+        if (currentSlot.isPresent()) {
+            ReservationResponseDTO response = failure("Vehicle " + request.getRegistrationNumber()
+                + " is already parked or holds a slot");
+            response.setSlotId(currentSlot.get().getId());
+            return response;
+        }
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(request.getRegistrationNumber());
+        vehicle.setType(request.getVehicleType());
+        Optional<ParkingSlot> claimedSlot = parkingRepository.holdAvailableSlot(vehicle);
+        if (claimedSlot.isEmpty()) {
+            return failure("No available slots for " + request.getVehicleType());
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), request.getRegistrationNumber(),
+            claimedSlot.get().getId(), System.currentTimeMillis() + holdMillis);
+        // Publish before scheduling, so an expiry always finds the hold it is meant to release
+        holds.put(hold.reservationId, hold);
+        holdsByPlate.put(hold.registrationNumber, hold);
+        hold.timeout = expiries.schedule(hold, hold.expiresAtMillis);
+
+        ReservationResponseDTO response = success(hold, "Slot reserved");
+        response.setExpiresAt(Instant.ofEpochMilli(hold.expiresAtMillis));
+        return response;
+    }
+
+    @Override
+    public ReservationResponseDTO confirm(String reservationId) {
+        Hold hold = take(reservationId);
+        if (hold == null || !parkingRepository.confirmHold(hold.registrationNumber, hold.slotId)) {
+            return failure("Reservation " + reservationId + " not found or expired");
+        }
+        return success(hold, "Reservation confirmed, vehicle parked");
+    }
+
+    @Override
+    public ReservationResponseDTO cancel(String reservationId) {
+        Hold hold = take(reservationId);
+        if (hold == null) {
+            return failure("Reservation " + reservationId + " not found or expired");
+        }
+        parkingRepository.releaseHold(hold.registrationNumber, hold.slotId);
+        return success(hold, "Reservation cancelled");
+    }
+
+    @Override
+    public int getActiveReservationCount() {
+        return holds.size();
+    }
+
+    /**
+     * Releases every hold whose expiry time has passed
+     * @param nowMillis Current time
+     * @return Number of holds released
+     */
+    int expireDue(long nowMillis) {
+        List<Hold> due = expiries.advance(nowMillis);
+        int expired = 0;
+        for (Hold hold : due) {
+            if (holds.remove(hold.reservationId, hold)) {
+                holdsByPlate.remove(hold.registrationNumber, hold);
+                // By slot too: the vehicle may have exited and reserved again before this hold was published
+                parkingRepository.releaseHold(hold.registrationNumber, hold.slotId);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} reservations", expired);
+        }
+        return expired;
+    }
+
+    @Override
+    public void slotOccupied(long slotKey, String registrationNumber) {
+    }
+
+    @Override
+    public void slotReleased(long slotKey, String registrationNumber) {
+    }
+
+    /**
+     * Cancels the reservation of a vehicle that exited while its slot was still held
+     */
+    @Override
+    public void holdReleased(long slotKey, String registrationNumber) {
+        Hold hold = registrationNumber == null ? null : holdsByPlate.get(registrationNumber);
+        if (hold != null) {
+            take(hold.reservationId);
+        }
+    }
+
+    /**
+     * Removes an active hold and its wheel entry
+     * @return Hold, or null if it was already confirmed, cancelled or expired
+     */
+    private Hold take(String reservationId) {
+        Hold hold = reservationId == null ? null : holds.remove(reservationId);
+        if (hold != null) {
+            holdsByPlate.remove(hold.registrationNumber, hold);
+            if (hold.timeout != null) {
+                expiries.cancel(hold.timeout);
+            }
+        }
+        return hold;
+    }
+
+    private static ReservationResponseDTO success(Hold hold, String message) {
+        ReservationResponseDTO response = new ReservationResponseDTO();
+        response.setSuccess(true);
+        response.setReservationId(hold.reservationId);
+        response.setSlotId(hold.slotId);
+        response.setMessage(message);
+        return response;
+    }
+
+    private static ReservationResponseDTO failure(String message) {
+        ReservationResponseDTO response = new ReservationResponseDTO();
+        response.setSuccess(false);
+        response.setMessage(message);
+        return response;
+    }
+}
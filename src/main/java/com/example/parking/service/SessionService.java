@@ -0,0 +1,28 @@
+package com.example.parking.service;
+
+import com.example.parking.dto.DwellStatsRequestDTO;
+import com.example.parking.dto.DwellStatsResponseDTO;
+import com.example.parking.dto.SessionQueryRequestDTO;
+import com.example.parking.dto.SessionQueryResponseDTO;
+
+/**
+ * Service interface for querying the history of completed parking sessions
+ */
+public interface SessionService {
+
+    /**
+     * Finds completed sessions that overlap a time range, optionally on one floor
+     * @param request Time range, floor and limit
+     * @return Matching sessions and their total count
+     * @throws IllegalArgumentException if the range is inverted or the floor is incomplete or malformed
+     */
+    SessionQueryResponseDTO findSessions(SessionQueryRequestDTO request);
+
+    /**
+     * Gets parking duration percentiles of a floor per vehicle type over a rolling window
+     * @param request Floor and window
+     * @return Percentiles per vehicle type; zero for types with no completed session
+     * @throws IllegalArgumentException if the floor is missing or malformed
+     */
+    DwellStatsResponseDTO getDwellStats(DwellStatsRequestDTO request);
+}
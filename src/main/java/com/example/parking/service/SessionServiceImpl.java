@@ -0,0 +1,120 @@
+package com.example.parking.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.DwellPercentilesDTO;
+import com.example.parking.dto.DwellStatsRequestDTO;
+import com.example.parking.dto.DwellStatsResponseDTO;
+import com.example.parking.dto.DwellWindow;
+import com.example.parking.dto.ParkingSessionDTO;
+import com.example.parking.dto.SessionQueryRequestDTO;
+import com.example.parking.dto.SessionQueryResponseDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.ledger.DwellStats;
+import com.example.parking.ledger.DwellSummary;
+import com.example.parking.ledger.SessionLedger;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Implementation of session queries over the columnar session ledger.
+ * The ledger scan filters primitive columns; DTOs are only built for the returned page.
+ * Dwell-time percentiles come from per-floor histograms and never scan the ledger.
+ */
+@Service
+public class SessionServiceImpl implements SessionService {
+    static final int DEFAULT_LIMIT = 1_000;
+    static final int MAX_LIMIT = 10_000;
+
+    private final SessionLedger sessionLedger;
+    private final DwellStats dwellStats;
+
+    /**
+     * Constructor injection for SessionLedger and DwellStats
+     * @param sessionLedger Ledger of completed sessions
+     * @param dwellStats Dwell-time histograms of completed sessions
+     */
+    public SessionServiceImpl(SessionLedger sessionLedger, DwellStats dwellStats) {
+        this.sessionLedger = sessionLedger;
+        this.dwellStats = dwellStats;
+    }
+
+    @Override
+    public SessionQueryResponseDTO findSessions(SessionQueryRequestDTO request) {
+        long from = request.getFrom() == null ? Long.MIN_VALUE / 2 : request.getFrom().toEpochMilli();
+        long to = request.getTo() == null ? System.currentTimeMillis() + 1 : request.getTo().toEpochMilli();
+        if (from > to) {
+            throw new IllegalArgumentException("Range starts after it ends");
+        }
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+
+        SessionQueryResponseDTO response = new SessionQueryResponseDTO();
+        long matched = sessionLedger.scan(from, to, floorOf(request), limit,
+            (slotKey, registrationNumber, entryMillis, exitMillis) -> {
+                ParkingSessionDTO session = new ParkingSessionDTO();
+                session.setSlotId(SlotKeyCodec.format(slotKey));
+                session.setRegistrationNumber(registrationNumber);
+                session.setEntryTime(Instant.ofEpochMilli(entryMillis));
+                session.setExitTime(Instant.ofEpochMilli(exitMillis));
+                session.setDurationSeconds(Duration.ofMillis(exitMillis - entryMillis).toSeconds());
+                response.getSessions().add(session);
+            });
+        response.setMatchedSessions(matched);
+        return response;
+    }
+
+    @Override
+    public DwellStatsResponseDTO getDwellStats(DwellStatsRequestDTO request) {
+        int building = parseLevel(request.getBuildingId(), 'B', SlotKeyCodec.MAX_BUILDING);
+        int floor = parseLevel(request.getFloorId(), 'F', SlotKeyCodec.MAX_FLOOR);
+        if (building < 0 || floor < 0) {
+            throw new IllegalArgumentException("Invalid floor: " + request.getBuildingId() + "-" + request.getFloorId());
+        }
+        DwellWindow window = request.getWindow() == null ? DwellWindow.DAY : request.getWindow();
+
+        DwellStatsResponseDTO response = new DwellStatsResponseDTO();
+        response.setBuildingId(request.getBuildingId());
+        response.setFloorId(request.getFloorId());
+        response.setWindow(window);
+        for (VehicleType type : VehicleType.values()) {
+            DwellSummary summary = dwellStats.summarize(building, floor, type, window);
+            DwellPercentilesDTO percentiles = new DwellPercentilesDTO();
+            if (summary != null) {
+                percentiles.setSessions(summary.getCount());
+                percentiles.setP50Seconds(summary.valueAtPercentile(50));
+                percentiles.setP95Seconds(summary.valueAtPercentile(95));
+                percentiles.setP99Seconds(summary.valueAtPercentile(99));
+                percentiles.setMaxSeconds(summary.getMax());
+            }
+            response.getVehicleTypes().put(type, percentiles);
+        }
+        return response;
+    }
+
+    /**
+     * Gets the floor part of slot keys the query is restricted to
+     * @return Floor part, or -1 if the query covers every floor
+     */
+    private static long floorOf(SessionQueryRequestDTO request) {
+        if (request.getBuildingId() == null && request.getFloorId() == null) {
+            return -1;
+        }
+        int building = parseLevel(request.getBuildingId(), 'B', SlotKeyCodec.MAX_BUILDING);
+        int floor = parseLevel(request.getFloorId(), 'F', SlotKeyCodec.MAX_FLOOR);
+        if (building < 0 || floor < 0) {
+            throw new IllegalArgumentException("Invalid floor: " + request.getBuildingId() + "-" + request.getFloorId());
+        }
+        return SlotKeyCodec.floorOf(building, floor);
+    }
+
+    /**
+     * Parses a building or floor ID that fits in a slot key
+     * @return Level number, or -1 if the ID is missing, malformed or out of range
+     */
+    private static int parseLevel(String id, char prefix, int max) {
+        int level = SlotKeyCodec.parseLevel(id, prefix);
+        return level > max ? -1 : level;
+    }
+}
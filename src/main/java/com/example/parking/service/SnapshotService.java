@@ -0,0 +1,22 @@
+package com.example.parking.service;
+
+import com.example.parking.dto.SnapshotResponseDTO;
+
+/**
+ * Service interface for snapshotting and restoring the full parking state.
+ */
+public interface SnapshotService {
+
+    /**
+     * Writes topology and occupancy to the configured snapshot file without stopping parking traffic
+     * @return Description of the written snapshot, or the failure reason
+     */
+    SnapshotResponseDTO createSnapshot();
+
+    /**
+     * Replaces the repository state with the configured snapshot file.
+     * Intended for startup, before requests are served.
+     * @return Description of the loaded snapshot, or the failure reason
+     */
+    SnapshotResponseDTO loadSnapshot();
+}
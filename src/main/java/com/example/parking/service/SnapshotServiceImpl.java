@@ -0,0 +1,135 @@
+package com.example.parking.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import com.example.parking.dto.SnapshotResponseDTO;
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.ParkingRepository;
+import com.example.parking.snapshot.SnapshotFile;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of snapshot and restore.
+ * The repository copies its floors one at a time while parking continues, and the copy is
+ * written in the compact SnapshotFile format. With parking.snapshot.load-on-startup=true an
+ * existing snapshot replaces the sample data before the application serves requests; the
+ * occupancy journal, if enabled, is replayed afterwards and takes precedence.
+ */
+@Service
+@DependsOn("topologyInitializer")
+@Slf4j
+public class SnapshotServiceImpl implements SnapshotService {
+    private final ParkingRepository parkingRepository;
+    private final Path path;
+    private final boolean loadOnStartup;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Constructor injection for the repository and snapshot settings
+     * @param parkingRepository Repository to snapshot and restore
+     * @param path Snapshot file location
+     * @param loadOnStartup Whether to restore the snapshot when the application starts
+     */
+    public SnapshotServiceImpl(ParkingRepository parkingRepository,
+                               @Value("${parking.snapshot.path:data/parking.snapshot}") String path,
+                               @Value("${parking.snapshot.load-on-startup:false}") boolean loadOnStartup) {
+        this.parkingRepository = parkingRepository;
+        this.path = Paths.get(path);
+        this.loadOnStartup = loadOnStartup;
+    }
+
+    @PostConstruct
+    public void loadOnStartup() {
+        if (!loadOnStartup) {
+            return;
+        }
+        if (!Files.exists(path)) {
+            log.info("No snapshot at {}, keeping initial data", path);
+            return;
+        }
+        SnapshotResponseDTO loaded = loadSnapshot();
+        if (!loaded.isSuccess()) {
+            throw new IllegalStateException(loaded.getMessage());
+        }
+        log.info("Loaded snapshot {} with {} slots in {} ms", path, loaded.getSlotCount(), loaded.getDurationMillis());
+    }
+
+    @Override
+    public SnapshotResponseDTO createSnapshot() {
+        long started = System.nanoTime();
+        // One writer at a time, so an older export never replaces a newer snapshot
+        writeLock.lock();
+        try {
+            List<FloorSnapshot> floors = parkingRepository.exportFloors();
+            long size = SnapshotFile.write(path, floors);
+            SnapshotResponseDTO response = describe(floors, started);
+            response.setSizeBytes(size);
+            response.setMessage("Snapshot written");
+            return response;
+        } catch (IOException e) {
+            log.error("Failed to write snapshot {}", path, e);
+            return failure("Failed to write snapshot: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public SnapshotResponseDTO loadSnapshot() {
+        long started = System.nanoTime();
+        try {
+            List<FloorSnapshot> floors = SnapshotFile.read(path);
+            parkingRepository.importFloors(floors);
+            SnapshotResponseDTO response = describe(floors, started);
+            response.setSizeBytes(Files.size(path));
+            response.setMessage("Snapshot loaded");
+            return response;
+        } catch (IOException e) {
+            log.error("Failed to load snapshot {}", path, e);
+            return failure("Failed to load snapshot: " + e.getMessage());
+        }
+    }
+
+    private SnapshotResponseDTO describe(List<FloorSnapshot> floors, long started) {
+        SnapshotResponseDTO response = new SnapshotResponseDTO();
+        response.setPath(path.toString());
+        response.setFloorCount(floors.size());
+        long slots = 0;
+        long occupied = 0;
+        for (FloorSnapshot floor : floors) {
+            for (int capacity : floor.getCapacities()) {
+                slots += capacity;
+            }
+            for (long[] words : floor.getOccupied()) {
+                for (long word : words) {
+                    occupied += Long.bitCount(word);
+                }
+            }
+        }
+        response.setSlotCount(slots);
+        response.setOccupiedCount(occupied);
+        response.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        response.setSuccess(true);
+        return response;
+    }
+
+    private SnapshotResponseDTO failure(String message) {
+        SnapshotResponseDTO response = new SnapshotResponseDTO();
+        response.setPath(path.toString());
+        response.setSuccess(false);
+        response.setMessage(message);
+        return response;
+    }
+}
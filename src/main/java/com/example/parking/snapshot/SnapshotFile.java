@@ -0,0 +1,160 @@
+package com.example.parking.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.FloorSnapshot;
+
+/**
+ * Binary snapshot of the parking topology and occupancy.
+ * Layout: header (magic, version, creation time, vehicle type count, floor count), then per
+ * floor its building and floor numbers and, per vehicle type, the slot count, the occupancy
+ * words and the registration numbers of occupied slots as (index, UTF) pairs. A CRC32C of
+ * everything before it closes the file. Occupancy is stored as raw bitset words, so loading
+ * cost follows the number of parked vehicles rather than the number of slots.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x504B534E;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot to a uniquely named temporary file and moves it into place, so a crash
+     * never leaves a half-written snapshot behind and concurrent writers never share a file
+     * @param path Snapshot file
+     * @param floors Floors to write
+     * @return Size of the written file in bytes
+     */
+    public static long write(Path path, List<FloorSnapshot> floors) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temporary, floors);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return Files.size(path);
+    }
+
+    private static void writeTo(Path temporary, List<FloorSnapshot> floors) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(VehicleType.values().length);
+            out.writeInt(floors.size());
+            for (FloorSnapshot floor : floors) {
+                writeFloor(out, floor);
+            }
+            out.flush();
+            new DataOutputStream(raw).writeLong(crc.getValue());
+        }
+    }
+
+    /**
+     * Reads a snapshot and verifies its checksum
+     * @param path Snapshot file
+     * @return Floors in file order
+     * @throws IOException if the file is unreadable, of another format or corrupt
+     */
+    public static List<FloorSnapshot> read(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a parking snapshot: " + path);
+            }
+            in.readLong();
+            int types = in.readInt();
+            if (types != VehicleType.values().length) {
+                throw new IOException("Snapshot has " + types + " vehicle types, expected " + VehicleType.values().length);
+            }
+            int floorCount = in.readInt();
+            List<FloorSnapshot> floors = new ArrayList<>(floorCount);
+            for (int i = 0; i < floorCount; i++) {
+                floors.add(readFloor(in, types));
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(raw).readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return floors;
+        }
+    }
+
+    private static void writeFloor(DataOutputStream out, FloorSnapshot floor) throws IOException {
+        out.writeInt(floor.getBuildingNumber());
+        out.writeInt(floor.getFloorNumber());
+        for (int type = 0; type < VehicleType.values().length; type++) {
+            out.writeInt(floor.getCapacities()[type]);
+            long[] words = floor.getOccupied()[type];
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+            String[] plates = floor.getRegistrationNumbers()[type];
+            int plateCount = 0;
+            for (int index = 0; index < plates.length; index++) {
+                if (plates[index] != null && floor.isOccupied(type, index)) {
+                    plateCount++;
+                }
+            }
+            out.writeInt(plateCount);
+            for (int index = 0; index < plates.length; index++) {
+                if (plates[index] != null && floor.isOccupied(type, index)) {
+                    out.writeInt(index);
+                    out.writeUTF(plates[index]);
+                }
+            }
+        }
+    }
+
+    private static FloorSnapshot readFloor(DataInputStream in, int types) throws IOException {
+        int buildingNumber = in.readInt();
+        int floorNumber = in.readInt();
+        int[] capacities = new int[types];
+        long[][] occupied = new long[types][];
+        String[][] plates = new String[types][];
+        for (int type = 0; type < types; type++) {
+            capacities[type] = in.readInt();
+            long[] words = new long[in.readInt()];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = in.readLong();
+            }
+            occupied[type] = words;
+            plates[type] = new String[capacities[type]];
+            int plateCount = in.readInt();
+            for (int i = 0; i < plateCount; i++) {
+                int index = in.readInt();
+                String plate = in.readUTF();
+                if (index >= 0 && index < capacities[type]) {
+                    plates[type][index] = plate;
+                }
+            }
+        }
+        return new FloorSnapshot(buildingNumber, floorNumber, capacities, occupied, plates);
+    }
+}
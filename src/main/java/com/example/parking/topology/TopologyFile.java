@@ -0,0 +1,151 @@
+package com.example.parking.topology;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Parser for topology files that describe a site as slot ranges, one rule per line:
+ * <pre>
+ * # building(s)  floor(s)  slots per floor
+ * B1-B4          F1-F2     TW x 50  FW x 30
+ * B7             F1-F12    TW x 400
+ * B7             F1-F12    FW x 120
+ * </pre>
+ * Lines are read one at a time and folded into per-floor slot counts, so memory follows the
+ * number of floors, never the number of lines or slots. Rules for the same floor add up.
+ */
+public final class TopologyFile {
+    private static final long FLOOR_KEY_SHIFT = 32;
+
+    private TopologyFile() {
+    }
+
+    /**
+     * Reads a topology file
+     * @param path Topology file
+     * @return One empty floor per building and floor, in building and floor order
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static List<FloorSnapshot> read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads topology rules from a reader
+     * @param source Topology rules
+     * @return One empty floor per building and floor, in building and floor order
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static List<FloorSnapshot> read(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        Map<Long, int[]> capacities = new TreeMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            applyRule(line, lineNumber, capacities);
+        }
+
+        List<FloorSnapshot> floors = new ArrayList<>(capacities.size());
+        int types = VehicleType.values().length;
+        capacities.forEach((key, counts) -> {
+            long[][] occupied = new long[types][0];
+            String[][] plates = new String[types][0];
+            floors.add(new FloorSnapshot((int) (key >>> FLOOR_KEY_SHIFT), (int) (long) key, counts, occupied, plates));
+        });
+        return floors;
+    }
+
+    private static void applyRule(String line, int lineNumber, Map<Long, int[]> capacities) {
+        int comment = line.indexOf('#');
+        String rule = (comment >= 0 ? line.substring(0, comment) : line).trim();
+        if (rule.isEmpty()) {
+            return;
+        }
+        String[] tokens = rule.split("\\s+");
+        if (tokens.length < 5 || (tokens.length - 2) % 3 != 0) {
+            throw invalid(lineNumber, line);
+        }
+        int[] buildings = parseRange(tokens[0], 'B', SlotKeyCodec.MAX_BUILDING, lineNumber, line);
+        int[] floors = parseRange(tokens[1], 'F', SlotKeyCodec.MAX_FLOOR, lineNumber, line);
+        int[] counts = new int[VehicleType.values().length];
+        for (int i = 2; i < tokens.length; i += 3) {
+            if (!"x".equalsIgnoreCase(tokens[i + 1])) {
+                throw invalid(lineNumber, line);
+            }
+            VehicleType type = parseType(tokens[i], lineNumber, line);
+            counts[type.ordinal()] += parseCount(tokens[i + 2], lineNumber, line);
+        }
+
+        for (int building = buildings[0]; building <= buildings[1]; building++) {
+            for (int floor = floors[0]; floor <= floors[1]; floor++) {
+                int[] floorCounts = capacities.computeIfAbsent(
+                    ((long) building << FLOOR_KEY_SHIFT) | floor, key -> new int[counts.length]);
+                for (int type = 0; type < counts.length; type++) {
+                    floorCounts[type] += counts[type];
+                    if (floorCounts[type] > SlotKeyCodec.MAX_SLOT_NUMBER) {
+                        throw new IllegalArgumentException("Too many slots on B" + building + "-F" + floor
+                            + " at line " + lineNumber);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses "B7" or "B1-B4" (the prefix on the upper bound is optional)
+     * @return Inclusive lower and upper bound
+     */
+    private static int[] parseRange(String token, char prefix, int max, int lineNumber, String line) {
+        int dash = token.indexOf('-');
+        int from = SlotKeyCodec.parseLevel(dash < 0 ? token : token.substring(0, dash), prefix);
+        int to = from;
+        if (dash >= 0) {
+            String upper = token.substring(dash + 1);
+            to = SlotKeyCodec.parseLevel(upper.isEmpty() || upper.charAt(0) == prefix ? upper : prefix + upper, prefix);
+        }
+        if (from < 1 || to < from || to > max) {
+            throw invalid(lineNumber, line);
+        }
+        return new int[] {from, to};
+    }
+
+    private static VehicleType parseType(String token, int lineNumber, String line) {
+        for (VehicleType type : VehicleType.values()) {
+            if (SlotKeyCodec.typeCode(type).equalsIgnoreCase(token) || type.name().equalsIgnoreCase(token)) {
+                return type;
+            }
+        }
+        throw invalid(lineNumber, line);
+    }
+
+    private static int parseCount(String token, int lineNumber, String line) {
+        try {
+            int count = Integer.parseInt(token);
+            if (count < 0) {
+                throw invalid(lineNumber, line);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw invalid(lineNumber, line);
+        }
+    }
+
+    private static IllegalArgumentException invalid(int lineNumber, String line) {
+        return new IllegalArgumentException("Invalid topology rule at line " + lineNumber + ": " + line.trim());
+    }
+}
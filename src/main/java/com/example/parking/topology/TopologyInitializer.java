@@ -0,0 +1,56 @@
+package com.example.parking.topology;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.ParkingRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the built-in sample topology with the one in parking.topology.path, if set.
+ * Runs before snapshot restore and journal replay, which then fill in occupancy.
+ */
+@Component
+@Slf4j
+public class TopologyInitializer {
+    private final ParkingRepository parkingRepository;
+    private final String topologyPath;
+
+    /**
+     * Constructor injection for the repository and topology location
+     * @param parkingRepository Repository to populate
+     * @param topologyPath Topology file; empty keeps the sample topology
+     */
+    public TopologyInitializer(ParkingRepository parkingRepository,
+                               @Value("${parking.topology.path:}") String topologyPath) {
+        this.parkingRepository = parkingRepository;
+        this.topologyPath = topologyPath;
+    }
+
+    @PostConstruct
+    public void loadTopology() throws IOException {
+        if (topologyPath == null || topologyPath.isBlank()) {
+            return;
+        }
+        long started = System.nanoTime();
+        Path path = Paths.get(topologyPath);
+        List<FloorSnapshot> floors = TopologyFile.read(path);
+        parkingRepository.importFloors(floors);
+        long slots = floors.stream()
+            .flatMapToInt(floor -> Arrays.stream(floor.getCapacities()))
+            .asLongStream()
+            .sum();
+        log.info("Loaded topology {} with {} floors and {} slots in {} ms", path, floors.size(), slots,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
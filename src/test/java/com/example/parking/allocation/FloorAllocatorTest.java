@@ -0,0 +1,207 @@
+package com.example.parking.allocation;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Test class for FloorAllocator and the built-in allocation policies
+ */
+class FloorAllocatorTest {
+
+    @Test
+    @DisplayName("Should fill the lowest floor first and skip floors that fill up")
+    void choose_WithLowestFloorPolicy_ShouldPickLowestFloorWithFreeSlots() {
+        // Arrange
+        FloorAllocator<TestFloor> allocator = new FloorAllocator<>(AllocationSettings.DEFAULT);
+        TestFloor first = floor(1, 1, 5);
+        TestFloor second = floor(1, 2, 5);
+        allocator.refresh(second);
+        allocator.refresh(first);
+
+        // Act
+        TestFloor initial = allocator.choose(VehicleType.FOUR_WHEELER);
+        first.available = 0;
+        allocator.refresh(first);
+        TestFloor afterFirstFull = allocator.choose(VehicleType.FOUR_WHEELER);
+        second.available = 0;
+        allocator.refresh(second);
+
+        // Assert
+        assertAll(
+            () -> assertSame(first, initial),
+            () -> assertSame(second, afterFirstFull),
+            () -> assertNull(allocator.choose(VehicleType.FOUR_WHEELER), "No floor has a free slot"),
+            () -> assertNull(allocator.choose(VehicleType.TWO_WHEELER), "Test floors only have four-wheeler slots")
+        );
+    }
+
+    @Test
+    @DisplayName("Should prefer the floor with the fewest free slots under fill-floor")
+    void choose_WithFillFloorPolicy_ShouldPickFullestFloor() {
+        // Arrange
+        FloorAllocator<TestFloor> allocator = new FloorAllocator<>(
+            new AllocationSettings(new FillFloorPolicy(), Map.of(), false));
+        TestFloor emptier = floor(1, 1, 10);
+        TestFloor fuller = floor(1, 2, 3);
+        allocator.refresh(emptier);
+        allocator.refresh(fuller);
+
+        // Act
+        TestFloor initial = allocator.choose(VehicleType.FOUR_WHEELER);
+        emptier.available = 2;
+        allocator.refresh(emptier);
+
+        // Assert
+        assertAll(
+            () -> assertSame(fuller, initial),
+            () -> assertSame(emptier, allocator.choose(VehicleType.FOUR_WHEELER), "Ranks should follow claims")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep filling a large floor in use before opening a smaller empty one under fill-floor")
+    void choose_WithFillFloorPolicyAndUnequalFloors_ShouldPickFloorInUse() {
+        // Arrange
+        FloorAllocator<TestFloor> allocator = new FloorAllocator<>(
+            new AllocationSettings(new FillFloorPolicy(), Map.of(), false));
+        TestFloor smallEmpty = floor(1, 1, 4, 4);
+        TestFloor largeInUse = floor(1, 2, 28, 40);
+        allocator.refresh(smallEmpty);
+        allocator.refresh(largeInUse);
+
+        // Act
+        TestFloor initial = allocator.choose(VehicleType.FOUR_WHEELER);
+        smallEmpty.available = 3;
+        allocator.refresh(smallEmpty);
+
+        // Assert
+        assertAll(
+            () -> assertSame(largeInUse, initial, "An empty floor should stay closed while another has room"),
+            () -> assertSame(largeInUse, allocator.choose(VehicleType.FOUR_WHEELER), "3 of 4 free is a larger share than 28 of 40")
+        );
+    }
+
+    @Test
+    @DisplayName("Should prefer the floor closest to the configured entrance")
+    void choose_WithNearestEntrancePolicy_ShouldPickFloorClosestToEntrance() {
+        // Arrange
+        FloorAllocator<TestFloor> allocator = new FloorAllocator<>(
+            new AllocationSettings(new NearestEntrancePolicy("B1:F3"), Map.of(), false));
+        TestFloor ground = floor(1, 1, 5);
+        TestFloor belowEntrance = floor(1, 2, 5);
+        TestFloor entrance = floor(1, 3, 5);
+        allocator.refresh(ground);
+        allocator.refresh(belowEntrance);
+        allocator.refresh(entrance);
+
+        // Act
+        TestFloor initial = allocator.choose(VehicleType.FOUR_WHEELER);
+        entrance.available = 0;
+        allocator.refresh(entrance);
+
+        // Assert
+        assertAll(
+            () -> assertSame(entrance, initial),
+            () -> assertSame(belowEntrance, allocator.choose(VehicleType.FOUR_WHEELER)),
+            () -> assertThrows(IllegalArgumentException.class, () -> new NearestEntrancePolicy("B1-F3"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should fill buildings in order, or the emptiest first when balancing")
+    void choose_WhenBalancingBuildings_ShouldPickBuildingWithMostFreeSlots() {
+        // Arrange
+        FloorAllocator<TestFloor> ordered = new FloorAllocator<>(AllocationSettings.DEFAULT);
+        FloorAllocator<TestFloor> balanced = new FloorAllocator<>(
+            new AllocationSettings(new LowestFloorPolicy(), Map.of(), true));
+        TestFloor small = floor(1, 1, 2);
+        TestFloor large = floor(2, 1, 4);
+        for (FloorAllocator<TestFloor> allocator : List.of(ordered, balanced)) {
+            allocator.refresh(small);
+            allocator.refresh(large);
+        }
+
+        // Act
+        TestFloor balancedInitial = balanced.choose(VehicleType.FOUR_WHEELER);
+        large.available = 1;
+        balanced.refresh(large);
+        ordered.refresh(large);
+
+        // Assert
+        assertAll(
+            () -> assertSame(small, ordered.choose(VehicleType.FOUR_WHEELER)),
+            () -> assertSame(large, balancedInitial),
+            () -> assertSame(small, balanced.choose(VehicleType.FOUR_WHEELER), "B1 now has more free slots")
+        );
+    }
+
+    @Test
+    @DisplayName("Should apply building overrides on top of the default policy")
+    void policyFor_WithOverride_ShouldReturnBuildingPolicy() {
+        // Arrange
+        FillFloorPolicy fillFloor = new FillFloorPolicy();
+        AllocationSettings settings = new AllocationSettings(new LowestFloorPolicy(), Map.of(2, fillFloor), false);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(LowestFloorPolicy.NAME, settings.policyFor(1).getName()),
+            () -> assertSame(fillFloor, settings.policyFor(2))
+        );
+    }
+
+    private static TestFloor floor(int building, int floor, int available) {
+        return floor(building, floor, available, 10);
+    }
+
+    private static TestFloor floor(int building, int floor, int available, int capacity) {
+        TestFloor result = new TestFloor(building, floor, capacity);
+        result.available = available;
+        return result;
+    }
+
+    /**
+     * Floor with a fixed number of four-wheeler slots only and a settable free count
+     */
+    private static final class TestFloor implements AllocatableFloor {
+        private final int buildingNumber;
+        private final int floorNumber;
+        private final int capacity;
+        private int available;
+
+        TestFloor(int buildingNumber, int floorNumber, int capacity) {
+            this.buildingNumber = buildingNumber;
+            this.floorNumber = floorNumber;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int getBuildingNumber() {
+            return buildingNumber;
+        }
+
+        @Override
+        public int getFloorNumber() {
+            return floorNumber;
+        }
+
+        @Override
+        public int getAvailable(VehicleType vehicleType) {
+            return vehicleType == VehicleType.FOUR_WHEELER ? available : 0;
+        }
+
+        @Override
+        public int getCapacity(VehicleType vehicleType) {
+            return vehicleType == VehicleType.FOUR_WHEELER ? capacity : 0;
+        }
+    }
+}
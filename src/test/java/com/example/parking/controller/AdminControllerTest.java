@@ -0,0 +1,101 @@
+package com.example.parking.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.parking.dto.MetricsResponseDTO;
+import com.example.parking.dto.SnapshotResponseDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.service.MetricsService;
+import com.example.parking.service.SnapshotService;
+
+/**
+ * Test class for AdminController
+ */
+@WebMvcTest(AdminController.class)
+@ExtendWith(SpringExtension.class)
+class AdminControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SnapshotService snapshotService;
+
+    @MockitoBean
+    private MetricsService metricsService;
+
+    /**
+     * Test for snapshot endpoint
+     */
+    @Test
+    void createSnapshot_ShouldReturnSnapshotDetails() throws Exception {
+        // Arrange
+        SnapshotResponseDTO response = new SnapshotResponseDTO();
+        response.setPath("data/parking.snapshot");
+        response.setSlotCount(640);
+        response.setSuccess(true);
+        when(snapshotService.createSnapshot()).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotCount").value(640))
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    /**
+     * Test for snapshot endpoint when the file cannot be written
+     */
+    @Test
+    void createSnapshot_WhenWriteFails_ShouldReturn500() throws Exception {
+        // Arrange
+        SnapshotResponseDTO response = new SnapshotResponseDTO();
+        response.setSuccess(false);
+        response.setMessage("Failed to write snapshot: disk full");
+        when(snapshotService.createSnapshot()).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/snapshot"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Failed to write snapshot: disk full"));
+    }
+
+    /**
+     * Test for metrics endpoint
+     */
+    @Test
+    void getMetrics_ShouldReturnCountersAndOccupancy() throws Exception {
+        // Arrange
+        MetricsResponseDTO.FloorOccupancyDTO floor = new MetricsResponseDTO.FloorOccupancyDTO();
+        floor.setBuildingId("B1");
+        floor.setFloorId("F1");
+        floor.setTotalSlots(80);
+        floor.setOccupiedSlots(20);
+        floor.setOccupancy(0.25);
+        MetricsResponseDTO response = new MetricsResponseDTO();
+        response.setParkRequests(12);
+        response.setAllocationFailures(Map.of(VehicleType.FOUR_WHEELER, 3L));
+        response.setFloors(List.of(floor));
+        when(metricsService.getMetrics()).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parkRequests").value(12))
+                .andExpect(jsonPath("$.allocationFailures.FOUR_WHEELER").value(3))
+                .andExpect(jsonPath("$.floors[0].occupancy").value(0.25));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.parking.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.parking.dto.ParkingRequestDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for the capacity ETag
+ * Parks through the API and polls capacity while the read model has not yet published the park
+ */
+@SpringBootTest(properties = "parking.readmodel.publish-interval-ms=600000")
+@AutoConfigureMockMvc
+class CapacityETagTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityReadModel availabilityReadModel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should tag capacity with the served view, so a poll after a park is not answered 304 once the view catches up")
+    void checkCapacity_AfterPark_ShouldNotPinStaleBodyToNewETag() throws Exception {
+        // Arrange
+        availabilityReadModel.publish();
+        MvcResult initial = mockMvc.perform(get("/api/parking/capacity")).andReturn();
+        int freeBefore = freeTwoWheelerSlots(initial);
+        ParkingRequestDTO request = new ParkingRequestDTO();
+        request.setRegistrationNumber("ETAG-01");
+        request.setVehicleType(VehicleType.TWO_WHEELER);
+
+        // Act
+        mockMvc.perform(post("/api/parking/park")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        MvcResult afterPark = mockMvc.perform(get("/api/parking/capacity")
+                .header("If-None-Match", initial.getResponse().getHeader("ETag")))
+                .andReturn();
+        availabilityReadModel.publish();
+        MvcResult afterPublish = mockMvc.perform(get("/api/parking/capacity")
+                .header("If-None-Match", initial.getResponse().getHeader("ETag")))
+                .andReturn();
+
+        // Assert
+        assertAll(
+            () -> assertEquals(304, afterPark.getResponse().getStatus(), "The served view has not changed yet"),
+            () -> assertEquals(200, afterPublish.getResponse().getStatus()),
+            () -> assertEquals(freeBefore - 1, freeTwoWheelerSlots(afterPublish))
+        );
+    }
+
+    private int freeTwoWheelerSlots(MvcResult result) throws Exception {
+        int free = 0;
+        for (JsonNode building : objectMapper.readTree(result.getResponse().getContentAsByteArray())) {
+            for (JsonNode floor : building.get("floors")) {
+                free += floor.get("availableSlots").get(VehicleType.TWO_WHEELER.name()).asInt();
+            }
+        }
+        return free;
+    }
+}
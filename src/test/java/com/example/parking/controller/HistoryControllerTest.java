@@ -0,0 +1,85 @@
+package com.example.parking.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.parking.dto.HistoryRequestDTO;
+import com.example.parking.dto.HistoryResolution;
+import com.example.parking.dto.OccupancyHistoryDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.service.HistoryService;
+
+/**
+ * Test class for HistoryController
+ */
+@WebMvcTest(HistoryController.class)
+@ExtendWith(SpringExtension.class)
+class HistoryControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private HistoryService historyService;
+
+    /**
+     * Test for history endpoint
+     */
+    @Test
+    void getOccupancyHistory_ShouldReturnColumnsPerVehicleType() throws Exception {
+        // Arrange
+        OccupancyHistoryDTO history = new OccupancyHistoryDTO();
+        history.setBuildingId("B1");
+        history.setFloorId("F1");
+        history.setResolution(HistoryResolution.MINUTE);
+        history.setIntervalSeconds(60);
+        history.setTimestamps(List.of(1_700_000_040L, 1_700_000_100L));
+        history.setOccupiedSlots(Map.of(VehicleType.FOUR_WHEELER, List.of(3, 5)));
+        history.setTotalSlots(Map.of(VehicleType.FOUR_WHEELER, 10));
+        when(historyService.getOccupancyHistory(any(HistoryRequestDTO.class))).thenReturn(history);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/history")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"buildingId\":\"B1\",\"floorId\":\"F1\",\"resolution\":\"MINUTE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.intervalSeconds").value(60))
+                .andExpect(jsonPath("$.timestamps[1]").value(1_700_000_100L))
+                .andExpect(jsonPath("$.occupiedSlots.FOUR_WHEELER[1]").value(5))
+                .andExpect(jsonPath("$.totalSlots.FOUR_WHEELER").value(10));
+    }
+
+    /**
+     * Test for history endpoint with an unknown floor or inverted range
+     */
+    @Test
+    void getOccupancyHistory_WhenUnknownOrInvalid_ShouldReturnError() throws Exception {
+        // Arrange
+        when(historyService.getOccupancyHistory(any(HistoryRequestDTO.class)))
+            .thenReturn(null)
+            .thenThrow(new IllegalArgumentException("Range starts after it ends"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/history")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"buildingId\":\"B1\",\"floorId\":\"F9\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/parking/history")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"buildingId\":\"B1\",\"floorId\":\"F1\",\"from\":\"2025-01-02T00:00:00Z\",\"to\":\"2025-01-01T00:00:00Z\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,31 +1,51 @@
 package com.example.parking.controller;
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.parking.dto.AvailabilityFormat;
+import com.example.parking.dto.BatchParkingRequestDTO;
+import com.example.parking.dto.BatchParkingResponseDTO;
 import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.CompactAvailabilityRequestDTO;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityRequestDTO;
 import com.example.parking.dto.ParkingRequestDTO;
 import com.example.parking.dto.ParkingResponseDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
 import com.example.parking.entity.VehicleType;
+import com.example.parking.service.AvailabilityResponseServiceImpl;
+import com.example.parking.service.AvailabilityStreamService;
 import com.example.parking.service.ParkingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -35,14 +55,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * Tests all REST endpoints and their functionality
  */
 @WebMvcTest(ParkingController.class)
+@Import(AvailabilityResponseServiceImpl.class)
 @ExtendWith(SpringExtension.class)
 class ParkingControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @Mock
+    @MockitoBean
     private ParkingService parkingService;
 
+    @MockitoBean
+    private AvailabilityStreamService availabilityStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -128,6 +152,64 @@ class ParkingControllerTest {
                 .andExpect(jsonPath("$.message").value("Vehicle parked successfully"));
     }
 
+    /**
+     * Test for batch parking endpoint
+     */
+    @Test
+    void parkVehicles_ShouldReturnPerVehicleResults() throws Exception {
+        // Arrange
+        ParkingRequestDTO item = new ParkingRequestDTO();
+        item.setRegistrationNumber("KA01AB1234");
+        item.setVehicleType(VehicleType.FOUR_WHEELER);
+        BatchParkingRequestDTO request = new BatchParkingRequestDTO();
+        request.getRequests().add(item);
+        request.setAllOrNothing(true);
+
+        ParkingResponseDTO result = new ParkingResponseDTO();
+        result.setSlotId("B1-F1-FW-01");
+        result.setSuccess(true);
+        BatchParkingResponseDTO response = new BatchParkingResponseDTO();
+        response.getResults().add(result);
+        response.setParkedCount(1);
+        response.setSuccess(true);
+
+        when(parkingService.parkVehicles(any(BatchParkingRequestDTO.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/park/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.parkedCount").value(1))
+                .andExpect(jsonPath("$.results[0].slotId").value("B1-F1-FW-01"));
+    }
+
+    /**
+     * Test for vehicle exit endpoint
+     */
+    @Test
+    void exitVehicle_ShouldReleaseSlot() throws Exception {
+        // Arrange
+        VehicleExitRequestDTO request = new VehicleExitRequestDTO();
+        request.setRegistrationNumber("KA01AB1234");
+
+        ParkingResponseDTO response = new ParkingResponseDTO();
+        response.setSlotId("B1-F1-FW-01");
+        response.setSuccess(true);
+        response.setMessage("Vehicle exited successfully");
+
+        when(parkingService.exitVehicle(any(VehicleExitRequestDTO.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/exit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotId").value("B1-F1-FW-01"))
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
     /**
      * Test for floor availability endpoint
      */
@@ -178,4 +260,137 @@ class ParkingControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Test for conditional capacity requests
+     */
+    @Test
+    void checkCapacity_WhenETagMatches_ShouldReturn304WithoutBuildingBody() throws Exception {
+        // Arrange
+        when(parkingService.getCapacityVersion()).thenReturn(42L);
+        when(parkingService.checkCapacity()).thenReturn(new ArrayList<>());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/parking/capacity"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42\""));
+        mockMvc.perform(get("/api/parking/capacity").header("If-None-Match", "W/\"41\", \"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/parking/capacity").header("If-None-Match", "\"41\""))
+                .andExpect(status().isOk());
+        verify(parkingService, times(2)).checkCapacity();
+    }
+
+    /**
+     * Test for conditional floor availability requests
+     */
+    @Test
+    void getFloorAvailability_WhenETagMatches_ShouldReturn304WithoutBuildingBody() throws Exception {
+        // Arrange
+        FloorAvailabilityRequestDTO request = new FloorAvailabilityRequestDTO();
+        request.setBuildingId("B1");
+        request.setFloorId("F1");
+        when(parkingService.getFloorVersion("B1", "F1")).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/availability")
+                .header("If-None-Match", "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""));
+        verify(parkingService, never()).getFloorAvailability("B1", "F1");
+    }
+
+    /**
+     * Test for compressed capacity responses
+     */
+    @Test
+    void checkCapacity_WhenClientAcceptsGzip_ShouldSendCompressedJson() throws Exception {
+        // Arrange
+        List<BuildingCapacityDTO> capacityList = new ArrayList<>();
+        for (int b = 1; b <= 20; b++) {
+            BuildingCapacityDTO building = new BuildingCapacityDTO();
+            building.setBuildingId("B" + b);
+            BuildingCapacityDTO.FloorCapacityDTO floor = new BuildingCapacityDTO.FloorCapacityDTO();
+            floor.setFloorId("F1");
+            floor.setAvailableSlots(Map.of(VehicleType.TWO_WHEELER, b));
+            building.setFloors(List.of(floor));
+            capacityList.add(building);
+        }
+        when(parkingService.checkCapacity()).thenReturn(capacityList);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/parking/capacity").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn();
+
+        // Assert
+        byte[] json;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            json = in.readAllBytes();
+        }
+        assertArrayEquals(objectMapper.writeValueAsBytes(capacityList), json);
+    }
+
+    /**
+     * Test for compact floor availability endpoint
+     */
+    @Test
+    void getCompactFloorAvailability_ShouldReturnRangesAndRejectForeignCursor() throws Exception {
+        // Arrange
+        CompactAvailabilityRequestDTO request = new CompactAvailabilityRequestDTO();
+        request.setBuildingId("B1");
+        request.setFloorId("F1");
+        CompactFloorAvailabilityDTO response = new CompactFloorAvailabilityDTO();
+        response.setBuildingId("B1");
+        response.setFloorId("F1");
+        response.setFormat(AvailabilityFormat.RANGES);
+        response.setAvailableTwoWheelerSlots(List.of("B1-F1-TW-03..17"));
+        response.setTotalAvailableTwoWheelerSlots(15);
+        when(parkingService.getCompactFloorAvailability(any(CompactAvailabilityRequestDTO.class)))
+            .thenReturn(response)
+            .thenThrow(new IllegalArgumentException("Invalid cursor: B2-F1-TW-01"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/availability/compact")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTwoWheelerSlots[0]").value("B1-F1-TW-03..17"))
+                .andExpect(jsonPath("$.twoWheelerBitmap").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(post("/api/parking/availability/compact")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test for availability stream endpoint
+     */
+    @Test
+    void streamAvailability_ShouldSendServerSentEvents() throws Exception {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(availabilityStreamService.subscribe()).thenReturn(emitter);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/parking/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("availability").id("B1-F1")
+                .data("{\"buildingId\":\"B1\"}", MediaType.APPLICATION_JSON));
+        emitter.complete();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(header().string("Content-Type", "text/event-stream"))
+                .andExpect(content().string("event:availability\nid:B1-F1\ndata:{\"buildingId\":\"B1\"}\n\n"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.parking.controller;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.parking.dto.ReservationRequestDTO;
+import com.example.parking.dto.ReservationResponseDTO;
+import com.example.parking.service.ReservationService;
+
+/**
+ * Test class for ReservationController
+ */
+@WebMvcTest(ReservationController.class)
+@ExtendWith(SpringExtension.class)
+class ReservationControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReservationService reservationService;
+
+    /**
+     * Test for reserve endpoint
+     */
+    @Test
+    void reserve_ShouldReturnReservationAndExpiry() throws Exception {
+        // Arrange
+        ReservationResponseDTO response = new ReservationResponseDTO();
+        response.setReservationId("r-1");
+        response.setSlotId("B1-F1-FW-01");
+        response.setExpiresAt(Instant.parse("2025-01-01T10:10:00Z"));
+        response.setSuccess(true);
+        when(reservationService.reserve(any(ReservationRequestDTO.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"registrationNumber\":\"KA01AB1234\",\"vehicleType\":\"FOUR_WHEELER\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservationId").value("r-1"))
+                .andExpect(jsonPath("$.expiresAt").value("2025-01-01T10:10:00Z"))
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    /**
+     * Test for confirm endpoint when the hold has lapsed
+     */
+    @Test
+    void confirm_WhenExpired_ShouldReturnFailure() throws Exception {
+        // Arrange
+        ReservationResponseDTO response = new ReservationResponseDTO();
+        response.setMessage("Reservation r-1 not found or expired");
+        when(reservationService.confirm("r-1")).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/parking/reservations/r-1/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
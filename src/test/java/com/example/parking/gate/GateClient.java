@@ -0,0 +1,120 @@
+package com.example.parking.gate;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Blocking client for the gate protocol, as a gate controller would use it.
+ * Requests are queued with {@link #send} and written together by {@link #flush}, so any
+ * number can be pipelined before their responses are read with {@link #receive}.
+ * Not thread-safe.
+ */
+public class GateClient implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer in = ByteBuffer.allocate(GateProtocol.FRAME_SIZE);
+    private int nextRequestId;
+
+    /**
+     * Decoded response frame
+     */
+    public record Response(byte opcode, byte status, boolean occupied, int requestId, String text) {
+        public boolean ok() {
+            return status == GateProtocol.STATUS_OK;
+        }
+    }
+
+    /**
+     * Connects to a gate listener
+     * @param host Host name
+     * @param port Listener port
+     */
+    public GateClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Queues a request, flushing first if the send buffer is full
+     * @param opcode Opcode
+     * @param vehicleType Vehicle type for PARK, otherwise null
+     * @param text Registration number or slot ID
+     * @return Request ID the response will echo
+     */
+    public int send(byte opcode, VehicleType vehicleType, String text) throws IOException {
+        if (out.remaining() < GateProtocol.FRAME_SIZE) {
+            flush();
+        }
+        int requestId = nextRequestId++;
+        byte type = vehicleType == null ? 0 : (byte) vehicleType.ordinal();
+        GateProtocol.writeFrame(out, opcode, type, (byte) 0, requestId, text);
+        return requestId;
+    }
+
+    /**
+     * Writes raw bytes, e.g. a frame split across several writes
+     * @param bytes Bytes to write
+     */
+    public void sendRaw(ByteBuffer bytes) throws IOException {
+        flush();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Writes every queued request
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Waits for the next response
+     * @return Response to the oldest request without one
+     */
+    public Response receive() throws IOException {
+        in.clear();
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Gate listener closed the connection");
+            }
+        }
+        return new Response(GateProtocol.opcode(in, 0), GateProtocol.flags(in, 0), GateProtocol.occupied(in, 0),
+            GateProtocol.requestId(in, 0), GateProtocol.readText(in, 0));
+    }
+
+    public Response park(String registrationNumber, VehicleType vehicleType) throws IOException {
+        return call(GateProtocol.OP_PARK, vehicleType, registrationNumber);
+    }
+
+    public Response exit(String registrationNumber) throws IOException {
+        return call(GateProtocol.OP_EXIT, null, registrationNumber);
+    }
+
+    public Response slotStatus(String slotId) throws IOException {
+        return call(GateProtocol.OP_SLOT_STATUS, null, slotId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Response call(byte opcode, VehicleType vehicleType, String text) throws IOException {
+        send(opcode, vehicleType, text);
+        flush();
+        return receive();
+    }
+}
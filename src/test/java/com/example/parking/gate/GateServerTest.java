@@ -0,0 +1,231 @@
+package com.example.parking.gate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.service.ParkingServiceImpl;
+
+/**
+ * Test class for GateServer, GateRequestHandler and GateProtocol over real sockets
+ */
+class GateServerTest {
+    private BitsetParkingRepository repository;
+    private GateServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new BitsetParkingRepository();
+        repository.init();
+        server = new GateServer(parkingService(), 0, 2, false, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Should refuse to serve on event loops when the journal forces every record")
+    void constructor_WithSynchronousJournalFlush_ShouldFail() {
+        // Act
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> new GateServer(parkingService(), 0, 2, true, 0));
+
+        // Assert
+        assertTrue(error.getMessage().contains("parking.journal.flush-interval-ms"));
+    }
+
+    @Test
+    @DisplayName("Should park, report and release a vehicle through the shared parking service")
+    void park_ThenStatusThenExit_ShouldMirrorHttpBehaviour() throws Exception {
+        try (GateClient client = new GateClient("127.0.0.1", server.getPort())) {
+            // Act
+            GateClient.Response parked = client.park("KA01AB1234", VehicleType.FOUR_WHEELER);
+            GateClient.Response duplicate = client.park("KA01AB1234", VehicleType.FOUR_WHEELER);
+            GateClient.Response status = client.slotStatus(parked.text());
+            GateClient.Response exited = client.exit("KA01AB1234");
+            GateClient.Response statusAfterExit = client.slotStatus(parked.text());
+            GateClient.Response exitedAgain = client.exit("KA01AB1234");
+
+            // Assert
+            assertAll(
+                () -> assertTrue(parked.ok()),
+                () -> assertTrue(parked.occupied()),
+                () -> assertTrue(parked.text().matches("B\\d+-F\\d+-FW-\\d+"), parked.text()),
+                () -> assertEquals(GateProtocol.STATUS_REJECTED, duplicate.status(), "A parked vehicle should not get a second slot"),
+                () -> assertTrue(status.occupied()),
+                () -> assertEquals(parked.text(), exited.text()),
+                () -> assertTrue(exited.ok()),
+                () -> assertFalse(statusAfterExit.occupied()),
+                () -> assertEquals(GateProtocol.STATUS_REJECTED, exitedAgain.status())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer pipelined requests in order with their request IDs")
+    void send_WhenPipelined_ShouldRespondInRequestOrder() throws Exception {
+        try (GateClient client = new GateClient("127.0.0.1", server.getPort())) {
+            // Arrange
+            List<Integer> requestIds = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                requestIds.add(client.send(GateProtocol.OP_PARK, VehicleType.TWO_WHEELER, "PIPE-" + i));
+            }
+            for (int i = 0; i < 20; i++) {
+                requestIds.add(client.send(GateProtocol.OP_EXIT, null, "PIPE-" + i));
+            }
+
+            // Act
+            client.flush();
+            List<GateClient.Response> responses = new ArrayList<>();
+            for (int i = 0; i < requestIds.size(); i++) {
+                responses.add(client.receive());
+            }
+
+            // Assert
+            assertAll(
+                () -> assertEquals(requestIds, responses.stream().map(GateClient.Response::requestId).toList()),
+                () -> assertTrue(responses.stream().allMatch(GateClient.Response::ok)),
+                () -> assertEquals(responses.get(3).text(), responses.get(23).text(), "Exit should release the slot parked")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer every pipelined request when both buffers fill behind a slow reader")
+    void send_WhenPipelinedBeyondBuffersWithSlowReader_ShouldAnswerEveryRequest() throws Exception {
+        try (GateClient client = new GateClient("127.0.0.1", server.getPort())) {
+            // Arrange: far more requests than the server buffers, written while nobody reads
+            int requests = 200_000;
+            Thread sender = new Thread(() -> {
+                try {
+                    for (int i = 0; i < requests; i++) {
+                        client.send(GateProtocol.OP_SLOT_STATUS, null, "B1-F1-TW-01");
+                    }
+                    client.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            sender.start();
+            Thread.sleep(300);
+
+            // Act
+            List<Integer> requestIds = new ArrayList<>();
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+                for (int i = 0; i < requests; i++) {
+                    if (i % 512 == 0) {
+                        Thread.sleep(1);
+                    }
+                    requestIds.add(client.receive().requestId());
+                }
+            }, "Responses stalled with requests still buffered");
+            sender.join();
+
+            // Assert
+            assertAll(
+                () -> assertEquals(requests, requestIds.size()),
+                () -> assertEquals(0, requestIds.get(0)),
+                () -> assertEquals(requests - 1, requestIds.get(requests - 1))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should reassemble split frames and reject malformed ones without closing the connection")
+    void sendRaw_WithSplitAndMalformedFrames_ShouldKeepServing() throws Exception {
+        try (GateClient client = new GateClient("127.0.0.1", server.getPort())) {
+            // Arrange
+            ByteBuffer frames = ByteBuffer.allocate(3 * GateProtocol.FRAME_SIZE);
+            GateProtocol.writeFrame(frames, (byte) 9, (byte) 0, (byte) 0, 7, "B1-F1-TW-01");
+            GateProtocol.writeFrame(frames, GateProtocol.OP_PARK, (byte) 5, (byte) 0, 8, "KA01AB1234");
+            GateProtocol.writeFrame(frames, GateProtocol.OP_SLOT_STATUS, (byte) 0, (byte) 0, 9, "B1-F1-TW-01");
+            frames.flip();
+
+            // Act
+            client.sendRaw(frames.slice(0, 40));
+            Thread.sleep(50);
+            client.sendRaw(frames.slice(40, frames.limit() - 40));
+            GateClient.Response unknownOpcode = client.receive();
+            GateClient.Response unknownType = client.receive();
+            GateClient.Response status = client.receive();
+
+            // Assert
+            assertAll(
+                () -> assertEquals(GateProtocol.STATUS_MALFORMED, unknownOpcode.status()),
+                () -> assertEquals(7, unknownOpcode.requestId()),
+                () -> assertEquals(GateProtocol.STATUS_MALFORMED, unknownType.status()),
+                () -> assertTrue(status.ok()),
+                () -> assertEquals("B1-F1-TW-01", status.text()),
+                () -> assertEquals(repository.findById("B1-F1-TW-01").get().isOccupied(), status.occupied())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject text with non-ASCII bytes instead of folding them into ASCII")
+    void sendRaw_WithNonAsciiText_ShouldRespondMalformed() throws Exception {
+        try (GateClient client = new GateClient("127.0.0.1", server.getPort())) {
+            // Arrange: 0xCB would read as 'K' if the high bit were masked off
+            ByteBuffer frame = ByteBuffer.allocate(GateProtocol.FRAME_SIZE);
+            GateProtocol.writeFrame(frame, GateProtocol.OP_PARK, (byte) VehicleType.FOUR_WHEELER.ordinal(),
+                (byte) 0, 11, "KA01AB1234");
+            frame.put(8, (byte) 0xCB);
+            frame.flip();
+
+            // Act
+            client.sendRaw(frame);
+            GateClient.Response response = client.receive();
+
+            // Assert
+            assertAll(
+                () -> assertEquals(GateProtocol.STATUS_MALFORMED, response.status()),
+                () -> assertEquals(11, response.requestId()),
+                () -> assertFalse(repository.findByRegistrationNumber("KA01AB1234").isPresent())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the buffer untouched when a frame's text cannot be encoded")
+    void writeFrame_WithUnencodableText_ShouldWriteNothing() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(GateProtocol.FRAME_SIZE);
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> GateProtocol.writeFrame(buffer, GateProtocol.OP_PARK,
+            GateProtocol.STATUS_OK, (byte) 0, 1, "B1-F1-TW-\u00e9"));
+        assertThrows(IllegalArgumentException.class, () -> GateProtocol.writeFrame(buffer, GateProtocol.OP_PARK,
+            GateProtocol.STATUS_OK, (byte) 0, 1, "X".repeat(GateProtocol.MAX_TEXT_BYTES + 1)));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(0, buffer.position()),
+            () -> assertEquals(0, buffer.get(0))
+        );
+    }
+
+    private ParkingServiceImpl parkingService() {
+        return new ParkingServiceImpl(repository, new ParkingMetrics(), new AvailabilityReadModel(repository, 10));
+    }
+}
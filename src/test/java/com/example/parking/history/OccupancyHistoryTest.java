@@ -0,0 +1,112 @@
+package com.example.parking.history;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.HistoryResolution;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.BitsetParkingRepository;
+
+/**
+ * Test class for OccupancyHistory and OccupancyRing
+ */
+class OccupancyHistoryTest {
+    /** Start of a 15-minute period, so all resolutions align */
+    private static final long START = 1_700_000_100L;
+
+    private BitsetParkingRepository repository;
+    private OccupancyHistory history;
+    private AvailabilityReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BitsetParkingRepository();
+        Building building = new Building();
+        building.setBuildingId("B1");
+        Floor floor = new Floor();
+        floor.setBuildingId("B1");
+        floor.setFloorId("F1");
+        for (int i = 1; i <= 4; i++) {
+            ParkingSlot slot = new ParkingSlot();
+            slot.setId(String.format("B1-F1-FW-%02d", i));
+            slot.setVehicleType(VehicleType.FOUR_WHEELER);
+            floor.getParkingSlots().add(slot);
+        }
+        building.getFloors().add(floor);
+        repository.save(building);
+        readModel = new AvailabilityReadModel(repository, 10);
+        readModel.publish();
+        history = new OccupancyHistory(repository, readModel);
+    }
+
+    @Test
+    @DisplayName("Should keep per-second samples and average them into minute buckets")
+    void sample_ShouldDownsampleIntoCoarserRings() {
+        // Act: empty for 30 seconds, then 2 occupied for 30 seconds
+        for (long second = START; second < START + 30; second++) {
+            history.sample(second);
+        }
+        repository.claimAvailableSlot(vehicle("KA-1"));
+        repository.claimAvailableSlot(vehicle("KA-2"));
+        readModel.publish();
+        for (long second = START + 30; second < START + 60; second++) {
+            history.sample(second);
+        }
+        OccupancySeries seconds = history.read("B1", "F1", HistoryResolution.SECOND, START + 28, START + 31);
+        OccupancySeries minutes = history.read("B1", "F1", HistoryResolution.MINUTE, START, START + 60);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of(START + 28, START + 29, START + 30, START + 31), seconds.getEpochSeconds()),
+            () -> assertEquals(List.of(0, 0, 2, 2), seconds.getOccupied(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(List.of(0, 0, 0, 0), seconds.getOccupied(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(4, seconds.getCapacity(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(List.of(START / 60 * 60), minutes.getEpochSeconds()),
+            () -> assertEquals(List.of(1), minutes.getOccupied(VehicleType.FOUR_WHEELER), "Average of 0 and 2"),
+            () -> assertNull(history.read("B1", "F9", HistoryResolution.SECOND, START, START + 60))
+        );
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest buckets once the ring wraps")
+    void read_AfterWraparound_ShouldReturnRetainedWindowOnly() {
+        // Arrange
+        int retained = HistoryResolution.SECOND.getRetainedSamples();
+
+        // Act: sample for one retention window plus 10 seconds, skipping one second
+        for (long second = START; second < START + retained + 10; second++) {
+            if (second != START + retained + 5) {
+                history.sample(second);
+            }
+        }
+        OccupancySeries all = history.read("B1", "F1", HistoryResolution.SECOND, START, START + retained + 10);
+
+        // Assert
+        List<Long> seconds = all.getEpochSeconds();
+        assertAll(
+            () -> assertEquals(retained - 1, seconds.size(), "One retained second was never sampled"),
+            () -> assertEquals(START + 10, seconds.get(0)),
+            () -> assertEquals(START + retained + 9, seconds.get(seconds.size() - 1)),
+            () -> assertFalse(seconds.contains(START + retained + 5))
+        );
+    }
+
+    private Vehicle vehicle(String registrationNumber) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(VehicleType.FOUR_WHEELER);
+        return vehicle;
+    }
+}
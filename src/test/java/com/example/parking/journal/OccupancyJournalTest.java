@@ -0,0 +1,201 @@
+package com.example.parking.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.InMemoryParkingRepository;
+import com.example.parking.repository.OccupancyListener;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Test class for JournalFile and OccupancyJournal
+ * Covers the record format, torn-record recovery and restart replay
+ */
+class OccupancyJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back appended records across segments")
+    void journalFile_ShouldRoundTripRecords() throws IOException {
+        // Arrange
+        Path path = directory.resolve("round-trip.journal");
+        long key = SlotKeyCodec.parse("B1-F1-TW-01");
+
+        // Act
+        try (JournalFile journal = JournalFile.open(path, 4)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(i % 2 == 0 ? JournalFile.OCCUPIED : JournalFile.RELEASED, key + i, "KA-" + i, 1000L + i);
+            }
+            journal.append(JournalFile.RELEASED, key, null, 2000L);
+        }
+        List<String> records = new ArrayList<>();
+        long count = JournalFile.replay(path, (type, slotKey, plate, timestamp) ->
+            records.add(type + ":" + (slotKey - key) + ":" + plate + ":" + timestamp));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(11, count),
+            () -> assertEquals("1:0:KA-0:1000", records.get(0)),
+            () -> assertEquals("2:9:KA-9:1009", records.get(9)),
+            () -> assertEquals("2:0:null:2000", records.get(10))
+        );
+    }
+
+    @Test
+    @DisplayName("Should encode registration numbers as UTF-8 and drop ones that do not fit")
+    void journalFile_ShouldEncodePlatesAsUtf8() throws IOException {
+        // Arrange
+        Path path = directory.resolve("utf8.journal");
+        long key = SlotKeyCodec.parse("B1-F1-TW-01");
+        List<String> plates = List.of("KA-ü", "KA-€", "KA-\uD83D\uDE97", "K".repeat(JournalFile.MAX_PLATE_BYTES),
+            "€".repeat(JournalFile.MAX_PLATE_BYTES / 3 + 1));
+
+        // Act
+        try (JournalFile journal = JournalFile.open(path, 4)) {
+            for (String plate : plates) {
+                journal.append(JournalFile.OCCUPIED, key, plate, 1L);
+            }
+        }
+        List<String> replayed = new ArrayList<>();
+        JournalFile.replay(path, (type, slotKey, plate, timestamp) -> replayed.add(plate));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(plates.subList(0, 4), replayed.subList(0, 4)),
+            () -> assertNull(replayed.get(4), "A plate longer than the record holds is stored as null")
+        );
+    }
+
+    @Test
+    @DisplayName("Should stop at a torn record and append after the last good one")
+    void journalFile_WhenTailIsTorn_ShouldTruncateAtLastValidRecord() throws IOException {
+        // Arrange
+        Path path = directory.resolve("torn.journal");
+        long key = SlotKeyCodec.parse("B1-F1-TW-01");
+        try (JournalFile journal = JournalFile.open(path, 16)) {
+            journal.append(JournalFile.OCCUPIED, key, "KA-1", 1L);
+            journal.append(JournalFile.OCCUPIED, key + 1, "KA-2", 2L);
+            journal.append(JournalFile.OCCUPIED, key + 2, "KA-3", 3L);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), JournalFile.RECORD_SIZE + 20);
+        }
+
+        // Act
+        long afterTear = JournalFile.replay(path, (type, slotKey, plate, timestamp) -> { });
+        try (JournalFile journal = JournalFile.open(path, 16)) {
+            journal.append(JournalFile.RELEASED, key, "KA-1", 4L);
+        }
+        List<String> plates = new ArrayList<>();
+        JournalFile.replay(path, (type, slotKey, plate, timestamp) -> plates.add(type + plate));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(1, afterTear),
+            () -> assertEquals(List.of("1KA-1", "2KA-1"), plates, "Records behind the tear must not resurface")
+        );
+    }
+
+    @Test
+    @DisplayName("Should rebuild parked vehicles from the journal after a restart")
+    void start_ShouldReplayOccupancyIntoFreshRepository() throws IOException {
+        // Arrange
+        Path path = directory.resolve("occupancy.journal");
+        InMemoryParkingRepository before = new InMemoryParkingRepository();
+        before.init();
+        OccupancyJournal journal = new OccupancyJournal(before, path.toString(), 5, 1024);
+        journal.start();
+        ParkingSlot kept = before.claimAvailableSlot(vehicle("KA01AB0001", VehicleType.FOUR_WHEELER)).get();
+        before.claimAvailableSlot(vehicle("KA01AB0002", VehicleType.TWO_WHEELER));
+        before.releaseSlot("KA01AB0002");
+        int freeFourWheeler = before.countAvailableSlots(VehicleType.FOUR_WHEELER);
+        int freeTwoWheeler = before.countAvailableSlots(VehicleType.TWO_WHEELER);
+        journal.stop();
+
+        // Act
+        InMemoryParkingRepository after = new InMemoryParkingRepository();
+        after.init();
+        OccupancyJournal replayed = new OccupancyJournal(after, path.toString(), 5, 1024);
+        replayed.start();
+        after.claimAvailableSlot(vehicle("KA01AB0003", VehicleType.FOUR_WHEELER));
+        replayed.stop();
+
+        // Assert
+        assertAll(
+            () -> assertEquals(kept.getId(), after.findByRegistrationNumber("KA01AB0001").get().getId()),
+            () -> assertTrue(after.findById(kept.getId()).get().isOccupied()),
+            () -> assertFalse(after.findByRegistrationNumber("KA01AB0002").isPresent()),
+            () -> assertEquals(freeFourWheeler - 1, after.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(freeTwoWheeler, after.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(freeTwoWheeler,
+                after.getAllBuildings().values().stream()
+                    .mapToInt(building -> building.getAvailableCapacity(VehicleType.TWO_WHEELER)).sum()),
+            () -> assertEquals("KA01AB0001", after.findById(kept.getId()).get().getParkedVehicle().getRegistrationNumber())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not report replayed occupancy to listeners registered before the journal")
+    void start_ShouldNotNotifyEarlierListenersOfReplay() throws IOException {
+        // Arrange
+        Path path = directory.resolve("quiet.journal");
+        InMemoryParkingRepository before = new InMemoryParkingRepository();
+        before.init();
+        OccupancyJournal journal = new OccupancyJournal(before, path.toString(), 5, 1024);
+        journal.start();
+        before.claimAvailableSlot(vehicle("KA01AB0001", VehicleType.FOUR_WHEELER));
+        journal.stop();
+        InMemoryParkingRepository after = new InMemoryParkingRepository();
+        after.init();
+        List<String> events = new ArrayList<>();
+        after.addOccupancyListener(new OccupancyListener() {
+            @Override
+            public void slotOccupied(long slotKey, String registrationNumber) {
+                events.add("occupied:" + registrationNumber);
+            }
+
+            @Override
+            public void slotReleased(long slotKey, String registrationNumber) {
+                events.add("released:" + registrationNumber);
+            }
+        });
+
+        // Act
+        OccupancyJournal replayed = new OccupancyJournal(after, path.toString(), 5, 1024);
+        replayed.start();
+        after.claimAvailableSlot(vehicle("KA01AB0002", VehicleType.FOUR_WHEELER));
+        replayed.stop();
+
+        // Assert
+        assertAll(
+            () -> assertTrue(after.findByRegistrationNumber("KA01AB0001").isPresent()),
+            () -> assertEquals(List.of("occupied:KA01AB0002"), events, "Only changes after the replay are reported")
+        );
+    }
+
+    private Vehicle vehicle(String registrationNumber, VehicleType type) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(type);
+        return vehicle;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.parking.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.DwellWindow;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Test class for DwellStats and DwellHistogram
+ */
+class DwellStatsTest {
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    @DisplayName("Should report percentiles per floor and vehicle type within bucket precision")
+    void summarize_ShouldReturnPercentilesOfRecordedDurations() {
+        // Arrange: durations of 1 to 100 minutes on B1-F1, one long stay on B1-F2
+        DwellStats stats = new DwellStats(new SessionLedger(new BitsetParkingRepository(), 16, 4));
+        long fourWheeler = SlotKeyCodec.encode(1, 1, VehicleType.FOUR_WHEELER, 1);
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            stats.sessionCompleted(fourWheeler, 0, minutes * MINUTE);
+        }
+        stats.sessionCompleted(SlotKeyCodec.encode(1, 2, VehicleType.FOUR_WHEELER, 1), 0, 600 * MINUTE);
+
+        // Act
+        DwellSummary summary = stats.summarize(1, 1, VehicleType.FOUR_WHEELER, DwellWindow.ALL);
+        DwellSummary twoWheelers = stats.summarize(1, 1, VehicleType.TWO_WHEELER, DwellWindow.ALL);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(100, summary.getCount()),
+            () -> assertWithinPrecision(50 * 60, summary.valueAtPercentile(50)),
+            () -> assertWithinPrecision(95 * 60, summary.valueAtPercentile(95)),
+            () -> assertWithinPrecision(100 * 60, summary.getMax()),
+            () -> assertEquals(0, twoWheelers.getCount()),
+            () -> assertEquals(0, twoWheelers.valueAtPercentile(50)),
+            () -> assertEquals(1, stats.summarize(1, 2, VehicleType.FOUR_WHEELER, DwellWindow.DAY).getCount()),
+            () -> assertNull(stats.summarize(1, 3, VehicleType.FOUR_WHEELER, DwellWindow.DAY))
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop exits older than the window once its snapshot ring is full")
+    void rotate_ShouldRollWindowsForward() {
+        // Arrange
+        DwellStats stats = new DwellStats(new SessionLedger(new BitsetParkingRepository(), 16, 4));
+        long slotKey = SlotKeyCodec.encode(1, 1, VehicleType.TWO_WHEELER, 1);
+        long start = 1_700_000_400L;
+        stats.sessionCompleted(slotKey, 0, 5 * MINUTE);
+        stats.rotate(start);
+
+        // Act: an hour of 5-minute snapshots, then one more exit
+        for (int i = 1; i <= DwellWindow.HOUR.getSnapshots(); i++) {
+            stats.rotate(start + i * DwellWindow.HOUR.getSnapshotSeconds());
+        }
+        stats.sessionCompleted(slotKey, 0, 30 * MINUTE);
+
+        // Assert
+        DwellSummary hour = stats.summarize(1, 1, VehicleType.TWO_WHEELER, DwellWindow.HOUR);
+        assertAll(
+            () -> assertEquals(1, hour.getCount(), "The 5-minute stay left the hour window"),
+            () -> assertWithinPrecision(30 * 60, hour.valueAtPercentile(50)),
+            () -> assertEquals(2, stats.summarize(1, 1, VehicleType.TWO_WHEELER, DwellWindow.DAY).getCount()),
+            () -> assertEquals(2, stats.summarize(1, 1, VehicleType.TWO_WHEELER, DwellWindow.ALL).getCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should record sessions completed by repository releases")
+    void sessionCompleted_ShouldReceiveLedgerSessions() {
+        // Arrange
+        BitsetParkingRepository repository = new BitsetParkingRepository();
+        repository.init();
+        SessionLedger ledger = new SessionLedger(repository, 16, 4);
+        ledger.start();
+        DwellStats stats = new DwellStats(ledger);
+        ledger.addSessionListener(stats);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber("KA01AB1234");
+        vehicle.setType(VehicleType.FOUR_WHEELER);
+
+        // Act
+        long slotKey = SlotKeyCodec.parse(repository.claimAvailableSlot(vehicle).get().getId());
+        repository.releaseSlot("KA01AB1234");
+
+        // Assert
+        DwellSummary summary = stats.summarize(SlotKeyCodec.buildingNumber(slotKey), SlotKeyCodec.floorNumber(slotKey),
+            VehicleType.FOUR_WHEELER, DwellWindow.HOUR);
+        assertEquals(1, summary.getCount());
+    }
+
+    @Test
+    @DisplayName("Should map every duration into a bucket whose upper bound covers it")
+    void indexOf_ShouldBoundRelativeError() {
+        for (long seconds : new long[] { 0, 31, 32, 33, 63, 64, 3_599, 3_600, 86_400, (1L << 22) - 1 }) {
+            long upper = DwellHistogram.highestValueOf(DwellHistogram.indexOf(seconds));
+            assertTrue(upper >= seconds && upper <= seconds + seconds / 16 + 1, seconds + " -> " + upper);
+        }
+        assertEquals(DwellHistogram.BUCKET_COUNT - 1, DwellHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16 + 1, "Expected about " + expected + " but was " + actual);
+    }
+}
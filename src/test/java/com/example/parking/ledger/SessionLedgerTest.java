@@ -0,0 +1,113 @@
+package com.example.parking.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Test class for SessionLedger and PlateCodec
+ */
+class SessionLedgerTest {
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    @DisplayName("Should find sessions overlapping a time range and on a floor across segments")
+    void scan_ShouldFilterByTimeRangeAndFloor() {
+        // Arrange: 4 sessions per segment, one hour each, alternating between two floors
+        SessionLedger ledger = new SessionLedger(new BitsetParkingRepository(), 4, 8);
+        long start = System.currentTimeMillis() / 1000 * 1000;
+        for (int i = 0; i < 10; i++) {
+            int floor = i % 2 + 1;
+            ledger.append(SlotKeyCodec.encode(1, floor, VehicleType.FOUR_WHEELER, i + 1), "KA-" + i,
+                start + i * HOUR, start + (i + 1) * HOUR);
+        }
+
+        // Act
+        List<String> inRange = new ArrayList<>();
+        long matchedInRange = ledger.scan(start + 2 * HOUR + 1000, start + 5 * HOUR, -1, 10,
+            (slotKey, plate, entry, exit) -> inRange.add(plate));
+        List<String> onFloor = new ArrayList<>();
+        long matchedOnFloor = ledger.scan(start, start + 10 * HOUR, SlotKeyCodec.floorOf(1, 2), 2,
+            (slotKey, plate, entry, exit) -> onFloor.add(SlotKeyCodec.format(slotKey)));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of("KA-2", "KA-3", "KA-4"), inRange),
+            () -> assertEquals(3, matchedInRange),
+            () -> assertEquals(List.of("B1-F2-FW-02", "B1-F2-FW-04"), onFloor, "Limited to two sessions"),
+            () -> assertEquals(5, matchedOnFloor),
+            () -> assertEquals(10, ledger.getSessionCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest segment once the segment limit is reached")
+    void append_WhenFull_ShouldDropOldestSegment() {
+        // Arrange
+        SessionLedger ledger = new SessionLedger(new BitsetParkingRepository(), 2, 2);
+        long now = System.currentTimeMillis();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            ledger.append(SlotKeyCodec.encode(1, 1, VehicleType.TWO_WHEELER, i + 1), "P" + i, now, now);
+        }
+        List<String> kept = new ArrayList<>();
+        ledger.scan(now - HOUR, now + HOUR, -1, 10, (slotKey, plate, entry, exit) -> kept.add(plate));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of("P2", "P3", "P4"), kept),
+            () -> assertEquals(3, ledger.getSessionCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should record a park-to-exit session from repository events")
+    void slotReleased_ShouldAppendSessionOpenedByOccupy() {
+        // Arrange
+        BitsetParkingRepository repository = new BitsetParkingRepository();
+        repository.init();
+        SessionLedger ledger = new SessionLedger(repository, 16, 4);
+        ledger.start();
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber("a-plate-longer-than-ten");
+        vehicle.setType(VehicleType.FOUR_WHEELER);
+
+        // Act
+        String slotId = repository.claimAvailableSlot(vehicle).get().getId();
+        int openWhileParked = ledger.getOpenSessionCount();
+        repository.releaseSlot(vehicle.getRegistrationNumber());
+        List<String> recorded = new ArrayList<>();
+        ledger.scan(0, System.currentTimeMillis() + HOUR, -1, 10,
+            (slotKey, plate, entry, exit) -> recorded.add(SlotKeyCodec.format(slotKey) + " " + plate));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(1, openWhileParked),
+            () -> assertEquals(0, ledger.getOpenSessionCount()),
+            () -> assertEquals(List.of(slotId + " a-plate-longer-than-ten"), recorded, "Unpackable plates are kept aside")
+        );
+    }
+
+    @Test
+    @DisplayName("Should pack plates into one long and restore them")
+    void pack_ShouldRoundTripSupportedPlates() {
+        assertAll(
+            () -> assertEquals("KA01AB1234", PlateCodec.unpack(PlateCodec.pack("KA01AB1234"))),
+            () -> assertEquals("G0-z", PlateCodec.unpack(PlateCodec.pack("G0-z"))),
+            () -> assertNull(PlateCodec.unpack(PlateCodec.pack(null))),
+            () -> assertEquals(PlateCodec.NOT_PACKED, PlateCodec.pack("KA01AB12345")),
+            () -> assertEquals(PlateCodec.NOT_PACKED, PlateCodec.pack("KA 01"))
+        );
+    }
+}
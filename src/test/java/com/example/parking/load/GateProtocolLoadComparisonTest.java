@@ -0,0 +1,209 @@
+package com.example.parking.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.parking.ParkingApplication;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.gate.GateClient;
+import com.example.parking.gate.GateProtocol;
+import com.example.parking.gate.GateServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the same gate workload over the JSON/HTTP API and over the binary gate protocol
+ * against one application, and prints both results. Each simulated gate repeats a cycle of
+ * park, slot status and exit for one vehicle. Over HTTP the three calls are sequential; over
+ * the gate protocol the status and exit that follow park are pipelined in one write. Opt-in:
+ * ./mvnw test -Dtest=GateProtocolLoadComparisonTest -Dload.compare-gate=true -Dload.gates=8 -Dload.cycles=5000
+ */
+@EnabledIfSystemProperty(named = "load.compare-gate", matches = "true")
+@Slf4j
+class GateProtocolLoadComparisonTest {
+    private static final Pattern SLOT_ID = Pattern.compile("\"slotId\":\"([^\"]+)\"");
+
+    @Test
+    @DisplayName("Should serve the same cycles over HTTP and the gate protocol without errors")
+    void gateWorkload_OverHttpAndGateProtocol_ShouldReportBoth() throws Exception {
+        // Arrange
+        int gates = Integer.getInteger("load.gates", 8);
+        int cycles = Integer.getInteger("load.cycles", 2_000);
+        int warmupCycles = Integer.getInteger("load.warmup-cycles", 500);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ParkingApplication.class)
+                .properties("server.port=0", "parking.gate.enabled=true", "parking.gate.port=0")
+                .run()) {
+            URI baseUri = URI.create("http://127.0.0.1:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/parking");
+            int gatePort = context.getBean(GateServer.class).getPort();
+
+            // Act
+            run(gates, warmupCycles, gate -> new HttpGate(baseUri, gate));
+            Result http = run(gates, cycles, gate -> new HttpGate(baseUri, gate));
+            run(gates, warmupCycles, gate -> new BinaryGate(gatePort, gate));
+            Result binary = run(gates, cycles, gate -> new BinaryGate(gatePort, gate));
+            log.info("Gate cycles (park, status, exit) over HTTP:\n{}\nOver the gate protocol:\n{}", http, binary);
+
+            // Assert
+            assertAll(
+                () -> assertEquals(0, http.errors(), http::toString),
+                () -> assertEquals(0, binary.errors(), binary::toString)
+            );
+        }
+    }
+
+    /** One simulated gate running cycles on its own connection */
+    private interface Gate extends AutoCloseable {
+        /**
+         * Runs one park, status and exit cycle
+         * @return True if all three requests succeeded
+         */
+        boolean cycle(String registrationNumber) throws Exception;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface GateFactory {
+        Gate open(int gate) throws Exception;
+    }
+
+    private record Result(LatencyHistogram histogram, long cycles, long errors, long elapsedNanos) {
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("  cycles %d, errors %d, %.0f cycles/s%n  cycle latency p50 %d us, p99 %d us, max %d us",
+                cycles, errors, cycles / seconds, histogram.valueAtPercentile(50), histogram.valueAtPercentile(99),
+                histogram.max());
+        }
+    }
+
+    private static Result run(int gates, int cycles, GateFactory factory) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        List<Future<Long>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            Callable<Long> task = () -> {
+                long errors = 0;
+                try (Gate client = factory.open(gate)) {
+                    for (int i = 0; i < cycles; i++) {
+                        long cycleStarted = System.nanoTime();
+                        if (!client.cycle("G" + gate + "-" + i)) {
+                            errors++;
+                        }
+                        histogram.record((System.nanoTime() - cycleStarted) / 1_000);
+                    }
+                }
+                return errors;
+            };
+            futures.add(executor.submit(task));
+        }
+        long errors = 0;
+        for (Future<Long> future : futures) {
+            errors += future.get(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+        return new Result(histogram, (long) gates * cycles, errors, elapsed);
+    }
+
+    private static final class HttpGate implements Gate {
+        private final URI baseUri;
+        private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        private final VehicleType type;
+
+        HttpGate(URI baseUri, int gate) {
+            this.baseUri = baseUri;
+            this.type = VehicleType.values()[gate % VehicleType.values().length];
+        }
+
+        @Override
+        public boolean cycle(String registrationNumber) throws Exception {
+            HttpResponse<String> parked = client.send(post("/park", "{\"registrationNumber\":\"" + registrationNumber
+                + "\",\"vehicleType\":\"" + type + "\"}"), HttpResponse.BodyHandlers.ofString());
+            Matcher slot = SLOT_ID.matcher(parked.body());
+            if (!slot.find()) {
+                return false;
+            }
+            HttpResponse<String> status = client.send(HttpRequest.newBuilder(resolve("/slot/" + slot.group(1))).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> exited = client.send(post("/exit", "{\"registrationNumber\":\"" + registrationNumber + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+            return status.statusCode() == 200 && exited.body().contains("\"success\":true");
+        }
+
+        @Override
+        public void close() {
+            // HttpClient has no close on Java 17; idle connections are reclaimed
+        }
+
+        private HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder(resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        }
+
+        private URI resolve(String path) {
+            return baseUri.resolve(baseUri.getPath() + path);
+        }
+    }
+
+    private static final class BinaryGate implements Gate {
+        private final GateClient client;
+        private final VehicleType type;
+
+        BinaryGate(int port, int gate) throws Exception {
+            this.client = new GateClient("127.0.0.1", port);
+            this.type = VehicleType.values()[gate % VehicleType.values().length];
+        }
+
+        @Override
+        public boolean cycle(String registrationNumber) throws Exception {
+            GateClient.Response parked = client.park(registrationNumber, type);
+            if (!parked.ok()) {
+                return false;
+            }
+            client.send(GateProtocol.OP_SLOT_STATUS, null, parked.text());
+            client.send(GateProtocol.OP_EXIT, null, registrationNumber);
+            client.flush();
+            GateClient.Response status = client.receive();
+            GateClient.Response exited = client.receive();
+            return status.occupied() && exited.ok();
+        }
+
+        @Override
+        public void close() throws IOException {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.parking.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the parking API.
+ * Requests are issued on a fixed schedule at the target rate whether or not earlier ones have
+ * completed, and latency is measured from each request's scheduled start, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered load.
+ */
+class LoadGenerator {
+
+    /**
+     * Operations in the request mix
+     */
+    enum Operation {
+        PARK, EXIT, SLOT, CAPACITY, AVAILABILITY
+    }
+
+    private static final String[] TYPES = {"TWO_WHEELER", "FOUR_WHEELER"};
+    private static final String[] TYPE_CODES = {"TW", "FW"};
+
+    private final URI baseUri;
+    private final int ratePerSecond;
+    private final Duration duration;
+    private final Operation[] mixTable;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Queue<String> parkedVehicles = new ConcurrentLinkedQueue<>();
+    private final AtomicLong plateSequence = new AtomicLong();
+
+    /**
+     * Creates a generator
+     * @param baseUri Base URI of the API, e.g. http://localhost:8080/api/parking
+     * @param ratePerSecond Requests to start per second
+     * @param duration How long to keep issuing requests
+     * @param mix Relative weight of each operation
+     */
+    LoadGenerator(URI baseUri, int ratePerSecond, Duration duration, Map<Operation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.mixTable = mixTable(mix);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(executor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    /**
+     * Parses a mix such as "park=20,exit=20,slot=20,capacity=10,availability=30"
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Drives the schedule to completion and waits for every request to finish
+     * @return Latency, error and throughput figures per operation
+     */
+    LoadReport run() throws InterruptedException {
+        long total = (long) ratePerSecond * duration.toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        LoadReport report = new LoadReport(ratePerSecond);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(send(mixTable[ThreadLocalRandom.current().nextInt(mixTable.length)], scheduled, report));
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            report.timedOut(inFlight.stream().filter(future -> !future.isDone()).count());
+        }
+        report.finish(System.nanoTime() - start);
+        executor.shutdownNow();
+        return report;
+    }
+
+    private CompletableFuture<?> send(Operation operation, long scheduled, LoadReport report) {
+        String exitingPlate = operation == Operation.EXIT ? parkedVehicles.poll() : null;
+        Operation effective = operation == Operation.EXIT && exitingPlate == null ? Operation.SLOT : operation;
+        String parkingPlate = effective == Operation.PARK ? "LOAD-" + plateSequence.incrementAndGet() : null;
+
+        HttpRequest request = switch (effective) {
+            case PARK -> post("/park", "{\"registrationNumber\":\"" + parkingPlate
+                + "\",\"vehicleType\":\"" + TYPES[ThreadLocalRandom.current().nextInt(2)] + "\"}");
+            case EXIT -> post("/exit", "{\"registrationNumber\":\"" + exitingPlate + "\"}");
+            case SLOT -> get("/slot/" + randomSlotId());
+            case CAPACITY -> get("/capacity");
+            case AVAILABILITY -> post("/availability", "{\"buildingId\":\"B" + (1 + ThreadLocalRandom.current().nextInt(4))
+                + "\",\"floorId\":\"F" + (1 + ThreadLocalRandom.current().nextInt(2)) + "\"}");
+        };
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, failure) -> {
+                long micros = (System.nanoTime() - scheduled) / 1_000;
+                boolean ok = failure == null && response.statusCode() < 300;
+                report.record(effective, micros, ok);
+                if (ok && parkingPlate != null && response.body().contains("\"success\":true")) {
+                    parkedVehicles.add(parkingPlate);
+                }
+            });
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+            .timeout(Duration.ofSeconds(10))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private static String randomSlotId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int type = random.nextInt(2);
+        return "B" + (1 + random.nextInt(4)) + "-F" + (1 + random.nextInt(2)) + "-" + TYPE_CODES[type]
+            + "-" + String.format("%02d", 1 + random.nextInt(type == 0 ? 50 : 30));
+    }
+
+    private static Operation[] mixTable(Map<Operation, Integer> mix) {
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Request mix has no weight");
+        }
+        return table.toArray(Operation[]::new);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.parking.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.parking.load.LoadGenerator.Operation;
+
+/**
+ * Results of one load run: latency histograms and error counts per operation and overall
+ */
+class LoadReport {
+    private final int targetRate;
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong timedOut = new AtomicLong();
+    private long elapsedNanos;
+
+    LoadReport(int targetRate) {
+        this.targetRate = targetRate;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void record(Operation operation, long micros, boolean ok) {
+        overall.record(micros);
+        histograms.get(operation).record(micros);
+        if (!ok) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    void timedOut(long requests) {
+        timedOut.addAndGet(requests);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long completed() {
+        return overall.count();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum() + timedOut.get();
+    }
+
+    double throughput() {
+        return elapsedNanos == 0 ? 0 : completed() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets an overall latency percentile in microseconds
+     */
+    long percentile(double percentile) {
+        return overall.valueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "target %d req/s, achieved %.0f req/s over %d ms, %d errors%n",
+            targetRate, throughput(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), errors()));
+        report.append(String.format(Locale.ROOT, "%-13s %8s %7s %10s %10s %10s %10s%n",
+            "operation", "count", "errors", "p50 us", "p99 us", "p99.9 us", "max us"));
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.count() > 0) {
+                appendRow(report, operation.name(), histogram, errors.get(operation).get());
+            }
+        });
+        appendRow(report, "ALL", overall, errors());
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String name, LatencyHistogram histogram, long errors) {
+        report.append(String.format(Locale.ROOT, "%-13s %8d %7d %10d %10d %10d %10d%n", name, histogram.count(), errors,
+            histogram.valueAtPercentile(50), histogram.valueAtPercentile(99), histogram.valueAtPercentile(99.9),
+            histogram.max()));
+    }
+}
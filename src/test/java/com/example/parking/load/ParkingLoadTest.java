@@ -0,0 +1,74 @@
+package com.example.parking.load;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * End-to-end load test against the application on a random port.
+ * Defaults keep the build quick; raise them for a pre-rollout run, e.g.
+ * ./mvnw test -Dtest=ParkingLoadTest -Dload.rate=5000 -Dload.duration-seconds=60 -Dload.p99-millis=50
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class ParkingLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should serve the request mix at the target rate without errors")
+    void parkingApi_UnderOpenLoopLoad_ShouldMeetTargets() throws InterruptedException {
+        // Arrange
+        int rate = Integer.getInteger("load.rate", 200);
+        int seconds = Integer.getInteger("load.duration-seconds", 3);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 2);
+        String mix = System.getProperty("load.mix", "park=20,exit=20,slot=20,capacity=10,availability=30");
+        long p99Millis = Long.getLong("load.p99-millis", 0);
+        URI baseUri = URI.create("http://127.0.0.1:" + port + "/api/parking");
+        if (warmupSeconds > 0) {
+            new LoadGenerator(baseUri, rate, Duration.ofSeconds(warmupSeconds), LoadGenerator.parseMix(mix)).run();
+        }
+        LoadGenerator generator = new LoadGenerator(baseUri, rate, Duration.ofSeconds(seconds), LoadGenerator.parseMix(mix));
+
+        // Act
+        LoadReport report = generator.run();
+        log.info("Load test results:\n{}", report);
+
+        // Assert
+        assertAll(
+            () -> assertEquals((long) rate * seconds, report.completed(), report::toString),
+            () -> assertEquals(0, report.errors(), report::toString),
+            () -> assertTrue(p99Millis == 0 || report.percentile(99) <= p99Millis * 1_000, report::toString)
+        );
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within bucket precision")
+    void latencyHistogram_ShouldReportPercentiles() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        // Act & Assert
+        assertAll(
+            () -> assertEquals(100_000, histogram.count()),
+            () -> assertEquals(50_000, histogram.valueAtPercentile(50), 50_000 * 0.016),
+            () -> assertEquals(99_000, histogram.valueAtPercentile(99), 99_000 * 0.016),
+            () -> assertEquals(99_900, histogram.valueAtPercentile(99.9), 99_900 * 0.016),
+            () -> assertEquals(100, histogram.valueAtPercentile(0.1)),
+            () -> assertEquals(100_000, histogram.max(), 100_000 * 0.016)
+        );
+    }
+}
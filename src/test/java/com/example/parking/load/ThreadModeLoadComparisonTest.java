@@ -0,0 +1,60 @@
+package com.example.parking.load;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.parking.ParkingApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the same open-loop load against the application served on platform threads and on
+ * virtual threads, and prints both reports side by side. Needs Java 21 and is opt-in:
+ * ./mvnw -Pjava21 test -Dtest=ThreadModeLoadComparisonTest -Dload.compare-thread-modes=true -Dload.rate=5000
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "load.compare-thread-modes", matches = "true")
+@Slf4j
+class ThreadModeLoadComparisonTest {
+
+    @Test
+    @DisplayName("Should serve the same load on platform and virtual threads without errors")
+    void parkingApi_OnPlatformAndVirtualThreads_ShouldReportBoth() throws InterruptedException {
+        // Arrange
+        int rate = Integer.getInteger("load.rate", 1_000);
+        int seconds = Integer.getInteger("load.duration-seconds", 10);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+        String mix = System.getProperty("load.mix", "park=20,exit=20,slot=20,capacity=10,availability=30");
+
+        // Act
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ParkingApplication.class)
+                    .properties("server.port=0", "spring.threads.virtual.enabled=" + virtual)
+                    .run()) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI baseUri = URI.create("http://127.0.0.1:" + port + "/api/parking");
+                new LoadGenerator(baseUri, rate, Duration.ofSeconds(warmupSeconds), LoadGenerator.parseMix(mix)).run();
+                reports.put(virtual ? "virtual threads" : "platform threads",
+                    new LoadGenerator(baseUri, rate, Duration.ofSeconds(seconds), LoadGenerator.parseMix(mix)).run());
+            }
+        }
+        reports.forEach((mode, report) -> log.info("Load test results on {}:\n{}", mode, report));
+
+        // Assert
+        assertAll(reports.values().stream().map(report -> () -> assertEquals(0, report.errors(), report::toString)));
+    }
+}
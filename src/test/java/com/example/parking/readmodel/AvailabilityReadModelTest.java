@@ -0,0 +1,107 @@
+package com.example.parking.readmodel;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.BitsetParkingRepository;
+
+/**
+ * Test class for AvailabilityReadModel
+ * Checks that views are reused while nothing changes and republished after writes
+ */
+class AvailabilityReadModelTest {
+
+    private BitsetParkingRepository repository;
+    private AvailabilityReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BitsetParkingRepository();
+        Building building = new Building();
+        building.setBuildingId("B1");
+        for (int floorNumber = 1; floorNumber <= 2; floorNumber++) {
+            Floor floor = new Floor();
+            floor.setBuildingId("B1");
+            floor.setFloorId("F" + floorNumber);
+            for (int i = 1; i <= 2; i++) {
+                ParkingSlot slot = new ParkingSlot();
+                slot.setId(String.format("B1-F%d-FW-%02d", floorNumber, i));
+                slot.setVehicleType(VehicleType.FOUR_WHEELER);
+                floor.getParkingSlots().add(slot);
+            }
+            building.getFloors().add(floor);
+        }
+        repository.save(building);
+        readModel = new AvailabilityReadModel(repository, 10);
+    }
+
+    @Test
+    @DisplayName("Should serve the published view and republish only after writes")
+    void getView_ShouldRepublishOnlyAfterWrites() {
+        // Act
+        AvailabilityView first = readModel.publish();
+        AvailabilityView unchanged = readModel.publish();
+        repository.claimAvailableSlot(vehicle("KA01AB1234"));
+        repository.claimAvailableSlot(vehicle("KA01AB5678"));
+        AvailabilityView beforePublish = readModel.getView();
+        AvailabilityView afterWrites = readModel.publish();
+
+        // Assert
+        assertAll(
+            () -> assertSame(first, unchanged),
+            () -> assertSame(first, beforePublish, "Readers see the published view until the next publish"),
+            () -> assertSame(afterWrites, readModel.getView()),
+            () -> assertNotSame(first, afterWrites),
+            () -> assertEquals(repository.getVersion(), afterWrites.getVersion(), "Both writes should be in one view"),
+            () -> assertEquals(2, first.getFloor("B1", "F1").getAvailableSlots().get(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(0, afterWrites.getFloor("B1", "F1").getAvailableSlots().get(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(2, afterWrites.getFloor("B1", "F2").getAvailableSlots().get(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(repository.getFloorVersion("B1", "F1"), afterWrites.getFloorVersion("B1", "F1")),
+            () -> assertEquals(-1, afterWrites.getFloorVersion("B9", "F1")),
+            () -> assertThrows(UnsupportedOperationException.class, () -> afterWrites.getBuildings().clear())
+        );
+    }
+
+    @Test
+    @DisplayName("Should cache floor availability per floor version")
+    void getFloorAvailability_ShouldRereadOnlyChangedFloors() {
+        // Arrange
+        FloorAvailabilityDTO floorOne = readModel.getFloorAvailability("B1", "F1");
+        FloorAvailabilityDTO floorTwo = readModel.getFloorAvailability("B1", "F2");
+
+        // Act
+        repository.claimAvailableSlot(vehicle("KA01AB1234"));
+
+        // Assert
+        FloorAvailabilityDTO changed = readModel.getFloorAvailability("B1", "F1");
+        assertAll(
+            () -> assertNotSame(floorOne, changed),
+            () -> assertEquals(1, changed.getTotalAvailableFourWheelerSlots()),
+            () -> assertTrue(changed.getAvailableFourWheelerSlots().contains("B1-F1-FW-02")),
+            () -> assertSame(floorTwo, readModel.getFloorAvailability("B1", "F2"), "Untouched floor should be served from cache"),
+            () -> assertNull(readModel.getFloorAvailability("B1", "F9")),
+            () -> assertThrows(UnsupportedOperationException.class, () -> changed.getAvailableFourWheelerSlots().clear())
+        );
+    }
+
+    private Vehicle vehicle(String registrationNumber) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(VehicleType.FOUR_WHEELER);
+        return vehicle;
+    }
+}
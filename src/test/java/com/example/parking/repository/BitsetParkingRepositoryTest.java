@@ -0,0 +1,317 @@
+package com.example.parking.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.allocation.AllocationSettings;
+import com.example.parking.allocation.FillFloorPolicy;
+import com.example.parking.allocation.LowestFloorPolicy;
+import com.example.parking.allocation.NearestEntrancePolicy;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.Building;
+import com.example.parking.entity.Floor;
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Test class for BitsetParkingRepository
+ * Mirrors the object-based repository behaviour on the compact store
+ */
+class BitsetParkingRepositoryTest {
+
+    private BitsetParkingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BitsetParkingRepository();
+
+        Building building = new Building();
+        building.setBuildingId("B1");
+        Floor floor = new Floor();
+        floor.setFloorId("F1");
+        floor.setBuildingId("B1");
+        for (int i = 1; i <= 3; i++) {
+            floor.getParkingSlots().add(slot(String.format("B1-F1-TW-%02d", i), VehicleType.TWO_WHEELER));
+        }
+        for (int i = 1; i <= 70; i++) {
+            floor.getParkingSlots().add(slot(String.format("B1-F1-FW-%02d", i), VehicleType.FOUR_WHEELER));
+        }
+        building.getFloors().add(floor);
+        repository.save(building);
+    }
+
+    @Test
+    @DisplayName("Should expose building and floor views with availability counts")
+    void getAllBuildings_ShouldReturnViewsWithCounters() {
+        // Act
+        Map<String, Building> buildings = repository.getAllBuildings();
+
+        // Assert
+        Floor floor = buildings.get("B1").getFloors().get(0);
+        assertAll(
+            () -> assertEquals(1, buildings.size()),
+            () -> assertEquals("F1", floor.getFloorId()),
+            () -> assertEquals(3, floor.getAvailableCapacity(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(70, floor.getAvailableCapacity(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(73, buildings.get("B1").getAvailableCapacity())
+        );
+    }
+
+    @Test
+    @DisplayName("Should claim the lowest free slot across bitset words")
+    void claimAvailableSlot_ShouldSetBitsInOrder() {
+        // Act
+        List<String> claimed = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            claimed.add(repository.claimAvailableSlot(vehicle("KA-" + i, VehicleType.FOUR_WHEELER)).get().getId());
+        }
+
+        // Assert
+        assertAll(
+            () -> assertEquals("B1-F1-FW-01", claimed.get(0)),
+            () -> assertEquals("B1-F1-FW-65", claimed.get(64), "Should continue into the second word"),
+            () -> assertEquals("B1-F1-FW-70", claimed.get(69)),
+            () -> assertTrue(repository.claimAvailableSlot(vehicle("KA-X", VehicleType.FOUR_WHEELER)).isEmpty()),
+            () -> assertEquals(0, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals("KA-64", repository.findById("B1-F1-FW-65").get().getParkedVehicle().getRegistrationNumber())
+        );
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same bit twice under contention")
+    void claimAvailableSlot_WhenConcurrent_ShouldAllocateEachSlotOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Set<String> claimedIds = ConcurrentHashMap.newKeySet();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int gate = t;
+            futures.add(executor.submit(() -> {
+                int claims = 0;
+                for (int i = 0; i < 70; i++) {
+                    Optional<ParkingSlot> slot = repository.claimAvailableSlot(
+                        vehicle("G" + gate + "-" + i, VehicleType.FOUR_WHEELER));
+                    if (slot.isPresent()) {
+                        claims++;
+                        claimedIds.add(slot.get().getId());
+                    }
+                }
+                return claims;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(70, total);
+        assertEquals(70, claimedIds.size());
+    }
+
+    @Test
+    @DisplayName("Should update, look up and release slots through their IDs")
+    void updateSlot_ShouldToggleOccupancyBit() {
+        // Arrange
+        ParkingSlot slot = repository.findById("B1-F1-TW-02").get();
+        slot.setOccupied(true);
+        slot.setParkedVehicle(vehicle("KA01AB1234", VehicleType.TWO_WHEELER));
+
+        // Act
+        repository.updateSlot(slot);
+        FloorAvailabilityDTO availability = repository.getFloorAvailability("B1", "F1");
+
+        // Assert
+        assertAll(
+            () -> assertTrue(repository.findById("B1-F1-TW-02", ParkingSlot.class).get().isOccupied()),
+            () -> assertEquals(List.of("B1-F1-TW-01", "B1-F1-TW-03"), availability.getAvailableTwoWheelerSlots()),
+            () -> assertEquals(2, availability.getTotalAvailableTwoWheelerSlots()),
+            () -> assertEquals(2, repository.countAvailableSlots(VehicleType.TWO_WHEELER))
+        );
+
+        slot.setOccupied(false);
+        repository.updateSlot(slot);
+        assertEquals(3, repository.countAvailableSlots(VehicleType.TWO_WHEELER));
+        assertNull(repository.findById("B1-F1-TW-02").get().getParkedVehicle());
+    }
+
+    @Test
+    @DisplayName("Should release a slot by registration number exactly once")
+    void releaseSlot_ShouldClearBitHeldByVehicle() {
+        // Arrange
+        repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.FOUR_WHEELER));
+
+        // Act
+        boolean duplicateClaimed = repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.TWO_WHEELER)).isPresent();
+        Optional<ParkingSlot> parkedSlot = repository.findByRegistrationNumber("KA01AB1234");
+        Optional<ParkingSlot> released = repository.releaseSlot("KA01AB1234");
+
+        // Assert
+        assertAll(
+            () -> assertFalse(duplicateClaimed, "A parked vehicle should not get a second slot"),
+            () -> assertEquals("B1-F1-FW-01", parkedSlot.get().getId()),
+            () -> assertEquals("B1-F1-FW-01", released.get().getId()),
+            () -> assertFalse(released.get().isOccupied()),
+            () -> assertEquals(70, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(3, repository.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertFalse(repository.findById("B1-F1-FW-01").get().isOccupied()),
+            () -> assertFalse(repository.releaseSlot("KA01AB1234").isPresent(), "Second release should find nothing")
+        );
+    }
+
+    @Test
+    @DisplayName("Should report holds apart from parking and export held slots as free")
+    void holdAvailableSlot_ShouldStayOutOfEventsAndSnapshotsUntilConfirmed() {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        repository.addOccupancyListener(new OccupancyListener() {
+            @Override
+            public void slotOccupied(long slotKey, String registrationNumber) {
+                events.add("occupied " + registrationNumber);
+            }
+
+            @Override
+            public void slotReleased(long slotKey, String registrationNumber) {
+                events.add("released " + registrationNumber);
+            }
+
+            @Override
+            public void slotHeld(long slotKey, String registrationNumber) {
+                events.add("held " + registrationNumber);
+            }
+
+            @Override
+            public void holdReleased(long slotKey, String registrationNumber) {
+                events.add("hold released " + registrationNumber);
+            }
+        });
+        String firstSlot = repository.holdAvailableSlot(vehicle("KA01AB0001", VehicleType.FOUR_WHEELER)).get().getId();
+        String secondSlot = repository.holdAvailableSlot(vehicle("KA01AB0002", VehicleType.FOUR_WHEELER)).get().getId();
+
+        // Act
+        long heldWords = repository.exportFloors().get(0).getOccupied()[VehicleType.FOUR_WHEELER.ordinal()][0];
+        int freeWhileHeld = repository.countAvailableSlots(VehicleType.FOUR_WHEELER);
+        boolean confirmedOnOtherSlot = repository.confirmHold("KA01AB0001", secondSlot);
+        boolean confirmed = repository.confirmHold("KA01AB0001", firstSlot);
+        boolean reconfirmed = repository.confirmHold("KA01AB0001", firstSlot);
+        boolean parkedReleasedAsHold = repository.releaseHold("KA01AB0001", firstSlot).isPresent();
+        boolean releasedOnOtherSlot = repository.releaseHold("KA01AB0002", firstSlot).isPresent();
+        repository.releaseSlot("KA01AB0002");
+        long parkedWords = repository.exportFloors().get(0).getOccupied()[VehicleType.FOUR_WHEELER.ordinal()][0];
+        repository.releaseSlot("KA01AB0001");
+
+        // Assert
+        assertAll(
+            () -> assertEquals(0L, heldWords, "Held slots should not be persisted"),
+            () -> assertEquals(68, freeWhileHeld),
+            () -> assertFalse(confirmedOnOtherSlot, "A hold is confirmed only for the slot it was granted"),
+            () -> assertTrue(confirmed),
+            () -> assertFalse(reconfirmed, "A hold is confirmed once"),
+            () -> assertFalse(parkedReleasedAsHold, "releaseHold should leave a parked vehicle alone"),
+            () -> assertFalse(releasedOnOtherSlot, "A stale hold must not release the vehicle's hold on another slot"),
+            () -> assertEquals(1L, parkedWords),
+            () -> assertEquals(List.of("held KA01AB0001", "held KA01AB0002", "occupied KA01AB0001",
+                "hold released KA01AB0002", "released KA01AB0001"), events)
+        );
+    }
+
+    @Test
+    @DisplayName("Should advance global and floor versions on occupancy changes only")
+    void getVersion_ShouldAdvanceOnClaimAndRelease() {
+        // Arrange
+        long initialFloorVersion = repository.getFloorVersion("B1", "F1");
+
+        // Act
+        repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.FOUR_WHEELER));
+        long claimedFloorVersion = repository.getFloorVersion("B1", "F1");
+        repository.getFloorAvailability("B1", "F1");
+        long unchangedFloorVersion = repository.getFloorVersion("B1", "F1");
+        repository.releaseSlot("KA01AB1234");
+
+        // Assert
+        assertAll(
+            () -> assertTrue(claimedFloorVersion > initialFloorVersion, "Claim should advance the floor version"),
+            () -> assertEquals(claimedFloorVersion, unchangedFloorVersion, "Reads should not advance the version"),
+            () -> assertTrue(repository.getFloorVersion("B1", "F1") > claimedFloorVersion, "Release should advance the floor version"),
+            () -> assertEquals(repository.getVersion(), repository.getFloorVersion("B1", "F1")),
+            () -> assertEquals(-1, repository.getFloorVersion("B1", "F9"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should claim on the floor chosen by the building's allocation policy")
+    void claimAvailableSlot_WithBuildingPolicy_ShouldUsePolicyFloor() {
+        // Arrange: B1 has F1-F3 with 2 free four-wheeler slots on F2 and 4 on F1 and F3
+        repository.importFloors(List.of(floorSnapshot(1, 1, 4), floorSnapshot(1, 2, 2), floorSnapshot(1, 3, 4)));
+
+        // Act
+        String lowest = repository.claimAvailableSlot(vehicle("KA-1", VehicleType.FOUR_WHEELER)).get().getId();
+        repository.setAllocationSettings(new AllocationSettings(new LowestFloorPolicy(),
+            Map.of(1, new NearestEntrancePolicy("B1:F3")), false));
+        String nearest = repository.claimAvailableSlot(vehicle("KA-2", VehicleType.FOUR_WHEELER)).get().getId();
+        repository.setAllocationSettings(new AllocationSettings(new FillFloorPolicy(), Map.of(), false));
+        String fullest = repository.claimAvailableSlot(vehicle("KA-3", VehicleType.FOUR_WHEELER)).get().getId();
+
+        // Assert
+        assertAll(
+            () -> assertEquals("B1-F1-FW-01", lowest),
+            () -> assertEquals("B1-F3-FW-01", nearest),
+            () -> assertEquals("B1-F1-FW-02", fullest, "F2 is still empty; F1 and F3 are in use with 3 of 4 free"),
+            () -> assertEquals(7, repository.countAvailableSlots(VehicleType.FOUR_WHEELER))
+        );
+    }
+
+    @Test
+    @DisplayName("Should report unknown slots and floors")
+    void lookups_WhenUnknown_ShouldReturnEmpty() {
+        assertAll(
+            () -> assertFalse(repository.findById("B1-F1-TW-04").isPresent()),
+            () -> assertFalse(repository.findById("B2-F1-TW-01").isPresent()),
+            () -> assertNull(repository.getFloorAvailability("B1", "F9")),
+            () -> assertThrows(IllegalArgumentException.class,
+                () -> repository.updateSlot(slot("B1-F1-TW-09", VehicleType.TWO_WHEELER))),
+            () -> assertNotNull(repository.findById("B1", Building.class).orElse(null))
+        );
+    }
+
+    private FloorSnapshot floorSnapshot(int building, int floor, int fourWheelerSlots) {
+        int[] capacities = new int[VehicleType.values().length];
+        capacities[VehicleType.FOUR_WHEELER.ordinal()] = fourWheelerSlots;
+        long[][] occupied = { new long[0], new long[1] };
+        String[][] plates = { new String[0], new String[fourWheelerSlots] };
+        return new FloorSnapshot(building, floor, capacities, occupied, plates);
+    }
+
+    private ParkingSlot slot(String id, VehicleType type) {
+        ParkingSlot slot = new ParkingSlot();
+        slot.setId(id);
+        slot.setVehicleType(type);
+        return slot;
+    }
+
+    private Vehicle vehicle(String registrationNumber, VehicleType type) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(type);
+        return vehicle;
+    }
+}
@@ -1,13 +1,25 @@
 package com.example.parking.repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +27,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.parking.allocation.AllocationSettings;
+import com.example.parking.allocation.LowestFloorPolicy;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.entity.Building;
 import com.example.parking.entity.Floor;
 import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
 import com.example.parking.entity.VehicleType;
 
 @ExtendWith(MockitoExtension.class)
@@ -128,6 +143,43 @@ class InMemoryParkingRepositoryTest {
         assertTrue(updatedSlot.isOccupied(), "Slot should be marked as occupied");
     }
 
+    @Test
+    @DisplayName("Should replace a slot updated with a new instance")
+    void updateSlot_WithNewInstance_ShouldReplaceSlotAndFreePool() {
+        // Arrange
+        ParkingSlot original = repository.findById("B1-F1-FW-01").get();
+        original.setBuildingId("B1");
+        original.setFloorId("F1");
+        ParkingSlot replacement = new ParkingSlot();
+        replacement.setId("B1-F1-FW-01");
+        replacement.setBuildingId("B1");
+        replacement.setFloorId("F1");
+        replacement.setVehicleType(VehicleType.FOUR_WHEELER);
+        replacement.setOccupied(true);
+
+        // Act
+        repository.updateSlot(replacement);
+
+        // Assert
+        assertAll(
+            () -> assertSame(replacement, repository.findById("B1-F1-FW-01").get()),
+            () -> assertSame(replacement, repository.findById("B1-F1-FW-01", ParkingSlot.class).get()),
+            () -> assertSame(replacement, repository.getAllBuildings().get("B1").getFloors().get(0)
+                .getParkingSlots().get(1), "Floor should hold the new instance"),
+            () -> assertTrue(repository.findAvailableSlots(VehicleType.FOUR_WHEELER).isEmpty(),
+                "Occupied replacement should leave the free pool")
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject updates for unknown slots")
+    void updateSlot_WhenSlotUnknown_ShouldThrow() {
+        ParkingSlot unknown = new ParkingSlot();
+        unknown.setId("B9-F9-TW-99");
+
+        assertThrows(IllegalArgumentException.class, () -> repository.updateSlot(unknown));
+    }
+
     @Test
     @DisplayName("Should get floor availability")
     void getFloorAvailability_ShouldReturnCorrectAvailability() {
@@ -149,4 +201,323 @@ class InMemoryParkingRepositoryTest {
                 "Should have available four-wheeler slots")
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should claim a free slot and mark it occupied")
+    void claimAvailableSlot_ShouldMarkSlotOccupied() {
+        // Act
+        Optional<ParkingSlot> claimed = repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.TWO_WHEELER));
+
+        // Assert
+        assertAll(
+            () -> assertTrue(claimed.isPresent(), "Slot should be claimed"),
+            () -> assertEquals("B1-F1-TW-01", claimed.get().getId()),
+            () -> assertTrue(claimed.get().isOccupied(), "Claimed slot should be occupied"),
+            () -> assertEquals("KA01AB1234", claimed.get().getParkedVehicle().getRegistrationNumber()),
+            () -> assertTrue(repository.findAvailableSlots(VehicleType.TWO_WHEELER).isEmpty(),
+                "Claimed slot should leave the free pool"),
+            () -> assertTrue(repository.claimAvailableSlot(vehicle("KA01AB9999", VehicleType.TWO_WHEELER)).isEmpty(),
+                "Pool should be exhausted")
+        );
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same slot twice under contention")
+    void claimAvailableSlot_WhenConcurrent_ShouldAllocateEachSlotOnce() throws Exception {
+        // Arrange
+        int slotCount = 200;
+        for (int i = 1; i <= slotCount; i++) {
+            ParkingSlot slot = new ParkingSlot();
+            slot.setId(String.format("B2-F1-FW-%03d", i));
+            slot.setBuildingId("B2");
+            slot.setFloorId("F1");
+            slot.setVehicleType(VehicleType.FOUR_WHEELER);
+            repository.save(slot);
+        }
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<String> claimedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger claims = new AtomicInteger();
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int gate = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < slotCount; i++) {
+                    repository.claimAvailableSlot(vehicle("G" + gate + "-" + i, VehicleType.FOUR_WHEELER))
+                        .ifPresent(slot -> {
+                            claims.incrementAndGet();
+                            claimedIds.add(slot.getId());
+                        });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert (the fixture adds one more four-wheeler slot)
+        assertAll(
+            () -> assertEquals(slotCount + 1, claims.get(), "Every free slot should be claimed"),
+            () -> assertEquals(claims.get(), claimedIds.size(), "No slot should be claimed twice")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep capacity counters in step with occupancy changes")
+    void capacityCounters_ShouldFollowClaimsAndReleases() {
+        // Arrange
+        ParkingSlot slot = new ParkingSlot();
+        slot.setId("B1-F1-FW-00");
+        slot.setBuildingId("B1");
+        slot.setFloorId("F1");
+        slot.setVehicleType(VehicleType.FOUR_WHEELER);
+        Floor floor = repository.getAllBuildings().get("B1").getFloors().get(0);
+        floor.getParkingSlots().add(slot);
+        repository.save(slot);
+
+        // Act
+        int freeBeforeClaim = floor.getAvailableCapacity(VehicleType.FOUR_WHEELER);
+        ParkingSlot claimed = repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.FOUR_WHEELER)).get();
+        int freeAfterClaim = floor.getAvailableCapacity(VehicleType.FOUR_WHEELER);
+        claimed.setOccupied(false);
+        claimed.setParkedVehicle(null);
+        repository.save(claimed);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(2, freeBeforeClaim, "Floor should count both free four-wheeler slots"),
+            () -> assertEquals(1, freeAfterClaim, "Claim should decrement the floor counter"),
+            () -> assertEquals(2, floor.getAvailableCapacity(VehicleType.FOUR_WHEELER),
+                "Release should increment the floor counter"),
+            () -> assertEquals(2, repository.getAllBuildings().get("B1").getAvailableCapacity(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(2, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(1, repository.countAvailableSlots(VehicleType.TWO_WHEELER))
+        );
+    }
+
+    @Test
+    @DisplayName("Should release a slot by registration number exactly once")
+    void releaseSlot_ShouldFreeSlotHeldByVehicle() {
+        // Arrange
+        repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.TWO_WHEELER));
+
+        // Act
+        Optional<ParkingSlot> parkedSlot = repository.findByRegistrationNumber("KA01AB1234");
+        boolean duplicateClaimed = repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.FOUR_WHEELER)).isPresent();
+        Optional<ParkingSlot> released = repository.releaseSlot("KA01AB1234");
+
+        // Assert
+        assertAll(
+            () -> assertEquals("B1-F1-TW-01", parkedSlot.get().getId()),
+            () -> assertFalse(duplicateClaimed, "A parked vehicle should not get a second slot"),
+            () -> assertEquals("B1-F1-TW-01", released.get().getId()),
+            () -> assertFalse(released.get().isOccupied()),
+            () -> assertNull(released.get().getParkedVehicle()),
+            () -> assertEquals(1, repository.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(1, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertFalse(repository.findByRegistrationNumber("KA01AB1234").isPresent()),
+            () -> assertFalse(repository.releaseSlot("KA01AB1234").isPresent(), "Second release should find nothing")
+        );
+    }
+
+    @Test
+    @DisplayName("Should advance global and floor versions on occupancy changes only")
+    void getVersion_ShouldAdvanceOnClaimAndRelease() {
+        // Arrange
+        long initialVersion = repository.getVersion();
+        long initialFloorVersion = repository.getFloorVersion("B1", "F1");
+
+        // Act
+        repository.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.TWO_WHEELER));
+        long claimedFloorVersion = repository.getFloorVersion("B1", "F1");
+        repository.findByRegistrationNumber("KA01AB1234");
+        long unchangedFloorVersion = repository.getFloorVersion("B1", "F1");
+        repository.releaseSlot("KA01AB1234");
+
+        // Assert
+        assertAll(
+            () -> assertTrue(claimedFloorVersion > initialFloorVersion, "Claim should advance the floor version"),
+            () -> assertEquals(claimedFloorVersion, unchangedFloorVersion, "Reads should not advance the version"),
+            () -> assertTrue(repository.getFloorVersion("B1", "F1") > claimedFloorVersion, "Release should advance the floor version"),
+            () -> assertEquals(repository.getVersion(), repository.getFloorVersion("B1", "F1")),
+            () -> assertTrue(repository.getVersion() > initialVersion),
+            () -> assertEquals(-1, repository.getFloorVersion("B1", "F9"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should let writers on other floors proceed while one floor is locked")
+    void updateSlot_WhenAnotherFloorIsLocked_ShouldNotBlock() throws Exception {
+        // Arrange
+        InMemoryParkingRepository seeded = new InMemoryParkingRepository();
+        seeded.init();
+        ParkingSlot b1Slot = replacementFor(seeded, "B1-F1-TW-01");
+        ParkingSlot b4Slot = replacementFor(seeded, "B4-F2-TW-01");
+        StampedLock b1Lock = seeded.floorLock("B1", "F1");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        long stamp = b1Lock.writeLock();
+        Future<?> b1Update;
+        try {
+            executor.submit(() -> seeded.updateSlot(b4Slot)).get(5, TimeUnit.SECONDS);
+            b1Update = executor.submit(() -> seeded.updateSlot(b1Slot));
+            Thread.sleep(100);
+            assertFalse(b1Update.isDone(), "B1-F1 writer should wait for its floor lock");
+        } finally {
+            b1Lock.unlockWrite(stamp);
+        }
+        b1Update.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertAll(
+            () -> assertSame(b4Slot, seeded.findById("B4-F2-TW-01").get()),
+            () -> assertSame(b1Slot, seeded.findById("B1-F1-TW-01").get()),
+            () -> assertEquals(2, seeded.getStats().getLockAcquisitions()),
+            () -> assertEquals(1, seeded.getStats().getContendedLockAcquisitions()),
+            () -> assertTrue(seeded.getStats().getMaxLockWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50),
+                "Lock wait should cover the time B1-F1 was held")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep park throughput from collapsing as threads are added")
+    void claimAndRelease_ShouldScaleWithThreads() throws Exception {
+        // Arrange
+        InMemoryParkingRepository seeded = new InMemoryParkingRepository();
+        seeded.init();
+        int operations = 20_000;
+        runParkCycles(seeded, 1, operations / 10);
+
+        // Act
+        double singleThreaded = runParkCycles(seeded, 1, operations);
+        double multiThreaded = runParkCycles(seeded, 4, operations);
+
+        // Assert: no shared monitor, so added threads must not serialise into a fraction of one thread
+        assertTrue(multiThreaded >= singleThreaded * 0.25,
+            "4 threads: " + (long) multiThreaded + " ops/s, 1 thread: " + (long) singleThreaded + " ops/s");
+        assertEquals(seeded.findAvailableSlots(VehicleType.FOUR_WHEELER).size(),
+            seeded.countAvailableSlots(VehicleType.FOUR_WHEELER));
+    }
+
+    /**
+     * Parks and exits vehicles from several threads
+     * @return Aggregate park-and-exit cycles per second
+     */
+    @Test
+    @DisplayName("Should spread vehicles across buildings when balancing is enabled")
+    void claimAvailableSlot_WhenBalancingBuildings_ShouldAlternateBuildings() {
+        // Arrange: B1 and B2 with one floor of 3 four-wheeler slots each
+        repository.importFloors(List.of(floorSnapshot(1, 1, 3), floorSnapshot(2, 1, 3)));
+        repository.setAllocationSettings(new AllocationSettings(new LowestFloorPolicy(), Map.of(), true));
+
+        // Act
+        List<String> claimed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            claimed.add(repository.claimAvailableSlot(vehicle("KA-" + i, VehicleType.FOUR_WHEELER)).get().getId());
+        }
+        repository.releaseSlot("KA-1");
+        String afterRelease = repository.claimAvailableSlot(vehicle("KA-4", VehicleType.FOUR_WHEELER)).get().getId();
+
+        // Assert
+        assertAll(
+            () -> assertEquals("B1-F1-FW-01", claimed.get(0), "Ties go to the lower building"),
+            () -> assertEquals("B2-F1-FW-01", claimed.get(1)),
+            () -> assertEquals("B1-F1-FW-02", claimed.get(2)),
+            () -> assertEquals("B2-F1-FW-02", claimed.get(3)),
+            () -> assertEquals("B2-F1-FW-01", afterRelease, "B2 has more free slots after the release"),
+            () -> assertEquals(2, repository.countAvailableSlots(VehicleType.FOUR_WHEELER))
+        );
+    }
+
+    @Test
+    @DisplayName("Should order free slots by slot number rather than by ID text")
+    void findAvailableSlots_ShouldOrderBySlotNumber() {
+        // Arrange
+        Building building = new Building();
+        building.setBuildingId("B2");
+        Floor floor = new Floor();
+        floor.setFloorId("F1");
+        floor.setBuildingId("B2");
+        for (String id : List.of("B2-F1-TW-100", "B2-F1-TW-11", "B2-F1-TW-9")) {
+            ParkingSlot slot = new ParkingSlot();
+            slot.setId(id);
+            slot.setVehicleType(VehicleType.TWO_WHEELER);
+            floor.getParkingSlots().add(slot);
+        }
+        building.getFloors().add(floor);
+        repository.save(building);
+        repository.save(floor);
+        floor.getParkingSlots().forEach(repository::save);
+
+        // Act
+        List<String> free = repository.findAvailableSlots(VehicleType.TWO_WHEELER).stream()
+            .map(ParkingSlot::getId)
+            .toList();
+        List<String> claimed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            claimed.add(repository.claimAvailableSlot(vehicle("KA01AB000" + i, VehicleType.TWO_WHEELER)).get().getId());
+        }
+
+        // Assert
+        List<String> expected = List.of("B1-F1-TW-01", "B2-F1-TW-9", "B2-F1-TW-11", "B2-F1-TW-100");
+        assertAll(
+            () -> assertEquals(expected, free),
+            () -> assertEquals(expected, claimed)
+        );
+    }
+
+    private FloorSnapshot floorSnapshot(int building, int floor, int fourWheelerSlots) {
+        int[] capacities = new int[VehicleType.values().length];
+        capacities[VehicleType.FOUR_WHEELER.ordinal()] = fourWheelerSlots;
+        long[][] occupied = { new long[0], new long[1] };
+        String[][] plates = { new String[0], new String[fourWheelerSlots] };
+        return new FloorSnapshot(building, floor, capacities, occupied, plates);
+    }
+
+    private double runParkCycles(InMemoryParkingRepository target, int threads, int cyclesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            String prefix = "T" + t + "-";
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < cyclesPerThread; i++) {
+                    String plate = prefix + i;
+                    if (target.claimAvailableSlot(vehicle(plate, VehicleType.FOUR_WHEELER)).isPresent()) {
+                        target.releaseSlot(plate);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return threads * (double) cyclesPerThread * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private ParkingSlot replacementFor(InMemoryParkingRepository target, String slotId) {
+        ParkingSlot existing = target.findById(slotId).get();
+        ParkingSlot replacement = new ParkingSlot();
+        replacement.setId(slotId);
+        replacement.setBuildingId(existing.getBuildingId());
+        replacement.setFloorId(existing.getFloorId());
+        replacement.setVehicleType(existing.getVehicleType());
+        replacement.setOccupied(existing.isOccupied());
+        replacement.setParkedVehicle(existing.getParkedVehicle());
+        return replacement;
+    }
+
+    private Vehicle vehicle(String registrationNumber, VehicleType type) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(type);
+        return vehicle;
+    }
+}
\ No newline at end of file
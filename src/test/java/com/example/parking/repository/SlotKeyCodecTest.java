@@ -0,0 +1,99 @@
+package com.example.parking.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.VehicleType;
+
+/**
+ * Test class for SlotKeyCodec and the SlotIndex built on it
+ */
+class SlotKeyCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip slot IDs through packed keys")
+    void parse_ShouldRoundTripSlotIds() {
+        // Act
+        long key = SlotKeyCodec.parse("B12-F3-FW-07");
+
+        // Assert
+        assertAll(
+            () -> assertEquals(12, SlotKeyCodec.buildingNumber(key)),
+            () -> assertEquals(3, SlotKeyCodec.floorNumber(key)),
+            () -> assertEquals(VehicleType.FOUR_WHEELER, SlotKeyCodec.vehicleType(key)),
+            () -> assertEquals(7, SlotKeyCodec.slotNumber(key)),
+            () -> assertEquals("B12-F3-FW-07", SlotKeyCodec.format(key)),
+            () -> assertEquals(key, SlotKeyCodec.encode(12, 3, VehicleType.FOUR_WHEELER, 7)),
+            () -> assertEquals("B1-F1-TW-400", SlotKeyCodec.format(SlotKeyCodec.parse("B1-F1-TW-400")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject malformed slot IDs")
+    void parse_WhenMalformed_ShouldReturnInvalidKey() {
+        assertAll(
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse(null)),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("")),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("B1-F1-XW-01")),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("B1-F1-TW-")),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("B1F1-TW-01")),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("B1-F1-TW-01x")),
+            () -> assertEquals(SlotKeyCodec.INVALID_KEY, SlotKeyCodec.parse("B99999999-F1-TW-01"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should index hundreds of thousands of slots by key")
+    void slotIndex_ShouldResolveEverySlotAfterResizing() {
+        // Arrange
+        SlotIndex index = new SlotIndex();
+        int floors = 100;
+        int slotsPerFloor = 2_000;
+        for (int floor = 1; floor <= floors; floor++) {
+            for (int number = 1; number <= slotsPerFloor; number++) {
+                ParkingSlot slot = new ParkingSlot();
+                slot.setId(SlotKeyCodec.format(SlotKeyCodec.encode(1, floor, VehicleType.TWO_WHEELER, number)));
+                index.put(slot, number - 1);
+            }
+        }
+
+        // Act & Assert
+        assertEquals(floors * slotsPerFloor, index.size());
+        for (int floor = 1; floor <= floors; floor++) {
+            for (int number = 1; number <= slotsPerFloor; number++) {
+                long key = SlotKeyCodec.encode(1, floor, VehicleType.TWO_WHEELER, number);
+                assertEquals(SlotKeyCodec.format(key), index.get(key).getId());
+                assertEquals(number - 1, index.floorPositionOf(key));
+            }
+        }
+        assertNull(index.get("B2-F1-TW-01"));
+    }
+
+    @Test
+    @DisplayName("Should replace the slot stored under an existing ID")
+    void slotIndex_WhenSameIdPutTwice_ShouldReplaceSlot() {
+        // Arrange
+        SlotIndex index = new SlotIndex();
+        ParkingSlot original = new ParkingSlot();
+        original.setId("B1-F1-TW-01");
+        ParkingSlot replacement = new ParkingSlot();
+        replacement.setId("B1-F1-TW-01");
+        index.put(original, 0);
+
+        // Act
+        ParkingSlot previous = index.put(replacement, -1);
+
+        // Assert
+        assertAll(
+            () -> assertSame(original, previous),
+            () -> assertSame(replacement, index.get("B1-F1-TW-01")),
+            () -> assertEquals(1, index.size()),
+            () -> assertEquals(0, index.floorPositionOf(SlotKeyCodec.parse("B1-F1-TW-01")))
+        );
+    }
+}
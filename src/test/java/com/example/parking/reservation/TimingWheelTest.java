@@ -0,0 +1,91 @@
+package com.example.parking.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for TimingWheel
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should expire each item within one tick after its deadline, across every wheel level")
+    void advance_ShouldExpireItemsAtTheirDeadlines() {
+        // Arrange: 10 ms ticks, deadlines in the first, second, third and overflow ranges
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        long[] deadlines = { 5, 630, 645, 9_999, 700_005, 3_000_000_000L };
+        for (long deadline : deadlines) {
+            wheel.schedule("at-" + deadline, deadline);
+        }
+
+        // Act: step through time and record the tick at which each item fired
+        List<String> order = new ArrayList<>();
+        List<Long> firedAt = new ArrayList<>();
+        for (long deadline : deadlines) {
+            List<String> early = wheel.advance(deadline - 1);
+            List<String> due = wheel.advance(deadline + 9);
+            order.addAll(early);
+            order.addAll(due);
+            due.forEach(item -> firedAt.add(deadline));
+        }
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of("at-5", "at-630", "at-645", "at-9999", "at-700005", "at-3000000000"), order),
+            () -> assertEquals(deadlines.length, firedAt.size(), "No item should fire before its deadline"),
+            () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not return cancelled items")
+    void cancel_ShouldRemoveScheduledItem() {
+        // Arrange
+        TimingWheel<Integer> wheel = new TimingWheel<>(100, 1_000);
+        List<TimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            timeouts.add(wheel.schedule(i, 1_000 + 60_000 + i));
+        }
+
+        // Act
+        for (int i = 0; i < 10_000; i += 2) {
+            wheel.cancel(timeouts.get(i));
+        }
+        boolean cancelledTwice = wheel.cancel(timeouts.get(0));
+        List<Integer> expired = wheel.advance(1_000 + 70_000);
+
+        // Assert
+        assertAll(
+            () -> assertFalse(cancelledTwice),
+            () -> assertEquals(5_000, expired.size()),
+            () -> assertTrue(expired.stream().allMatch(item -> item % 2 == 1)),
+            () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should expire items scheduled in the past on the next tick")
+    void schedule_WhenDeadlinePassed_ShouldExpireOnNextTick() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.advance(1_000);
+
+        // Act
+        wheel.schedule("late", 500);
+        List<String> sameTick = wheel.advance(1_005);
+        List<String> nextTick = wheel.advance(1_010);
+
+        // Assert
+        assertAll(
+            () -> assertTrue(sameTick.isEmpty()),
+            () -> assertEquals(List.of("late"), nextTick)
+        );
+    }
+}
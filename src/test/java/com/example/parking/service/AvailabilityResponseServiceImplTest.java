@@ -0,0 +1,147 @@
+package com.example.parking.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.FloorAvailabilityDTO;
+import com.example.parking.entity.VehicleType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for AvailabilityResponseServiceImpl
+ * Checks that cached bodies match Jackson's output and are re-encoded only on change
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityResponseServiceImplTest {
+    @Mock
+    private ParkingService parkingService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AvailabilityResponseServiceImpl responseService;
+
+    @BeforeEach
+    void setUp() {
+        responseService = new AvailabilityResponseServiceImpl(parkingService, objectMapper, 1024);
+    }
+
+    @Test
+    @DisplayName("Should encode capacity exactly as Jackson and reuse it while the source is unchanged")
+    void getCapacity_ShouldReuseEncodingForSameView() throws Exception {
+        // Arrange
+        List<BuildingCapacityDTO> view = List.of(building("B1", 3, 4), building("B2", 5, 6));
+        when(parkingService.checkCapacity()).thenReturn(view);
+
+        // Act
+        EncodedResponse first = responseService.getCapacity();
+        EncodedResponse second = responseService.getCapacity();
+
+        // Assert
+        assertAll(
+            () -> assertSame(first, second),
+            () -> assertArrayEquals(objectMapper.writeValueAsBytes(view), first.getJson()),
+            () -> assertArrayEquals(first.getJson(), gunzip(first.getGzip())),
+            () -> assertSame(first.getGzip(), second.getGzip())
+        );
+    }
+
+    @Test
+    @DisplayName("Should re-encode capacity when a floor count changes")
+    void getCapacity_WhenOneFloorChanges_ShouldReencode() throws Exception {
+        // Arrange
+        List<BuildingCapacityDTO> before = List.of(building("B1", 3, 4), building("B2", 5, 6));
+        List<BuildingCapacityDTO> after = List.of(building("B1", 2, 4), building("B2", 5, 6));
+        when(parkingService.checkCapacity()).thenReturn(before).thenReturn(after);
+
+        // Act
+        EncodedResponse first = responseService.getCapacity();
+        EncodedResponse second = responseService.getCapacity();
+
+        // Assert
+        assertAll(
+            () -> assertNotSame(first, second),
+            () -> assertArrayEquals(objectMapper.writeValueAsBytes(after), second.getJson())
+        );
+    }
+
+    @Test
+    @DisplayName("Should escape building and floor IDs exactly as Jackson does")
+    void getCapacity_ShouldEscapeIds() throws Exception {
+        // Arrange
+        BuildingCapacityDTO quoted = building("B\"1\\", 3, 4);
+        quoted.getFloors().get(0).setFloorId("F\n1");
+        List<BuildingCapacityDTO> view = List.of(quoted, building("B\u00e9", 5, 6));
+        when(parkingService.checkCapacity()).thenReturn(view);
+
+        // Act
+        EncodedResponse response = responseService.getCapacity();
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(view), response.getJson());
+    }
+
+    @Test
+    @DisplayName("Should cache floor availability per source object and report unknown floors")
+    void getFloorAvailability_ShouldCachePerFloor() throws Exception {
+        // Arrange
+        FloorAvailabilityDTO availability = new FloorAvailabilityDTO();
+        availability.setBuildingId("B1");
+        availability.setFloorId("F1");
+        availability.setAvailableTwoWheelerSlots(List.of("B1-F1-TW-01"));
+        availability.setTotalAvailableTwoWheelerSlots(1);
+        when(parkingService.getFloorAvailability("B1", "F1")).thenReturn(availability);
+
+        // Act
+        EncodedResponse first = responseService.getFloorAvailability("B1", "F1");
+
+        // Assert
+        assertAll(
+            () -> assertSame(first, responseService.getFloorAvailability("B1", "F1")),
+            () -> assertEquals(objectMapper.writeValueAsString(availability), new String(first.getJson())),
+            () -> assertNull(responseService.getFloorAvailability("B1", "F9"))
+        );
+    }
+
+    private BuildingCapacityDTO building(String buildingId, int twoWheelers, int fourWheelers) {
+        BuildingCapacityDTO building = new BuildingCapacityDTO();
+        building.setBuildingId(buildingId);
+        List<BuildingCapacityDTO.FloorCapacityDTO> floors = new ArrayList<>();
+        for (int floorNumber = 1; floorNumber <= 2; floorNumber++) {
+            BuildingCapacityDTO.FloorCapacityDTO floor = new BuildingCapacityDTO.FloorCapacityDTO();
+            floor.setFloorId("F" + floorNumber);
+            Map<VehicleType, Integer> availableSlots = new EnumMap<>(VehicleType.class);
+            availableSlots.put(VehicleType.TWO_WHEELER, twoWheelers);
+            availableSlots.put(VehicleType.FOUR_WHEELER, fourWheelers);
+            floor.setAvailableSlots(availableSlots);
+            floors.add(floor);
+        }
+        building.setFloors(floors);
+        return building;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
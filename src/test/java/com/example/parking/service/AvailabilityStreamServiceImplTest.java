@@ -0,0 +1,178 @@
+package com.example.parking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.parking.dto.AvailabilityUpdateDTO;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.InMemoryParkingRepository;
+import com.example.parking.repository.ParkingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for AvailabilityStreamServiceImpl
+ * Reads the event stream over HTTP while vehicles park, and drives a standalone stream with a stalled board
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "parking.stream.interval-ms=200")
+class AvailabilityStreamServiceImplTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ParkingRepository parkingRepository;
+
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should send every floor on connect and one coalesced update per changed floor")
+    void subscribe_ShouldStreamCoalescedFloorUpdates() throws Exception {
+        // Arrange
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        Thread reader = readEvents(events);
+        int floorCount = parkingRepository.getAllBuildings().values().stream()
+            .mapToInt(building -> building.getFloors().size())
+            .sum();
+        for (int i = 0; i < floorCount; i++) {
+            assertNotNull(events.poll(10, TimeUnit.SECONDS), "Initial floor " + i + " not received");
+        }
+
+        // Act: a burst of parks lands on the first floors with free two-wheeler slots
+        int before = parkingRepository.countAvailableSlots(VehicleType.TWO_WHEELER);
+        for (int i = 0; i < 20; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setRegistrationNumber("STREAM-" + i);
+            vehicle.setType(VehicleType.TWO_WHEELER);
+            parkingRepository.claimAvailableSlot(vehicle);
+        }
+        List<AvailabilityUpdateDTO> updates = new ArrayList<>();
+        String event;
+        while ((event = events.poll(1, TimeUnit.SECONDS)) != null) {
+            updates.add(objectMapper.readValue(event, AvailabilityUpdateDTO.class));
+        }
+        reader.interrupt();
+
+        // Assert
+        int streamedAvailable = updates.stream()
+            .mapToInt(update -> update.getAvailableSlots().get(VehicleType.TWO_WHEELER))
+            .sum();
+        assertAll(
+            () -> assertTrue(!updates.isEmpty() && updates.size() <= 4,
+                "20 parks should collapse into a few floor updates, got " + updates.size()),
+            () -> assertEquals(updates.size(), updates.stream().map(u -> u.getBuildingId() + u.getFloorId()).distinct().count()),
+            () -> assertTrue(streamedAvailable < before),
+            () -> assertEquals(1, availabilityStreamService.getSubscriberCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop a board whose send stalls and keep serving the other boards")
+    void flush_WhenSubscriberStalls_ShouldDropItAndServeOthers() throws Exception {
+        // Arrange: a single sender thread, which the stalled board takes first
+        InMemoryParkingRepository repository = new InMemoryParkingRepository();
+        repository.init();
+        AvailabilityReadModel readModel = new AvailabilityReadModel(repository, 10);
+        readModel.publish();
+        AvailabilityStreamServiceImpl service = new AvailabilityStreamServiceImpl(
+            repository, readModel, objectMapper, 50, 60_000, 1, 200);
+        service.start();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Board stopped reading");
+            }
+        };
+        BlockingQueue<SseEmitter.SseEventBuilder> received = new LinkedBlockingQueue<>();
+        SseEmitter healthy = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.add(builder);
+            }
+        };
+
+        // Act
+        try {
+            service.subscribe(stalled);
+            assertTrue(sending.await(5, TimeUnit.SECONDS), "The stalled board should take the sender thread");
+            service.subscribe(healthy);
+            SseEmitter.SseEventBuilder first = received.poll(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertAll(
+                () -> assertNotNull(first, "The healthy board should be served while the other send blocks"),
+                () -> assertEquals(1, service.getSubscriberCount(), "The stalled board should be dropped")
+            );
+        } finally {
+            unblock.countDown();
+            service.stop();
+        }
+    }
+
+    /**
+     * Opens the stream on a background thread and queues the data of each event
+     */
+    private Thread readEvents(BlockingQueue<String> events) {
+        Thread reader = new Thread(() -> {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/parking/stream"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+            try {
+                HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                try (BufferedReader lines = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = lines.readLine()) != null && !Thread.currentThread().isInterrupted()) {
+                        if (line.startsWith("data:")) {
+                            events.add(line.substring("data:".length()));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                // Stream closed when the test ends
+            }
+        }, "stream-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return reader;
+    }
+}
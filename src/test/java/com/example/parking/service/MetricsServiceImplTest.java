@@ -0,0 +1,120 @@
+package com.example.parking.service;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.MetricsResponseDTO;
+import com.example.parking.dto.ParkingRequestDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.InMemoryParkingRepository;
+import com.example.parking.topology.TopologyFile;
+
+/**
+ * Test class for MetricsServiceImpl
+ * Drives real repositories and checks the counters they expose
+ */
+class MetricsServiceImplTest {
+
+    @Test
+    @DisplayName("Should count park requests, allocation failures and per-building and per-floor occupancy")
+    void getMetrics_ShouldReflectParkRequests() throws Exception {
+        // Arrange: one floor with 2 two-wheeler and 1 four-wheeler slots
+        InMemoryParkingRepository repository = new InMemoryParkingRepository();
+        repository.importFloors(TopologyFile.read(new StringReader("B1 F1 TW x 2 FW x 1")));
+        ParkingMetrics parkingMetrics = new ParkingMetrics();
+        ParkingService parkingService = new ParkingServiceImpl(repository, parkingMetrics, new AvailabilityReadModel(repository, 10));
+        MetricsService metricsService = new MetricsServiceImpl(parkingMetrics, repository);
+
+        // Act
+        parkingService.parkVehicle(request("KA-1", VehicleType.FOUR_WHEELER));
+        parkingService.parkVehicle(request("KA-2", VehicleType.FOUR_WHEELER));
+        parkingService.parkVehicle(request("KA-3", VehicleType.TWO_WHEELER));
+        MetricsResponseDTO metrics = metricsService.getMetrics();
+
+        // Assert
+        MetricsResponseDTO.FloorOccupancyDTO floor = metrics.getFloors().get(0);
+        MetricsResponseDTO.BuildingOccupancyDTO building = metrics.getBuildings().get(0);
+        assertAll(
+            () -> assertEquals(3, metrics.getParkRequests()),
+            () -> assertTrue(metrics.getParkMeanMicros() > 0),
+            () -> assertEquals(1L, metrics.getAllocationFailures().get(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(0L, metrics.getAllocationFailures().get(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(3, metrics.getClaims()),
+            () -> assertEquals("F1", floor.getFloorId()),
+            () -> assertEquals(3, floor.getTotalSlots()),
+            () -> assertEquals(2, floor.getOccupiedSlots()),
+            () -> assertEquals(2.0 / 3, floor.getOccupancy(), 1e-9),
+            () -> assertEquals("B1", building.getBuildingId()),
+            () -> assertEquals(3, building.getTotalSlots()),
+            () -> assertEquals(2, building.getOccupiedSlots()),
+            () -> assertEquals(3L, metrics.getParkLatencyBuckets().values().stream().mapToLong(Long::longValue).sum())
+        );
+    }
+
+    @Test
+    @DisplayName("Should read park latency percentiles from power-of-two buckets, capped at the slowest request")
+    void getMetrics_ShouldReportLatencyPercentiles() throws Exception {
+        // Arrange: 990 requests of 3 microseconds and 10 of 900 microseconds
+        InMemoryParkingRepository repository = new InMemoryParkingRepository();
+        repository.importFloors(TopologyFile.read(new StringReader("B1 F1-F2 TW x 2")));
+        ParkingMetrics parkingMetrics = new ParkingMetrics();
+        for (int i = 0; i < 1000; i++) {
+            parkingMetrics.recordPark(i < 990 ? 3_000 : 900_000);
+        }
+
+        // Act
+        MetricsResponseDTO metrics = new MetricsServiceImpl(parkingMetrics, repository).getMetrics();
+
+        // Assert
+        assertAll(
+            () -> assertEquals(4, metrics.getParkP50Micros()),
+            () -> assertEquals(4, metrics.getParkP99Micros()),
+            () -> assertEquals(900, metrics.getParkP999Micros()),
+            () -> assertEquals(990L, metrics.getParkLatencyBuckets().get(4L)),
+            () -> assertEquals(10L, metrics.getParkLatencyBuckets().get(1024L)),
+            () -> assertEquals(4, metrics.getBuildings().get(0).getTotalSlots(), "Building totals sum its floors")
+        );
+    }
+
+    @Test
+    @DisplayName("Should report bitset words scanned and floor totals for slot-less floor views")
+    void getMetrics_WhenBitset_ShouldReportSlotsScanned() throws Exception {
+        // Arrange: two floors of 100 four-wheeler slots, the first one full
+        BitsetParkingRepository repository = new BitsetParkingRepository();
+        repository.importFloors(TopologyFile.read(new StringReader("B1 F1-F2 FW x 100")));
+        ParkingMetrics parkingMetrics = new ParkingMetrics();
+        ParkingService parkingService = new ParkingServiceImpl(repository, parkingMetrics, new AvailabilityReadModel(repository, 10));
+        for (int i = 0; i < 100; i++) {
+            parkingService.parkVehicle(request("FILL-" + i, VehicleType.FOUR_WHEELER));
+        }
+        long scannedBefore = repository.getStats().getSlotsScanned();
+
+        // Act
+        parkingService.parkVehicle(request("KA-1", VehicleType.FOUR_WHEELER));
+        MetricsResponseDTO metrics = new MetricsServiceImpl(parkingMetrics, repository).getMetrics();
+
+        // Assert: the allocator skips the full first floor, so only the first word of the second is scanned
+        assertAll(
+            () -> assertEquals(64, repository.getStats().getSlotsScanned() - scannedBefore),
+            () -> assertEquals(101, metrics.getClaims()),
+            () -> assertEquals(100, metrics.getFloors().get(0).getTotalSlots()),
+            () -> assertEquals(1.0, metrics.getFloors().get(0).getOccupancy(), 1e-9),
+            () -> assertEquals(1, metrics.getFloors().get(1).getOccupiedSlots())
+        );
+    }
+
+    private ParkingRequestDTO request(String registrationNumber, VehicleType type) {
+        ParkingRequestDTO request = new ParkingRequestDTO();
+        request.setRegistrationNumber(registrationNumber);
+        request.setVehicleType(type);
+        return request;
+    }
+}
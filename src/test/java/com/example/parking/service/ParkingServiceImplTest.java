@@ -2,33 +2,50 @@ package com.example.parking.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.parking.dto.AvailabilityFormat;
+import com.example.parking.dto.BatchParkingRequestDTO;
+import com.example.parking.dto.BatchParkingResponseDTO;
 import com.example.parking.dto.BuildingCapacityDTO;
+import com.example.parking.dto.CompactAvailabilityRequestDTO;
+import com.example.parking.dto.CompactFloorAvailabilityDTO;
 import com.example.parking.dto.FloorAvailabilityDTO;
 import com.example.parking.dto.ParkingRequestDTO;
 import com.example.parking.dto.ParkingResponseDTO;
+import com.example.parking.dto.VehicleExitRequestDTO;
 import com.example.parking.entity.Building;
 import com.example.parking.entity.Floor;
 import com.example.parking.entity.ParkingSlot;
+import com.example.parking.entity.Vehicle;
 import com.example.parking.entity.VehicleType;
+import com.example.parking.metrics.ParkingMetrics;
+import com.example.parking.readmodel.AvailabilityReadModel;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.OccupancyListener;
 import com.example.parking.repository.ParkingRepository;
 /**
  * Test class for ParkingServiceImpl
@@ -39,9 +56,19 @@ class ParkingServiceImplTest {
     @Mock
     private ParkingRepository parkingRepository;
 
-    @InjectMocks
+    @Mock
+    private ParkingMetrics parkingMetrics;
+
+    private AvailabilityReadModel availabilityReadModel;
+
     private ParkingServiceImpl parkingService;
 
+    @BeforeEach
+    void setUp() {
+        availabilityReadModel = new AvailabilityReadModel(parkingRepository, 10);
+        parkingService = new ParkingServiceImpl(parkingRepository, parkingMetrics, availabilityReadModel);
+    }
+
     /**
      * Test for checking parking capacity
      */
@@ -58,6 +85,7 @@ class ParkingServiceImplTest {
         when(parkingRepository.getAllBuildings()).thenReturn(testBuildings);
 
         // Act
+        availabilityReadModel.publish();
         List<BuildingCapacityDTO> result = parkingService.checkCapacity();
 
         // Assert
@@ -103,9 +131,8 @@ class ParkingServiceImplTest {
         availableSlot.setId("B1-F1-TW-01");
         availableSlot.setOccupied(false);
         
-        when(parkingRepository.findAvailableSlots(VehicleType.TWO_WHEELER))
-            .thenReturn(Collections.singletonList(availableSlot));
-        when(parkingRepository.save(any(ParkingSlot.class))).thenReturn(availableSlot);
+        when(parkingRepository.claimAvailableSlot(any(Vehicle.class)))
+            .thenReturn(Optional.of(availableSlot));
 
         // Act
         ParkingResponseDTO response = parkingService.parkVehicle(request);
@@ -113,6 +140,222 @@ class ParkingServiceImplTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals("Vehicle parked successfully", response.getMessage());
+        assertEquals("B1-F1-TW-01", response.getSlotId());
+    }
+
+    /**
+     * Test for parking vehicle when the pool is exhausted
+     */
+    @Test
+    @DisplayName("Should fail to park when no slot is free")
+    void parkVehicle_WhenNoSlotAvailable_ShouldFail() {
+        // Arrange
+        ParkingRequestDTO request = createParkingRequest();
+        when(parkingRepository.claimAvailableSlot(any(Vehicle.class))).thenReturn(Optional.empty());
+
+        // Act
+        ParkingResponseDTO response = parkingService.parkVehicle(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("No available slots for TWO_WHEELER", response.getMessage());
+        verify(parkingMetrics).recordAllocationFailure(VehicleType.TWO_WHEELER);
+        verify(parkingMetrics).recordPark(any(Long.class));
+    }
+
+    /**
+     * Test for parking a vehicle that already holds a slot
+     */
+    @Test
+    @DisplayName("Should refuse to park a vehicle twice")
+    void parkVehicle_WhenAlreadyParked_ShouldFail() {
+        // Arrange
+        ParkingRequestDTO request = createParkingRequest();
+        when(parkingRepository.findByRegistrationNumber("KA01AB1234"))
+            .thenReturn(Optional.of(createTestParkingSlot("B1-F1-TW-05", true)));
+
+        // Act
+        ParkingResponseDTO response = parkingService.parkVehicle(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("B1-F1-TW-05", response.getSlotId());
+        assertEquals("Vehicle KA01AB1234 is already parked", response.getMessage());
+        verify(parkingRepository, never()).claimAvailableSlot(any(Vehicle.class));
+    }
+
+    /**
+     * Test for best-effort batch parking
+     */
+    @Test
+    @DisplayName("Should park what it can in a best-effort batch")
+    void parkVehicles_WhenBestEffort_ShouldReportEachVehicle() {
+        // Arrange
+        BatchParkingRequestDTO request = createBatchRequest(false);
+        when(parkingRepository.claimAvailableSlot(any(Vehicle.class)))
+            .thenReturn(Optional.of(createTestParkingSlot("B1-F1-TW-01", true)))
+            .thenReturn(Optional.empty());
+
+        // Act
+        BatchParkingResponseDTO response = parkingService.parkVehicles(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(1, response.getParkedCount());
+        assertEquals(2, response.getResults().size());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("No available slots for TWO_WHEELER", response.getResults().get(1).getMessage());
+        verify(parkingRepository, never()).releaseSlot(any());
+    }
+
+    /**
+     * Test for all-or-nothing batch parking when a claim fails midway
+     */
+    @Test
+    @DisplayName("Should roll back an all-or-nothing batch that cannot be completed")
+    void parkVehicles_WhenAllOrNothingFails_ShouldReleaseClaimedSlots() {
+        // Arrange
+        BatchParkingRequestDTO request = createBatchRequest(true);
+        when(parkingRepository.countAvailableSlots(VehicleType.TWO_WHEELER)).thenReturn(2);
+        when(parkingRepository.holdAvailableSlot(any(Vehicle.class)))
+            .thenReturn(Optional.of(createTestParkingSlot("B1-F1-TW-01", true)))
+            .thenReturn(Optional.empty());
+
+        // Act
+        BatchParkingResponseDTO response = parkingService.parkVehicles(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(0, response.getParkedCount());
+        assertFalse(response.getResults().get(0).isSuccess());
+        assertEquals("Batch rolled back: No available slots for TWO_WHEELER", response.getMessage());
+        verify(parkingRepository).releaseHold("KA01AB0001", "B1-F1-TW-01");
+        verify(parkingRepository, never()).releaseSlot(any());
+        verify(parkingRepository, never()).confirmHold(any(), any());
+    }
+
+    /**
+     * Test for all-or-nothing batch parking with a vehicle that cannot be identified
+     */
+    @Test
+    @DisplayName("Should reject an all-or-nothing batch with a blank registration number")
+    void parkVehicles_WhenRegistrationMissing_ShouldRejectWithoutClaiming() {
+        // Arrange
+        BatchParkingRequestDTO request = createBatchRequest(true);
+        request.getRequests().get(1).setRegistrationNumber(" ");
+
+        // Act
+        BatchParkingResponseDTO response = parkingService.parkVehicles(request);
+
+        // Assert
+        assertAll(
+            () -> assertFalse(response.isSuccess()),
+            () -> assertEquals(2, response.getResults().size()),
+            () -> assertEquals("Batch rejected: every vehicle needs a registration number and type", response.getMessage())
+        );
+        verify(parkingRepository, never()).holdAvailableSlot(any(Vehicle.class));
+    }
+
+    /**
+     * Test for all-or-nothing batch rollback against a real repository
+     */
+    @Test
+    @DisplayName("Should leave availability and occupancy events unchanged after a rolled-back batch")
+    void parkVehicles_WhenRolledBack_ShouldLeaveRepositoryUnchanged() {
+        // Arrange
+        BitsetParkingRepository repository = new BitsetParkingRepository();
+        repository.init();
+        List<String> events = new ArrayList<>();
+        repository.addOccupancyListener(new OccupancyListener() {
+            @Override
+            public void slotOccupied(long slotKey, String registrationNumber) {
+                events.add("occupied " + registrationNumber);
+            }
+
+            @Override
+            public void slotReleased(long slotKey, String registrationNumber) {
+                events.add("released " + registrationNumber);
+            }
+        });
+        ParkingServiceImpl service = new ParkingServiceImpl(repository, parkingMetrics, new AvailabilityReadModel(repository, 10));
+        BatchParkingRequestDTO request = createBatchRequest(true);
+        // The second vehicle repeats the first plate, so its claim fails after the first one succeeded
+        request.getRequests().get(1).setRegistrationNumber("KA01AB0001");
+        int freeBefore = repository.countAvailableSlots(VehicleType.TWO_WHEELER);
+        long versionBefore = repository.getVersion();
+
+        // Act
+        BatchParkingResponseDTO response = service.parkVehicles(request);
+
+        // Assert
+        assertAll(
+            () -> assertFalse(response.isSuccess()),
+            () -> assertEquals(0, response.getParkedCount()),
+            () -> assertEquals(freeBefore, repository.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertTrue(repository.getVersion() > versionBefore, "The hold and its release still publish availability"),
+            () -> assertFalse(repository.findByRegistrationNumber("KA01AB0001").isPresent()),
+            () -> assertTrue(events.isEmpty(), "Rolled-back holds should not reach the journal or ledger")
+        );
+    }
+
+    /**
+     * Test for all-or-nothing batch parking without enough free slots
+     */
+    @Test
+    @DisplayName("Should reject an all-or-nothing batch larger than the free capacity")
+    void parkVehicles_WhenCapacityShort_ShouldRejectWithoutClaiming() {
+        // Arrange
+        BatchParkingRequestDTO request = createBatchRequest(true);
+        when(parkingRepository.countAvailableSlots(VehicleType.TWO_WHEELER)).thenReturn(1);
+
+        // Act
+        BatchParkingResponseDTO response = parkingService.parkVehicles(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(2, response.getResults().size());
+        assertEquals("Batch rejected: insufficient capacity", response.getMessage());
+        verify(parkingRepository, never()).claimAvailableSlot(any(Vehicle.class));
+    }
+
+    /**
+     * Test for vehicle exit
+     */
+    @Test
+    @DisplayName("Should release the slot held by an exiting vehicle")
+    void exitVehicle_WhenParked_ShouldReleaseSlot() {
+        // Arrange
+        VehicleExitRequestDTO request = new VehicleExitRequestDTO();
+        request.setRegistrationNumber("KA01AB1234");
+        when(parkingRepository.releaseSlot("KA01AB1234"))
+            .thenReturn(Optional.of(createTestParkingSlot("B1-F1-TW-05", false)));
+
+        // Act
+        ParkingResponseDTO response = parkingService.exitVehicle(request);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("B1-F1-TW-05", response.getSlotId());
+        assertEquals("Vehicle exited successfully", response.getMessage());
+    }
+
+    /**
+     * Test for exit of a vehicle that is not parked
+     */
+    @Test
+    @DisplayName("Should fail exit for a vehicle that is not parked")
+    void exitVehicle_WhenNotParked_ShouldFail() {
+        // Arrange
+        VehicleExitRequestDTO request = new VehicleExitRequestDTO();
+        request.setRegistrationNumber("KA01AB1234");
+        when(parkingRepository.releaseSlot("KA01AB1234")).thenReturn(Optional.empty());
+
+        // Act
+        ParkingResponseDTO response = parkingService.exitVehicle(request);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Vehicle KA01AB1234 is not parked", response.getMessage());
     }
 
     /**
@@ -166,6 +409,7 @@ class ParkingServiceImplTest {
         when(parkingRepository.getAllBuildings()).thenReturn(buildings);
 
         // Act
+        availabilityReadModel.publish();
         List<BuildingCapacityDTO> result = parkingService.checkCapacity();
 
         // Assert
@@ -214,6 +458,121 @@ class ParkingServiceImplTest {
         return floor;
     }
 
+    /**
+     * Test for range-encoded, paginated floor availability
+     */
+    @Test
+    @DisplayName("Should encode free slots as runs and continue after the cursor")
+    void getCompactFloorAvailability_WithRanges_ShouldPageByRuns() {
+        // Arrange
+        when(parkingRepository.getFloorAvailability("B1", "F1")).thenReturn(largeFloorAvailability());
+        CompactAvailabilityRequestDTO request = compactRequest(AvailabilityFormat.RANGES, null, 2);
+
+        // Act
+        CompactFloorAvailabilityDTO firstPage = parkingService.getCompactFloorAvailability(request);
+        request.setCursor(firstPage.getNextCursor());
+        CompactFloorAvailabilityDTO secondPage = parkingService.getCompactFloorAvailability(request);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of("B1-F1-TW-03..17", "B1-F1-TW-20"), firstPage.getAvailableTwoWheelerSlots()),
+            () -> assertEquals(List.of(), firstPage.getAvailableFourWheelerSlots()),
+            () -> assertEquals("B1-F1-TW-20", firstPage.getNextCursor()),
+            () -> assertEquals(16, firstPage.getTotalAvailableTwoWheelerSlots()),
+            () -> assertEquals(List.of(), secondPage.getAvailableTwoWheelerSlots()),
+            () -> assertEquals(List.of("B1-F1-FW-01..05"), secondPage.getAvailableFourWheelerSlots()),
+            () -> assertNull(secondPage.getNextCursor())
+        );
+    }
+
+    /**
+     * Test for bitmap-encoded floor availability and cursor validation
+     */
+    @Test
+    @DisplayName("Should encode free slots as bitmaps and reject cursors from other floors")
+    void getCompactFloorAvailability_WithBitmap_ShouldSetBitPerFreeSlot() {
+        // Arrange
+        when(parkingRepository.getFloorAvailability("B1", "F1")).thenReturn(largeFloorAvailability());
+
+        // Act
+        CompactFloorAvailabilityDTO bitmap = parkingService.getCompactFloorAvailability(
+            compactRequest(AvailabilityFormat.BITMAP, null, null));
+        BitSet twoWheelers = BitSet.valueOf(Base64.getDecoder().decode(bitmap.getTwoWheelerBitmap()));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(16, twoWheelers.cardinality()),
+            () -> assertTrue(twoWheelers.get(3) && twoWheelers.get(17) && twoWheelers.get(20)),
+            () -> assertFalse(twoWheelers.get(18)),
+            () -> assertEquals(5, BitSet.valueOf(Base64.getDecoder().decode(bitmap.getFourWheelerBitmap())).cardinality()),
+            () -> assertNull(bitmap.getAvailableTwoWheelerSlots()),
+            () -> assertThrows(IllegalArgumentException.class, () -> parkingService.getCompactFloorAvailability(
+                compactRequest(AvailabilityFormat.IDS, "B2-F1-TW-01", 10)))
+        );
+    }
+
+    /**
+     * Test for slot IDs that have no compact form
+     */
+    @Test
+    @DisplayName("Should skip slot IDs of other formats and reject floors without B/F IDs")
+    void getCompactFloorAvailability_WithForeignIds_ShouldSkipOrReject() {
+        // Arrange
+        FloorAvailabilityDTO availability = largeFloorAvailability();
+        List<String> twoWheelers = new ArrayList<>(availability.getAvailableTwoWheelerSlots());
+        twoWheelers.addAll(List.of("LEGACY-7", "B2-F1-TW-04", "B1-F1-FW-09"));
+        availability.setAvailableTwoWheelerSlots(twoWheelers);
+        when(parkingRepository.getFloorAvailability("B1", "F1")).thenReturn(availability);
+        FloorAvailabilityDTO named = new FloorAvailabilityDTO();
+        named.setBuildingId("North");
+        named.setFloorId("Ground");
+        when(parkingRepository.getFloorAvailability("North", "Ground")).thenReturn(named);
+        CompactAvailabilityRequestDTO namedRequest = compactRequest(AvailabilityFormat.IDS, null, null);
+        namedRequest.setBuildingId("North");
+        namedRequest.setFloorId("Ground");
+
+        // Act
+        CompactFloorAvailabilityDTO page = parkingService.getCompactFloorAvailability(
+            compactRequest(AvailabilityFormat.RANGES, null, null));
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+            () -> parkingService.getCompactFloorAvailability(namedRequest));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(List.of("B1-F1-TW-03..17", "B1-F1-TW-20"), page.getAvailableTwoWheelerSlots()),
+            () -> assertEquals(16, page.getTotalAvailableTwoWheelerSlots()),
+            () -> assertTrue(rejected.getMessage().contains("North/Ground"))
+        );
+    }
+
+    private FloorAvailabilityDTO largeFloorAvailability() {
+        FloorAvailabilityDTO availability = new FloorAvailabilityDTO();
+        availability.setBuildingId("B1");
+        availability.setFloorId("F1");
+        List<String> twoWheelers = new ArrayList<>();
+        for (int i = 3; i <= 17; i++) {
+            twoWheelers.add(String.format("B1-F1-TW-%02d", i));
+        }
+        twoWheelers.add("B1-F1-TW-20");
+        List<String> fourWheelers = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            fourWheelers.add(String.format("B1-F1-FW-%02d", i));
+        }
+        availability.setAvailableTwoWheelerSlots(twoWheelers);
+        availability.setAvailableFourWheelerSlots(fourWheelers);
+        return availability;
+    }
+
+    private CompactAvailabilityRequestDTO compactRequest(AvailabilityFormat format, String cursor, Integer limit) {
+        CompactAvailabilityRequestDTO request = new CompactAvailabilityRequestDTO();
+        request.setBuildingId("B1");
+        request.setFloorId("F1");
+        request.setFormat(format);
+        request.setCursor(cursor);
+        request.setLimit(limit);
+        return request;
+    }
+
     private ParkingSlot createTestParkingSlot(String id, boolean occupied) {
         ParkingSlot slot = new ParkingSlot();
         slot.setId(id);
@@ -222,7 +581,18 @@ class ParkingServiceImplTest {
         return slot;
     }
 
-    @SuppressWarnings("unused")
+    private BatchParkingRequestDTO createBatchRequest(boolean allOrNothing) {
+        BatchParkingRequestDTO request = new BatchParkingRequestDTO();
+        for (int i = 1; i <= 2; i++) {
+            ParkingRequestDTO item = new ParkingRequestDTO();
+            item.setVehicleType(VehicleType.TWO_WHEELER);
+            item.setRegistrationNumber("KA01AB000" + i);
+            request.getRequests().add(item);
+        }
+        request.setAllOrNothing(allOrNothing);
+        return request;
+    }
+
     private ParkingRequestDTO createParkingRequest() {
         ParkingRequestDTO request = new ParkingRequestDTO();
         request.setVehicleType(VehicleType.TWO_WHEELER);
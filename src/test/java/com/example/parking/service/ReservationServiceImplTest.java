@@ -0,0 +1,151 @@
+package com.example.parking.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.ReservationRequestDTO;
+import com.example.parking.dto.ReservationResponseDTO;
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.ledger.SessionLedger;
+import com.example.parking.repository.BitsetParkingRepository;
+
+/**
+ * Test class for ReservationServiceImpl
+ * Runs against the bitset repository's sample site with a session ledger attached;
+ * the expiry thread is not started
+ */
+class ReservationServiceImplTest {
+    private static final long HOLD_MILLIS = 60_000;
+
+    private BitsetParkingRepository repository;
+    private ReservationServiceImpl reservationService;
+    private SessionLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BitsetParkingRepository();
+        repository.init();
+        reservationService = new ReservationServiceImpl(repository, HOLD_MILLIS, 100);
+        repository.addOccupancyListener(reservationService);
+        ledger = new SessionLedger(repository, 16, 4);
+        ledger.start();
+    }
+
+    @Test
+    @DisplayName("Should hold a slot and return it to the free pool when the hold expires")
+    void reserve_WhenNotConfirmed_ShouldExpireAndFreeSlot() {
+        // Arrange
+        int freeBefore = repository.countAvailableSlots(VehicleType.FOUR_WHEELER);
+
+        // Act
+        ReservationResponseDTO reserved = reservationService.reserve(request("KA01AB1234"));
+        int freeWhileHeld = repository.countAvailableSlots(VehicleType.FOUR_WHEELER);
+        int expiredEarly = reservationService.expireDue(System.currentTimeMillis());
+        int expired = reservationService.expireDue(System.currentTimeMillis() + HOLD_MILLIS + 200);
+
+        // Assert
+        assertAll(
+            () -> assertTrue(reserved.isSuccess()),
+            () -> assertNotNull(reserved.getExpiresAt()),
+            () -> assertEquals(freeBefore - 1, freeWhileHeld),
+            () -> assertEquals(0, expiredEarly),
+            () -> assertEquals(1, expired),
+            () -> assertEquals(freeBefore, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertFalse(repository.findByRegistrationNumber("KA01AB1234").isPresent()),
+            () -> assertFalse(reservationService.confirm(reserved.getReservationId()).isSuccess(),
+                "A lapsed hold cannot be confirmed")
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep a confirmed vehicle parked past the hold time and free a cancelled slot")
+    void confirmAndCancel_ShouldSettleHoldsOnce() {
+        // Arrange
+        ReservationResponseDTO confirmedHold = reservationService.reserve(request("KA01AB0001"));
+        ReservationResponseDTO cancelledHold = reservationService.reserve(request("KA01AB0002"));
+        int freeWhileHeld = repository.countAvailableSlots(VehicleType.FOUR_WHEELER);
+
+        // Act
+        ReservationResponseDTO confirmed = reservationService.confirm(confirmedHold.getReservationId());
+        ReservationResponseDTO cancelled = reservationService.cancel(cancelledHold.getReservationId());
+        int expired = reservationService.expireDue(System.currentTimeMillis() + HOLD_MILLIS + 200);
+
+        // Assert
+        assertAll(
+            () -> assertTrue(confirmed.isSuccess()),
+            () -> assertEquals(confirmedHold.getSlotId(), confirmed.getSlotId()),
+            () -> assertTrue(cancelled.isSuccess()),
+            () -> assertEquals(0, expired),
+            () -> assertEquals(confirmedHold.getSlotId(), repository.findByRegistrationNumber("KA01AB0001").get().getId()),
+            () -> assertFalse(repository.findByRegistrationNumber("KA01AB0002").isPresent()),
+            () -> assertEquals(freeWhileHeld + 1, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertFalse(reservationService.cancel(cancelledHold.getReservationId()).isSuccess()),
+            () -> assertFalse(reservationService.reserve(request("KA01AB0001")).isSuccess(), "Vehicle is already parked"),
+            () -> assertEquals(0, reservationService.getActiveReservationCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should cancel a hold when its vehicle exits, so the expiry cannot release the next parker")
+    void exit_WhileHeld_ShouldCancelHold() {
+        // Arrange
+        ReservationResponseDTO reserved = reservationService.reserve(request("KA01AB0003"));
+
+        // Act
+        String exitedSlot = repository.releaseSlot("KA01AB0003").get().getId();
+        Vehicle next = new Vehicle();
+        next.setRegistrationNumber("KA01AB0004");
+        next.setType(VehicleType.FOUR_WHEELER);
+        repository.claimAvailableSlot(next);
+        int expired = reservationService.expireDue(System.currentTimeMillis() + HOLD_MILLIS + 200);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(reserved.getSlotId(), exitedSlot),
+            () -> assertEquals(0, reservationService.getActiveReservationCount()),
+            () -> assertEquals(0, expired),
+            () -> assertTrue(repository.findByRegistrationNumber("KA01AB0004").isPresent()),
+            () -> assertFalse(reservationService.confirm(reserved.getReservationId()).isSuccess())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep holds out of the session ledger until they are confirmed")
+    void holds_ShouldOnlyReachLedgerOnceConfirmed() {
+        // Arrange
+        ReservationResponseDTO expiring = reservationService.reserve(request("KA01AB0005"));
+        ReservationResponseDTO cancelled = reservationService.reserve(request("KA01AB0006"));
+        ReservationResponseDTO confirmed = reservationService.reserve(request("KA01AB0007"));
+        int openWhileHeld = ledger.getOpenSessionCount();
+
+        // Act
+        reservationService.cancel(cancelled.getReservationId());
+        reservationService.confirm(confirmed.getReservationId());
+        int openAfterConfirm = ledger.getOpenSessionCount();
+        reservationService.expireDue(System.currentTimeMillis() + HOLD_MILLIS + 200);
+        repository.releaseSlot("KA01AB0007");
+
+        // Assert
+        assertAll(
+            () -> assertTrue(expiring.isSuccess()),
+            () -> assertEquals(0, openWhileHeld),
+            () -> assertEquals(1, openAfterConfirm),
+            () -> assertEquals(1, ledger.getSessionCount(), "Only the confirmed vehicle completed a session"),
+            () -> assertEquals(0, ledger.getOpenSessionCount())
+        );
+    }
+
+    private ReservationRequestDTO request(String registrationNumber) {
+        ReservationRequestDTO request = new ReservationRequestDTO();
+        request.setRegistrationNumber(registrationNumber);
+        request.setVehicleType(VehicleType.FOUR_WHEELER);
+        return request;
+    }
+}
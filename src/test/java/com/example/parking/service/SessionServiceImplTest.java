@@ -0,0 +1,108 @@
+package com.example.parking.service;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.parking.dto.DwellStatsRequestDTO;
+import com.example.parking.dto.DwellStatsResponseDTO;
+import com.example.parking.dto.DwellWindow;
+import com.example.parking.dto.ParkingSessionDTO;
+import com.example.parking.dto.SessionQueryRequestDTO;
+import com.example.parking.dto.SessionQueryResponseDTO;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.ledger.DwellStats;
+import com.example.parking.ledger.SessionLedger;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.SlotKeyCodec;
+
+/**
+ * Test class for SessionServiceImpl
+ */
+class SessionServiceImplTest {
+    private static final Instant ENTRY = Instant.parse("2025-01-01T08:00:00Z");
+
+    private SessionServiceImpl sessionService;
+
+    @BeforeEach
+    void setUp() {
+        SessionLedger ledger = new SessionLedger(new BitsetParkingRepository(), 1024, 4);
+        ledger.append(SlotKeyCodec.encode(1, 1, VehicleType.FOUR_WHEELER, 1), "KA01AB1234",
+            ENTRY.toEpochMilli(), ENTRY.plusSeconds(5400).toEpochMilli());
+        ledger.append(SlotKeyCodec.encode(2, 1, VehicleType.TWO_WHEELER, 7), null,
+            ENTRY.toEpochMilli(), ENTRY.plusSeconds(60).toEpochMilli());
+        DwellStats dwellStats = new DwellStats(ledger);
+        dwellStats.sessionCompleted(SlotKeyCodec.encode(1, 1, VehicleType.FOUR_WHEELER, 1),
+            ENTRY.toEpochMilli(), ENTRY.plusSeconds(20).toEpochMilli());
+        sessionService = new SessionServiceImpl(ledger, dwellStats);
+    }
+
+    @Test
+    @DisplayName("Should map ledger rows of one floor to session DTOs")
+    void findSessions_WithFloor_ShouldReturnFloorSessions() {
+        // Arrange
+        SessionQueryRequestDTO request = new SessionQueryRequestDTO();
+        request.setBuildingId("B1");
+        request.setFloorId("F1");
+
+        // Act
+        SessionQueryResponseDTO response = sessionService.findSessions(request);
+
+        // Assert
+        ParkingSessionDTO session = response.getSessions().get(0);
+        assertAll(
+            () -> assertEquals(1, response.getMatchedSessions()),
+            () -> assertEquals("B1-F1-FW-01", session.getSlotId()),
+            () -> assertEquals("KA01AB1234", session.getRegistrationNumber()),
+            () -> assertEquals(ENTRY, session.getEntryTime()),
+            () -> assertEquals(5400, session.getDurationSeconds())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject inverted ranges and incomplete floors")
+    void findSessions_WhenInvalid_ShouldThrow() {
+        // Arrange
+        SessionQueryRequestDTO inverted = new SessionQueryRequestDTO();
+        inverted.setFrom(ENTRY.plusSeconds(60));
+        inverted.setTo(ENTRY);
+        SessionQueryRequestDTO buildingOnly = new SessionQueryRequestDTO();
+        buildingOnly.setBuildingId("B1");
+
+        // Assert
+        assertAll(
+            () -> assertThrows(IllegalArgumentException.class, () -> sessionService.findSessions(inverted)),
+            () -> assertThrows(IllegalArgumentException.class, () -> sessionService.findSessions(buildingOnly)),
+            () -> assertEquals(2, sessionService.findSessions(new SessionQueryRequestDTO()).getMatchedSessions())
+        );
+    }
+
+    @Test
+    @DisplayName("Should report dwell percentiles per vehicle type and reject malformed floors")
+    void getDwellStats_ShouldMapSummariesPerVehicleType() {
+        // Arrange
+        DwellStatsRequestDTO request = new DwellStatsRequestDTO();
+        request.setBuildingId("B1");
+        request.setFloorId("F1");
+        DwellStatsRequestDTO malformed = new DwellStatsRequestDTO();
+        malformed.setBuildingId("B1");
+        malformed.setFloorId("Level1");
+
+        // Act
+        DwellStatsResponseDTO response = sessionService.getDwellStats(request);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(DwellWindow.DAY, response.getWindow()),
+            () -> assertEquals(1, response.getVehicleTypes().get(VehicleType.FOUR_WHEELER).getSessions()),
+            () -> assertEquals(20, response.getVehicleTypes().get(VehicleType.FOUR_WHEELER).getP95Seconds()),
+            () -> assertEquals(0, response.getVehicleTypes().get(VehicleType.TWO_WHEELER).getSessions()),
+            () -> assertThrows(IllegalArgumentException.class, () -> sessionService.getDwellStats(malformed))
+        );
+    }
+}
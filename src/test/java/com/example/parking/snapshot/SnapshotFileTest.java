@@ -0,0 +1,131 @@
+package com.example.parking.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.parking.entity.Vehicle;
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.InMemoryParkingRepository;
+
+/**
+ * Test class for SnapshotFile
+ * Covers round trips between repositories, corruption detection and load time
+ */
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore topology and parked vehicles into either repository")
+    void writeAndRead_ShouldRoundTripRepositoryState() throws IOException {
+        // Arrange
+        InMemoryParkingRepository source = new InMemoryParkingRepository();
+        source.init();
+        String slotId = source.claimAvailableSlot(vehicle("KA01AB1234", VehicleType.FOUR_WHEELER)).get().getId();
+        Path path = directory.resolve("parking.snapshot");
+
+        // Act
+        SnapshotFile.write(path, source.exportFloors());
+        List<FloorSnapshot> floors = SnapshotFile.read(path);
+        InMemoryParkingRepository objects = new InMemoryParkingRepository();
+        objects.importFloors(floors);
+        BitsetParkingRepository bitsets = new BitsetParkingRepository();
+        bitsets.importFloors(floors);
+
+        // Assert
+        assertAll(
+            () -> assertEquals(8, floors.size()),
+            () -> assertEquals(slotId, objects.findByRegistrationNumber("KA01AB1234").get().getId()),
+            () -> assertEquals(slotId, bitsets.findByRegistrationNumber("KA01AB1234").get().getId()),
+            () -> assertEquals(source.countAvailableSlots(VehicleType.TWO_WHEELER), objects.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(source.countAvailableSlots(VehicleType.FOUR_WHEELER), bitsets.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertEquals(source.getFloorAvailability("B3", "F2"), objects.getFloorAvailability("B3", "F2")),
+            () -> assertEquals(source.getFloorAvailability("B3", "F2"), bitsets.getFloorAvailability("B3", "F2")),
+            () -> assertEquals(source.exportFloors(), bitsets.exportFloors())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose contents were altered")
+    void read_WhenCorrupt_ShouldThrow() throws IOException {
+        // Arrange
+        InMemoryParkingRepository source = new InMemoryParkingRepository();
+        source.init();
+        Path path = directory.resolve("corrupt.snapshot");
+        SnapshotFile.write(path, source.exportFloors());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x55}), 40);
+        }
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+    }
+
+    @Test
+    @DisplayName("Should load a million-slot snapshot without building slot objects")
+    void read_ShouldLoadLargeSnapshotsQuickly() throws IOException {
+        // Arrange & Act: 250 floors of 4,000 slots, half of them occupied
+        List<String> timings = new ArrayList<>();
+        long largestLoadMillis = 0;
+        for (int floorsPerRun : new int[] {3, 25, 250}) {
+            Path path = directory.resolve("large-" + floorsPerRun + ".snapshot");
+            SnapshotFile.write(path, syntheticFloors(floorsPerRun, 4_000));
+
+            long started = System.nanoTime();
+            BitsetParkingRepository repository = new BitsetParkingRepository();
+            repository.importFloors(SnapshotFile.read(path));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            timings.add(floorsPerRun * 4_000 + " slots: " + elapsed + " ms");
+            largestLoadMillis = elapsed;
+            assertEquals(floorsPerRun * 2_000, repository.countAvailableSlots(VehicleType.TWO_WHEELER));
+        }
+
+        // Assert: generous bound for shared CI hosts
+        assertTrue(largestLoadMillis < 5_000, String.join(", ", timings));
+    }
+
+    private List<FloorSnapshot> syntheticFloors(int floorCount, int slotsPerFloor) {
+        List<FloorSnapshot> floors = new ArrayList<>();
+        for (int f = 1; f <= floorCount; f++) {
+            long[][] occupied = new long[VehicleType.values().length][];
+            String[][] plates = new String[VehicleType.values().length][];
+            int[] capacities = new int[VehicleType.values().length];
+            capacities[VehicleType.TWO_WHEELER.ordinal()] = slotsPerFloor;
+            occupied[VehicleType.TWO_WHEELER.ordinal()] = new long[slotsPerFloor / 64 + 1];
+            plates[VehicleType.TWO_WHEELER.ordinal()] = new String[slotsPerFloor];
+            occupied[VehicleType.FOUR_WHEELER.ordinal()] = new long[0];
+            plates[VehicleType.FOUR_WHEELER.ordinal()] = new String[0];
+            for (int i = 0; i < slotsPerFloor; i += 2) {
+                occupied[VehicleType.TWO_WHEELER.ordinal()][i >>> 6] |= 1L << i;
+                plates[VehicleType.TWO_WHEELER.ordinal()][i] = "F" + f + "-" + i;
+            }
+            floors.add(new FloorSnapshot(1, f, capacities, occupied, plates));
+        }
+        return floors;
+    }
+
+    private Vehicle vehicle(String registrationNumber, VehicleType type) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(type);
+        return vehicle;
+    }
+}
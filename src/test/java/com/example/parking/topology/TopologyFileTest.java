@@ -0,0 +1,122 @@
+package com.example.parking.topology;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.parking.entity.VehicleType;
+import com.example.parking.repository.BitsetParkingRepository;
+import com.example.parking.repository.FloorSnapshot;
+import com.example.parking.repository.InMemoryParkingRepository;
+
+/**
+ * Test class for TopologyFile and TopologyInitializer
+ * Covers rule parsing, error reporting and large-site load time
+ */
+class TopologyFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should expand building and floor ranges and add up rules per floor")
+    void read_ShouldExpandRangesAndMergeRules() throws IOException {
+        // Arrange
+        String rules = """
+            # sample site
+            B1-B2  F1-F2  TW x 3  FW x 2
+
+            B2     F2     FW x 5   # extra slots
+            B10    F1-3   tw x 1
+            """;
+
+        // Act
+        List<FloorSnapshot> floors = TopologyFile.read(new StringReader(rules));
+
+        // Assert
+        assertAll(
+            () -> assertEquals(7, floors.size()),
+            () -> assertEquals(1, floors.get(0).getBuildingNumber()),
+            () -> assertEquals(1, floors.get(0).getFloorNumber()),
+            () -> assertArrayEquals(new int[] {3, 2}, floors.get(0).getCapacities()),
+            () -> assertArrayEquals(new int[] {3, 7}, floors.get(3).getCapacities()),
+            () -> assertEquals(10, floors.get(6).getBuildingNumber()),
+            () -> assertEquals(3, floors.get(6).getFloorNumber()),
+            () -> assertEquals(0, floors.get(6).getOccupied()[0].length)
+        );
+    }
+
+    @Test
+    @DisplayName("Should report the line number of a malformed rule")
+    void read_WhenRuleMalformed_ShouldThrow() {
+        assertAll(
+            () -> assertThrows(IllegalArgumentException.class,
+                () -> TopologyFile.read(new StringReader("B1 F1 TW x 3\nB1 F1 XW x 3"))),
+            () -> assertThrows(IllegalArgumentException.class,
+                () -> TopologyFile.read(new StringReader("B1 F1 TW 3"))),
+            () -> assertThrows(IllegalArgumentException.class,
+                () -> TopologyFile.read(new StringReader("B4-B2 F1 TW x 3"))),
+            () -> assertThrows(IllegalArgumentException.class,
+                () -> TopologyFile.read(new StringReader("B1 F1 TW x -3"))),
+            () -> assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> TopologyFile.read(new StringReader("B1 F1 TW x 3\nB1 Floor1 TW x 3")))
+                .getMessage().contains("line 2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should replace the sample site with the configured topology")
+    void loadTopology_ShouldPopulateObjectRepository() throws IOException {
+        // Arrange
+        Path path = directory.resolve("topology.txt");
+        Files.writeString(path, "B7 F1-F12 TW x 40\nB7 F1-F12 FW x 12\n");
+        InMemoryParkingRepository repository = new InMemoryParkingRepository();
+        repository.init();
+
+        // Act
+        new TopologyInitializer(repository, path.toString()).loadTopology();
+
+        // Assert
+        assertAll(
+            () -> assertEquals(1, repository.getAllBuildings().size()),
+            () -> assertEquals(480, repository.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(144, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertTrue(repository.findById("B7-F12-FW-12").isPresent()),
+            () -> assertEquals(40, repository.getFloorAvailability("B7", "F3").getTotalAvailableTwoWheelerSlots())
+        );
+    }
+
+    @Test
+    @DisplayName("Should load a million-slot site from a handful of rules")
+    void read_ShouldLoadLargeTopologyQuickly() throws IOException {
+        // Arrange: 50 buildings of 20 floors with 1,000 slots each
+        Path path = directory.resolve("campus.txt");
+        Files.writeString(path, "B1-B50 F1-F20 TW x 600 FW x 400\n");
+
+        // Act
+        long started = System.nanoTime();
+        BitsetParkingRepository repository = new BitsetParkingRepository();
+        repository.importFloors(TopologyFile.read(path));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert: generous bound for shared CI hosts
+        assertAll(
+            () -> assertEquals(600_000, repository.countAvailableSlots(VehicleType.TWO_WHEELER)),
+            () -> assertEquals(400_000, repository.countAvailableSlots(VehicleType.FOUR_WHEELER)),
+            () -> assertTrue(repository.findById("B50-F20-FW-400").isPresent()),
+            () -> assertTrue(elapsed < 5_000, "Loaded in " + elapsed + " ms")
+        );
+    }
+}